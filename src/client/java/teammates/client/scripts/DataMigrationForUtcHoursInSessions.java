@@ -0,0 +1,72 @@
+package teammates.client.scripts;
+
+import java.io.IOException;
+import java.util.List;
+
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+
+import teammates.client.remoteapi.RemoteApiClient;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.storage.api.FeedbackSessionsDb;
+import teammates.storage.datastore.Datastore;
+import teammates.storage.entity.FeedbackSession;
+
+/**
+ * Script to populate the hours, in UTC, that sessions start in, end in and publish their results in.
+ *
+ * Sessions without these hours are not found by the lookups of open sessions, and the automated email
+ * lookups find them only through legacy queries kept until this script has been run.
+ * So this script should be run once for the sessions created before the hours were added.
+ * Updating a session computes the hours from its times and time zone.
+ */
+public class DataMigrationForUtcHoursInSessions extends RemoteApiClient {
+
+    private static final FeedbackSessionsDb fsDb = new FeedbackSessionsDb();
+
+    private boolean isPreview = true;
+
+    public static void main(String[] args) throws IOException {
+        new DataMigrationForUtcHoursInSessions().doOperationRemotely();
+    }
+
+    @Override
+    protected void doOperation() {
+        Datastore.initialize();
+
+        for (FeedbackSession sessionEntity : getAllFeedbackSessionEntities()) {
+            if (sessionEntity.getStartTimeUtcHour() == null || sessionEntity.getEndTimeUtcHour() == null
+                    || sessionEntity.getResultsVisibleFromTimeUtcHour() == null) {
+                populateUtcHours(new FeedbackSessionAttributes(sessionEntity));
+            }
+        }
+    }
+
+    private void populateUtcHours(FeedbackSessionAttributes session) {
+        if (isPreview) {
+            System.out.println("UTC hours for " + session.getSessionName()
+                               + " in course " + session.getCourseId() + " to be populated");
+            return;
+        }
+
+        try {
+            fsDb.updateFeedbackSession(session);
+        } catch (Exception e) {
+            System.out.println("Failed to populate UTC hours for session "
+                               + session.getSessionName() + " in course " + session.getCourseId() + ".");
+            e.printStackTrace();
+        }
+    }
+
+    private PersistenceManager getPm() {
+        return Datastore.getPersistenceManager();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<FeedbackSession> getAllFeedbackSessionEntities() {
+        Query q = getPm().newQuery(FeedbackSession.class);
+
+        return (List<FeedbackSession>) q.execute();
+    }
+
+}
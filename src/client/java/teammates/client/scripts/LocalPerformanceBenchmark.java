@@ -0,0 +1,411 @@
+package teammates.client.scripts;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import teammates.common.datatransfer.AccountAttributes;
+import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackNumericalScaleQuestionDetails;
+import teammates.common.datatransfer.FeedbackNumericalScaleResponseDetails;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionDetails;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseDetails;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.FeedbackSessionType;
+import teammates.common.datatransfer.FeedbackTextQuestionDetails;
+import teammates.common.datatransfer.FeedbackTextResponseDetails;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.InstructorPrivileges;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.TimeHelper;
+import teammates.common.util.Utils;
+import teammates.logic.api.Logic;
+import teammates.logic.backdoor.BackDoorLogic;
+import teammates.logic.core.FeedbackSessionsLogic;
+import teammates.test.driver.GaeSimulation;
+import teammates.test.util.FileHelper;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * Times the key operations of {@link Logic} against the local datastore stand-in used by the
+ * component tests, so that no deployed app or imported data is needed (unlike {@link PerformanceProfiler}).
+ *
+ * A course shaped like the largest courses of {@link DataGenerator}, with teams of its sizes,
+ * is generated with a fixed seed, so that runs on different commits use the same data.
+ * Each student answers every question of a session for each member of the team.
+ *
+ * The timings are written as JSON to the file given as the first argument, or to
+ * {@value #DEFAULT_RESULTS_FILE}, for them to be compared across commits.
+ * Usage: run through the Gradle task {@code localBenchmark}, or from the root of the project.
+ */
+public final class LocalPerformanceBenchmark {
+
+    private static final String DEFAULT_RESULTS_FILE = "build/reports/benchmark/local-benchmark.json";
+
+    private static final int NUM_STUDENTS = DataGenerator.MAX_NUM_OF_STUDENTS_PER_COURSE;
+    private static final int NUM_QUESTIONS_PER_TYPE = 2;
+    private static final int NUM_WARMUP_ITERATIONS = 2;
+    private static final int NUM_ITERATIONS = 5;
+    private static final int ENROLLMENT_BATCH_SIZE = 100;
+    private static final long SEED = 0;
+
+    private static final String PREFIX = "benchmark.";
+    private static final String COURSE_ID = PREFIX + "course";
+    private static final String SESSION_NAME = "Benchmark Session";
+    private static final String INSTRUCTOR_EMAIL = "instructor@benchmark.tmt";
+
+    private final Logic logic = new Logic();
+    private final Random random = new Random(SEED);
+
+    private DataBundle dataBundle;
+
+    private LocalPerformanceBenchmark() {
+        // script, started from main
+    }
+
+    public static void main(String[] args) throws Exception {
+        String resultsFile = args.length > 0 ? args[0] : DEFAULT_RESULTS_FILE;
+
+        GaeSimulation.inst().setup();
+        new LocalPerformanceBenchmark().run(resultsFile);
+        System.exit(0);
+    }
+
+    private void run(String resultsFile) throws Exception {
+        dataBundle = generateDataBundle();
+        new BackDoorLogic().persistDataBundle(dataBundle);
+
+        List<BenchmarkResult> results = new ArrayList<BenchmarkResult>();
+        results.add(measure(new Operation("enrollment") {
+            @Override
+            void setUp(int iteration) throws Exception {
+                String courseId = getEnrollmentCourseId(iteration);
+                logic.createCourseAndInstructor(getInstructorGoogleId(), courseId, "Enrollment Course", "UTC");
+            }
+
+            @Override
+            void run(int iteration) throws Exception {
+                for (String enrollLines : getEnrollLinesInBatches()) {
+                    logic.enrollStudents(enrollLines, getEnrollmentCourseId(iteration));
+                }
+            }
+        }));
+        results.add(measure(new Operation("resultsBundle") {
+            @Override
+            void run(int iteration) throws Exception {
+                logic.getFeedbackSessionResultsForInstructor(SESSION_NAME, COURSE_ID, INSTRUCTOR_EMAIL);
+            }
+        }));
+        results.add(measure(new Operation("csvExport") {
+            @Override
+            void run(int iteration) throws Exception {
+                // the course has too many responses to be downloaded at once, so it is downloaded by section
+                for (String section : getSections()) {
+                    logic.getFeedbackSessionResultSummaryInSectionAsCsv(COURSE_ID, SESSION_NAME, INSTRUCTOR_EMAIL,
+                                                                        section, null, true, true);
+                }
+            }
+        }));
+        results.add(measure(new Operation("reminderTargeting") {
+            @Override
+            void run(int iteration) throws Exception {
+                FeedbackSessionsLogic.inst().sendReminderForFeedbackSession(COURSE_ID, SESSION_NAME);
+            }
+        }));
+        results.add(measure(new Operation("submissionSave") {
+            private List<FeedbackResponseAttributes> responses;
+
+            @Override
+            void setUp(int iteration) {
+                responses = getResponsesFromStudent(iteration);
+            }
+
+            @Override
+            void run(int iteration) throws Exception {
+                for (FeedbackResponseAttributes response : responses) {
+                    logic.updateFeedbackResponse(response);
+                }
+            }
+        }));
+
+        writeResults(resultsFile, results);
+    }
+
+    private BenchmarkResult measure(Operation operation) throws Exception {
+        System.out.println("Measuring " + operation.name);
+
+        int numRuns = NUM_WARMUP_ITERATIONS + NUM_ITERATIONS;
+        long[] durations = new long[NUM_ITERATIONS];
+        for (int i = 0; i < numRuns; i++) {
+            operation.setUp(i);
+            long startTime = System.nanoTime();
+            operation.run(i);
+            long duration = System.nanoTime() - startTime;
+            if (i >= NUM_WARMUP_ITERATIONS) {
+                durations[i - NUM_WARMUP_ITERATIONS] = duration;
+            }
+        }
+        return new BenchmarkResult(operation.name, durations);
+    }
+
+    private void writeResults(String resultsFile, List<BenchmarkResult> results) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<String, Object>();
+        report.put("createdAt", new Date());
+        report.put("javaVersion", System.getProperty("java.version"));
+
+        Map<String, Integer> dataSize = new LinkedHashMap<String, Integer>();
+        dataSize.put("students", dataBundle.students.size());
+        dataSize.put("questions", dataBundle.feedbackQuestions.size());
+        dataSize.put("responses", dataBundle.feedbackResponses.size());
+        report.put("dataSize", dataSize);
+        report.put("iterations", NUM_ITERATIONS);
+        report.put("results", results);
+
+        File file = new File(resultsFile);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        FileHelper.saveFile(resultsFile, Utils.getTeammatesGson().toJson(report));
+        System.out.println("Results written to " + file.getAbsolutePath());
+    }
+
+    private DataBundle generateDataBundle() {
+        DataBundle bundle = new DataBundle();
+
+        bundle.courses.put(COURSE_ID, new CourseAttributes(COURSE_ID, "Benchmark Course", "UTC"));
+        bundle.accounts.put(INSTRUCTOR_EMAIL, new AccountAttributes(getInstructorGoogleId(), "Instructor", true,
+                                                                    INSTRUCTOR_EMAIL, "Benchmark Institute"));
+        bundle.instructors.put(INSTRUCTOR_EMAIL, createInstructor(COURSE_ID));
+
+        List<List<StudentAttributes>> teams = new ArrayList<List<StudentAttributes>>();
+        List<StudentAttributes> team = new ArrayList<StudentAttributes>();
+        int teamSize = getTeamSize();
+        for (int i = 0; i < NUM_STUDENTS; i++) {
+            if (team.size() == teamSize) {
+                teams.add(team);
+                team = new ArrayList<StudentAttributes>();
+                teamSize = getTeamSize();
+            }
+            StudentAttributes student = new StudentAttributes("Section " + teams.size() / 10, "Team " + teams.size(),
+                                                              "Student " + i, getStudentEmail(i), "", COURSE_ID);
+            team.add(student);
+            bundle.students.put(student.email, student);
+        }
+        teams.add(team);
+
+        bundle.feedbackSessions.put(SESSION_NAME, createSession());
+
+        int questionNumber = 0;
+        for (int i = 0; i < NUM_QUESTIONS_PER_TYPE; i++) {
+            questionNumber++;
+            addQuestion(bundle, questionNumber, new FeedbackTextQuestionDetails("Text question " + questionNumber),
+                        teams);
+            questionNumber++;
+            FeedbackNumericalScaleQuestionDetails numScaleQuestionDetails = new FeedbackNumericalScaleQuestionDetails();
+            numScaleQuestionDetails.setQuestionText("Numerical scale question " + questionNumber);
+            addQuestion(bundle, questionNumber, numScaleQuestionDetails, teams);
+        }
+        return bundle;
+    }
+
+    private void addQuestion(DataBundle bundle, int questionNumber, FeedbackQuestionDetails questionDetails,
+                             List<List<StudentAttributes>> teams) {
+        FeedbackQuestionAttributes question = new FeedbackQuestionAttributes();
+        question.feedbackSessionName = SESSION_NAME;
+        question.courseId = COURSE_ID;
+        question.creatorEmail = INSTRUCTOR_EMAIL;
+        question.questionNumber = questionNumber;
+        question.questionType = questionDetails.getQuestionType();
+        question.giverType = FeedbackParticipantType.STUDENTS;
+        question.recipientType = FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF;
+        question.numberOfEntitiesToGiveFeedbackTo = Const.MAX_POSSIBLE_RECIPIENTS;
+        question.showResponsesTo = new ArrayList<FeedbackParticipantType>(
+                Arrays.asList(FeedbackParticipantType.INSTRUCTORS, FeedbackParticipantType.RECEIVER));
+        question.showGiverNameTo = new ArrayList<FeedbackParticipantType>(
+                Arrays.asList(FeedbackParticipantType.INSTRUCTORS));
+        question.showRecipientNameTo = new ArrayList<FeedbackParticipantType>(
+                Arrays.asList(FeedbackParticipantType.INSTRUCTORS, FeedbackParticipantType.RECEIVER));
+        question.setQuestionDetails(questionDetails);
+        bundle.feedbackQuestions.put("question" + questionNumber, question);
+
+        for (List<StudentAttributes> team : teams) {
+            for (StudentAttributes giver : team) {
+                for (StudentAttributes recipient : team) {
+                    // the question number is replaced by the id of the question when the data is persisted
+                    FeedbackResponseAttributes response = new FeedbackResponseAttributes(
+                            SESSION_NAME, COURSE_ID, String.valueOf(questionNumber), question.questionType,
+                            giver.email, giver.section, recipient.email, recipient.section, null);
+                    response.setResponseDetails(createResponseDetails(question.questionType));
+                    bundle.feedbackResponses.put(questionNumber + "%" + giver.email + "%" + recipient.email,
+                                                 response);
+                }
+            }
+        }
+    }
+
+    private FeedbackResponseDetails createResponseDetails(FeedbackQuestionType questionType) {
+        if (questionType == FeedbackQuestionType.NUMSCALE) {
+            FeedbackNumericalScaleResponseDetails responseDetails = new FeedbackNumericalScaleResponseDetails();
+            responseDetails.extractResponseDetails(questionType, new FeedbackNumericalScaleQuestionDetails(),
+                                                   new String[] {String.valueOf(1 + random.nextInt(5))});
+            return responseDetails;
+        }
+        return new FeedbackTextResponseDetails("Answer " + random.nextInt());
+    }
+
+    private List<FeedbackResponseAttributes> getResponsesFromStudent(int studentIndex) {
+        List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+        String giverEmail = getStudentEmail(studentIndex);
+        for (FeedbackResponseAttributes response : dataBundle.feedbackResponses.values()) {
+            if (response.giver.equals(giverEmail)) {
+                // the responses of the data bundle have the ids of the questions after being persisted
+                FeedbackResponseAttributes storedResponse = logic.getFeedbackResponse(
+                        response.feedbackQuestionId, response.giver, response.recipient);
+                storedResponse.setResponseDetails(createResponseDetails(storedResponse.feedbackQuestionType));
+                responses.add(storedResponse);
+            }
+        }
+        return responses;
+    }
+
+    private FeedbackSessionAttributes createSession() {
+        FeedbackSessionAttributes session = new FeedbackSessionAttributes();
+        session.setFeedbackSessionName(SESSION_NAME);
+        session.setCourseId(COURSE_ID);
+        session.setCreatorEmail(INSTRUCTOR_EMAIL);
+        session.setInstructions(new Text("Benchmark instructions"));
+        session.setCreatedTime(TimeHelper.getDateOffsetToCurrentTime(-2));
+        session.setSessionVisibleFromTime(TimeHelper.getDateOffsetToCurrentTime(-1));
+        session.setStartTime(TimeHelper.getDateOffsetToCurrentTime(-1));
+        session.setEndTime(TimeHelper.getDateOffsetToCurrentTime(7));
+        session.setResultsVisibleFromTime(Const.TIME_REPRESENTS_LATER);
+        session.setTimeZone(0);
+        session.setGracePeriod(15);
+        session.setFeedbackSessionType(FeedbackSessionType.STANDARD);
+        return session;
+    }
+
+    private InstructorAttributes createInstructor(String courseId) {
+        String role = Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_COOWNER;
+        return new InstructorAttributes(getInstructorGoogleId(), courseId, "Instructor", INSTRUCTOR_EMAIL, role,
+                                        "Instructor", new InstructorPrivileges(role));
+    }
+
+    /**
+     * Splits the students into batches of at most {@value #ENROLLMENT_BATCH_SIZE},
+     * like instructors of courses this large have to enroll them.
+     */
+    private List<String> getEnrollLinesInBatches() {
+        List<String> batches = new ArrayList<String>();
+        StringBuilder enrollLines = null;
+        int numStudentsInBatch = 0;
+        for (StudentAttributes student : dataBundle.students.values()) {
+            if (enrollLines == null || numStudentsInBatch == ENROLLMENT_BATCH_SIZE) {
+                if (enrollLines != null) {
+                    batches.add(enrollLines.toString());
+                }
+                enrollLines = new StringBuilder("Section | Team | Name | Email");
+                numStudentsInBatch = 0;
+            }
+            enrollLines.append(Const.EOL).append(student.section).append(" | ").append(student.team)
+                       .append(" | ").append(student.name).append(" | ").append(student.email);
+            numStudentsInBatch++;
+        }
+        if (enrollLines != null) {
+            batches.add(enrollLines.toString());
+        }
+        return batches;
+    }
+
+    private Set<String> getSections() {
+        Set<String> sections = new TreeSet<String>();
+        for (StudentAttributes student : dataBundle.students.values()) {
+            sections.add(student.section);
+        }
+        return sections;
+    }
+
+    private int getTeamSize() {
+        return DataGenerator.MIN_TEAM_SIZE
+               + random.nextInt(DataGenerator.MAX_TEAM_SIZE - DataGenerator.MIN_TEAM_SIZE + 1);
+    }
+
+    private static String getEnrollmentCourseId(int iteration) {
+        return PREFIX + "enrollment" + iteration;
+    }
+
+    private static String getInstructorGoogleId() {
+        return PREFIX + "instructor";
+    }
+
+    private static String getStudentEmail(int studentIndex) {
+        return "student" + studentIndex + "@benchmark.tmt";
+    }
+
+    /**
+     * An operation to be timed. Only {@link #run} is timed, after {@link #setUp} prepares its data.
+     */
+    private abstract static class Operation {
+
+        final String name;
+
+        Operation(String name) {
+            this.name = name;
+        }
+
+        @SuppressWarnings("unused")
+        void setUp(int iteration) throws Exception {
+            // nothing to prepare by default
+        }
+
+        abstract void run(int iteration) throws Exception;
+    }
+
+    /**
+     * The timings of an operation, serialized to the JSON results.
+     */
+    @SuppressWarnings("unused")
+    private static class BenchmarkResult {
+
+        private final String name;
+        private final double minMillis;
+        private final double meanMillis;
+        private final double maxMillis;
+        private final double[] iterationMillis;
+
+        BenchmarkResult(String name, long[] durationsInNanos) {
+            this.name = name;
+            this.iterationMillis = new double[durationsInNanos.length];
+
+            double min = Double.MAX_VALUE;
+            double max = 0;
+            double total = 0;
+            for (int i = 0; i < durationsInNanos.length; i++) {
+                double millis = durationsInNanos[i] / 1e6;
+                iterationMillis[i] = millis;
+                min = Math.min(min, millis);
+                max = Math.max(max, millis);
+                total += millis;
+            }
+            this.minMillis = min;
+            this.meanMillis = total / durationsInNanos.length;
+            this.maxMillis = max;
+        }
+    }
+
+}
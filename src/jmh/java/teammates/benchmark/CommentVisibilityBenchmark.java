@@ -0,0 +1,251 @@
+package teammates.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.datatransfer.CommentAttributes;
+import teammates.common.datatransfer.CommentParticipantType;
+import teammates.common.datatransfer.CommentVisibilityIndex;
+import teammates.common.datatransfer.StudentAttributes;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * Measures the lookup of the comments visible to a student and to an instructor
+ * in a course of 1000 students with 2 comments per student, comparing the
+ * {@link CommentVisibilityIndex} against filtering all the comments of each viewer type
+ * as done before the index, without the datastore reads of either.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CommentVisibilityBenchmark {
+
+    private static final int NUM_STUDENTS = 1000;
+    private static final int TEAM_SIZE = 5;
+    private static final int NUM_COMMENTS_PER_STUDENT = 2;
+    private static final String INSTRUCTOR_EMAIL = "instructor@benchmark.tmt";
+
+    /** Most comments are shown to the recipient or to the team, and few to the whole course. */
+    private static final List<CommentParticipantType> VIEWER_TYPES = Arrays.asList(
+            CommentParticipantType.PERSON, CommentParticipantType.TEAM, CommentParticipantType.PERSON,
+            CommentParticipantType.SECTION, CommentParticipantType.PERSON, CommentParticipantType.TEAM,
+            CommentParticipantType.PERSON, CommentParticipantType.INSTRUCTOR, CommentParticipantType.PERSON,
+            CommentParticipantType.COURSE);
+
+    private List<CommentAttributes> comments;
+    private CommentVisibilityIndex index;
+    private StudentAttributes student;
+    private List<StudentAttributes> studentsInSection;
+
+    @Setup(Level.Trial)
+    public void setUpComments() {
+        List<StudentAttributes> students = FeedbackResultsData.createStudents(NUM_STUDENTS, TEAM_SIZE);
+        student = students.get(NUM_STUDENTS / 2);
+        studentsInSection = new ArrayList<StudentAttributes>();
+        for (StudentAttributes studentInCourse : students) {
+            if (studentInCourse.section.equals(student.section)) {
+                studentsInSection.add(studentInCourse);
+            }
+        }
+
+        comments = new ArrayList<CommentAttributes>();
+        for (int i = 0; i < NUM_STUDENTS * NUM_COMMENTS_PER_STUDENT; i++) {
+            StudentAttributes recipient = students.get(i % NUM_STUDENTS);
+            CommentAttributes comment;
+            if (i % 10 == 0) {
+                comment = createComment(i, CommentParticipantType.TEAM, recipient.team);
+            } else if (i % 50 == 1) {
+                comment = createComment(i, CommentParticipantType.SECTION, recipient.section);
+            } else if (i % 100 == 2) {
+                comment = createComment(i, CommentParticipantType.COURSE, FeedbackResultsData.COURSE_ID);
+            } else {
+                comment = createComment(i, CommentParticipantType.PERSON, recipient.email);
+            }
+            comment.showCommentTo.add(VIEWER_TYPES.get(i % VIEWER_TYPES.size()));
+            if (i % 3 == 0) {
+                comment.showCommentTo.add(CommentParticipantType.INSTRUCTOR);
+            }
+            comments.add(comment);
+        }
+
+        index = new CommentVisibilityIndex(FeedbackResultsData.COURSE_ID, comments);
+    }
+
+    /**
+     * Builds the index, as done once for each change to the comments of the course.
+     */
+    @Benchmark
+    public Object buildIndex() {
+        return new CommentVisibilityIndex(FeedbackResultsData.COURSE_ID, comments);
+    }
+
+    @Benchmark
+    public List<CommentAttributes> getCommentsForStudentFromIndex() {
+        return index.getCommentsForStudent(student, studentsInSection);
+    }
+
+    @Benchmark
+    public List<CommentAttributes> getCommentsForInstructorFromIndex() {
+        return index.getCommentsForInstructor(INSTRUCTOR_EMAIL);
+    }
+
+    @Benchmark
+    public List<CommentAttributes> getCommentsForStudentByFiltering() {
+        List<String> teammatesEmails = new ArrayList<String>();
+        List<String> sectionStudentsEmails = new ArrayList<String>();
+        List<String> teamsInSection = new ArrayList<String>();
+        for (StudentAttributes studentInSection : studentsInSection) {
+            if (studentInSection.team.equals(student.team)) {
+                teammatesEmails.add(studentInSection.email);
+            }
+            sectionStudentsEmails.add(studentInSection.email);
+            teamsInSection.add(studentInSection.team);
+        }
+
+        Set<Long> visitedCommentIds = new HashSet<Long>();
+        List<CommentAttributes> visibleComments = new ArrayList<CommentAttributes>();
+        for (CommentAttributes comment : getCommentsForRecipient(CommentParticipantType.PERSON, student.email)) {
+            filter(comment, CommentParticipantType.PERSON, visitedCommentIds, visibleComments);
+        }
+        filterForTeam(getCommentsForViewer(CommentParticipantType.TEAM), teammatesEmails,
+                      visitedCommentIds, visibleComments);
+        List<CommentAttributes> commentsForSection = getCommentsForViewer(CommentParticipantType.SECTION);
+        filterForTeam(commentsForSection, teammatesEmails, visitedCommentIds, visibleComments);
+        filterForSection(commentsForSection, sectionStudentsEmails, teamsInSection, visitedCommentIds, visibleComments);
+        List<CommentAttributes> commentsForCourse = getCommentsForViewer(CommentParticipantType.COURSE);
+        filterForTeam(commentsForCourse, teammatesEmails, visitedCommentIds, visibleComments);
+        filterForSection(commentsForCourse, sectionStudentsEmails, teamsInSection, visitedCommentIds, visibleComments);
+        for (CommentAttributes comment : commentsForCourse) {
+            if (visitedCommentIds.add(comment.getCommentId())) {
+                visibleComments.add(comment);
+            }
+        }
+        Collections.sort(visibleComments);
+        return visibleComments;
+    }
+
+    @Benchmark
+    public List<CommentAttributes> getCommentsForInstructorByFiltering() {
+        Set<Long> visitedCommentIds = new HashSet<Long>();
+        List<CommentAttributes> visibleComments = new ArrayList<CommentAttributes>();
+        for (CommentAttributes comment : comments) {
+            if (comment.giverEmail.equals(INSTRUCTOR_EMAIL)) {
+                visitedCommentIds.add(comment.getCommentId());
+                visibleComments.add(comment);
+            }
+        }
+        for (CommentAttributes comment : getCommentsForViewer(CommentParticipantType.INSTRUCTOR)) {
+            if (visitedCommentIds.add(comment.getCommentId())) {
+                visibleComments.add(comment);
+            }
+        }
+        Collections.sort(visibleComments);
+        return visibleComments;
+    }
+
+    private void filterForTeam(List<CommentAttributes> commentsToFilter, List<String> teammatesEmails,
+                               Set<Long> visitedCommentIds, List<CommentAttributes> visibleComments) {
+        for (CommentAttributes comment : commentsToFilter) {
+            if (comment.recipientType == CommentParticipantType.PERSON
+                        && containsAny(teammatesEmails, comment.recipients)
+                    || comment.recipientType == CommentParticipantType.TEAM
+                        && comment.recipients.contains(student.team)) {
+                filter(comment, CommentParticipantType.TEAM, visitedCommentIds, visibleComments);
+            }
+        }
+    }
+
+    private void filterForSection(List<CommentAttributes> commentsToFilter, List<String> sectionStudentsEmails,
+                                  List<String> teamsInSection, Set<Long> visitedCommentIds,
+                                  List<CommentAttributes> visibleComments) {
+        for (CommentAttributes comment : commentsToFilter) {
+            if (comment.recipientType == CommentParticipantType.PERSON
+                        && containsAny(sectionStudentsEmails, comment.recipients)
+                    || comment.recipientType == CommentParticipantType.TEAM
+                        && containsAny(teamsInSection, comment.recipients)
+                    || comment.recipientType == CommentParticipantType.SECTION
+                        && comment.recipients.contains(student.section)) {
+                filter(comment, CommentParticipantType.SECTION, visitedCommentIds, visibleComments);
+            }
+        }
+    }
+
+    private static void filter(CommentAttributes comment, CommentParticipantType viewerType,
+                               Set<Long> visitedCommentIds, List<CommentAttributes> visibleComments) {
+        if (visitedCommentIds.add(comment.getCommentId()) && comment.showCommentTo.contains(viewerType)) {
+            visibleComments.add(comment);
+        }
+    }
+
+    private static boolean containsAny(List<String> group, Set<String> recipients) {
+        for (String recipient : recipients) {
+            if (group.contains(recipient)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stands in for the query for the comments shown to a viewer type.
+     */
+    private List<CommentAttributes> getCommentsForViewer(CommentParticipantType viewerType) {
+        List<CommentAttributes> commentsForViewer = new ArrayList<CommentAttributes>();
+        for (CommentAttributes comment : comments) {
+            if (comment.showCommentTo.contains(viewerType)) {
+                commentsForViewer.add(comment);
+            }
+        }
+        return commentsForViewer;
+    }
+
+    /**
+     * Stands in for the query for the comments to a recipient.
+     */
+    private List<CommentAttributes> getCommentsForRecipient(CommentParticipantType recipientType, String recipient) {
+        List<CommentAttributes> commentsForRecipient = new ArrayList<CommentAttributes>();
+        for (CommentAttributes comment : comments) {
+            if (comment.recipientType == recipientType && comment.recipients.contains(recipient)) {
+                commentsForRecipient.add(comment);
+            }
+        }
+        return commentsForRecipient;
+    }
+
+    private static CommentAttributes createComment(int commentIndex, CommentParticipantType recipientType,
+                                                   String recipient) {
+        String giverEmail = commentIndex % 4 == 0 ? INSTRUCTOR_EMAIL : "instructor" + commentIndex % 7 + "@benchmark.tmt";
+        CommentAttributes comment = new CommentAttributes(FeedbackResultsData.COURSE_ID, giverEmail, recipientType,
+                                                          new HashSet<String>(Arrays.asList(recipient)),
+                                                          new Date(commentIndex * 1000L),
+                                                          new Text("Comment " + commentIndex));
+        comment.setCommentId((long) commentIndex + 1);
+        comment.showCommentTo = new ArrayList<CommentParticipantType>();
+        comment.showGiverNameTo = new ArrayList<CommentParticipantType>();
+        comment.showRecipientNameTo = new ArrayList<CommentParticipantType>();
+        return comment;
+    }
+
+}
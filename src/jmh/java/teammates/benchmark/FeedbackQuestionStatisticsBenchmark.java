@@ -0,0 +1,115 @@
+package teammates.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.datatransfer.FeedbackNumericalScaleQuestionDetails;
+import teammates.common.datatransfer.FeedbackNumericalScaleResponseDetails;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.common.datatransfer.StudentAttributes;
+
+/**
+ * Measures the summary statistics of a numerical scale question with 20,000 responses,
+ * given by 200 students to 100 other students each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FeedbackQuestionStatisticsBenchmark {
+
+    private static final int NUM_STUDENTS = 200;
+    private static final int NUM_RESPONSES_PER_GIVER = 100;
+    private static final int TEAM_SIZE = 5;
+
+    private static final String QUESTION_ID = "benchmark-question";
+
+    private FeedbackQuestionAttributes question;
+    private FeedbackNumericalScaleQuestionDetails questionDetails;
+    private List<FeedbackResponseAttributes> responses;
+    private List<StudentAttributes> students;
+
+    /** A bundle which has not aggregated the statistics yet. */
+    private FeedbackSessionResultsBundle coldBundle;
+
+    /** A bundle which has aggregated the statistics in an earlier invocation. */
+    private FeedbackSessionResultsBundle warmBundle;
+
+    @Setup(Level.Trial)
+    public void setUpResponses() {
+        questionDetails = new FeedbackNumericalScaleQuestionDetails();
+        question = FeedbackResultsData.createQuestion(QUESTION_ID, 1, questionDetails,
+                                                      FeedbackParticipantType.STUDENTS);
+        students = FeedbackResultsData.createStudents(NUM_STUDENTS, TEAM_SIZE);
+
+        Random random = new Random(0);
+        responses = new ArrayList<FeedbackResponseAttributes>();
+        for (int giver = 0; giver < NUM_STUDENTS; giver++) {
+            for (int i = 0; i < NUM_RESPONSES_PER_GIVER; i++) {
+                int recipient = (giver + i) % NUM_STUDENTS;
+                FeedbackNumericalScaleResponseDetails responseDetails = new FeedbackNumericalScaleResponseDetails();
+                responseDetails.extractResponseDetails(FeedbackQuestionType.NUMSCALE, questionDetails,
+                        new String[] {String.valueOf(1 + random.nextInt(9) * 0.5)});
+                responses.add(FeedbackResultsData.createResponse(question, students.get(giver),
+                                                                 students.get(recipient), responseDetails));
+            }
+        }
+
+        warmBundle = createBundle();
+        getStatistics(warmBundle);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpColdBundle() {
+        coldBundle = createBundle();
+    }
+
+    @Benchmark
+    public Object aggregateStatistics() {
+        return questionDetails.aggregateResponseStatistics(responses);
+    }
+
+    @Benchmark
+    public Object renderStatisticsWithColdBundle() {
+        return getStatistics(coldBundle);
+    }
+
+    @Benchmark
+    public Object renderStatisticsWithWarmBundle() {
+        return getStatistics(warmBundle);
+    }
+
+    /**
+     * Renders the statistics as the instructor results page and the CSV export do.
+     */
+    private String getStatistics(FeedbackSessionResultsBundle bundle) {
+        return questionDetails.getQuestionResultStatisticsHtml(responses, question, null, bundle, "question")
+               + questionDetails.getQuestionResultStatisticsCsv(responses, question, bundle);
+    }
+
+    private FeedbackSessionResultsBundle createBundle() {
+        return FeedbackResultsData.createBundle(Arrays.asList(question), responses, students);
+    }
+
+}
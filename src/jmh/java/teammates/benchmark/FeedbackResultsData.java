@@ -0,0 +1,124 @@
+package teammates.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionDetails;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.FeedbackResponseDetails;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.FeedbackSessionResponseStatus;
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+
+/**
+ * Builds the students, questions, responses and results bundles used by the benchmarks
+ * of the feedback results, without going through the datastore.
+ */
+final class FeedbackResultsData {
+
+    static final String COURSE_ID = "benchmark.course";
+    static final String SESSION_NAME = "Benchmark Session";
+
+    private static final int NUM_STUDENTS_PER_SECTION = 50;
+
+    private FeedbackResultsData() {
+        // utility class
+    }
+
+    /**
+     * @return students in teams of {@code teamSize}, with {@value #NUM_STUDENTS_PER_SECTION} students per section.
+     */
+    static List<StudentAttributes> createStudents(int numStudents, int teamSize) {
+        List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+        for (int i = 0; i < numStudents; i++) {
+            students.add(new StudentAttributes("Section " + i / NUM_STUDENTS_PER_SECTION, "Team " + i / teamSize,
+                                               "Student " + i, getEmail(i), "", COURSE_ID));
+        }
+        return students;
+    }
+
+    static FeedbackQuestionAttributes createQuestion(String questionId, int questionNumber,
+                                                     FeedbackQuestionDetails questionDetails,
+                                                     FeedbackParticipantType recipientType) {
+        FeedbackQuestionAttributes question = new FeedbackQuestionAttributes();
+        question.setId(questionId);
+        question.courseId = COURSE_ID;
+        question.feedbackSessionName = SESSION_NAME;
+        question.questionNumber = questionNumber;
+        question.questionType = questionDetails.getQuestionType();
+        question.giverType = FeedbackParticipantType.STUDENTS;
+        question.recipientType = recipientType;
+        question.showResponsesTo = new ArrayList<FeedbackParticipantType>();
+        question.showGiverNameTo = new ArrayList<FeedbackParticipantType>();
+        question.showRecipientNameTo = new ArrayList<FeedbackParticipantType>();
+        question.setQuestionDetails(questionDetails);
+        return question;
+    }
+
+    static FeedbackResponseAttributes createResponse(FeedbackQuestionAttributes question, StudentAttributes giver,
+                                                     StudentAttributes recipient,
+                                                     FeedbackResponseDetails responseDetails) {
+        FeedbackResponseAttributes response = new FeedbackResponseAttributes(
+                SESSION_NAME, COURSE_ID, question.getId(), question.questionType,
+                giver.email, giver.section, recipient.email, recipient.section, null);
+        response.setResponseDetails(responseDetails);
+        response.setId(question.getId() + "%" + giver.email + "%" + recipient.email);
+        return response;
+    }
+
+    /**
+     * @return a bundle of the responses as seen by an instructor who can see all the givers and recipients.
+     */
+    static FeedbackSessionResultsBundle createBundle(List<FeedbackQuestionAttributes> questionList,
+                                                     List<FeedbackResponseAttributes> responses,
+                                                     List<StudentAttributes> students) {
+        Map<String, FeedbackQuestionAttributes> questions = new HashMap<String, FeedbackQuestionAttributes>();
+        for (FeedbackQuestionAttributes question : questionList) {
+            questions.put(question.getId(), question);
+        }
+
+        Map<String, String> emailNameTable = new HashMap<String, String>();
+        Map<String, String> emailLastNameTable = new HashMap<String, String>();
+        Map<String, String> emailTeamNameTable = new HashMap<String, String>();
+        Map<String, Set<String>> sectionTeamNameTable = new HashMap<String, Set<String>>();
+        for (StudentAttributes student : students) {
+            emailNameTable.put(student.email, student.name);
+            emailLastNameTable.put(student.email, student.lastName);
+            emailTeamNameTable.put(student.email, student.team);
+            if (!sectionTeamNameTable.containsKey(student.section)) {
+                sectionTeamNameTable.put(student.section, new HashSet<String>());
+            }
+            sectionTeamNameTable.get(student.section).add(student.team);
+        }
+
+        Map<String, boolean[]> visibilityTable = new HashMap<String, boolean[]>();
+        for (FeedbackResponseAttributes response : responses) {
+            visibilityTable.put(response.getId(), new boolean[] {true, true});
+        }
+
+        FeedbackSessionAttributes session = new FeedbackSessionAttributes();
+        session.setFeedbackSessionName(SESSION_NAME);
+        session.setCourseId(COURSE_ID);
+
+        return new FeedbackSessionResultsBundle(
+                session, responses, questions, emailNameTable, emailLastNameTable, emailTeamNameTable,
+                sectionTeamNameTable, visibilityTable, new FeedbackSessionResponseStatus(),
+                new CourseRoster(students, new ArrayList<InstructorAttributes>()),
+                new HashMap<String, List<FeedbackResponseCommentAttributes>>());
+    }
+
+    static String getEmail(int studentIndex) {
+        return "student" + studentIndex + "@benchmark.tmt";
+    }
+
+}
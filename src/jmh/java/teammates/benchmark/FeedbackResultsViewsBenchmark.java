@@ -0,0 +1,230 @@
+package teammates.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.datatransfer.AccountAttributes;
+import teammates.common.datatransfer.FeedbackNumericalScaleQuestionDetails;
+import teammates.common.datatransfer.FeedbackNumericalScaleResponseDetails;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.FeedbackResponseAnswerHtmlCache;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseDetails;
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.common.datatransfer.FeedbackTextQuestionDetails;
+import teammates.common.datatransfer.FeedbackTextResponseDetails;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.InstructorPrivileges;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.ui.controller.InstructorFeedbackResultsPageData;
+import teammates.ui.controller.InstructorFeedbackResultsPageData.ViewType;
+
+/**
+ * Measures building the question, giver and recipient views of the instructor results page
+ * for a session of 10,000 responses to 5 questions, given by 400 students in one section
+ * to each member of their team of 5, with the rendered answers of the responses in
+ * {@link FeedbackResponseAnswerHtmlCache} either cleared (cold) or filled by a previous page load (warm). <br>
+ * The question view is built question by question, as the page loads it by ajax.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FeedbackResultsViewsBenchmark {
+
+    private static final int NUM_STUDENTS = 400;
+    private static final int TEAM_SIZE = 5;
+    private static final int NUM_QUESTIONS = 5;
+    private static final String SECTION = "Section 1";
+
+    /**
+     * The responses of the session, and the bundles read from them for each page load. <br>
+     * The cold and warm states each set up their own copy, as one state cannot depend on another
+     * in its setup.
+     */
+    abstract static class Session {
+        List<FeedbackQuestionAttributes> questions;
+        List<FeedbackResponseAttributes> responses;
+        List<StudentAttributes> students;
+        AccountAttributes account;
+        InstructorAttributes instructor;
+
+        /** Bundles which have not sorted their responses yet, as read for each page load. */
+        FeedbackSessionResultsBundle bundle;
+        List<FeedbackSessionResultsBundle> questionBundles;
+
+        void createResponses() {
+            students = new ArrayList<StudentAttributes>();
+            for (int i = 0; i < NUM_STUDENTS; i++) {
+                students.add(new StudentAttributes(SECTION, "Team " + i / TEAM_SIZE, "Student " + i,
+                                                   FeedbackResultsData.getEmail(i), "",
+                                                   FeedbackResultsData.COURSE_ID));
+            }
+            account = new AccountAttributes("benchmark.instructor", "Instructor", true,
+                                            "instructor@benchmark.tmt", "Benchmark Institute");
+            instructor = new InstructorAttributes(
+                    account.googleId, FeedbackResultsData.COURSE_ID, account.name, account.email,
+                    Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_COOWNER, "Instructor",
+                    new InstructorPrivileges(Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_COOWNER));
+
+            questions = new ArrayList<FeedbackQuestionAttributes>();
+            for (int questionNumber = 1; questionNumber <= NUM_QUESTIONS; questionNumber++) {
+                questions.add(FeedbackResultsData.createQuestion(
+                        "benchmark-question-" + questionNumber, questionNumber,
+                        questionNumber % 2 == 0 ? new FeedbackNumericalScaleQuestionDetails()
+                                                : new FeedbackTextQuestionDetails("Text question " + questionNumber),
+                        FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF));
+            }
+
+            Random random = new Random(0);
+            responses = new ArrayList<FeedbackResponseAttributes>();
+            for (FeedbackQuestionAttributes question : questions) {
+                for (int giver = 0; giver < NUM_STUDENTS; giver++) {
+                    int firstTeamMember = giver / TEAM_SIZE * TEAM_SIZE;
+                    for (int recipient = firstTeamMember; recipient < firstTeamMember + TEAM_SIZE; recipient++) {
+                        responses.add(FeedbackResultsData.createResponse(question, students.get(giver),
+                                                                         students.get(recipient),
+                                                                         createResponseDetails(question, random)));
+                    }
+                }
+            }
+        }
+
+        void createBundles() {
+            bundle = FeedbackResultsData.createBundle(questions, responses, students);
+            questionBundles = new ArrayList<FeedbackSessionResultsBundle>();
+            for (FeedbackQuestionAttributes question : questions) {
+                List<FeedbackResponseAttributes> responsesToQuestion = new ArrayList<FeedbackResponseAttributes>();
+                for (FeedbackResponseAttributes response : responses) {
+                    if (response.feedbackQuestionId.equals(question.getId())) {
+                        responsesToQuestion.add(response);
+                    }
+                }
+                questionBundles.add(FeedbackResultsData.createBundle(Collections.singletonList(question),
+                                                                     responsesToQuestion, students));
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ColdSession extends Session {
+        @Setup(Level.Trial)
+        public void setUpResponses() {
+            createResponses();
+        }
+
+        @Setup(Level.Invocation)
+        public void setUpBundles() {
+            FeedbackResponseAnswerHtmlCache.clear();
+            createBundles();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class WarmSession extends Session {
+        @Setup(Level.Trial)
+        public void setUpResponses() {
+            createResponses();
+        }
+
+        /**
+         * Fills the cache by a page load of the giver and recipient views, and then reads the bundles again
+         * so that the measured views do not reuse the responses sorted by that page load.
+         */
+        @Setup(Level.Invocation)
+        public void setUpBundles() {
+            FeedbackResponseAnswerHtmlCache.clear();
+            createBundles();
+            buildGiverView(this);
+            buildRecipientView(this);
+            createBundles();
+        }
+    }
+
+    @Benchmark
+    public Object buildQuestionViewWithColdCache(ColdSession session) {
+        return buildQuestionView(session);
+    }
+
+    @Benchmark
+    public Object buildQuestionViewWithWarmCache(WarmSession session) {
+        return buildQuestionView(session);
+    }
+
+    @Benchmark
+    public Object buildGiverViewWithColdCache(ColdSession session) {
+        return buildGiverView(session);
+    }
+
+    @Benchmark
+    public Object buildGiverViewWithWarmCache(WarmSession session) {
+        return buildGiverView(session);
+    }
+
+    @Benchmark
+    public Object buildRecipientViewWithColdCache(ColdSession session) {
+        return buildRecipientView(session);
+    }
+
+    @Benchmark
+    public Object buildRecipientViewWithWarmCache(WarmSession session) {
+        return buildRecipientView(session);
+    }
+
+    private static List<InstructorFeedbackResultsPageData> buildQuestionView(Session session) {
+        List<InstructorFeedbackResultsPageData> questionViews = new ArrayList<InstructorFeedbackResultsPageData>();
+        for (FeedbackSessionResultsBundle questionBundle : session.questionBundles) {
+            InstructorFeedbackResultsPageData data = new InstructorFeedbackResultsPageData(session.account);
+            data.setBundle(questionBundle);
+            data.initForViewByQuestion(session.instructor, SECTION, "on", "on", true);
+            questionViews.add(data);
+        }
+        return questionViews;
+    }
+
+    private static InstructorFeedbackResultsPageData buildGiverView(Session session) {
+        return buildSectionPanelView(session, ViewType.GIVER_QUESTION_RECIPIENT);
+    }
+
+    private static InstructorFeedbackResultsPageData buildRecipientView(Session session) {
+        return buildSectionPanelView(session, ViewType.RECIPIENT_QUESTION_GIVER);
+    }
+
+    private static InstructorFeedbackResultsPageData buildSectionPanelView(Session session, ViewType viewType) {
+        InstructorFeedbackResultsPageData data = new InstructorFeedbackResultsPageData(session.account);
+        data.setBundle(session.bundle);
+        data.initForSectionPanelViews(session.instructor, SECTION, "on", "on", viewType, true);
+        return data;
+    }
+
+    private static FeedbackResponseDetails createResponseDetails(FeedbackQuestionAttributes question, Random random) {
+        if (question.questionType == FeedbackQuestionType.NUMSCALE) {
+            FeedbackNumericalScaleResponseDetails responseDetails = new FeedbackNumericalScaleResponseDetails();
+            responseDetails.extractResponseDetails(FeedbackQuestionType.NUMSCALE, question.getQuestionDetails(),
+                    new String[] {String.valueOf(1 + random.nextInt(9) * 0.5)});
+            return responseDetails;
+        }
+        return new FeedbackTextResponseDetails("Answer " + random.nextInt() + " with <b>some</b> text & details "
+                                               + "that need to be sanitized, like a typical paragraph of feedback.");
+    }
+
+}
@@ -0,0 +1,154 @@
+package teammates.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.datatransfer.FeedbackNumericalScaleQuestionDetails;
+import teammates.common.datatransfer.FeedbackNumericalScaleResponseDetails;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseDetails;
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.common.datatransfer.FeedbackTextQuestionDetails;
+import teammates.common.datatransfer.FeedbackTextResponseDetails;
+import teammates.common.datatransfer.StudentAttributes;
+
+/**
+ * Measures the sorting and grouping of the responses of a {@link FeedbackSessionResultsBundle}
+ * for the views of the instructor results page, with 4,000 responses to 4 questions
+ * given by 200 students to each member of their team of 5.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FeedbackSessionResultsBundleBenchmark {
+
+    private static final int NUM_STUDENTS = 200;
+    private static final int TEAM_SIZE = 5;
+    private static final int NUM_QUESTIONS_PER_TYPE = 2;
+
+    private List<FeedbackQuestionAttributes> questions;
+    private List<FeedbackResponseAttributes> responses;
+    private List<StudentAttributes> students;
+
+    /** A bundle which has not sorted its responses yet. */
+    private FeedbackSessionResultsBundle coldBundle;
+
+    /** The responses in a random order, to be sorted by the comparator of the bundle. */
+    private List<FeedbackResponseAttributes> shuffledResponses;
+
+    @Setup(Level.Trial)
+    public void setUpResponses() {
+        students = FeedbackResultsData.createStudents(NUM_STUDENTS, TEAM_SIZE);
+
+        questions = new ArrayList<FeedbackQuestionAttributes>();
+        for (int i = 0; i < NUM_QUESTIONS_PER_TYPE; i++) {
+            int questionNumber = questions.size() + 1;
+            questions.add(FeedbackResultsData.createQuestion(
+                    "benchmark-question-" + questionNumber, questionNumber,
+                    new FeedbackTextQuestionDetails("Text question " + questionNumber),
+                    FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF));
+
+            questionNumber++;
+            questions.add(FeedbackResultsData.createQuestion(
+                    "benchmark-question-" + questionNumber, questionNumber,
+                    new FeedbackNumericalScaleQuestionDetails(),
+                    FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF));
+        }
+
+        Random random = new Random(0);
+        responses = new ArrayList<FeedbackResponseAttributes>();
+        for (FeedbackQuestionAttributes question : questions) {
+            for (int giver = 0; giver < NUM_STUDENTS; giver++) {
+                int firstTeamMember = giver / TEAM_SIZE * TEAM_SIZE;
+                for (int recipient = firstTeamMember; recipient < firstTeamMember + TEAM_SIZE; recipient++) {
+                    responses.add(FeedbackResultsData.createResponse(question, students.get(giver),
+                                                                     students.get(recipient),
+                                                                     createResponseDetails(question, random)));
+                }
+            }
+        }
+
+        shuffledResponses = new ArrayList<FeedbackResponseAttributes>(responses);
+        Collections.shuffle(shuffledResponses, random);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpColdBundle() {
+        coldBundle = FeedbackResultsData.createBundle(questions, responses, students);
+    }
+
+    @Benchmark
+    public Object sortByGiverRecipientQuestion() {
+        List<FeedbackResponseAttributes> sortedResponses =
+                new ArrayList<FeedbackResponseAttributes>(shuffledResponses);
+        Collections.sort(sortedResponses, coldBundle.compareByGiverRecipientQuestion);
+        return sortedResponses;
+    }
+
+    @Benchmark
+    public Object groupByQuestion() {
+        return coldBundle.getQuestionResponseMap();
+    }
+
+    @Benchmark
+    public Object groupByQuestionSortedByRecipient() {
+        return coldBundle.getQuestionResponseMapSortedByRecipient();
+    }
+
+    @Benchmark
+    public Object groupByRecipientTeamQuestion() {
+        return coldBundle.getQuestionResponseMapByRecipientTeam();
+    }
+
+    @Benchmark
+    public Object groupByGiverTeamQuestion() {
+        return coldBundle.getQuestionResponseMapByGiverTeam();
+    }
+
+    @Benchmark
+    public Object groupByRecipientGiver() {
+        return coldBundle.getResponsesSortedByRecipient(true);
+    }
+
+    @Benchmark
+    public Object groupByGiverRecipient() {
+        return coldBundle.getResponsesSortedByGiver(true);
+    }
+
+    @Benchmark
+    public Object groupByRecipientQuestionGiver() {
+        return coldBundle.getResponsesSortedByRecipientQuestionGiver(true);
+    }
+
+    private static FeedbackResponseDetails createResponseDetails(FeedbackQuestionAttributes question, Random random) {
+        if (question.questionType == FeedbackQuestionType.NUMSCALE) {
+            FeedbackNumericalScaleResponseDetails responseDetails = new FeedbackNumericalScaleResponseDetails();
+            responseDetails.extractResponseDetails(FeedbackQuestionType.NUMSCALE, question.getQuestionDetails(),
+                    new String[] {String.valueOf(1 + random.nextInt(9) * 0.5)});
+            return responseDetails;
+        }
+        return new FeedbackTextResponseDetails("Answer " + random.nextInt());
+    }
+
+}
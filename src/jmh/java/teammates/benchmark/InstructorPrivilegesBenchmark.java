@@ -0,0 +1,106 @@
+package teammates.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.InstructorPrivileges;
+import teammates.common.util.Const;
+
+/**
+ * Measures the privilege checks of instructors, which are done for every section and session
+ * shown to an instructor, for a tutor with special privileges in 10 sections with 5 sessions each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class InstructorPrivilegesBenchmark {
+
+    private static final int NUM_SECTIONS = 10;
+    private static final int NUM_SESSIONS = 5;
+
+    private InstructorPrivileges privileges;
+    private String privilegesAsText;
+
+    private String courseLevelPrivilege = Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_STUDENT;
+    private String sectionLevelPrivilege = Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_STUDENT_IN_SECTIONS;
+    private String sessionLevelPrivilege = Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS;
+    private String sectionName = getSectionName(NUM_SECTIONS - 1);
+    private String sessionName = getSessionName(NUM_SESSIONS - 1);
+
+    @Setup(Level.Trial)
+    public void setUpPrivileges() {
+        privileges = new InstructorPrivileges(Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_TUTOR);
+        for (int i = 0; i < NUM_SECTIONS; i++) {
+            privileges.updatePrivilege(getSectionName(i), sectionLevelPrivilege, true);
+            for (int j = 0; j < NUM_SESSIONS; j++) {
+                privileges.updatePrivilege(getSectionName(i), getSessionName(j), sessionLevelPrivilege, i % 2 == 0);
+            }
+        }
+
+        InstructorAttributes instructor = new InstructorAttributes(
+                "benchmark.instructor", FeedbackResultsData.COURSE_ID, "Instructor", "instructor@benchmark.tmt",
+                Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_CUSTOM, "Tutor", privileges);
+        privilegesAsText = instructor.getTextFromInstructorPrivileges();
+    }
+
+    @Benchmark
+    public boolean checkCourseLevelPrivilege() {
+        return privileges.isAllowedForPrivilege(courseLevelPrivilege);
+    }
+
+    @Benchmark
+    public boolean checkSectionLevelPrivilege() {
+        return privileges.isAllowedForPrivilege(sectionName, sectionLevelPrivilege);
+    }
+
+    @Benchmark
+    public boolean checkSessionLevelPrivilege() {
+        return privileges.isAllowedForPrivilege(sectionName, sessionName, sessionLevelPrivilege);
+    }
+
+    @Benchmark
+    public boolean checkSessionLevelPrivilegeInAnySection() {
+        return privileges.isAllowedForPrivilegeAnySection(sessionName, sessionLevelPrivilege);
+    }
+
+    @Benchmark
+    public boolean checkRole() {
+        return privileges.hasCoownerPrivileges() || privileges.hasManagerPrivileges()
+               || privileges.hasObserverPrivileges() || privileges.hasTutorPrivileges();
+    }
+
+    /**
+     * Loads the privileges as done for every instructor read from the datastore.
+     */
+    @Benchmark
+    public Object loadPrivileges() {
+        return new InstructorAttributes("benchmark.instructor", FeedbackResultsData.COURSE_ID, "Instructor",
+                                        "instructor@benchmark.tmt",
+                                        Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_CUSTOM,
+                                        "Tutor", privilegesAsText);
+    }
+
+    private static String getSectionName(int sectionIndex) {
+        return "Section " + sectionIndex;
+    }
+
+    private static String getSessionName(int sessionIndex) {
+        return "Session " + sessionIndex;
+    }
+
+}
@@ -0,0 +1,63 @@
+package teammates.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.util.Sanitizer;
+
+/**
+ * Measures the sanitization of text for HTML and CSV output, which is done for every
+ * name and answer shown on the results pages and in the CSV downloads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SanitizerBenchmark {
+
+    // in fields of the state rather than in constants, for the JIT not to fold the results
+    private String name = "Alice Betsy Chen";
+
+    /** A free-text answer of about 1,000 characters with characters special to HTML and CSV. */
+    private String answer = createAnswer();
+
+    @Benchmark
+    public String sanitizeNameForHtml() {
+        return Sanitizer.sanitizeForHtml(name);
+    }
+
+    @Benchmark
+    public String sanitizeAnswerForHtml() {
+        return Sanitizer.sanitizeForHtml(answer);
+    }
+
+    @Benchmark
+    public String sanitizeNameForCsv() {
+        return Sanitizer.sanitizeForCsv(name);
+    }
+
+    @Benchmark
+    public String sanitizeAnswerForCsv() {
+        return Sanitizer.sanitizeForCsv(answer);
+    }
+
+    private static String createAnswer() {
+        StringBuilder answer = new StringBuilder();
+        while (answer.length() < 1000) {
+            answer.append("She said \"the <b>report</b> & slides were 50/50\", so it's fair. ");
+        }
+        return answer.toString();
+    }
+
+}
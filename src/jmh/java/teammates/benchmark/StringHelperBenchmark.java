@@ -0,0 +1,64 @@
+package teammates.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.util.FieldValidator;
+import teammates.common.util.StringHelper;
+
+/**
+ * Measures the matching of the field validation regexes, which is done for every field of
+ * every enrolled student, and the encryption of the registration keys put in every email and link.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StringHelperBenchmark {
+
+    private String email = "alice.b.chen+course@university.example.edu";
+    private String courseId = "CS2103T-AY2016.Sem1";
+    private String name = "Alice Betsy Chen";
+
+    /** A registration key as stored in the datastore, before being encrypted. */
+    private String registrationKey = "ahNzfnRlYW1tYXRlcy1qb2huLWJ0ZXIgCxIHU3R1ZGVudBgCDA";
+
+    private String encryptedRegistrationKey = StringHelper.encrypt(registrationKey);
+
+    @Benchmark
+    public boolean matchEmail() {
+        return StringHelper.isMatching(email, FieldValidator.REGEX_EMAIL);
+    }
+
+    @Benchmark
+    public boolean matchCourseId() {
+        return StringHelper.isMatching(courseId, FieldValidator.REGEX_COURSE_ID);
+    }
+
+    @Benchmark
+    public boolean matchName() {
+        return StringHelper.isMatching(name, FieldValidator.REGEX_NAME);
+    }
+
+    @Benchmark
+    public String encryptRegistrationKey() {
+        return StringHelper.encrypt(registrationKey);
+    }
+
+    @Benchmark
+    public String decryptRegistrationKey() {
+        return StringHelper.decrypt(encryptedRegistrationKey);
+    }
+
+}
@@ -0,0 +1,133 @@
+package teammates.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.datatransfer.FeedbackContributionQuestionDetails;
+import teammates.common.datatransfer.FeedbackContributionResponseDetails;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.logic.core.TeamEvalResult;
+
+/**
+ * Measures the contribution calculations of {@link TeamEvalResult}, for a single team and for
+ * the statistics of a contribution question answered by 200 students in teams of 5.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TeamEvalResultBenchmark {
+
+    private static final int NUM_STUDENTS = 200;
+    private static final int TEAM_SIZE = 5;
+    private static final int LARGE_TEAM_SIZE = 10;
+
+    private static final String QUESTION_ID = "benchmark-contribution-question";
+
+    private int[][] teamSubmissions;
+    private int[][] largeTeamSubmissions;
+
+    private FeedbackQuestionAttributes question;
+    private FeedbackContributionQuestionDetails questionDetails;
+    private List<FeedbackResponseAttributes> responses;
+    private List<StudentAttributes> students;
+
+    /** A bundle which has not calculated the contributions yet. */
+    private FeedbackSessionResultsBundle coldBundle;
+
+    @Setup(Level.Trial)
+    public void setUpSubmissions() {
+        Random random = new Random(0);
+        teamSubmissions = createTeamSubmissions(TEAM_SIZE, random);
+        largeTeamSubmissions = createTeamSubmissions(LARGE_TEAM_SIZE, random);
+
+        questionDetails = new FeedbackContributionQuestionDetails("Contribution question");
+        question = FeedbackResultsData.createQuestion(QUESTION_ID, 1, questionDetails,
+                                                      FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF);
+        students = FeedbackResultsData.createStudents(NUM_STUDENTS, TEAM_SIZE);
+
+        responses = new ArrayList<FeedbackResponseAttributes>();
+        for (int team = 0; team < NUM_STUDENTS / TEAM_SIZE; team++) {
+            int[][] submissions = createTeamSubmissions(TEAM_SIZE, random);
+            for (int giver = 0; giver < TEAM_SIZE; giver++) {
+                for (int recipient = 0; recipient < TEAM_SIZE; recipient++) {
+                    if (submissions[giver][recipient] == Const.POINTS_NOT_SUBMITTED) {
+                        continue;
+                    }
+                    responses.add(FeedbackResultsData.createResponse(
+                            question, students.get(team * TEAM_SIZE + giver),
+                            students.get(team * TEAM_SIZE + recipient),
+                            new FeedbackContributionResponseDetails(submissions[giver][recipient])));
+                }
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpColdBundle() {
+        coldBundle = FeedbackResultsData.createBundle(Arrays.asList(question), responses, students);
+    }
+
+    @Benchmark
+    public Object calculateTeamResult() {
+        return new TeamEvalResult(teamSubmissions);
+    }
+
+    @Benchmark
+    public Object calculateLargeTeamResult() {
+        return new TeamEvalResult(largeTeamSubmissions);
+    }
+
+    /**
+     * Renders the statistics as the instructor results page and the CSV export do.
+     */
+    @Benchmark
+    public Object renderContributionStatistics() {
+        return questionDetails.getQuestionResultStatisticsHtml(responses, question, null, coldBundle, "question")
+               + questionDetails.getQuestionResultStatisticsCsv(responses, question, coldBundle);
+    }
+
+    /**
+     * @return the points given within a team, with about one in ten of them
+     *         being "not sure" or not submitted.
+     */
+    private static int[][] createTeamSubmissions(int teamSize, Random random) {
+        int[][] submissions = new int[teamSize][teamSize];
+        for (int giver = 0; giver < teamSize; giver++) {
+            for (int recipient = 0; recipient < teamSize; recipient++) {
+                int chance = random.nextInt(20);
+                if (chance == 0) {
+                    submissions[giver][recipient] = Const.POINTS_NOT_SURE;
+                } else if (chance == 1) {
+                    submissions[giver][recipient] = Const.POINTS_NOT_SUBMITTED;
+                } else {
+                    submissions[giver][recipient] = 50 + random.nextInt(16) * 10;
+                }
+            }
+        }
+        return submissions;
+    }
+
+}
@@ -0,0 +1,46 @@
+package teammates.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.util.Templates;
+import teammates.common.util.Templates.EmailTemplates;
+
+/**
+ * Measures the population of the email templates, which is done for every recipient
+ * of the emails sent for a session.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TemplatesBenchmark {
+
+    @Benchmark
+    public String populateFeedbackSessionEmail() {
+        return Templates.populateTemplate(EmailTemplates.USER_FEEDBACK_SESSION,
+                "${userName}", "Alice Betsy Chen",
+                "${courseName}", "Software Engineering",
+                "${courseId}", "CS2103T-AY2016.Sem1",
+                "${feedbackSessionName}", "Peer Evaluation 1",
+                "${deadline}", "Sun, 30 Oct 2016, 11:59 PM",
+                "${instructorFragment}", "",
+                "${submitUrl}", "https://teammates.example.com/page/studentFeedbackSubmissionEditPage"
+                                + "?courseid=CS2103T-AY2016.Sem1&fsname=Peer+Evaluation+1&key=0123456789abcdef",
+                "${reportUrl}", "https://teammates.example.com/page/studentFeedbackResultsPage"
+                                + "?courseid=CS2103T-AY2016.Sem1&fsname=Peer+Evaluation+1&key=0123456789abcdef",
+                "${supportEmail}", "support@teammates.example.com");
+    }
+
+}
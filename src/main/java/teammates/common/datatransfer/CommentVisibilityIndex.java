@@ -0,0 +1,320 @@
+package teammates.common.datatransfer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import teammates.common.util.Const;
+import teammates.common.util.Sanitizer;
+
+/**
+ * Indexes the comments of a course by the viewers they can be shown to, so that the comments visible
+ * to an instructor or a student are looked up by the recipients around the viewer instead of being
+ * filtered from all the comments visible to instructors, teams, sections and the course. <br>
+ * The comments visible to a student are resolved in the same order as before the index existed:
+ * comments to the student, then comments shown to the team, to the section and to the course,
+ * where the first of these scopes that covers a comment decides whether and how it is shown. <br>
+ * An index is not changed after it is built, so it can be shared between requests.
+ * Looked up comments are copies, with the giver and recipient names removed as seen by the viewer.
+ */
+public class CommentVisibilityIndex {
+
+    private final String courseId;
+
+    private final Map<String, List<CommentAttributes>> finalCommentsForGiver =
+            new HashMap<String, List<CommentAttributes>>();
+    private final List<CommentAttributes> commentsForInstructors = new ArrayList<CommentAttributes>();
+
+    /** Comments to people, whatever they are shown to. */
+    private final IndexedComments commentsToPeople = new IndexedComments();
+    private final Map<CommentParticipantType, IndexedComments> commentsForViewer =
+            new EnumMap<CommentParticipantType, IndexedComments>(CommentParticipantType.class);
+
+    /**
+     * @param comments all the comments of the course
+     */
+    public CommentVisibilityIndex(String courseId, Collection<CommentAttributes> comments) {
+        this.courseId = courseId;
+        commentsForViewer.put(CommentParticipantType.TEAM, new IndexedComments());
+        commentsForViewer.put(CommentParticipantType.SECTION, new IndexedComments());
+        commentsForViewer.put(CommentParticipantType.COURSE, new IndexedComments());
+
+        for (CommentAttributes comment : comments) {
+            if (comment.status == CommentStatus.FINAL) {
+                if (!finalCommentsForGiver.containsKey(comment.giverEmail)) {
+                    finalCommentsForGiver.put(comment.giverEmail, new ArrayList<CommentAttributes>());
+                }
+                finalCommentsForGiver.get(comment.giverEmail).add(comment);
+            }
+            if (isShownTo(comment, CommentParticipantType.INSTRUCTOR)) {
+                commentsForInstructors.add(comment);
+            }
+            if (comment.recipientType == CommentParticipantType.PERSON) {
+                commentsToPeople.add(comment);
+            }
+            for (Map.Entry<CommentParticipantType, IndexedComments> entry : commentsForViewer.entrySet()) {
+                if (isShownTo(comment, entry.getKey())) {
+                    entry.getValue().add(comment);
+                }
+            }
+        }
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    /**
+     * @return the final comments given by the instructor, followed by the other comments shown to instructors,
+     *         sorted by {@link CommentAttributes#compareTo(CommentAttributes)}
+     */
+    public List<CommentAttributes> getCommentsForInstructor(String instructorEmail) {
+        VisibleComments visibleComments = new VisibleComments();
+
+        List<CommentAttributes> ownComments = finalCommentsForGiver.get(instructorEmail);
+        if (ownComments != null) {
+            for (CommentAttributes comment : ownComments) {
+                visibleComments.add(comment, copyOf(comment));
+            }
+        }
+        for (CommentAttributes comment : commentsForInstructors) {
+            visibleComments.add(comment, copyForViewer(comment, CommentParticipantType.INSTRUCTOR, true));
+        }
+
+        return visibleComments.getSortedComments();
+    }
+
+    /**
+     * @param studentsInSection the students in the section of the student, which include the team of the student
+     * @return the comments visible to the student,
+     *         sorted by {@link CommentAttributes#compareTo(CommentAttributes)}
+     */
+    public List<CommentAttributes> getCommentsForStudent(StudentAttributes student,
+                                                         List<StudentAttributes> studentsInSection) {
+        Set<String> teammatesEmails = new HashSet<String>();
+        Set<String> sectionStudentsEmails = new HashSet<String>();
+        Set<String> teamsInSection = new HashSet<String>();
+        for (StudentAttributes studentInSection : studentsInSection) {
+            if (studentInSection.team.equals(student.team)) {
+                teammatesEmails.add(studentInSection.email);
+            }
+            sectionStudentsEmails.add(studentInSection.email);
+            teamsInSection.add(studentInSection.team);
+        }
+
+        VisibleComments visibleComments = new VisibleComments();
+
+        // comments to the student
+        for (CommentAttributes comment : commentsToPeople.get(CommentParticipantType.PERSON,
+                                                              Sanitizer.sanitizeForHtml(student.email))) {
+            addIfShownTo(visibleComments, comment, CommentParticipantType.PERSON, false);
+        }
+
+        // comments shown to teams
+        IndexedComments commentsForTeams = commentsForViewer.get(CommentParticipantType.TEAM);
+        addCommentsForTeam(visibleComments, commentsForTeams, student, teammatesEmails);
+
+        // comments shown to sections
+        IndexedComments commentsForSections = commentsForViewer.get(CommentParticipantType.SECTION);
+        addCommentsForTeam(visibleComments, commentsForSections, student, teammatesEmails);
+        addCommentsForSection(visibleComments, commentsForSections, student, sectionStudentsEmails, teamsInSection);
+
+        // comments shown to the whole course
+        IndexedComments commentsForCourse = commentsForViewer.get(CommentParticipantType.COURSE);
+        addCommentsForTeam(visibleComments, commentsForCourse, student, teammatesEmails);
+        addCommentsForSection(visibleComments, commentsForCourse, student, sectionStudentsEmails, teamsInSection);
+        for (CommentAttributes comment : commentsForCourse.getAll()) {
+            boolean isRecipientNameHidden = comment.recipientType != CommentParticipantType.COURSE;
+            visibleComments.add(comment, copyForViewer(comment, CommentParticipantType.COURSE,
+                                                       isRecipientNameHidden));
+        }
+
+        return visibleComments.getSortedComments();
+    }
+
+    private void addCommentsForTeam(VisibleComments visibleComments, IndexedComments comments,
+                                    StudentAttributes student, Set<String> teammatesEmails) {
+        Map<CommentParticipantType, Collection<String>> recipients =
+                new EnumMap<CommentParticipantType, Collection<String>>(CommentParticipantType.class);
+        recipients.put(CommentParticipantType.PERSON, teammatesEmails);
+        recipients.put(CommentParticipantType.TEAM, Collections.singleton(Sanitizer.sanitizeForHtml(student.team)));
+
+        for (CommentAttributes comment : comments.get(recipients)) {
+            boolean isRecipientNameHidden = comment.recipientType == CommentParticipantType.PERSON;
+            addIfShownTo(visibleComments, comment, CommentParticipantType.TEAM, isRecipientNameHidden);
+        }
+    }
+
+    private void addCommentsForSection(VisibleComments visibleComments, IndexedComments comments,
+                                       StudentAttributes student, Set<String> sectionStudentsEmails,
+                                       Set<String> teamsInSection) {
+        Map<CommentParticipantType, Collection<String>> recipients =
+                new EnumMap<CommentParticipantType, Collection<String>>(CommentParticipantType.class);
+        recipients.put(CommentParticipantType.PERSON, sectionStudentsEmails);
+        recipients.put(CommentParticipantType.TEAM, teamsInSection);
+        recipients.put(CommentParticipantType.SECTION, Collections.singleton(student.section));
+
+        for (CommentAttributes comment : comments.get(recipients)) {
+            boolean isRecipientNameHidden = comment.recipientType == CommentParticipantType.PERSON;
+            addIfShownTo(visibleComments, comment, CommentParticipantType.SECTION, isRecipientNameHidden);
+        }
+    }
+
+    /**
+     * Adds the comment if it is shown to the viewer, and otherwise keeps it from being added
+     * through the scopes which come after.
+     */
+    private void addIfShownTo(VisibleComments visibleComments, CommentAttributes comment,
+                              CommentParticipantType viewerType, boolean isRecipientNameHiddenByOptions) {
+        if (isShownTo(comment, viewerType)) {
+            visibleComments.add(comment, copyForViewer(comment, viewerType, isRecipientNameHiddenByOptions));
+        } else {
+            visibleComments.exclude(comment);
+        }
+    }
+
+    private static boolean isShownTo(CommentAttributes comment, CommentParticipantType viewerType) {
+        return comment.showCommentTo != null && comment.showCommentTo.contains(viewerType);
+    }
+
+    /**
+     * @param isRecipientNameHiddenByOptions whether the recipient name is removed
+     *                                       unless the visibility options show it to the viewer
+     */
+    private static CommentAttributes copyForViewer(CommentAttributes comment, CommentParticipantType viewerType,
+                                                   boolean isRecipientNameHiddenByOptions) {
+        CommentAttributes copy = copyOf(comment);
+        if (comment.showGiverNameTo == null || !comment.showGiverNameTo.contains(viewerType)) {
+            copy.giverEmail = Const.DISPLAYED_NAME_FOR_ANONYMOUS_COMMENT_PARTICIPANT;
+        }
+        if (isRecipientNameHiddenByOptions
+                && (comment.showRecipientNameTo == null || !comment.showRecipientNameTo.contains(viewerType))) {
+            copy.recipients = new HashSet<String>();
+            copy.recipients.add(Const.DISPLAYED_NAME_FOR_ANONYMOUS_COMMENT_PARTICIPANT);
+        }
+        return copy;
+    }
+
+    private static CommentAttributes copyOf(CommentAttributes comment) {
+        CommentAttributes copy = new CommentAttributes(comment.courseId, comment.giverEmail, comment.recipientType,
+                                                       copyOf(comment.recipients), comment.createdAt,
+                                                       comment.commentText);
+        copy.setCommentId(comment.getCommentId());
+        copy.status = comment.status;
+        copy.sendingState = comment.sendingState;
+        copy.showCommentTo = copyOf(comment.showCommentTo);
+        copy.showGiverNameTo = copyOf(comment.showGiverNameTo);
+        copy.showRecipientNameTo = copyOf(comment.showRecipientNameTo);
+        copy.lastEditorEmail = comment.lastEditorEmail;
+        copy.lastEditedAt = comment.lastEditedAt;
+        return copy;
+    }
+
+    private static Set<String> copyOf(Set<String> set) {
+        return set == null ? null : new HashSet<String>(set);
+    }
+
+    private static List<CommentParticipantType> copyOf(List<CommentParticipantType> list) {
+        return list == null ? null : new ArrayList<CommentParticipantType>(list);
+    }
+
+    /**
+     * A list of comments indexed by their recipients.
+     */
+    private static class IndexedComments {
+
+        private final List<CommentAttributes> comments = new ArrayList<CommentAttributes>();
+
+        /** Positions of the comments in the list, keyed by recipient type and then by recipient. */
+        private final Map<CommentParticipantType, Map<String, List<Integer>>> positionsForRecipient =
+                new EnumMap<CommentParticipantType, Map<String, List<Integer>>>(CommentParticipantType.class);
+
+        void add(CommentAttributes comment) {
+            int position = comments.size();
+            comments.add(comment);
+            if (comment.recipientType == null || comment.recipients == null) {
+                return;
+            }
+
+            Map<String, List<Integer>> positions = positionsForRecipient.get(comment.recipientType);
+            if (positions == null) {
+                positions = new HashMap<String, List<Integer>>();
+                positionsForRecipient.put(comment.recipientType, positions);
+            }
+            for (String recipient : comment.recipients) {
+                if (!positions.containsKey(recipient)) {
+                    positions.put(recipient, new ArrayList<Integer>());
+                }
+                positions.get(recipient).add(position);
+            }
+        }
+
+        List<CommentAttributes> getAll() {
+            return comments;
+        }
+
+        List<CommentAttributes> get(CommentParticipantType recipientType, String recipient) {
+            Map<CommentParticipantType, Collection<String>> recipients =
+                    new EnumMap<CommentParticipantType, Collection<String>>(CommentParticipantType.class);
+            recipients.put(recipientType, Collections.singleton(recipient));
+            return get(recipients);
+        }
+
+        /**
+         * @return the comments to any of the recipients, in the order they were added
+         */
+        List<CommentAttributes> get(Map<CommentParticipantType, Collection<String>> recipients) {
+            TreeSet<Integer> matchingPositions = new TreeSet<Integer>();
+            for (Map.Entry<CommentParticipantType, Collection<String>> entry : recipients.entrySet()) {
+                Map<String, List<Integer>> positions = positionsForRecipient.get(entry.getKey());
+                if (positions == null) {
+                    continue;
+                }
+                for (String recipient : entry.getValue()) {
+                    List<Integer> positionsForThisRecipient = positions.get(recipient);
+                    if (positionsForThisRecipient != null) {
+                        matchingPositions.addAll(positionsForThisRecipient);
+                    }
+                }
+            }
+
+            List<CommentAttributes> matchingComments = new ArrayList<CommentAttributes>();
+            for (int position : matchingPositions) {
+                matchingComments.add(comments.get(position));
+            }
+            return matchingComments;
+        }
+    }
+
+    /**
+     * The comments visible to a viewer, where each comment is decided by the first scope that covers it.
+     */
+    private static class VisibleComments {
+
+        private final Set<Long> decidedCommentIds = new HashSet<Long>();
+        private final List<CommentAttributes> comments = new ArrayList<CommentAttributes>();
+
+        void add(CommentAttributes comment, CommentAttributes copyForViewer) {
+            if (decidedCommentIds.add(comment.getCommentId())) {
+                comments.add(copyForViewer);
+            }
+        }
+
+        void exclude(CommentAttributes comment) {
+            decidedCommentIds.add(comment.getCommentId());
+        }
+
+        List<CommentAttributes> getSortedComments() {
+            Collections.sort(comments);
+            return comments;
+        }
+    }
+
+}
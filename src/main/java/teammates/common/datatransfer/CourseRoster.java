@@ -5,6 +5,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import teammates.common.util.Const;
+
 /**
  * Contains a list of students and instructors in a course. Useful for caching
  * a copy of student and instructor details of a course instead of reading
@@ -14,6 +16,8 @@ public class CourseRoster {
     
     Map<String, StudentAttributes> studentListByEmail = new HashMap<String, StudentAttributes>();
     Map<String, InstructorAttributes> instructorListByEmail = new HashMap<String, InstructorAttributes>();
+    Map<String, List<StudentAttributes>> studentListByTeam = new HashMap<String, List<StudentAttributes>>();
+    Map<String, String> sectionByTeam = new HashMap<String, String>();
     
     public CourseRoster(List<StudentAttributes> students, List<InstructorAttributes> instructors) {
         populateStuentListByEmail(students);
@@ -61,6 +65,30 @@ public class CourseRoster {
         return instructorListByEmail.get(email);
     }
     
+    /**
+     * @return the students in the team, or an empty list if there is no such team in the course.
+     */
+    public List<StudentAttributes> getStudentsForTeam(String teamName) {
+        List<StudentAttributes> teamMembers = studentListByTeam.get(teamName);
+        return teamMembers == null ? new ArrayList<StudentAttributes>()
+                                   : new ArrayList<StudentAttributes>(teamMembers);
+    }
+    
+    /**
+     * @return the names of the teams in the course.
+     */
+    public List<String> getTeamNames() {
+        return new ArrayList<String>(studentListByTeam.keySet());
+    }
+    
+    /**
+     * @return the section of the team, or the default section if there is no such team in the course.
+     */
+    public String getSectionForTeam(String teamName) {
+        String section = sectionByTeam.get(teamName);
+        return section == null ? Const.DEFAULT_SECTION : section;
+    }
+    
     private void populateStuentListByEmail(List<StudentAttributes> students) {
         
         if (students == null) {
@@ -69,6 +97,14 @@ public class CourseRoster {
         
         for (StudentAttributes s : students) {
             studentListByEmail.put(s.email, s);
+            
+            List<StudentAttributes> teamMembers = studentListByTeam.get(s.team);
+            if (teamMembers == null) {
+                teamMembers = new ArrayList<StudentAttributes>();
+                studentListByTeam.put(s.team, teamMembers);
+                sectionByTeam.put(s.team, s.section);
+            }
+            teamMembers.add(s);
         }
     }
     
@@ -2,13 +2,10 @@ package teammates.common.datatransfer;
 
 import java.text.DecimalFormat;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 import teammates.common.util.Assumption;
@@ -388,18 +385,18 @@ public class FeedbackConstantSumQuestionDetails extends FeedbackQuestionDetails
         StringBuilder fragments = new StringBuilder();
         List<String> options = constSumOptions;
         
-        Map<String, List<Integer>> optionPoints = generateOptionPointsMapping(responses);
+        FeedbackResponseStatistics optionPoints = getResponseStatistics(responses, question, bundle);
 
         DecimalFormat df = new DecimalFormat("#.##");
         
-        for (Entry<String, List<Integer>> entry : optionPoints.entrySet()) {
+        for (String optionOrRecipient : optionPoints.getKeys()) {
             
-            List<Integer> points = entry.getValue();
-            double average = computeAverage(points);
-            String pointsReceived = getListOfPointsAsString(points);
+            int id = optionPoints.getId(optionOrRecipient);
+            double average = optionPoints.getAverage(id);
+            String pointsReceived = getListOfPointsAsString(optionPoints.getSortedValues(id));
             
             if (distributeToRecipients) {
-                String participantIdentifier = entry.getKey();
+                String participantIdentifier = optionOrRecipient;
                 String name = bundle.getNameForEmail(participantIdentifier);
                 String teamName = bundle.getTeamNameForEmail(participantIdentifier);
                 
@@ -410,7 +407,7 @@ public class FeedbackConstantSumQuestionDetails extends FeedbackQuestionDetails
                         Slots.CONSTSUM_AVERAGE_POINTS, df.format(average)));
             
             } else {
-                String option = options.get(Integer.parseInt(entry.getKey()));
+                String option = options.get(Integer.parseInt(optionOrRecipient));
                 
                 fragments.append(Templates.populateTemplate(FormTemplates.CONSTSUM_RESULT_STATS_OPTIONFRAGMENT,
                         Slots.CONSTSUM_OPTION_VALUE, Sanitizer.sanitizeForHtml(option),
@@ -440,22 +437,21 @@ public class FeedbackConstantSumQuestionDetails extends FeedbackQuestionDetails
         
         StringBuilder fragments = new StringBuilder();
         List<String> options = constSumOptions;
-        Map<String, List<Integer>> optionPoints = generateOptionPointsMapping(responses);
+        FeedbackResponseStatistics optionPoints = getResponseStatistics(responses, question, bundle);
 
         DecimalFormat df = new DecimalFormat("#.##");
         
-        for (Entry<String, List<Integer>> entry : optionPoints.entrySet()) {
+        for (String optionOrRecipient : optionPoints.getKeys()) {
             String option;
             if (distributeToRecipients) {
-                String teamName = bundle.getTeamNameForEmail(entry.getKey());
-                String recipientName = bundle.getNameForEmail(entry.getKey());
+                String teamName = bundle.getTeamNameForEmail(optionOrRecipient);
+                String recipientName = bundle.getNameForEmail(optionOrRecipient);
                 option = Sanitizer.sanitizeForCsv(teamName) + "," + Sanitizer.sanitizeForCsv(recipientName);
             } else {
-                option = Sanitizer.sanitizeForCsv(options.get(Integer.parseInt(entry.getKey())));
+                option = Sanitizer.sanitizeForCsv(options.get(Integer.parseInt(optionOrRecipient)));
             }
             
-            List<Integer> points = entry.getValue();
-            double average = computeAverage(points);
+            double average = optionPoints.getAverage(optionPoints.getId(optionOrRecipient));
             fragments.append(option).append(',').append(df.format(average)).append(Const.EOL);
             
         }
@@ -465,68 +461,48 @@ public class FeedbackConstantSumQuestionDetails extends FeedbackQuestionDetails
                + fragments + Const.EOL;
     }
 
-    /**
-     * From the feedback responses, generate a mapping of the option to a list of points received for that option.
-     * The key of the map returned is the option name / recipient's participant identifier.
-     * The values of the map are list of points received by the key.
-     * @param responses  a list of responses
-     */
-    private Map<String, List<Integer>> generateOptionPointsMapping(
-            List<FeedbackResponseAttributes> responses) {
-        
-        Map<String, List<Integer>> optionPoints = new HashMap<String, List<Integer>>();
-        for (FeedbackResponseAttributes response : responses) {
-            FeedbackConstantSumResponseDetails frd = (FeedbackConstantSumResponseDetails) response.getResponseDetails();
-            
-            for (int i = 0; i < frd.getAnswerList().size(); i++) {
-                String optionReceivingPoints =
-                        distributeToRecipients ? response.recipient : String.valueOf(i);
-                
-                int pointsReceived = frd.getAnswerList().get(i);
-                updateOptionPointsMapping(optionPoints, optionReceivingPoints, pointsReceived);
-            }
-        }
-        return optionPoints;
+    @Override
+    public boolean isResponseStatisticsIncremental() {
+        return true;
     }
 
     /**
-     * Used to update the OptionPointsMapping for the option optionReceivingPoints
-     * 
-     * @param optionPoints
-     * @param optionReceivingPoints
-     * @param pointsReceived
+     * Adds the points in the response as values received by each option.
+     * The keys of the statistics are the option indexes / recipients' participant identifiers,
+     * and the points received by each key are kept.
      */
-    private void updateOptionPointsMapping(
-            Map<String, List<Integer>> optionPoints,
-            String optionReceivingPoints, int pointsReceived) {
-        List<Integer> points = optionPoints.get(optionReceivingPoints);
-        if (points == null) {
-            points = new ArrayList<Integer>();
-            optionPoints.put(optionReceivingPoints, points);
-        }
+    @Override
+    public void addResponseValues(FeedbackResponseAttributes response,
+                                  FeedbackQuestionStatisticsAttributes statistics, int delta) {
+        FeedbackConstantSumResponseDetails frd = (FeedbackConstantSumResponseDetails) response.getResponseDetails();
         
-        points.add(pointsReceived);
+        for (int i = 0; i < frd.getAnswerList().size(); i++) {
+            String optionReceivingPoints =
+                    distributeToRecipients ? response.recipient : String.valueOf(i);
+            
+            int pointsReceived = frd.getAnswerList().get(i);
+            statistics.addValue(optionReceivingPoints, pointsReceived, false, delta);
+        }
     }
 
     /**
      * Returns the list of points as as string to display
-     * @param points
+     * @param points  the points received, in ascending order
      */
-    private String getListOfPointsAsString(List<Integer> points) {
-        Collections.sort(points);
+    private String getListOfPointsAsString(double[] points) {
         StringBuilder pointsReceived = new StringBuilder();
-        if (points.size() > 10) {
+        if (points.length > 10) {
             for (int i = 0; i < 5; i++) {
-                pointsReceived.append(points.get(i)).append(" , ");
+                pointsReceived.append((int) points[i]).append(" , ");
             }
             pointsReceived.append("...");
-            for (int i = points.size() - 5; i < points.size(); i++) {
-                pointsReceived.append(" , ").append(points.get(i));
+            for (int i = points.length - 5; i < points.length; i++) {
+                pointsReceived.append(" , ").append((int) points[i]);
             }
         } else {
-            for (int i = 0; i < points.size(); i++) {
-                pointsReceived.append(points.get(i));
-                if (i != points.size() - 1) {
+            for (int i = 0; i < points.length; i++) {
+                pointsReceived.append((int) points[i]);
+                if (i != points.length - 1) {
                     pointsReceived.append(" , ");
                 }
             }
@@ -534,15 +510,6 @@ public class FeedbackConstantSumQuestionDetails extends FeedbackQuestionDetails
         return pointsReceived.toString();
     }
 
-    private double computeAverage(List<Integer> points) {
-        double average = 0;
-        for (Integer point : points) {
-            average += point;
-        }
-        average = average / points.size();
-        return average;
-    }
-
     @Override
     public boolean isChangesRequiresResponseDeletion(
             FeedbackQuestionDetails newDetails) {
@@ -371,33 +371,7 @@ public class FeedbackMcqQuestionDetails extends FeedbackQuestionDetails {
         }
         
         StringBuilder fragments = new StringBuilder();
-        Map<String, Integer> answerFrequency = new LinkedHashMap<String, Integer>();
-        
-        for (String option : mcqChoices) {
-            answerFrequency.put(option, 0);
-        }
-        
-        if (otherEnabled) {
-            answerFrequency.put("Other", 0);
-        }
-        
-        for (FeedbackResponseAttributes response : responses) {
-            String answerString = response.getResponseDetails().getAnswerString();
-            boolean isOtherOptionAnswer =
-                    ((FeedbackMcqResponseDetails) response.getResponseDetails()).isOtherOptionAnswer();
-            
-            if (isOtherOptionAnswer) {
-                if (!answerFrequency.containsKey("Other")) {
-                    answerFrequency.put("Other", 0);
-                }
-                answerFrequency.put("Other", answerFrequency.get("Other") + 1);
-            } else {
-                if (!answerFrequency.containsKey(answerString)) {
-                    answerFrequency.put(answerString, 0);
-                }
-                answerFrequency.put(answerString, answerFrequency.get(answerString) + 1);
-            }
-        }
+        Map<String, Integer> answerFrequency = getAnswerFrequency(responses, question, bundle);
         
         DecimalFormat df = new DecimalFormat("#.##");
         
@@ -422,33 +396,7 @@ public class FeedbackMcqQuestionDetails extends FeedbackQuestionDetails {
         }
         
         StringBuilder fragments = new StringBuilder();
-        Map<String, Integer> answerFrequency = new LinkedHashMap<String, Integer>();
-        
-        for (String option : mcqChoices) {
-            answerFrequency.put(option, 0);
-        }
-        
-        if (otherEnabled) {
-            answerFrequency.put("Other", 0);
-        }
-        
-        for (FeedbackResponseAttributes response : responses) {
-            String answerString = response.getResponseDetails().getAnswerString();
-            boolean isOtherOptionAnswer =
-                    ((FeedbackMcqResponseDetails) response.getResponseDetails()).isOtherOptionAnswer();
-            
-            if (isOtherOptionAnswer) {
-                if (!answerFrequency.containsKey("Other")) {
-                    answerFrequency.put("Other", 0);
-                }
-                answerFrequency.put("Other", answerFrequency.get("Other") + 1);
-            } else {
-                if (!answerFrequency.containsKey(answerString)) {
-                    answerFrequency.put(answerString, 0);
-                }
-                answerFrequency.put(answerString, answerFrequency.get(answerString) + 1);
-            }
-        }
+        Map<String, Integer> answerFrequency = getAnswerFrequency(responses, question, bundle);
         
         DecimalFormat df = new DecimalFormat("#.##");
         
@@ -462,6 +410,53 @@ public class FeedbackMcqQuestionDetails extends FeedbackQuestionDetails {
                + fragments.toString();
     }
     
+    /**
+     * Counts the responses choosing each option, starting with the options of the question
+     * followed by the other answers in the order they were first chosen.
+     */
+    private Map<String, Integer> getAnswerFrequency(List<FeedbackResponseAttributes> responses,
+                                                    FeedbackQuestionAttributes question,
+                                                    FeedbackSessionResultsBundle bundle) {
+        Map<String, Integer> answerFrequency = new LinkedHashMap<String, Integer>();
+        
+        for (String option : mcqChoices) {
+            answerFrequency.put(option, 0);
+        }
+        
+        if (otherEnabled) {
+            answerFrequency.put("Other", 0);
+        }
+        
+        FeedbackResponseStatistics statistics = getResponseStatistics(responses, question, bundle);
+        for (int id = 0; id < statistics.getNumKeys(); id++) {
+            String answerString = statistics.getKey(id);
+            Integer frequency = answerFrequency.get(answerString);
+            answerFrequency.put(answerString, (frequency == null ? 0 : frequency) + statistics.getCount(id));
+        }
+        return answerFrequency;
+    }
+    
+    @Override
+    public boolean isResponseStatisticsIncremental() {
+        return true;
+    }
+    
+    /**
+     * Adds the chosen option as a key, which is "Other" for an answer given with the "Other" option.
+     */
+    @Override
+    public void addResponseValues(FeedbackResponseAttributes response,
+                                  FeedbackQuestionStatisticsAttributes statistics, int delta) {
+        FeedbackMcqResponseDetails frd = (FeedbackMcqResponseDetails) response.getResponseDetails();
+        String chosenOption = frd.isOtherOptionAnswer() ? "Other" : frd.getAnswerString();
+        statistics.addValue(chosenOption, 0, false, delta);
+    }
+    
+    @Override
+    protected FeedbackResponseStatistics createResponseStatistics() {
+        return new FeedbackResponseStatistics(false);
+    }
+    
     @Override
     public String getCsvHeader() {
         return "Feedback";
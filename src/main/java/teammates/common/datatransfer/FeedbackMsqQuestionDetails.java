@@ -395,60 +395,12 @@ public class FeedbackMsqQuestionDetails extends FeedbackQuestionDetails {
             return "";
         }
         
-        boolean isContainsNonEmptyResponse = false; // we will only show stats if there is at least one nonempty response
-
-        Map<String, Integer> answerFrequency = new LinkedHashMap<String, Integer>();
-        
-        for (String option : msqChoices) {
-            answerFrequency.put(option, 0);
-        }
+        FeedbackResponseStatistics statistics = getResponseStatistics(responses, question, bundle);
+        Map<String, Integer> answerFrequency = getAnswerFrequency(statistics);
+        int numChoicesSelected = getNumChoicesSelected(statistics);
         
-        if (otherEnabled) {
-            answerFrequency.put("Other", 0);
-        }
-        
-        int numChoicesSelected = 0;
-        for (FeedbackResponseAttributes response : responses) {
-            List<String> answerStrings =
-                    ((FeedbackMsqResponseDetails) response.getResponseDetails()).getAnswerStrings();
-            boolean isOtherOptionAnswer =
-                    ((FeedbackMsqResponseDetails) response.getResponseDetails()).isOtherOptionAnswer();
-            String otherAnswer = "";
-            
-            if (isOtherOptionAnswer) {
-                if (!answerFrequency.containsKey("Other")) {
-                    answerFrequency.put("Other", 0);
-                }
-                
-                answerFrequency.put("Other", answerFrequency.get("Other") + 1);
-                
-                numChoicesSelected++;
-                // remove other answer temporarily to calculate stats for other options
-                otherAnswer = answerStrings.get(answerStrings.size() - 1);
-                answerStrings.remove(otherAnswer);
-            }
-            
-            for (String answerString : answerStrings) {
-                if (answerString.isEmpty()) {
-                    continue;
-                }
-                
-                isContainsNonEmptyResponse = true;
-                numChoicesSelected++;
-                
-                if (!answerFrequency.containsKey(answerString)) {
-                    answerFrequency.put(answerString, 0);
-                }
-                answerFrequency.put(answerString, answerFrequency.get(answerString) + 1);
-            }
-            
-            // restore other answer if any
-            if (isOtherOptionAnswer) {
-                answerStrings.add(otherAnswer);
-            }
-        }
-        
-        if (!isContainsNonEmptyResponse) {
+        // we will only show stats if there is at least one nonempty response
+        if (!isContainsNonEmptyResponse(statistics)) {
             return "";
         }
         
@@ -475,58 +427,12 @@ public class FeedbackMsqQuestionDetails extends FeedbackQuestionDetails {
             return "";
         }
 
-        Map<String, Integer> answerFrequency = new LinkedHashMap<String, Integer>();
-        boolean isContainsNonEmptyResponse = false; // we will only show stats if there is at least one nonempty response
-        
-        for (String option : msqChoices) {
-            answerFrequency.put(option, 0);
-        }
-        
-        if (otherEnabled) {
-            answerFrequency.put("Other", 0);
-        }
+        FeedbackResponseStatistics statistics = getResponseStatistics(responses, question, bundle);
+        Map<String, Integer> answerFrequency = getAnswerFrequency(statistics);
+        int numChoicesSelected = getNumChoicesSelected(statistics);
         
-        int numChoicesSelected = 0;
-        
-        for (FeedbackResponseAttributes response : responses) {
-            List<String> answerStrings =
-                    ((FeedbackMsqResponseDetails) response.getResponseDetails()).getAnswerStrings();
-            boolean isOtherOptionAnswer =
-                    ((FeedbackMsqResponseDetails) response.getResponseDetails()).isOtherOptionAnswer();
-            String otherAnswer = "";
-            
-            if (isOtherOptionAnswer) {
-                if (!answerFrequency.containsKey("Other")) {
-                    answerFrequency.put("Other", 0);
-                }
-                answerFrequency.put("Other", answerFrequency.get("Other") + 1);
-                
-                numChoicesSelected++;
-                // remove other answer temporarily to calculate stats for other options
-                otherAnswer = answerStrings.get(answerStrings.size() - 1);
-                answerStrings.remove(otherAnswer);
-            }
-            
-            for (String answerString : answerStrings) {
-                if (answerString.isEmpty()) {
-                    continue;
-                }
-                isContainsNonEmptyResponse = true;
-                numChoicesSelected++;
-                if (!answerFrequency.containsKey(answerString)) {
-                    answerFrequency.put(answerString, 0);
-                }
-                answerFrequency.put(answerString, answerFrequency.get(answerString) + 1);
-                
-            }
-            
-            // restore other answer if any
-            if (isOtherOptionAnswer) {
-                answerStrings.add(otherAnswer);
-            }
-        }
-        
-        if (!isContainsNonEmptyResponse) {
+        // we will only show stats if there is at least one nonempty response
+        if (!isContainsNonEmptyResponse(statistics)) {
             return "";
         }
         
@@ -543,6 +449,83 @@ public class FeedbackMsqQuestionDetails extends FeedbackQuestionDetails {
                + fragments + Const.EOL;
     }
 
+    /**
+     * Counts the times each option was chosen, starting with the options of the question
+     * followed by the other answers in the order they were first chosen.
+     */
+    private Map<String, Integer> getAnswerFrequency(FeedbackResponseStatistics statistics) {
+        Map<String, Integer> answerFrequency = new LinkedHashMap<String, Integer>();
+        
+        for (String option : msqChoices) {
+            answerFrequency.put(option, 0);
+        }
+        
+        if (otherEnabled) {
+            answerFrequency.put("Other", 0);
+        }
+        
+        for (int id = 0; id < statistics.getNumKeys(); id++) {
+            String answerString = statistics.getKey(id);
+            Integer frequency = answerFrequency.get(answerString);
+            answerFrequency.put(answerString, (frequency == null ? 0 : frequency) + statistics.getCount(id));
+        }
+        return answerFrequency;
+    }
+    
+    private int getNumChoicesSelected(FeedbackResponseStatistics statistics) {
+        int numChoicesSelected = 0;
+        for (int id = 0; id < statistics.getNumKeys(); id++) {
+            numChoicesSelected += statistics.getCount(id);
+        }
+        return numChoicesSelected;
+    }
+    
+    /**
+     * Returns true if any option other than "Other" was chosen,
+     * as the answers given with the "Other" option are the only values of 1.
+     */
+    private boolean isContainsNonEmptyResponse(FeedbackResponseStatistics statistics) {
+        for (int id = 0; id < statistics.getNumKeys(); id++) {
+            if (statistics.getTotal(id) < statistics.getCount(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @Override
+    public boolean isResponseStatisticsIncremental() {
+        return true;
+    }
+    
+    /**
+     * Adds each chosen option as a key with a value of 0, and the answer given with
+     * the "Other" option as the key "Other" with a value of 1.
+     */
+    @Override
+    public void addResponseValues(FeedbackResponseAttributes response,
+                                  FeedbackQuestionStatisticsAttributes statistics, int delta) {
+        FeedbackMsqResponseDetails frd = (FeedbackMsqResponseDetails) response.getResponseDetails();
+        List<String> answerStrings = new ArrayList<String>(frd.getAnswerStrings());
+        
+        if (frd.isOtherOptionAnswer()) {
+            statistics.addValue("Other", 1, false, delta);
+            // the other answer is the last answer, which is not counted as an option
+            answerStrings.remove(answerStrings.get(answerStrings.size() - 1));
+        }
+        
+        for (String answerString : answerStrings) {
+            if (!answerString.isEmpty()) {
+                statistics.addValue(answerString, 0, false, delta);
+            }
+        }
+    }
+    
+    @Override
+    protected FeedbackResponseStatistics createResponseStatistics() {
+        return new FeedbackResponseStatistics(false);
+    }
+    
     @Override
     public String getCsvHeader() {
         List<String> sanitizedChoices = Sanitizer.sanitizeListForCsv(msqChoices);
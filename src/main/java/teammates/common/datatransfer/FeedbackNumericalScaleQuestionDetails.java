@@ -4,7 +4,7 @@ import java.math.RoundingMode;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -175,22 +175,12 @@ public class FeedbackNumericalScaleQuestionDetails extends
     private String getInstructorQuestionResultsStatisticsHtml(
             List<FeedbackResponseAttributes> responses,
             FeedbackQuestionAttributes question, FeedbackSessionResultsBundle bundle) {
-        Map<String, Double> min = new HashMap<String, Double>();
-        Map<String, Double> max = new HashMap<String, Double>();
-        Map<String, Double> average = new HashMap<String, Double>();
-        Map<String, Double> averageExcludingSelf = new HashMap<String, Double>();
-        Map<String, Double> total = new HashMap<String, Double>();
-        Map<String, Double> totalExcludingSelf = new HashMap<String, Double>();
-        Map<String, Integer> numResponses = new HashMap<String, Integer>();
-        Map<String, Integer> numResponsesExcludingSelf = new HashMap<String, Integer>();
+        FeedbackResponseStatistics statistics = getResponseStatistics(responses, question, bundle);
         
         // need to know which recipients are hidden since anonymised recipients will not appear in the summary table
-        List<String> hiddenRecipients = getHiddenRecipients(responses, question, bundle);
+        Set<String> hiddenRecipients = getHiddenRecipients(responses, question, bundle);
 
-        populateSummaryStatisticsFromResponses(responses, min, max, average, averageExcludingSelf, total,
-                                               totalExcludingSelf, numResponses, numResponsesExcludingSelf);
-        
-        boolean showAvgExcludingSelf = showAverageExcludingSelf(question, averageExcludingSelf);
+        boolean showAvgExcludingSelf = showAverageExcludingSelf(question, statistics);
         
         String fragmentTemplateToUse = showAvgExcludingSelf
                                      ? FormTemplates.NUMSCALE_RESULTS_STATS_FRAGMENT_WITH_SELF_RESPONSE
@@ -203,13 +193,14 @@ public class FeedbackNumericalScaleQuestionDetails extends
   
         StringBuilder fragmentHtml = new StringBuilder();
         
-        for (String recipient : numResponses.keySet()) {
+        for (String recipient : statistics.getKeys()) {
             // hidden recipients do not appear in the summary table, so ignore responses with hidden recipients
             if (hiddenRecipients.contains(recipient)) {
                 continue;
             }
             
-            Double userAverageExcludingSelf = averageExcludingSelf.get(recipient);
+            int recipientId = statistics.getId(recipient);
+            Double userAverageExcludingSelf = statistics.getAverageExcludingSelf(recipientId);
             String userAverageExcludingSelfText =
                     getAverageExcludingSelfText(showAvgExcludingSelf, df, userAverageExcludingSelf);
             
@@ -220,9 +211,9 @@ public class FeedbackNumericalScaleQuestionDetails extends
                                     fragmentTemplateToUse,
                                     Slots.RECIPIENT_TEAM, Sanitizer.sanitizeForHtml(recipientTeam),
                                     Slots.RECIPIENT_NAME, Sanitizer.sanitizeForHtml(recipientName),
-                                    Slots.AVERAGE, df.format(average.get(recipient)),
-                                    Slots.MAX, df.format(max.get(recipient)),
-                                    Slots.MIN, df.format(min.get(recipient)),
+                                    Slots.AVERAGE, df.format(statistics.getAverage(recipientId)),
+                                    Slots.MAX, df.format(statistics.getMax(recipientId)),
+                                    Slots.MIN, df.format(statistics.getMin(recipientId)),
                                     Slots.AVERAGE_EXCLUDING_SELF_RESPONSE, userAverageExcludingSelfText));
         }
         
@@ -244,21 +235,12 @@ public class FeedbackNumericalScaleQuestionDetails extends
             List<FeedbackResponseAttributes> responses, String studentEmail,
             FeedbackQuestionAttributes question, FeedbackSessionResultsBundle bundle) {
        
-        Map<String, Double> min = new HashMap<String, Double>();
-        Map<String, Double> max = new HashMap<String, Double>();
-        Map<String, Double> average = new HashMap<String, Double>();
-        Map<String, Double> averageExcludingSelf = new HashMap<String, Double>();
-        Map<String, Double> total = new HashMap<String, Double>();
-        Map<String, Double> totalExcludingSelf = new HashMap<String, Double>();
-        Map<String, Integer> numResponses = new HashMap<String, Integer>();
-        Map<String, Integer> numResponsesExcludingSelf = new HashMap<String, Integer>();
+        FeedbackResponseStatistics statistics = getResponseStatistics(responses, question, bundle);
         
         // need to know which recipients are hidden since anonymised recipients will not appear in the summary table
-        List<String> hiddenRecipients = getHiddenRecipients(responses, question, bundle);
+        Set<String> hiddenRecipients = getHiddenRecipients(responses, question, bundle);
 
-        populateSummaryStatisticsFromResponses(responses, min, max, average, averageExcludingSelf, total,
-                                               totalExcludingSelf, numResponses, numResponsesExcludingSelf);
-        boolean showAvgExcludingSelf = showAverageExcludingSelf(question, averageExcludingSelf);
+        boolean showAvgExcludingSelf = showAverageExcludingSelf(question, statistics);
 
         String fragmentTemplateToUse = showAvgExcludingSelf
                                      ? FormTemplates.NUMSCALE_RESULTS_STATS_FRAGMENT_WITH_SELF_RESPONSE
@@ -275,11 +257,14 @@ public class FeedbackNumericalScaleQuestionDetails extends
         boolean isRecipientTypeStudent = !isRecipientTypeGeneral && !isRecipientTypeTeam;
         
         String currentUserTeam = bundle.getTeamNameForEmail(studentEmail);
-        String currentUserIdentifier = getCurrentUserIdentifier(numResponses,
+        String currentUserIdentifier = getCurrentUserIdentifier(statistics,
                                                                 isRecipientTypeStudent, studentEmail,
                                                                 isRecipientTypeTeam, currentUserTeam);
+        boolean hasAtLeastTwoResponses = hasAtLeastTwoResponses(statistics, currentUserIdentifier);
+        boolean hasAtLeastTwoResponsesOtherThanCurrentUser =
+                hasAtLeastTwoResponsesOtherThanCurrentUser(statistics, currentUserIdentifier, hiddenRecipients);
         
-        Set<String> recipientSet = numResponses.keySet();
+        Set<String> recipientSet = statistics.getKeys();
         ArrayList<String> recipientList = new ArrayList<String>();
         
         boolean hasCurrentUserReceivedAnyResponse = recipientSet.contains(currentUserIdentifier);
@@ -312,35 +297,28 @@ public class FeedbackNumericalScaleQuestionDetails extends
             boolean isRecipientGeneral = recipient.equalsIgnoreCase(Const.GENERAL_QUESTION);
             
             recipientName = getDisplayableRecipientName(isHiddenRecipient,
-                            isRecipientCurrentUser, hasAtLeastTwoResponses(numResponses, currentUserIdentifier),
-                            isRecipientTypeStudent, hasAtLeastTwoResponsesOtherThanCurrentUser(
-                                                            numResponses, currentUserIdentifier, hiddenRecipients),
+                            isRecipientCurrentUser, hasAtLeastTwoResponses,
+                            isRecipientTypeStudent, hasAtLeastTwoResponsesOtherThanCurrentUser,
                             isRecipientGeneral, bundle.getNameForEmail(recipient), currentUserTeam);
             
             recipientTeam = getDisplayableRecipientTeam(isHiddenRecipient,
                                                         isRecipientCurrentUser,
-                                                        hasAtLeastTwoResponses(numResponses, currentUserIdentifier),
+                                                        hasAtLeastTwoResponses,
                                                         isRecipientTypeStudent,
-                                                        hasAtLeastTwoResponsesOtherThanCurrentUser(numResponses,
-                                                                                                   currentUserIdentifier,
-                                                                                                   hiddenRecipients),
+                                                        hasAtLeastTwoResponsesOtherThanCurrentUser,
                                                         bundle.getTeamNameForEmail(recipient), currentUserTeam);
 
-            Double minScore = null;
-            Double maxScore = null;
-            Double averageScore = null;
-            Double averageScoreExcludingSelf = null;
-            
             boolean isRecipientDetailsAvailable = recipientName != null && recipientTeam != null;
             
             if (!isRecipientDetailsAvailable) {
                 continue;
             }
             
-            minScore = min.get(recipient);
-            maxScore = max.get(recipient);
-            averageScore = average.get(recipient);
-            averageScoreExcludingSelf = averageExcludingSelf.get(recipient);
+            int recipientId = statistics.getId(recipient);
+            double minScore = statistics.getMin(recipientId);
+            double maxScore = statistics.getMax(recipientId);
+            double averageScore = statistics.getAverage(recipientId);
+            Double averageScoreExcludingSelf = statistics.getAverageExcludingSelf(recipientId);
             
             String averageScoreExcludingSelfText =
                     getAverageExcludingSelfText(showAvgExcludingSelf, df, averageScoreExcludingSelf);
@@ -363,7 +341,7 @@ public class FeedbackNumericalScaleQuestionDetails extends
         
         String statsTitle = getStatsTitle(
                 isRecipientTypeGeneral, isRecipientTypeTeam,
-                hasAtLeastTwoResponsesOtherThanCurrentUser(numResponses, currentUserIdentifier, hiddenRecipients));
+                hasAtLeastTwoResponsesOtherThanCurrentUser);
         String templateToUse = showAvgExcludingSelf
                              ? FormTemplates.NUMSCALE_RESULT_STATS_WITH_SELF_RESPONSE
                              : FormTemplates.NUMSCALE_RESULT_STATS;
@@ -406,28 +384,22 @@ public class FeedbackNumericalScaleQuestionDetails extends
         return null;
     }
     
-    private String getCurrentUserIdentifier(Map<String, Integer> numResponses,
+    private String getCurrentUserIdentifier(FeedbackResponseStatistics statistics,
             boolean isRecipientStudent, String currentUserEmail,
             boolean isRecipientTeam, String currentUserTeam) {
         
-        if (isRecipientStudent && numResponses.containsKey(currentUserEmail)
-                && numResponses.get(currentUserEmail) >= 1) {
+        if (isRecipientStudent && statistics.getId(currentUserEmail) != -1) {
             return currentUserEmail;
-        } else if (isRecipientTeam && numResponses.containsKey(currentUserTeam)
-                   && numResponses.get(currentUserTeam) >= 1) {
+        } else if (isRecipientTeam && statistics.getId(currentUserTeam) != -1) {
             return currentUserTeam;
         } else {
             return "";
         }
     }
 
-    private boolean hasAtLeastTwoResponses(Map<String, Integer> numResponses,
-            String recipient) {
-        if (numResponses == null) {
-            return false;
-        }
-        Integer numOfResponses = numResponses.get(recipient);
-        return numOfResponses != null && numOfResponses >= 2;
+    private boolean hasAtLeastTwoResponses(FeedbackResponseStatistics statistics, String recipient) {
+        int recipientId = statistics.getId(recipient);
+        return recipientId != -1 && statistics.getCount(recipientId) >= 2;
     }
 
     private String getAverageExcludingSelfText(boolean showAvgExcludingSelf, DecimalFormat df, Double averageExcludingSelf) {
@@ -447,22 +419,12 @@ public class FeedbackNumericalScaleQuestionDetails extends
             return "";
         }
         
-        Map<String, Double> min = new HashMap<String, Double>();
-        Map<String, Double> max = new HashMap<String, Double>();
-        Map<String, Double> average = new HashMap<String, Double>();
-        Map<String, Double> averageExcludingSelf = new HashMap<String, Double>();
-        Map<String, Double> total = new HashMap<String, Double>();
-        Map<String, Double> totalExcludingSelf = new HashMap<String, Double>();
-        Map<String, Integer> numResponses = new HashMap<String, Integer>();
-        Map<String, Integer> numResponsesExcludingSelf = new HashMap<String, Integer>();
+        FeedbackResponseStatistics statistics = getResponseStatistics(responses, question, bundle);
         
         // need to know which recipients are hidden since anonymised recipients will not appear in the summary table
-        List<String> hiddenRecipients = getHiddenRecipients(responses, question, bundle);
-        
-        populateSummaryStatisticsFromResponses(responses, min, max, average, averageExcludingSelf, total,
-                                               totalExcludingSelf, numResponses, numResponsesExcludingSelf);
+        Set<String> hiddenRecipients = getHiddenRecipients(responses, question, bundle);
         
-        boolean showAvgExcludingSelf = showAverageExcludingSelf(question, averageExcludingSelf);
+        boolean showAvgExcludingSelf = showAverageExcludingSelf(question, statistics);
         
         DecimalFormat df = new DecimalFormat();
         df.setMinimumFractionDigits(0);
@@ -474,16 +436,17 @@ public class FeedbackNumericalScaleQuestionDetails extends
                          + Const.EOL;
         
         StringBuilder csvBody = new StringBuilder();
-        for (String recipient : numResponses.keySet()) {
+        for (String recipient : statistics.getKeys()) {
             // hidden recipients do not appear in the summary table, so ignore responses with hidden recipients
             if (hiddenRecipients.contains(recipient)) {
                 continue;
             }
             
+            int recipientId = statistics.getId(recipient);
             String recipientTeam = bundle.getTeamNameForEmail(recipient);
             boolean isRecipientGeneral = recipient.equals(Const.GENERAL_QUESTION);
             
-            Double averageScoreExcludingSelf = averageExcludingSelf.get(recipient);
+            Double averageScoreExcludingSelf = statistics.getAverageExcludingSelf(recipientId);
             String averageScoreExcludingSelfText =
                     getAverageExcludingSelfText(showAvgExcludingSelf, df, averageScoreExcludingSelf);
             
@@ -492,9 +455,9 @@ public class FeedbackNumericalScaleQuestionDetails extends
                                                       ? "General"
                                                       : bundle.getNameForEmail(recipient))
                            + ','
-                           + df.format(average.get(recipient)) + ','
-                           + df.format(min.get(recipient)) + ','
-                           + df.format(max.get(recipient))
+                           + df.format(statistics.getAverage(recipientId)) + ','
+                           + df.format(statistics.getMin(recipientId)) + ','
+                           + df.format(statistics.getMax(recipientId))
                            + (showAvgExcludingSelf ? ',' + averageScoreExcludingSelfText : "")
                            + Const.EOL);
         }
@@ -503,7 +466,7 @@ public class FeedbackNumericalScaleQuestionDetails extends
     }
     
     private boolean showAverageExcludingSelf(
-            FeedbackQuestionAttributes question, Map<String, Double> averageExcludingSelf) {
+            FeedbackQuestionAttributes question, FeedbackResponseStatistics statistics) {
         
         if (question.recipientType == FeedbackParticipantType.NONE) {
             // General recipient type would not give self response
@@ -511,104 +474,37 @@ public class FeedbackNumericalScaleQuestionDetails extends
             return false;
         }
         
-        for (Double average : averageExcludingSelf.values()) {
-            // There exists at least one average score exclude self
-            if (average != null) {
-                return true;
-            }
-        }
-        return false;
+        // There exists at least one average score exclude self
+        return statistics.hasAnyValueExcludingSelf();
     }
 
-    private void populateSummaryStatisticsFromResponses(
-            List<FeedbackResponseAttributes> responses,
-            Map<String, Double> min, Map<String, Double> max,
-            Map<String, Double> average, Map<String, Double> averageExcludingSelf,
-            Map<String, Double> total, Map<String, Double> totalExcludingSelf,
-            Map<String, Integer> numResponses,
-            Map<String, Integer> numResponsesExcludingSelf) {
-        
-        for (FeedbackResponseAttributes response : responses) {
-            FeedbackNumericalScaleResponseDetails responseDetails =
-                    (FeedbackNumericalScaleResponseDetails) response.getResponseDetails();
-            double answer = responseDetails.getAnswer();
-            String giverEmail = response.giver;
-            String recipientEmail = response.recipient;
-
-            // Compute number of responses including user's self response
-            if (!numResponses.containsKey(recipientEmail)) {
-                numResponses.put(recipientEmail, 0);
-            }
-            int numOfResponses = numResponses.get(recipientEmail) + 1;
-            numResponses.put(recipientEmail, numOfResponses);
-
-            // Compute number of responses excluding user's self response
-            if (!numResponsesExcludingSelf.containsKey(recipientEmail)) {
-                numResponsesExcludingSelf.put(recipientEmail, 0);
-            }
-            boolean isSelfResponse = giverEmail.equalsIgnoreCase(recipientEmail);
-            if (!isSelfResponse) {
-                int numOfResponsesExcludingSelf = numResponsesExcludingSelf.get(recipientEmail) + 1;
-                numResponsesExcludingSelf.put(recipientEmail, numOfResponsesExcludingSelf);
-            }
-
-            // Compute minimum score received
-            if (!min.containsKey(recipientEmail)) {
-                min.put(recipientEmail, answer);
-            }
-            double minScoreReceived = Math.min(answer, min.get(recipientEmail));
-            min.put(recipientEmail, minScoreReceived);
-
-            // Compute maximum score received
-            if (!max.containsKey(recipientEmail)) {
-                max.put(recipientEmail, answer);
-            }
-            double maxScoreReceived = Math.max(answer, max.get(recipientEmail));
-            max.put(recipientEmail, maxScoreReceived);
-
-            // Compute total score received
-            if (!total.containsKey(recipientEmail)) {
-                total.put(recipientEmail, 0.0);
-            }
-            double totalScore = total.get(recipientEmail) + answer;
-            total.put(recipientEmail, totalScore);
-
-            // Compute total score received excluding self
-            if (!totalExcludingSelf.containsKey(recipientEmail)) {
-                totalExcludingSelf.put(recipientEmail, null);
-            }
-            if (!isSelfResponse) {
-                Double totalScoreExcludingSelf = totalExcludingSelf.get(recipientEmail);
-                
-                // totalScoreExcludingSelf == null when the user has only self response
-                totalExcludingSelf.put(recipientEmail,
-                                       totalScoreExcludingSelf == null ? answer : totalScoreExcludingSelf + answer);
-            }
+    @Override
+    public boolean isResponseStatisticsIncremental() {
+        return true;
+    }
 
-            // Compute average score received
-            if (!average.containsKey(recipientEmail)) {
-                average.put(recipientEmail, 0.0);
-            }
-            double averageReceived = total.get(recipientEmail) / numResponses.get(recipientEmail);
-            average.put(recipientEmail, averageReceived);
+    /**
+     * Adds the answer as a value received by the recipient.
+     */
+    @Override
+    public void addResponseValues(FeedbackResponseAttributes response,
+                                  FeedbackQuestionStatisticsAttributes statistics, int delta) {
+        FeedbackNumericalScaleResponseDetails responseDetails =
+                (FeedbackNumericalScaleResponseDetails) response.getResponseDetails();
+        boolean isSelfResponse = response.giver.equalsIgnoreCase(response.recipient);
+        statistics.addValue(response.recipient, responseDetails.getAnswer(), isSelfResponse, delta);
+    }
 
-            // Compute average score received excluding self
-            if (!averageExcludingSelf.containsKey(recipientEmail)) {
-                averageExcludingSelf.put(recipientEmail, null);
-            }
-            if (!isSelfResponse && totalExcludingSelf.get(recipientEmail) != null) {
-                double averageReceivedExcludingSelf =
-                        totalExcludingSelf.get(recipientEmail) / numResponsesExcludingSelf.get(recipientEmail);
-                averageExcludingSelf.put(recipientEmail, averageReceivedExcludingSelf);
-            }
-        }
+    @Override
+    protected FeedbackResponseStatistics createResponseStatistics() {
+        return new FeedbackResponseStatistics(false);
     }
     
-    private List<String> getHiddenRecipients(
+    private Set<String> getHiddenRecipients(
             List<FeedbackResponseAttributes> responses,
             FeedbackQuestionAttributes question,
             FeedbackSessionResultsBundle bundle) {
-        List<String> hiddenRecipients = new ArrayList<String>(); // List of recipients to hide
+        Set<String> hiddenRecipients = new HashSet<String>(); // Set of recipients to hide
         FeedbackParticipantType type = question.recipientType;
         for (FeedbackResponseAttributes response : responses) {
             if (!bundle.visibilityTable.get(response.getId())[1]
@@ -642,16 +538,16 @@ public class FeedbackNumericalScaleQuestionDetails extends
      * Return false otherwise.
      */
     private boolean hasAtLeastTwoResponsesOtherThanCurrentUser(
-            Map<String, Integer> numResponses, String currentUserIdentifier, List<String> hiddenRecipients) {
+            FeedbackResponseStatistics statistics, String currentUserIdentifier, Set<String> hiddenRecipients) {
         boolean isAtLeastTwoResponsesOtherThanCurrentUser = false;
         
         // At least 2 responses are given to any recipient other than current user
-        for (String recipient : numResponses.keySet()) {
+        for (String recipient : statistics.getKeys()) {
             if (hiddenRecipients.contains(recipient)) {
                 continue;
             }
 
-            if (hasAtLeastTwoResponses(numResponses, recipient)
+            if (hasAtLeastTwoResponses(statistics, recipient)
                     && !recipient.equals(currentUserIdentifier)) {
                 
                 isAtLeastTwoResponsesOtherThanCurrentUser = true;
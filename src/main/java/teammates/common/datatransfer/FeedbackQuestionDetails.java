@@ -233,6 +233,70 @@ public abstract class FeedbackQuestionDetails {
 
     public abstract Comparator<InstructorFeedbackResultsResponseRow> getResponseRowsSortOrder();
 
+    /**
+     * Returns true if the statistics of this question type can be updated one response at a time
+     * with {@link #addResponseValues}, and can thus be stored and kept up to date as responses are saved.
+     * Override in child classes whose statistics are built that way.
+     */
+    public boolean isResponseStatisticsIncremental() {
+        return false;
+    }
+
+    /**
+     * Adds the values of the response to the statistics of this question, each {@code delta} times.
+     * A negative {@code delta} removes the values added earlier for the same response.
+     * Override in child classes whose statistics are incremental.
+     * @see #isResponseStatisticsIncremental()
+     */
+    public void addResponseValues(FeedbackResponseAttributes response,
+                                  FeedbackQuestionStatisticsAttributes statistics, int delta) {
+        Assumption.fail("Statistics of " + questionType + " questions are not incremental");
+    }
+
+    /**
+     * Creates the empty statistics to which the values of the responses are added.
+     * Override in child classes which do not need the individual values, or which have keys
+     * that are shown even if they receive no values.
+     */
+    protected FeedbackResponseStatistics createResponseStatistics() {
+        return new FeedbackResponseStatistics(true);
+    }
+
+    /**
+     * Aggregates the numeric values in the responses for the statistics of this question.
+     * Override in child classes whose statistics are not incremental but are computed from
+     * {@link FeedbackResponseStatistics}.
+     */
+    public FeedbackResponseStatistics aggregateResponseStatistics(List<FeedbackResponseAttributes> responses) {
+        FeedbackQuestionStatisticsAttributes statistics = new FeedbackQuestionStatisticsAttributes();
+        for (FeedbackResponseAttributes response : responses) {
+            statistics.addResponse(response, this);
+        }
+        return toResponseStatistics(statistics);
+    }
+
+    /**
+     * Returns the statistics of this question from statistics which were kept up to date
+     * as responses were saved.
+     */
+    public FeedbackResponseStatistics toResponseStatistics(FeedbackQuestionStatisticsAttributes statistics) {
+        FeedbackResponseStatistics responseStatistics = createResponseStatistics();
+        statistics.addValuesTo(responseStatistics);
+        return responseStatistics;
+    }
+
+    /**
+     * Returns the statistics of the responses, aggregated once per question by {@code bundle}.
+     */
+    protected FeedbackResponseStatistics getResponseStatistics(List<FeedbackResponseAttributes> responses,
+                                                               FeedbackQuestionAttributes question,
+                                                               FeedbackSessionResultsBundle bundle) {
+        if (bundle == null || question == null) {
+            return aggregateResponseStatistics(responses);
+        }
+        return bundle.getResponseStatistics(question.getId(), responses, this);
+    }
+
     public FeedbackQuestionType getQuestionType() {
         return questionType;
     }
@@ -0,0 +1,254 @@
+package teammates.common.datatransfer;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import teammates.common.util.Assumption;
+import teammates.common.util.Utils;
+import teammates.storage.entity.FeedbackQuestionStatistics;
+
+import com.google.appengine.api.datastore.Text;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * The statistics of the responses to a feedback question, kept as the number of times
+ * each key (e.g. an option or a recipient) received each value. <br>
+ * Unlike {@link FeedbackResponseStatistics}, the counts can be decremented, so the statistics
+ * can be updated one response at a time as responses are created, updated and deleted,
+ * and the statistics panels can be rendered without reading the responses.
+ * @see FeedbackQuestionDetails#addResponseValues(FeedbackResponseAttributes, FeedbackQuestionStatisticsAttributes, int)
+ */
+public class FeedbackQuestionStatisticsAttributes extends EntityAttributes {
+
+    private static final Type VALUE_COUNTS_TYPE =
+            new TypeToken<LinkedHashMap<String, TreeMap<Double, int[]>>>(){}.getType();
+
+    private static final int COUNT = 0;
+    private static final int SELF_COUNT = 1;
+
+    public String feedbackQuestionId;
+    public String feedbackSessionName;
+    public String courseId;
+    public Date updatedAt;
+
+    private int numResponses;
+
+    /**
+     * The sum of the digests of the responses, which is null if the statistics were stored before the digest was.
+     * @see #getResponseDigest(FeedbackResponseAttributes)
+     */
+    private Long responsesDigest = 0L;
+
+    /**
+     * Maps each key, in the order they were first added, to the values it received.
+     * Each value is mapped to the number of times it was received and
+     * the number of times it was received as a self response.
+     */
+    private Map<String, TreeMap<Double, int[]>> valueCounts = new LinkedHashMap<String, TreeMap<Double, int[]>>();
+
+    /**
+     * Creates empty statistics which are not stored.
+     */
+    public FeedbackQuestionStatisticsAttributes() {
+        // statistics to be filled after construction
+    }
+
+    public FeedbackQuestionStatisticsAttributes(FeedbackQuestionAttributes question) {
+        this.feedbackQuestionId = question.getId();
+        this.feedbackSessionName = question.feedbackSessionName;
+        this.courseId = question.courseId;
+    }
+
+    public FeedbackQuestionStatisticsAttributes(FeedbackQuestionStatistics statistics) {
+        this.feedbackQuestionId = statistics.getFeedbackQuestionId();
+        this.feedbackSessionName = statistics.getFeedbackSessionName();
+        this.courseId = statistics.getCourseId();
+        this.updatedAt = statistics.getUpdatedAt();
+        this.numResponses = statistics.getNumResponses();
+        this.responsesDigest = statistics.getResponsesDigest();
+        Map<String, TreeMap<Double, int[]>> storedValueCounts =
+                Utils.getCompactGson().fromJson(statistics.getValueCounts().getValue(), VALUE_COUNTS_TYPE);
+        if (storedValueCounts != null) {
+            this.valueCounts = storedValueCounts;
+        }
+    }
+
+    public int getNumResponses() {
+        return numResponses;
+    }
+
+    /**
+     * @return true if the statistics are of exactly the given responses, with the same answers
+     */
+    public boolean isStatisticsOf(List<FeedbackResponseAttributes> responses) {
+        if (responsesDigest == null || numResponses != responses.size()) {
+            return false;
+        }
+        long digest = 0;
+        for (FeedbackResponseAttributes response : responses) {
+            digest += getResponseDigest(response);
+        }
+        return responsesDigest == digest;
+    }
+
+    public Long getResponsesDigest() {
+        return responsesDigest;
+    }
+
+    public Text getValueCountsAsText() {
+        return new Text(Utils.getCompactGson().toJson(valueCounts, VALUE_COUNTS_TYPE));
+    }
+
+    /**
+     * Adds the values of the response, as given by {@code questionDetails}.
+     */
+    public void addResponse(FeedbackResponseAttributes response, FeedbackQuestionDetails questionDetails) {
+        numResponses++;
+        if (responsesDigest != null) {
+            responsesDigest += getResponseDigest(response);
+        }
+        questionDetails.addResponseValues(response, this, 1);
+    }
+
+    /**
+     * Removes the values of a response added earlier with {@link #addResponse}.
+     */
+    public void removeResponse(FeedbackResponseAttributes response, FeedbackQuestionDetails questionDetails) {
+        numResponses = Math.max(0, numResponses - 1);
+        if (responsesDigest != null) {
+            responsesDigest -= getResponseDigest(response);
+        }
+        questionDetails.addResponseValues(response, this, -1);
+    }
+
+    /**
+     * @return a 64-bit FNV-1a hash of the question, giver, recipient and answer of the response.
+     *         The digests of the responses of the statistics are summed, so that responses can be
+     *         added and removed in any order, and an update lost or missed changes the sum.
+     */
+    public static long getResponseDigest(FeedbackResponseAttributes response) {
+        String answer = response.responseMetaData == null ? "" : response.responseMetaData.getValue();
+        String content = response.feedbackQuestionId + '\n' + response.giver + '\n' + response.recipient
+                         + '\n' + answer;
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < content.length(); i++) {
+            hash ^= content.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Changes the number of times the key received the value by {@code delta}.
+     * Values and keys which are no longer received are removed.
+     * @param isSelfResponse  whether the value was given by the key to itself
+     */
+    public void addValue(String key, double value, boolean isSelfResponse, int delta) {
+        TreeMap<Double, int[]> countsOfKey = valueCounts.get(key);
+        if (countsOfKey == null) {
+            if (delta <= 0) {
+                return;
+            }
+            countsOfKey = new TreeMap<Double, int[]>();
+            valueCounts.put(key, countsOfKey);
+        }
+
+        int[] counts = countsOfKey.get(value);
+        if (counts == null) {
+            if (delta <= 0) {
+                return;
+            }
+            counts = new int[2];
+            countsOfKey.put(value, counts);
+        }
+
+        counts[COUNT] = Math.max(0, counts[COUNT] + delta);
+        if (isSelfResponse) {
+            counts[SELF_COUNT] = Math.max(0, counts[SELF_COUNT] + delta);
+        }
+        if (counts[COUNT] == 0) {
+            countsOfKey.remove(value);
+            if (countsOfKey.isEmpty()) {
+                valueCounts.remove(key);
+            }
+        }
+    }
+
+    /**
+     * @return the number of times the key received the value, or 0 if it was never received.
+     */
+    public int getCount(String key, double value) {
+        TreeMap<Double, int[]> countsOfKey = valueCounts.get(key);
+        if (countsOfKey == null || !countsOfKey.containsKey(value)) {
+            return 0;
+        }
+        return countsOfKey.get(value)[COUNT];
+    }
+
+    /**
+     * Adds all values to {@code statistics}, keys in the order they were first added
+     * and values of each key in ascending order.
+     */
+    public void addValuesTo(FeedbackResponseStatistics statistics) {
+        for (Map.Entry<String, TreeMap<Double, int[]>> countsOfKey : valueCounts.entrySet()) {
+            int id = statistics.intern(countsOfKey.getKey());
+            for (Map.Entry<Double, int[]> value : countsOfKey.getValue().entrySet()) {
+                int[] counts = value.getValue();
+                Assumption.assertTrue(counts[SELF_COUNT] <= counts[COUNT]);
+                statistics.add(id, value.getKey(), false, counts[COUNT] - counts[SELF_COUNT]);
+                statistics.add(id, value.getKey(), true, counts[SELF_COUNT]);
+            }
+        }
+    }
+
+    @Override
+    public List<String> getInvalidityInfo() {
+        List<String> errors = new ArrayList<String>();
+        if (feedbackQuestionId == null || feedbackQuestionId.isEmpty()) {
+            errors.add("Feedback question statistics must belong to a feedback question");
+        }
+        return errors;
+    }
+
+    @Override
+    public Object toEntity() {
+        return new FeedbackQuestionStatistics(feedbackQuestionId, feedbackSessionName, courseId,
+                                              numResponses, getValueCountsAsText(), responsesDigest);
+    }
+
+    @Override
+    public String getIdentificationString() {
+        return feedbackQuestionId;
+    }
+
+    @Override
+    public String getEntityTypeAsString() {
+        return "Feedback Question Statistics";
+    }
+
+    @Override
+    public String getBackupIdentifier() {
+        return "Recently modified feedback question statistics::" + feedbackQuestionId;
+    }
+
+    @Override
+    public String getJsonString() {
+        return Utils.getTeammatesGson().toJson(this, FeedbackQuestionStatisticsAttributes.class);
+    }
+
+    @Override
+    public void sanitizeForSaving() {
+        // nothing to sanitize: the keys and values are only rendered after being sanitized
+    }
+
+    @Override
+    public String toString() {
+        return "FeedbackQuestionStatisticsAttributes [feedbackQuestionId=" + feedbackQuestionId
+               + ", numResponses=" + numResponses + ", valueCounts=" + valueCounts.size() + " keys]";
+    }
+}
@@ -7,7 +7,6 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 import teammates.common.util.Assumption;
@@ -247,17 +246,15 @@ public class FeedbackRankOptionsQuestionDetails extends FeedbackRankQuestionDeta
         
         StringBuilder fragments = new StringBuilder(100);
         
-        Map<String, List<Integer>> optionRanks = generateOptionRanksMapping(responses);
+        FeedbackResponseStatistics optionRanks = getResponseStatistics(responses, question, bundle);
 
         DecimalFormat df = new DecimalFormat("#.##");
         
-        for (Entry<String, List<Integer>> entry : optionRanks.entrySet()) {
+        for (String option : optionRanks.getKeys()) {
             
-            List<Integer> ranks = entry.getValue();
-            double average = computeAverage(ranks);
-            String ranksReceived = getListOfRanksReceivedAsString(ranks);
-
-            String option = entry.getKey();
+            int id = optionRanks.getId(option);
+            double average = optionRanks.getAverage(id);
+            String ranksReceived = getListOfRanksReceivedAsString(optionRanks.getSortedValues(id));
             
             fragments.append(Templates.populateTemplate(FormTemplates.RANK_RESULT_STATS_OPTIONFRAGMENT,
                     Slots.RANK_OPTION_VALUE, Sanitizer.sanitizeForHtml(option),
@@ -281,15 +278,14 @@ public class FeedbackRankOptionsQuestionDetails extends FeedbackRankQuestionDeta
         }
         
         StringBuilder fragments = new StringBuilder();
-        Map<String, List<Integer>> optionRanks = generateOptionRanksMapping(responses);
+        FeedbackResponseStatistics optionRanks = getResponseStatistics(responses, question, bundle);
 
         DecimalFormat df = new DecimalFormat("#.##");
         
-        for (Entry<String, List<Integer>> entry : optionRanks.entrySet()) {
-            String option = Sanitizer.sanitizeForCsv(entry.getKey());
+        for (String optionReceivingRanks : optionRanks.getKeys()) {
+            String option = Sanitizer.sanitizeForCsv(optionReceivingRanks);
           
-            List<Integer> ranksAssigned = entry.getValue();
-            double average = computeAverage(ranksAssigned);
+            double average = optionRanks.getAverage(optionRanks.getId(optionReceivingRanks));
             String fragment = option + "," + df.format(average) + Const.EOL;
             fragments.append(fragment);
         }
@@ -298,15 +294,13 @@ public class FeedbackRankOptionsQuestionDetails extends FeedbackRankQuestionDeta
     }
 
     /**
-     * From the feedback responses, generate a mapping of the option to a list of
-     * ranks received for that option.
-     * The key of the map returned is the option name.
-     * The values of the map are list of ranks received by the key.
+     * From the feedback responses, aggregates the ranks received by each option.
+     * The keys of the statistics are the option names, and the ranks received by each key are kept.
      * @param responses  a list of responses
      */
-    private Map<String, List<Integer>> generateOptionRanksMapping(
-                                            List<FeedbackResponseAttributes> responses) {
-        Map<String, List<Integer>> optionRanks = new HashMap<>();
+    @Override
+    public FeedbackResponseStatistics aggregateResponseStatistics(List<FeedbackResponseAttributes> responses) {
+        FeedbackResponseStatistics optionRanks = new FeedbackResponseStatistics(true);
         for (FeedbackResponseAttributes response : responses) {
             FeedbackRankOptionsResponseDetails frd = (FeedbackRankOptionsResponseDetails) response.getResponseDetails();
             
@@ -328,7 +322,7 @@ public class FeedbackRankOptionsQuestionDetails extends FeedbackRankQuestionDeta
                 int rankReceived = normalisedRankForOption.get(optionReceivingRanks);
                 
                 if (rankReceived != Const.POINTS_NOT_SUBMITTED) {
-                    updateOptionRanksMapping(optionRanks, optionReceivingRanks, rankReceived);
+                    optionRanks.add(optionReceivingRanks, rankReceived, false);
                 }
             }
         }
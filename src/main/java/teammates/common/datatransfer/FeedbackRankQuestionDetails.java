@@ -1,7 +1,6 @@
 package teammates.common.datatransfer;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -51,48 +50,28 @@ public abstract class FeedbackRankQuestionDetails extends FeedbackQuestionDetail
     @Override
     public abstract String getQuestionSpecificEditFormHtml(int questionNumber);
 
-    /**
-     * Used to update the mapping of ranks for the option optionReceivingPoints
-     * 
-     * @param optionRanks
-     * @param optionReceivingRanks
-     * @param rankReceived
-     */
-    protected void updateOptionRanksMapping(
-                        Map<String, List<Integer>> optionRanks,
-                        String optionReceivingRanks, int rankReceived) {
-        if (!optionRanks.containsKey(optionReceivingRanks)) {
-            List<Integer> ranks = new ArrayList<Integer>();
-            optionRanks.put(optionReceivingRanks, ranks);
-        }
-        
-        List<Integer> ranksReceived = optionRanks.get(optionReceivingRanks);
-        ranksReceived.add(rankReceived);
-    }
-
     /**
      * Returns the list of points as as string to display
-     * @param ranksReceived
+     * @param ranksReceived  the ranks received, in ascending order
      */
-    protected String getListOfRanksReceivedAsString(List<Integer> ranksReceived) {
-        Collections.sort(ranksReceived);
+    protected String getListOfRanksReceivedAsString(double[] ranksReceived) {
         StringBuilder pointsReceived = new StringBuilder();
         
-        if (ranksReceived.size() > 10) {
+        if (ranksReceived.length > 10) {
             for (int i = 0; i < 5; i++) {
-                pointsReceived.append(ranksReceived.get(i)).append(" , ");
+                pointsReceived.append((int) ranksReceived[i]).append(" , ");
             }
             
             pointsReceived.append("...");
             
-            for (int i = ranksReceived.size() - 5; i < ranksReceived.size(); i++) {
-                pointsReceived.append(" , ").append(ranksReceived.get(i));
+            for (int i = ranksReceived.length - 5; i < ranksReceived.length; i++) {
+                pointsReceived.append(" , ").append((int) ranksReceived[i]);
             }
         } else {
-            for (int i = 0; i < ranksReceived.size(); i++) {
-                pointsReceived.append(ranksReceived.get(i));
+            for (int i = 0; i < ranksReceived.length; i++) {
+                pointsReceived.append((int) ranksReceived[i]);
                 
-                if (i != ranksReceived.size() - 1) {
+                if (i != ranksReceived.length - 1) {
                     pointsReceived.append(" , ");
                 }
             }
@@ -100,14 +79,6 @@ public abstract class FeedbackRankQuestionDetails extends FeedbackQuestionDetail
         
         return pointsReceived.toString();
     }
-
-    protected double computeAverage(List<Integer> values) {
-        double average = 0;
-        for (double value : values) {
-            average = average + value;
-        }
-        return average / values.size();
-    }
    
     /**
      * For a single set of ranking (options / feedback responses),
@@ -7,7 +7,6 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 import teammates.common.util.Const;
@@ -176,17 +175,16 @@ public class FeedbackRankRecipientsQuestionDetails extends FeedbackRankQuestionD
         
         StringBuilder fragments = new StringBuilder();
         
-        Map<String, List<Integer>> recipientRanks = generateOptionRanksMapping(responses);
+        FeedbackResponseStatistics recipientRanks = getResponseStatistics(responses, question, bundle);
 
         DecimalFormat df = new DecimalFormat("#.##");
         
-        for (Entry<String, List<Integer>> entry : recipientRanks.entrySet()) {
+        for (String participantIdentifier : recipientRanks.getKeys()) {
             
-            List<Integer> ranks = entry.getValue();
-            double average = computeAverage(ranks);
-            String ranksReceived = getListOfRanksReceivedAsString(ranks);
+            int id = recipientRanks.getId(participantIdentifier);
+            double average = recipientRanks.getAverage(id);
+            String ranksReceived = getListOfRanksReceivedAsString(recipientRanks.getSortedValues(id));
             
-            String participantIdentifier = entry.getKey();
             String name = bundle.getNameForEmail(participantIdentifier);
             String teamName = bundle.getTeamNameForEmail(participantIdentifier);
             
@@ -215,20 +213,19 @@ public class FeedbackRankRecipientsQuestionDetails extends FeedbackRankQuestionD
         }
         
         StringBuilder fragments = new StringBuilder();
-        Map<String, List<Integer>> recipientRanks = generateOptionRanksMapping(responses);
+        FeedbackResponseStatistics recipientRanks = getResponseStatistics(responses, question, bundle);
 
         DecimalFormat df = new DecimalFormat("#.##");
         
-        for (Entry<String, List<Integer>> entry : recipientRanks.entrySet()) {
+        for (String participantIdentifier : recipientRanks.getKeys()) {
             
-            String teamName = bundle.getTeamNameForEmail(entry.getKey());
-            String recipientName = bundle.getNameForEmail(entry.getKey());
+            String teamName = bundle.getTeamNameForEmail(participantIdentifier);
+            String recipientName = bundle.getNameForEmail(participantIdentifier);
             String option = Sanitizer.sanitizeForCsv(teamName)
                             + ","
                             + Sanitizer.sanitizeForCsv(recipientName);
 
-            List<Integer> ranks = entry.getValue();
-            double average = computeAverage(ranks);
+            double average = recipientRanks.getAverage(recipientRanks.getId(participantIdentifier));
             fragments.append(option).append(',').append(df.format(average)).append(Const.EOL);
         }
         
@@ -236,22 +233,22 @@ public class FeedbackRankRecipientsQuestionDetails extends FeedbackRankQuestionD
     }
     
     /**
-     * From the feedback responses, generate a mapping of the option to a list of
-     * ranks received for that option.
-     * The key of the map returned is the recipient's participant identifier.
-     * The values of the map are list of ranks received by the recipient.
+     * From the feedback responses, aggregates the ranks received by each recipient.
+     * The keys of the statistics are the recipients' participant identifiers,
+     * and the ranks received by each key are kept.
      * @param responses  a list of responses
      */
-    private Map<String, List<Integer>> generateOptionRanksMapping(List<FeedbackResponseAttributes> responses) {
+    @Override
+    public FeedbackResponseStatistics aggregateResponseStatistics(List<FeedbackResponseAttributes> responses) {
         
         Map<FeedbackResponseAttributes, Integer> normalisedRankOfResponse = getNormalisedRankForEachResponse(responses);
 
-        Map<String, List<Integer>> optionRanks = new HashMap<>();
+        FeedbackResponseStatistics recipientRanks = new FeedbackResponseStatistics(true);
         for (FeedbackResponseAttributes response : responses) {
-            updateOptionRanksMapping(optionRanks, response.recipient, normalisedRankOfResponse.get(response));
+            recipientRanks.add(response.recipient, normalisedRankOfResponse.get(response), false);
         }
         
-        return optionRanks;
+        return recipientRanks;
     }
 
     /**
@@ -277,7 +274,7 @@ public class FeedbackRankRecipientsQuestionDetails extends FeedbackRankQuestionD
         Map<FeedbackResponseAttributes, Integer> normalisedRankOfResponse = new HashMap<>();
         for (Map.Entry<String, List<FeedbackResponseAttributes>> entry : responsesGivenByPerson.entrySet()) {
             Map<FeedbackResponseAttributes, Integer> rankOfResponse = new HashMap<>();
-            for (FeedbackResponseAttributes res : responses) {
+            for (FeedbackResponseAttributes res : entry.getValue()) {
                 FeedbackRankRecipientsResponseDetails frd = (FeedbackRankRecipientsResponseDetails) res.getResponseDetails();
                 rankOfResponse.put(res, frd.answer);
             }
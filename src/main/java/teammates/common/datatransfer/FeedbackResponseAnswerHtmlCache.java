@@ -0,0 +1,110 @@
+package teammates.common.datatransfer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches the answer HTML of responses as rendered for the instructor results views, in an LRU map
+ * local to the instance, so that the response details are not parsed and the answer is not rendered
+ * again for every panel and every page load. <br>
+ * Each answer is cached with the content version of the response and its question, which changes
+ * whenever the answer, the question details or the response update time changes, so an answer cached
+ * before an edit made through any instance is never served. {@link #invalidate(String)} only frees
+ * the stale answer early. <br>
+ * Answers of contribution questions depend on the other responses of the team and are not cached.
+ */
+public final class FeedbackResponseAnswerHtmlCache {
+
+    /** Enough for the answers of a few large sessions, which are a few hundred bytes each. */
+    private static final int LOCAL_CACHE_SIZE = 20000;
+
+    private static final Map<String, VersionedAnswerHtml> localCache =
+            new LinkedHashMap<String, VersionedAnswerHtml>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, VersionedAnswerHtml> eldest) {
+                    return size() > LOCAL_CACHE_SIZE;
+                }
+            };
+
+    private FeedbackResponseAnswerHtmlCache() {
+        // utility class
+    }
+
+    /**
+     * @return the cached answer HTML of the response, or null if it is not cached, is stale or cannot be cached
+     */
+    public static String get(FeedbackResponseAttributes response, FeedbackQuestionAttributes question) {
+        if (!isCacheable(response, question)) {
+            return null;
+        }
+        VersionedAnswerHtml cached;
+        synchronized (localCache) {
+            cached = localCache.get(response.getId());
+        }
+        return cached != null && cached.version == getContentVersion(response, question) ? cached.answerHtml
+                                                                                            : null;
+    }
+
+    /**
+     * Caches the answer HTML of the response, which was just rendered for its question.
+     */
+    public static void put(FeedbackResponseAttributes response, FeedbackQuestionAttributes question,
+                           String answerHtml) {
+        if (!isCacheable(response, question)) {
+            return;
+        }
+        VersionedAnswerHtml versionedAnswerHtml =
+                new VersionedAnswerHtml(getContentVersion(response, question), answerHtml);
+        synchronized (localCache) {
+            localCache.put(response.getId(), versionedAnswerHtml);
+        }
+    }
+
+    /**
+     * Removes the cached answer HTML of the response from this instance.
+     */
+    public static void invalidate(String responseId) {
+        synchronized (localCache) {
+            localCache.remove(responseId);
+        }
+    }
+
+    /**
+     * Removes all the cached answers from this instance.
+     */
+    public static void clear() {
+        synchronized (localCache) {
+            localCache.clear();
+        }
+    }
+
+    private static boolean isCacheable(FeedbackResponseAttributes response, FeedbackQuestionAttributes question) {
+        return response.getId() != null && response.responseMetaData != null && question.questionMetaData != null
+               && response.feedbackQuestionType != null
+               && response.feedbackQuestionType != FeedbackQuestionType.CONTRIB;
+    }
+
+    /**
+     * The hashes of the answer and the question details are cached by their strings,
+     * so the version is cheap to work out compared to rendering the answer.
+     */
+    private static long getContentVersion(FeedbackResponseAttributes response, FeedbackQuestionAttributes question) {
+        long version = response.feedbackQuestionType.ordinal();
+        version = 31 * version + response.getUpdatedAt().getTime();
+        version = 31 * version + response.responseMetaData.hashCode();
+        version = 31 * version + question.questionMetaData.hashCode();
+        return version;
+    }
+
+    private static class VersionedAnswerHtml {
+        final long version;
+        final String answerHtml;
+
+        VersionedAnswerHtml(long version, String answerHtml) {
+            this.version = version;
+            this.answerHtml = answerHtml;
+        }
+    }
+}
@@ -9,15 +9,13 @@ import java.util.Map;
 import java.util.Set;
 
 import teammates.common.util.Const;
-import teammates.logic.core.FeedbackQuestionsLogic;
+import teammates.common.util.Utils;
 import teammates.logic.core.FeedbackResponseCommentsLogic;
-import teammates.logic.core.FeedbackResponsesLogic;
-import teammates.logic.core.FeedbackSessionsLogic;
+import teammates.storage.search.FeedbackResponseCommentSearchHydrator;
 
 import com.google.appengine.api.search.Cursor;
 import com.google.appengine.api.search.Results;
 import com.google.appengine.api.search.ScoredDocument;
-import com.google.gson.Gson;
 
 /**
  * The search result bundle for {@link FeedbackResponseCommentAttributes}.
@@ -41,9 +39,6 @@ public class FeedbackResponseCommentSearchResultBundle extends SearchResultBundl
     
     private Set<String> instructorCourseIdList = new HashSet<String>();
     
-    private FeedbackSessionsLogic fsLogic = FeedbackSessionsLogic.inst();
-    private FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
-    private FeedbackResponsesLogic frLogic = FeedbackResponsesLogic.inst();
     private FeedbackResponseCommentsLogic frcLogic = FeedbackResponseCommentsLogic.inst();
     
     public Map<String, List<FeedbackQuestionAttributes>> getQuestions() {
@@ -70,12 +65,21 @@ public class FeedbackResponseCommentSearchResultBundle extends SearchResultBundl
         
         cursor = results.getCursor();
         List<ScoredDocument> filteredResults = filterOutCourseId(results, instructors);
+        
+        //get FeedbackResponseComments from results, then check the related entities in one batch
+        List<FeedbackResponseCommentAttributes> parsedComments = new ArrayList<FeedbackResponseCommentAttributes>();
         for (ScoredDocument doc : filteredResults) {
-            //get FeedbackResponseComment from results
-            FeedbackResponseCommentAttributes comment = new Gson().fromJson(
+            parsedComments.add(Utils.getCompactGson().fromJson(
                     doc.getOnlyField(Const.SearchDocumentField.FEEDBACK_RESPONSE_COMMENT_ATTRIBUTE).getText(),
-                    FeedbackResponseCommentAttributes.class);
-            if (frcLogic.getFeedbackResponseComment(comment.getId()) == null) {
+                    FeedbackResponseCommentAttributes.class));
+        }
+        FeedbackResponseCommentSearchHydrator hydrator =
+                new FeedbackResponseCommentSearchHydrator(parsedComments).fetchForSearchResults();
+        
+        for (int i = 0; i < filteredResults.size(); i++) {
+            ScoredDocument doc = filteredResults.get(i);
+            FeedbackResponseCommentAttributes comment = parsedComments.get(i);
+            if (!hydrator.isCommentPresent(comment.getId())) {
                 frcLogic.deleteDocument(comment);
                 continue;
             }
@@ -88,10 +92,10 @@ public class FeedbackResponseCommentSearchResultBundle extends SearchResultBundl
             commentList.add(comment);
             
             //get related response from results
-            FeedbackResponseAttributes response = new Gson().fromJson(
+            FeedbackResponseAttributes response = Utils.getCompactGson().fromJson(
                     doc.getOnlyField(Const.SearchDocumentField.FEEDBACK_RESPONSE_ATTRIBUTE).getText(),
                     FeedbackResponseAttributes.class);
-            if (frLogic.getFeedbackResponse(response.getId()) == null) {
+            if (hydrator.getFeedbackResponse(response.getId()) == null) {
                 frcLogic.deleteDocument(comment);
                 continue;
             }
@@ -106,10 +110,10 @@ public class FeedbackResponseCommentSearchResultBundle extends SearchResultBundl
             }
             
             //get related question from results
-            FeedbackQuestionAttributes question = new Gson().fromJson(
+            FeedbackQuestionAttributes question = Utils.getCompactGson().fromJson(
                     doc.getOnlyField(Const.SearchDocumentField.FEEDBACK_QUESTION_ATTRIBUTE).getText(),
                     FeedbackQuestionAttributes.class);
-            if (fqLogic.getFeedbackQuestion(question.getId()) == null) {
+            if (hydrator.getFeedbackQuestion(question.getId()) == null) {
                 frcLogic.deleteDocument(comment);
                 continue;
             }
@@ -124,10 +128,10 @@ public class FeedbackResponseCommentSearchResultBundle extends SearchResultBundl
             }
             
             //get related session from results
-            FeedbackSessionAttributes session = new Gson().fromJson(
+            FeedbackSessionAttributes session = Utils.getCompactGson().fromJson(
                     doc.getOnlyField(Const.SearchDocumentField.FEEDBACK_SESSION_ATTRIBUTE).getText(),
                     FeedbackSessionAttributes.class);
-            if (fsLogic.getFeedbackSession(session.getSessionName(), session.getCourseId()) == null) {
+            if (hydrator.getFeedbackSession(session.getSessionName(), session.getCourseId()) == null) {
                 frcLogic.deleteDocument(comment);
                 continue;
             }
@@ -0,0 +1,257 @@
+package teammates.common.datatransfer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import teammates.common.util.Assumption;
+
+/**
+ * Aggregates the numeric values in the responses to a question, grouped by a key
+ * such as the recipient or the option receiving the value. <br>
+ * Keys are interned to consecutive int ids, and the minimum, maximum, total and count
+ * (including and excluding self responses) of each key are kept in primitive arrays.
+ * If requested, the individual values are also kept so that they can be listed in sorted order. <br>
+ * Built by {@link FeedbackQuestionDetails#aggregateResponseStatistics(List)}, or from the
+ * {@link FeedbackQuestionStatisticsAttributes} kept up to date as responses are saved, and
+ * cached by {@link FeedbackSessionResultsBundle} so that the same numbers are not
+ * recomputed by each renderer of the statistics.
+ */
+public class FeedbackResponseStatistics {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Maps each key to its id. Iterating the keys follows the order of this map. */
+    private final Map<String, Integer> keyIds = new HashMap<String, Integer>();
+    private String[] keys = new String[INITIAL_CAPACITY];
+
+    private double[] min = new double[INITIAL_CAPACITY];
+    private double[] max = new double[INITIAL_CAPACITY];
+    private double[] total = new double[INITIAL_CAPACITY];
+    private double[] totalExcludingSelf = new double[INITIAL_CAPACITY];
+    private int[] count = new int[INITIAL_CAPACITY];
+    private int[] countExcludingSelf = new int[INITIAL_CAPACITY];
+    private int numKeys;
+
+    private final boolean isValuesKept;
+    private int[] valueKeyIds;
+    private double[] values;
+    private int numValues;
+
+    /** Start of the values of each key in {@link #sortedValues}, built when the values are first read. */
+    private int[] valueOffsets;
+    private double[] sortedValues;
+
+    /**
+     * @param isValuesKept  whether the individual values are kept for {@link #getSortedValues(int)}
+     *                      and {@link #getValueFrequencies(int, int)}
+     */
+    public FeedbackResponseStatistics(boolean isValuesKept) {
+        this.isValuesKept = isValuesKept;
+        if (isValuesKept) {
+            valueKeyIds = new int[INITIAL_CAPACITY];
+            values = new double[INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * @return the id of the key, which is added with no values if it is new.
+     */
+    public int intern(String key) {
+        Integer id = keyIds.get(key);
+        if (id != null) {
+            return id;
+        }
+        if (numKeys == keys.length) {
+            growKeys();
+        }
+        keys[numKeys] = key;
+        keyIds.put(key, numKeys);
+        return numKeys++;
+    }
+
+    /**
+     * Adds a value received by the key.
+     * @param isSelfResponse  whether the value was given by the key to itself
+     */
+    public void add(String key, double value, boolean isSelfResponse) {
+        add(intern(key), value, isSelfResponse);
+    }
+
+    /**
+     * Adds a value received by the key with the given id.
+     * @see #add(String, double, boolean)
+     */
+    public void add(int id, double value, boolean isSelfResponse) {
+        add(id, value, isSelfResponse, 1);
+    }
+
+    /**
+     * Adds a value received {@code times} times by the key with the given id.
+     * @see #add(String, double, boolean)
+     */
+    public void add(int id, double value, boolean isSelfResponse, int times) {
+        Assumption.assertTrue(id >= 0 && id < numKeys);
+        Assumption.assertTrue(times >= 0);
+        if (times == 0) {
+            return;
+        }
+        if (count[id] == 0) {
+            min[id] = value;
+            max[id] = value;
+        } else {
+            min[id] = Math.min(min[id], value);
+            max[id] = Math.max(max[id], value);
+        }
+        total[id] += value * times;
+        count[id] += times;
+        if (!isSelfResponse) {
+            totalExcludingSelf[id] += value * times;
+            countExcludingSelf[id] += times;
+        }
+
+        if (isValuesKept) {
+            if (numValues + times > values.length) {
+                int capacity = Math.max(values.length * 2, numValues + times);
+                valueKeyIds = Arrays.copyOf(valueKeyIds, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            Arrays.fill(valueKeyIds, numValues, numValues + times, id);
+            Arrays.fill(values, numValues, numValues + times, value);
+            numValues += times;
+            sortedValues = null;
+        }
+    }
+
+    public int getNumKeys() {
+        return numKeys;
+    }
+
+    /**
+     * @return the keys, in the iteration order of a {@link HashMap} with the keys added in the same order.
+     */
+    public Set<String> getKeys() {
+        return keyIds.keySet();
+    }
+
+    /**
+     * @return the id of the key, or -1 if the key has not been added.
+     */
+    public int getId(String key) {
+        Integer id = keyIds.get(key);
+        return id == null ? -1 : id;
+    }
+
+    public String getKey(int id) {
+        return keys[id];
+    }
+
+    public int getCount(int id) {
+        return count[id];
+    }
+
+    public int getCountExcludingSelf(int id) {
+        return countExcludingSelf[id];
+    }
+
+    public double getMin(int id) {
+        return min[id];
+    }
+
+    public double getMax(int id) {
+        return max[id];
+    }
+
+    public double getTotal(int id) {
+        return total[id];
+    }
+
+    public double getAverage(int id) {
+        return total[id] / count[id];
+    }
+
+    /**
+     * @return the average of the values not given by the key to itself,
+     *         or null if the key only received self responses.
+     */
+    public Double getAverageExcludingSelf(int id) {
+        return countExcludingSelf[id] == 0 ? null : totalExcludingSelf[id] / countExcludingSelf[id];
+    }
+
+    /**
+     * @return true if any key received a value that is not a self response.
+     */
+    public boolean hasAnyValueExcludingSelf() {
+        for (int id = 0; id < numKeys; id++) {
+            if (countExcludingSelf[id] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the values received by the key, in ascending order.
+     */
+    public double[] getSortedValues(int id) {
+        sortValuesIfNeeded();
+        return Arrays.copyOfRange(sortedValues, valueOffsets[id], valueOffsets[id + 1]);
+    }
+
+    /**
+     * @return the number of times the key received each of the values 0 to {@code numDistinctValues - 1}.
+     *         Other values are not counted.
+     */
+    public int[] getValueFrequencies(int id, int numDistinctValues) {
+        sortValuesIfNeeded();
+        int[] frequencies = new int[numDistinctValues];
+        for (int i = valueOffsets[id]; i < valueOffsets[id + 1]; i++) {
+            int value = (int) sortedValues[i];
+            if (value == sortedValues[i] && value >= 0 && value < numDistinctValues) {
+                frequencies[value]++;
+            }
+        }
+        return frequencies;
+    }
+
+    /**
+     * Groups the values by key with a counting sort over the key ids, then sorts the values of each key.
+     */
+    private void sortValuesIfNeeded() {
+        Assumption.assertTrue("Values are not kept", isValuesKept);
+        if (sortedValues != null) {
+            return;
+        }
+        valueOffsets = new int[numKeys + 1];
+        for (int i = 0; i < numValues; i++) {
+            valueOffsets[valueKeyIds[i] + 1]++;
+        }
+        for (int id = 0; id < numKeys; id++) {
+            valueOffsets[id + 1] += valueOffsets[id];
+        }
+
+        double[] grouped = new double[numValues];
+        int[] next = Arrays.copyOf(valueOffsets, numKeys);
+        for (int i = 0; i < numValues; i++) {
+            grouped[next[valueKeyIds[i]]++] = values[i];
+        }
+        for (int id = 0; id < numKeys; id++) {
+            Arrays.sort(grouped, valueOffsets[id], valueOffsets[id + 1]);
+        }
+        sortedValues = grouped;
+    }
+
+    private void growKeys() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        min = Arrays.copyOf(min, capacity);
+        max = Arrays.copyOf(max, capacity);
+        total = Arrays.copyOf(total, capacity);
+        totalExcludingSelf = Arrays.copyOf(totalExcludingSelf, capacity);
+        count = Arrays.copyOf(count, capacity);
+        countExcludingSelf = Arrays.copyOf(countExcludingSelf, capacity);
+    }
+
+}
@@ -532,8 +532,8 @@ public class FeedbackRubricQuestionDetails extends FeedbackQuestionDetails {
             String view) {
 
         FeedbackRubricQuestionDetails fqd = (FeedbackRubricQuestionDetails) question.getQuestionDetails();
-        int[][] responseFrequency = calculateResponseFrequency(responses, fqd);
-        float[][] rubricStats = calculateRubricStats(responses, question);
+        int[][] responseFrequency = calculateResponseFrequency(responses, question, bundle);
+        float[][] rubricStats = getPercentageFrequencyAndAverage(responseFrequency, fqd);
         DecimalFormat weightFormat = new DecimalFormat("#.##");
         
         // Create table row header fragments
@@ -603,27 +603,6 @@ public class FeedbackRubricQuestionDetails extends FeedbackQuestionDetails {
                 Slots.TABLE_BODY_HTML, tableBodyHtml.toString());
     }
     
-    /**
-     * Calculates the statistics for rubric question
-     * 
-     * Returns a 2D float array to indicate the percentage frequency
-     * a choice is selected for each sub-question.
-     * 
-     * e.g.
-     * pecentageFrequency[subQuestionIndex][choiceIndex]
-     *  -> is the percentage choiceIndex is chosen for subQuestionIndex, for the given question/responses.
-     *
-     */
-    private float[][] calculateRubricStats(List<FeedbackResponseAttributes> responses,
-            FeedbackQuestionAttributes question) {
-        FeedbackRubricQuestionDetails fqd = (FeedbackRubricQuestionDetails) question.getQuestionDetails();
-        
-        // Initialize response frequency variable, used to store frequency each choice is selected.
-        int[][] responseFrequency = calculateResponseFrequency(responses, fqd);
-        
-        return getPercentageFrequencyAndAverage(responseFrequency, fqd);
-    }
-
     /**
      * gets the result of the percentage frequency for each choice and average value for each subquestion
      */
@@ -635,28 +614,53 @@ public class FeedbackRubricQuestionDetails extends FeedbackQuestionDetails {
 
     /**
      * Calculates the response frequency for each choice
+     * 
+     * e.g.
+     * responseFrequency[subQuestionIndex][choiceIndex]
+     *  -> is the number of times choiceIndex is chosen for subQuestionIndex, for the given question/responses.
      */
     private int[][] calculateResponseFrequency(List<FeedbackResponseAttributes> responses,
-                                               FeedbackRubricQuestionDetails fqd) {
-        int[][] responseFrequency = new int[fqd.numOfRubricSubQuestions][];
+                                               FeedbackQuestionAttributes question,
+                                               FeedbackSessionResultsBundle bundle) {
+        FeedbackResponseStatistics choices = getResponseStatistics(responses, question, bundle);
+        int[][] responseFrequency = new int[numOfRubricSubQuestions][];
         for (int i = 0; i < responseFrequency.length; i++) {
-            responseFrequency[i] = new int[fqd.numOfRubricChoices];
-            for (int j = 0; j < responseFrequency[i].length; j++) {
-                responseFrequency[i][j] = 0;
-            }
+            responseFrequency[i] = choices.getValueFrequencies(i, numOfRubricChoices);
         }
-        
-        // Count frequencies
-        for (FeedbackResponseAttributes response : responses) {
-            FeedbackRubricResponseDetails frd = (FeedbackRubricResponseDetails) response.getResponseDetails();
-            for (int i = 0; i < fqd.numOfRubricSubQuestions; i++) {
-                int chosenChoice = frd.getAnswer(i);
-                if (chosenChoice != -1) {
-                    responseFrequency[i][chosenChoice] += 1;
-                }
+        return responseFrequency;
+    }
+
+    @Override
+    public boolean isResponseStatisticsIncremental() {
+        return true;
+    }
+
+    /**
+     * Adds the choice chosen for each sub-question in the response.
+     * The keys of the statistics are the sub-question indexes, and the choices chosen for each key are kept.
+     */
+    @Override
+    public void addResponseValues(FeedbackResponseAttributes response,
+                                  FeedbackQuestionStatisticsAttributes statistics, int delta) {
+        FeedbackRubricResponseDetails frd = (FeedbackRubricResponseDetails) response.getResponseDetails();
+        for (int i = 0; i < numOfRubricSubQuestions; i++) {
+            int chosenChoice = frd.getAnswer(i);
+            if (chosenChoice != -1) {
+                statistics.addValue(String.valueOf(i), chosenChoice, false, delta);
             }
         }
-        return responseFrequency;
+    }
+
+    /**
+     * Creates statistics in which the id of each sub-question is its index.
+     */
+    @Override
+    protected FeedbackResponseStatistics createResponseStatistics() {
+        FeedbackResponseStatistics choices = new FeedbackResponseStatistics(true);
+        for (int i = 0; i < numOfRubricSubQuestions; i++) {
+            choices.intern(String.valueOf(i));
+        }
+        return choices;
     }
     
     /**
@@ -746,8 +750,8 @@ public class FeedbackRubricQuestionDetails extends FeedbackQuestionDetails {
         DecimalFormat df = new DecimalFormat("#");
         DecimalFormat dfAverage = new DecimalFormat("0.00");
 
-        int[][] responseFrequency = calculateResponseFrequency(responses, this);
-        float[][] rubricStats = calculateRubricStats(responses, question);
+        int[][] responseFrequency = calculateResponseFrequency(responses, question, bundle);
+        float[][] rubricStats = getPercentageFrequencyAndAverage(responseFrequency, this);
         
         for (int i = 0; i < rubricSubQuestions.size(); i++) {
             String alphabeticalIndex = StringHelper.integerToLowerCaseAlphabeticalIndex(i + 1);
@@ -12,6 +12,7 @@ import java.util.Set;
 import java.util.TreeSet;
 import java.util.logging.Logger;
 
+import teammates.common.datatransfer.FeedbackSessionResultsIndex.ResponseOrder;
 import teammates.common.util.Const;
 import teammates.common.util.Sanitizer;
 import teammates.common.util.StringHelper;
@@ -67,463 +68,35 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
     */
     public Map<String, Set<String>> sectionTeamNameTable;
 
-    // Sorts by giverName > recipientName > qnNumber
-    // General questions and team questions at the bottom.
-    public Comparator<FeedbackResponseAttributes> compareByGiverRecipientQuestion =
-            new Comparator<FeedbackResponseAttributes>() {
-        @Override
-        public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-            String giverSection1 = o1.giverSection;
-            String giverSection2 = o2.giverSection;
-            int order = giverSection1.compareTo(giverSection2);
-            if (order != 0) {
-                return order;
-            }
-            
-            boolean isGiverVisible1 = isGiverVisible(o1);
-            boolean isGiverVisible2 = isGiverVisible(o2);
-
-            String giverName1 = emailNameTable.get(o1.giver);
-            String giverName2 = emailNameTable.get(o2.giver);
-            order = compareByNames(giverName1, giverName2, isGiverVisible1, isGiverVisible2);
-            if (order != 0) {
-                return order;
-            }
-
-            boolean isRecipientVisible1 = isRecipientVisible(o1);
-            boolean isRecipientVisible2 = isRecipientVisible(o2);
-            
-            String recipientName1 = emailNameTable.get(o1.recipient);
-            String recipientName2 = emailNameTable.get(o2.recipient);
-            order = compareByNames(recipientName1, recipientName2, isRecipientVisible1, isRecipientVisible2);
-            if (order != 0) {
-                return order;
-            }
-
-            order = compareByQuestionNumber(o1, o2);
-            if (order != 0) {
-                return order;
-            }
-            order = compareByResponseString(o1, o2);
-            if (order != 0) {
-                return order;
-            }
-            
-            return o1.getId().compareTo(o2.getId());
-        }
-    };
-
-    // Sorts by giverName > recipientName
-    private Comparator<FeedbackResponseAttributes> compareByGiverRecipient =
-            new Comparator<FeedbackResponseAttributes>() {
-        @Override
-        public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-            
-            boolean isGiverVisible1 = isGiverVisible(o1);
-            boolean isGiverVisible2 = isGiverVisible(o2);
-            
-            String giverName1 = emailNameTable.get(o1.giver);
-            String giverName2 = emailNameTable.get(o2.giver);
-            int order = compareByNames(giverName1, giverName2, isGiverVisible1, isGiverVisible2);
-            if (order != 0) {
-                return order;
-            }
-
-            boolean isRecipientVisible1 = isRecipientVisible(o1);
-            boolean isRecipientVisible2 = isRecipientVisible(o2);
-
-            String recipientName1 = emailNameTable.get(o1.recipient);
-            String recipientName2 = emailNameTable.get(o2.recipient);
-            order = compareByNames(recipientName1, recipientName2, isRecipientVisible1, isRecipientVisible2);
-            if (order != 0) {
-                return order;
-            }
-
-            order = compareByResponseString(o1, o2);
-            if (order != 0) {
-                return order;
-            }
-            
-            return o1.getId().compareTo(o2.getId());
-        }
-    };
-
-    // Sorts by teamName > giverName > recipientName > qnNumber
-    private Comparator<FeedbackResponseAttributes> compareByTeamGiverRecipientQuestion =
-            new Comparator<FeedbackResponseAttributes>() {
-        @Override
-        public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-            String giverSection1 = o1.giverSection;
-            String giverSection2 = o2.giverSection;
-            int order = giverSection1.compareTo(giverSection2);
-            if (order != 0) {
-                return order;
-            }
-
-            boolean isGiverVisible1 = isGiverVisible(o1);
-            boolean isGiverVisible2 = isGiverVisible(o2);
-            
-            String t1 = getTeamNameForEmail(o1.giver).isEmpty() ? getNameForEmail(o1.giver)
-                                                                : getTeamNameForEmail(o1.giver);
-            String t2 = getTeamNameForEmail(o2.giver).isEmpty() ? getNameForEmail(o2.giver)
-                                                                : getTeamNameForEmail(o2.giver);
-            order = compareByNames(t1, t2, isGiverVisible1, isGiverVisible2);
-            if (order != 0) {
-                return order;
-            }
-
-            String giverName1 = emailNameTable.get(o1.giver);
-            String giverName2 = emailNameTable.get(o2.giver);
-            order = compareByNames(giverName1, giverName2, isGiverVisible1, isGiverVisible2);
-            if (order != 0) {
-                return order;
-            }
-
-            boolean isRecipientVisible1 = isRecipientVisible(o1);
-            boolean isRecipientVisible2 = isRecipientVisible(o2);
-
-            String recipientName1 = emailNameTable.get(o1.recipient);
-            String recipientName2 = emailNameTable.get(o2.recipient);
-            order = compareByNames(recipientName1, recipientName2, isRecipientVisible1, isRecipientVisible2);
-            if (order != 0) {
-                return order;
-            }
-
-            order = compareByQuestionNumber(o1, o2);
-            if (order != 0) {
-                return order;
-            }
-            order = compareByResponseString(o1, o2);
-            if (order != 0) {
-                return order;
-            }
-            
-            return o1.getId().compareTo(o2.getId());
-        }
-    };
-
-    // Sorts by recipientName > giverName > qnNumber
-    private Comparator<FeedbackResponseAttributes> compareByRecipientGiverQuestion =
-            new Comparator<FeedbackResponseAttributes>() {
-        @Override
-        public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-            String recipientSection1 = o1.recipientSection;
-            String recipientSection2 = o2.recipientSection;
-            int order = recipientSection1.compareTo(recipientSection2);
-            if (order != 0) {
-                return order;
-            }
-            
-            boolean isRecipientVisible1 = isRecipientVisible(o1);
-            boolean isRecipientVisible2 = isRecipientVisible(o2);
-
-            String recipientName1 = emailNameTable.get(o1.recipient);
-            String recipientName2 = emailNameTable.get(o2.recipient);
-            order = compareByNames(recipientName1, recipientName2, isRecipientVisible1, isRecipientVisible2);
-            if (order != 0) {
-                return order;
-            }
-            
-
-            boolean isGiverVisible1 = isGiverVisible(o1);
-            boolean isGiverVisible2 = isGiverVisible(o2);
-
-            String giverName1 = emailNameTable.get(o1.giver);
-            String giverName2 = emailNameTable.get(o2.giver);
-            order = compareByNames(giverName1, giverName2, isGiverVisible1, isGiverVisible2);
-            if (order != 0) {
-                return order;
-            }
-
-            order = compareByQuestionNumber(o1, o2);
-            if (order != 0) {
-                return order;
-            }
-            order = compareByResponseString(o1, o2);
-            if (order != 0) {
-                return order;
-            }
-            
-            return o1.getId().compareTo(o2.getId());
-        }
-    };
-
-    // Sorts by teamName > recipientName > giverName > qnNumber
-    private Comparator<FeedbackResponseAttributes> compareByTeamRecipientGiverQuestion =
-            new Comparator<FeedbackResponseAttributes>() {
-        @Override
-        public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-            String recipientSection1 = o1.recipientSection;
-            String recipientSection2 = o2.recipientSection;
-            int order = recipientSection1.compareTo(recipientSection2);
-            if (order != 0) {
-                return order;
-            }
-            
-            boolean isRecipientVisible1 = isRecipientVisible(o1);
-            boolean isRecipientVisible2 = isRecipientVisible(o2);
-
-            String t1 = getTeamNameForEmail(o1.recipient).isEmpty() ? getNameForEmail(o1.recipient)
-                                                                    : getTeamNameForEmail(o1.recipient);
-            String t2 = getTeamNameForEmail(o2.recipient).isEmpty() ? getNameForEmail(o2.recipient)
-                                                                    : getTeamNameForEmail(o2.recipient);
-            order = compareByNames(t1, t2, isRecipientVisible1, isRecipientVisible2);
-            if (order != 0) {
-                return order;
-            }
-
-            String recipientName1 = emailNameTable.get(o1.recipient);
-            String recipientName2 = emailNameTable.get(o2.recipient);
-            order = compareByNames(recipientName1, recipientName2, isRecipientVisible1, isRecipientVisible2);
-            if (order != 0) {
-                return order;
-            }
-
-            boolean isGiverVisible1 = isGiverVisible(o1);
-            boolean isGiverVisible2 = isGiverVisible(o2);
-            
-            String giverName1 = emailNameTable.get(o1.giver);
-            String giverName2 = emailNameTable.get(o2.giver);
-            order = compareByNames(giverName1, giverName2, isGiverVisible1, isGiverVisible2);
-            if (order != 0) {
-                return order;
-            }
-            
-            order = compareByQuestionNumber(o1, o2);
-            if (order != 0) {
-                return order;
-            }
-            order = compareByResponseString(o1, o2);
-            if (order != 0) {
-                return order;
-            }
-            
-            return o1.getId().compareTo(o2.getId());
-        }
-    };
-
-    // Sorts by giverName > question > recipientTeam > recipientName
-    private Comparator<FeedbackResponseAttributes> compareByGiverQuestionTeamRecipient =
-            new Comparator<FeedbackResponseAttributes>() {
-        @Override
-        public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-            String giverSection1 = o1.giverSection;
-            String giverSection2 = o2.giverSection;
-            int order = giverSection1.compareTo(giverSection2);
-            if (order != 0) {
-                return order;
-            }
-
-            boolean isGiverVisible1 = isGiverVisible(o1);
-            boolean isGiverVisible2 = isGiverVisible(o2);
-            
-            String giverName1 = emailNameTable.get(o1.giver);
-            String giverName2 = emailNameTable.get(o2.giver);
-            order = compareByNames(giverName1, giverName2, isGiverVisible1, isGiverVisible2);
-            if (order != 0) {
-                return order;
-            }
-
-            order = compareByQuestionNumber(o1, o2);
-            if (order != 0) {
-                return order;
-            }
-            
-            boolean isRecipientVisible1 = isRecipientVisible(o1);
-            boolean isRecipientVisible2 = isRecipientVisible(o2);
-
-            String t1 = getTeamNameForEmail(o1.recipient).isEmpty() ? getNameForEmail(o1.recipient)
-                                                                    : getTeamNameForEmail(o1.recipient);
-            String t2 = getTeamNameForEmail(o2.recipient).isEmpty() ? getNameForEmail(o2.recipient)
-                                                                    : getTeamNameForEmail(o2.recipient);
-            order = compareByNames(t1, t2, isRecipientVisible1, isRecipientVisible2);
-            if (order != 0) {
-                return order;
-            }
-
-            String recipientName1 = emailNameTable.get(o1.recipient);
-            String recipientName2 = emailNameTable.get(o2.recipient);
-            order = compareByNames(recipientName1, recipientName2, isRecipientVisible1, isRecipientVisible2);
-            
-            if (order != 0) {
-                return order;
-            }
-            order = compareByResponseString(o1, o2);
-            if (order != 0) {
-                return order;
-            }
-            
-            return o1.getId().compareTo(o2.getId());
-        }
-    };
-
-    // Sorts by giverTeam > giverName > question > recipientTeam > recipientName
-    private Comparator<FeedbackResponseAttributes> compareByTeamGiverQuestionTeamRecipient =
-            new Comparator<FeedbackResponseAttributes>() {
-        @Override
-        public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-            String giverSection1 = o1.giverSection;
-            String giverSection2 = o2.giverSection;
-            int order = giverSection1.compareTo(giverSection2);
-            if (order != 0) {
-                return order;
-            }
-
-            boolean isGiverVisible1 = isGiverVisible(o1);
-            boolean isGiverVisible2 = isGiverVisible(o2);
-
-
-            String giverTeam1 = getTeamNameForEmail(o1.giver).isEmpty() ? getNameForEmail(o1.giver)
-                                                                        : getTeamNameForEmail(o1.giver);
-            String giverTeam2 = getTeamNameForEmail(o2.giver).isEmpty() ? getNameForEmail(o2.giver)
-                                                                        : getTeamNameForEmail(o2.giver);
-            order = compareByNames(giverTeam1, giverTeam2, isGiverVisible1, isGiverVisible2);
-            if (order != 0) {
-                return order;
-            }
-
-            String giverName1 = emailNameTable.get(o1.giver);
-            String giverName2 = emailNameTable.get(o2.giver);
-            order = compareByNames(giverName1, giverName2, isGiverVisible1, isGiverVisible2);
-            if (order != 0) {
-                return order;
-            }
-
-            order = compareByQuestionNumber(o1, o2);
-            if (order != 0) {
-                return order;
-            }
-            
-            boolean isRecipientVisible1 = isRecipientVisible(o1);
-            boolean isRecipientVisible2 = isRecipientVisible(o2);
-
-            String receiverTeam1 = getTeamNameForEmail(o1.recipient).isEmpty() ? getNameForEmail(o1.recipient)
-                                                                               : getTeamNameForEmail(o1.recipient);
-            String receiverTeam2 = getTeamNameForEmail(o2.recipient).isEmpty() ? getNameForEmail(o2.recipient)
-                                                                               : getTeamNameForEmail(o2.recipient);
-            order = compareByNames(receiverTeam1, receiverTeam2, isRecipientVisible1, isRecipientVisible2);
-            if (order != 0) {
-                return order;
-            }
-
-            String recipientName1 = emailNameTable.get(o1.recipient);
-            String recipientName2 = emailNameTable.get(o2.recipient);
-            order = compareByNames(recipientName1, recipientName2, isRecipientVisible1, isRecipientVisible2);
-            
-            if (order != 0) {
-                return order;
-            }
-            order = compareByResponseString(o1, o2);
-            if (order != 0) {
-                return order;
-            }
-            
-            return o1.getId().compareTo(o2.getId());
-        }
-    };
-
-    // Sorts by recipientName > question > giverTeam > giverName
-    private final Comparator<FeedbackResponseAttributes> compareByRecipientQuestionTeamGiver =
-            new Comparator<FeedbackResponseAttributes>() {
-        @Override
-        public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-            String recipientSection1 = o1.recipientSection;
-            String recipientSection2 = o2.recipientSection;
-            int order = recipientSection1.compareTo(recipientSection2);
-            if (order != 0) {
-                return order;
-            }
-
-            boolean isRecipientVisible1 = isRecipientVisible(o1);
-            boolean isRecipientVisible2 = isRecipientVisible(o2);
-
-            String recipientName1 = emailNameTable.get(o1.recipient);
-            String recipientName2 = emailNameTable.get(o2.recipient);
-            order = compareByNames(recipientName1, recipientName2, isRecipientVisible1, isRecipientVisible2);
-            if (order != 0) {
-                return order;
-            }
-
-            order = compareByQuestionNumber(o1, o2);
-            if (order != 0) {
-                return order;
-            }
+    /** Sort keys of {@link #responses}, built the first time the responses are ordered. */
+    private FeedbackSessionResultsIndex index;
 
-            boolean isGiverVisible1 = isGiverVisible(o1);
-            boolean isGiverVisible2 = isGiverVisible(o2);
-            
-            String t1 = getTeamNameForEmail(o1.giver).isEmpty() ? getNameForEmail(o1.giver)
-                                                                : getTeamNameForEmail(o1.giver);
-            String t2 = getTeamNameForEmail(o2.giver).isEmpty() ? getNameForEmail(o2.giver)
-                                                                : getTeamNameForEmail(o2.giver);
-            order = compareByNames(t1, t2, isGiverVisible1, isGiverVisible2);
-            if (order != 0) {
-                return order;
-            }
+    /** Statistics of the responses to each question, keyed by question id. */
+    private Map<String, CachedResponseStatistics> responseStatistics =
+            new HashMap<String, CachedResponseStatistics>();
 
-            String giverName1 = emailNameTable.get(o1.giver);
-            String giverName2 = emailNameTable.get(o2.giver);
-            order = compareByNames(giverName1, giverName2, isGiverVisible1, isGiverVisible2);
-            if (order != 0) {
-                return order;
-            }
-            order = compareByResponseString(o1, o2);
-            if (order != 0) {
-                return order;
-            }
-            
-            return o1.getId().compareTo(o2.getId());
+    /** Statistics of the questions which were kept up to date as responses were saved, keyed by question id. */
+    private Map<String, FeedbackQuestionStatisticsAttributes> storedResponseStatistics =
+            new HashMap<String, FeedbackQuestionStatisticsAttributes>();
 
-        }
-    };
+    /** Ids of the questions with responses whose giver or recipient was changed for display. */
+    private Set<String> questionsWithChangedResponses = new HashSet<String>();
 
-    // Sorts by recipientTeam > recipientName > question > giverTeam > giverName
-    private Comparator<FeedbackResponseAttributes> compareByTeamRecipientQuestionTeamGiver =
+    // Sorts by giverName > recipientName > qnNumber
+    // General questions and team questions at the bottom.
+    public Comparator<FeedbackResponseAttributes> compareByGiverRecipientQuestion =
             new Comparator<FeedbackResponseAttributes>() {
         @Override
         public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-            
-            String recipientSection1 = o1.recipientSection;
-            String recipientSection2 = o2.recipientSection;
-            int order = recipientSection1.compareTo(recipientSection2);
-            if (order != 0) {
-                return order;
-            }
-
-            boolean isRecipientVisible1 = isRecipientVisible(o1);
-            boolean isRecipientVisible2 = isRecipientVisible(o2);
-            String recipientTeam1 = getTeamNameForEmail(o1.recipient).isEmpty() ? getNameForEmail(o1.recipient)
-                                                                                : getTeamNameForEmail(o1.recipient);
-            String recipientTeam2 = getTeamNameForEmail(o2.recipient).isEmpty() ? getNameForEmail(o2.recipient)
-                                                                                : getTeamNameForEmail(o2.recipient);
-            order = compareByNames(recipientTeam1, recipientTeam2, isRecipientVisible1, isRecipientVisible2);
-            if (order != 0) {
-                return order;
-            }
-
-            String recipientName1 = emailNameTable.get(o1.recipient);
-            String recipientName2 = emailNameTable.get(o2.recipient);
-            order = compareByNames(recipientName1, recipientName2, isRecipientVisible1, isRecipientVisible2);
-            if (order != 0) {
-                return order;
-            }
-
-            order = compareByQuestionNumber(o1, o2);
+            String giverSection1 = o1.giverSection;
+            String giverSection2 = o2.giverSection;
+            int order = giverSection1.compareTo(giverSection2);
             if (order != 0) {
                 return order;
             }
-
+            
             boolean isGiverVisible1 = isGiverVisible(o1);
             boolean isGiverVisible2 = isGiverVisible(o2);
-       
-            String giverTeam1 = getTeamNameForEmail(o1.giver).isEmpty() ? getNameForEmail(o1.giver)
-                                                                        : getTeamNameForEmail(o1.giver);
-            String giverTeam2 = getTeamNameForEmail(o2.giver).isEmpty() ? getNameForEmail(o2.giver)
-                                                                        : getTeamNameForEmail(o2.giver);
-            order = compareByNames(giverTeam1, giverTeam2, isGiverVisible1, isGiverVisible2);
-            if (order != 0) {
-                return order;
-            }
 
             String giverName1 = emailNameTable.get(o1.giver);
             String giverName2 = emailNameTable.get(o2.giver);
@@ -531,36 +104,10 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
             if (order != 0) {
                 return order;
             }
-            order = compareByResponseString(o1, o2);
-            if (order != 0) {
-                return order;
-            }
-            
-            return o1.getId().compareTo(o2.getId());
-        }
-    };
 
-    // Sorts by recipientTeam > question > recipientName > giverTeam > giverName
-    private Comparator<FeedbackResponseAttributes> compareByTeamQuestionRecipientTeamGiver =
-            new Comparator<FeedbackResponseAttributes>() {
-        @Override
-        public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
             boolean isRecipientVisible1 = isRecipientVisible(o1);
             boolean isRecipientVisible2 = isRecipientVisible(o2);
-            String recipientTeam1 = getTeamNameForEmail(o1.recipient).isEmpty() ? getNameForEmail(o1.recipient)
-                                                                                : getTeamNameForEmail(o1.recipient);
-            String recipientTeam2 = getTeamNameForEmail(o2.recipient).isEmpty() ? getNameForEmail(o2.recipient)
-                                                                                : getTeamNameForEmail(o2.recipient);
-            int order = compareByNames(recipientTeam1, recipientTeam2, isRecipientVisible1, isRecipientVisible2);
-            if (order != 0) {
-                return order;
-            }
-
-            order = compareByQuestionNumber(o1, o2);
-            if (order != 0) {
-                return order;
-            }
-
+            
             String recipientName1 = emailNameTable.get(o1.recipient);
             String recipientName2 = emailNameTable.get(o2.recipient);
             order = compareByNames(recipientName1, recipientName2, isRecipientVisible1, isRecipientVisible2);
@@ -568,82 +115,10 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
                 return order;
             }
 
-            String giverTeam1 = getTeamNameForEmail(o1.giver).isEmpty() ? getNameForEmail(o1.giver)
-                                                                        : getTeamNameForEmail(o1.giver);
-            String giverTeam2 = getTeamNameForEmail(o2.giver).isEmpty() ? getNameForEmail(o2.giver)
-                                                                        : getTeamNameForEmail(o2.giver);
-            order = compareByNames(giverTeam1, giverTeam2, isRecipientVisible1, isRecipientVisible2);
-            if (order != 0) {
-                return order;
-            }
-
-            boolean isGiverVisible1 = isGiverVisible(o1);
-            boolean isGiverVisible2 = isGiverVisible(o2);
-            String giverName1 = emailNameTable.get(o1.giver);
-            String giverName2 = emailNameTable.get(o2.giver);
-            order = compareByNames(giverName1, giverName2, isGiverVisible1, isGiverVisible2);
-            if (order != 0) {
-                return order;
-            }
-            
-            order = compareByResponseString(o1, o2);
-            if (order != 0) {
-                return order;
-            }
-            
-            return o1.getId().compareTo(o2.getId());
-        }
-    };
-
-    // Sorts by giverTeam > question > giverName > recipientTeam > recipientName
-    private Comparator<FeedbackResponseAttributes> compareByTeamQuestionGiverTeamRecipient =
-            new Comparator<FeedbackResponseAttributes>() {
-        @Override
-        public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-            boolean isGiverVisible1 = isGiverVisible(o1);
-            boolean isGiverVisible2 = isGiverVisible(o2);
-            
-            String giverTeam1 = getTeamNameForEmail(o1.giver).isEmpty() ? getNameForEmail(o1.giver)
-                                                                        : getTeamNameForEmail(o1.giver);
-            String giverTeam2 = getTeamNameForEmail(o2.giver).isEmpty() ? getNameForEmail(o2.giver)
-                                                                        : getTeamNameForEmail(o2.giver);
-            int order = compareByNames(giverTeam1, giverTeam2, isGiverVisible1, isGiverVisible2);
-            if (order != 0) {
-                return order;
-            }
-
             order = compareByQuestionNumber(o1, o2);
             if (order != 0) {
                 return order;
             }
-
-            String giverName1 = emailNameTable.get(o1.giver);
-            String giverName2 = emailNameTable.get(o2.giver);
-            order = compareByNames(giverName1, giverName2, isGiverVisible1, isGiverVisible2);
-            if (order != 0) {
-                return order;
-            }
-            
-            boolean isRecipientVisible1 = isRecipientVisible(o1);
-            boolean isRecipientVisible2 = isRecipientVisible(o2);
-
-            String receiverTeam1 = getTeamNameForEmail(o1.recipient).isEmpty() ? getNameForEmail(o1.recipient)
-                                                                               : getTeamNameForEmail(o1.recipient);
-            String receiverTeam2 = getTeamNameForEmail(o2.recipient).isEmpty() ? getNameForEmail(o2.recipient)
-                                                                               : getTeamNameForEmail(o2.recipient);
-            order = compareByNames(receiverTeam1, receiverTeam2, isRecipientVisible1, isRecipientVisible2);
-            if (order != 0) {
-                return order;
-            }
-
-            String recipientName1 = emailNameTable.get(o1.recipient);
-            String recipientName2 = emailNameTable.get(o2.recipient);
-            order = compareByNames(recipientName1, recipientName2, isRecipientVisible1, isRecipientVisible2);
-            
-            if (order != 0) {
-                return order;
-            }
-            
             order = compareByResponseString(o1, o2);
             if (order != 0) {
                 return order;
@@ -653,56 +128,6 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
         }
     };
 
-    // Sorts by recipientName > recipientEmail > giverName > giverEmail
-    private Comparator<FeedbackResponseAttributes> compareByRecipientNameEmailGiverNameEmail =
-            new Comparator<FeedbackResponseAttributes>() {
-        @Override
-        public int compare(FeedbackResponseAttributes o1, FeedbackResponseAttributes o2) {
-            
-            boolean isRecipientVisible1 = isRecipientVisible(o1);
-            boolean isRecipientVisible2 = isRecipientVisible(o2);
-            // Compare by Recipient Name
-            int recipientNameCompareResult = compareByNames(getNameForEmail(o1.recipient),
-                                                            getNameForEmail(o2.recipient),
-                                                            isRecipientVisible1, isRecipientVisible2);
-            if (recipientNameCompareResult != 0) {
-                return recipientNameCompareResult;
-            }
-            
-            // Compare by Recipient Email
-            int recipientEmailCompareResult = compareByNames(o1.recipient, o2.recipient,
-                                                             isRecipientVisible1, isRecipientVisible2);
-            if (recipientEmailCompareResult != 0) {
-                return recipientEmailCompareResult;
-            }
-            
-            boolean isGiverVisible1 = isGiverVisible(o1);
-            boolean isGiverVisible2 = isGiverVisible(o2);
-            // Compare by Giver Name
-            int giverNameCompareResult = compareByNames(getNameForEmail(o1.giver),
-                                                        getNameForEmail(o2.giver),
-                                                        isGiverVisible1, isGiverVisible2);
-            if (giverNameCompareResult != 0) {
-                return giverNameCompareResult;
-            }
-            
-            // Compare by Giver Email
-            int giverEmailCompareResult = compareByNames(o1.giver, o2.giver,
-                                                         isGiverVisible1, isGiverVisible2);
-            if (giverEmailCompareResult != 0) {
-                return giverEmailCompareResult;
-            }
-            
-            
-            int responseStringResult = compareByResponseString(o1, o2);
-            if (responseStringResult != 0) {
-                return responseStringResult;
-            }
-            
-            return o1.getId().compareTo(o2.getId());
-        }
-    };
-
     public FeedbackSessionResultsBundle(FeedbackSessionAttributes feedbackSession,
                                         List<FeedbackResponseAttributes> responses,
                                         Map<String, FeedbackQuestionAttributes> questions,
@@ -751,6 +176,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
                 // the giverEmail is stored as the student giver's email in the database
                 // so we convert it to the team name for use in FeedbackSessionResultsBundle
                 response.giver = emailNameTable.get(response.giver + Const.TEAM_OF_EMAIL_OWNER);
+                questionsWithChangedResponses.add(response.feedbackQuestionId);
             }
             // Copy the data before hiding response recipient and giver.
             FeedbackResponseAttributes fraCopy = new FeedbackResponseAttributes(response);
@@ -786,6 +212,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
                 emailTeamNameTable.put(anonEmail, name + Const.TEAM_OF_EMAIL_OWNER);
 
                 response.recipient = anonEmail;
+                questionsWithChangedResponses.add(response.feedbackQuestionId);
             }
 
             // Hide giver details if its not visible to the current user
@@ -802,6 +229,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
                     emailTeamNameTable.put(anonEmail, name);
                 }
                 response.giver = anonEmail;
+                questionsWithChangedResponses.add(response.feedbackQuestionId);
             }
         }
     }
@@ -1515,10 +943,16 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
 
     /**
      * Used for instructor feedback results views.
+     * The answers are cached in {@link FeedbackResponseAnswerHtmlCache}, as they are shown in many panels.
      */
     public String getResponseAnswerHtml(FeedbackResponseAttributes response,
                                         FeedbackQuestionAttributes question) {
-        return response.getResponseDetails().getAnswerHtml(response, question, this);
+        String answerHtml = FeedbackResponseAnswerHtmlCache.get(response, question);
+        if (answerHtml == null) {
+            answerHtml = response.getResponseDetails().getAnswerHtml(response, question, this);
+            FeedbackResponseAnswerHtmlCache.put(response, question, answerHtml);
+        }
+        return answerHtml;
     }
 
     public String getResponseAnswerCsv(FeedbackResponseAttributes response,
@@ -1631,18 +1065,15 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
     }
     
     public String getRecipientNameForResponse(FeedbackResponseAttributes response) {
-        String name = emailNameTable.get(response.recipient);
-        if (name == null || name.equals(Const.USER_IS_MISSING)) {
-            return Const.USER_UNKNOWN_TEXT;
-        } else if (name.equals(Const.USER_IS_NOBODY)) {
-            return Const.USER_NOBODY_TEXT;
-        } else {
-            return name;
-        }
+        return getResponseParticipantName(response.recipient);
     }
 
     public String getGiverNameForResponse(FeedbackResponseAttributes response) {
-        String name = emailNameTable.get(response.giver);
+        return getResponseParticipantName(response.giver);
+    }
+
+    String getResponseParticipantName(String participantIdentifier) {
+        String name = emailNameTable.get(participantIdentifier);
         if (name == null || name.equals(Const.USER_IS_MISSING)) {
             return Const.USER_UNKNOWN_TEXT;
         } else if (name.equals(Const.USER_IS_NOBODY)) {
@@ -1693,16 +1124,14 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
             sortedMap.put(question, new ArrayList<FeedbackResponseAttributes>());
         }
 
-        for (FeedbackResponseAttributes response : responses) {
+        FeedbackSessionResultsIndex index = getIndex();
+        for (int position : index.getOrder(ResponseOrder.GIVER_RECIPIENT)) {
+            FeedbackResponseAttributes response = index.getResponse(position);
             FeedbackQuestionAttributes question = questions.get(response.feedbackQuestionId);
             List<FeedbackResponseAttributes> responsesForQuestion = sortedMap.get(question);
             responsesForQuestion.add(response);
         }
 
-        for (List<FeedbackResponseAttributes> responsesForQuestion : sortedMap.values()) {
-            Collections.sort(responsesForQuestion, compareByGiverRecipient);
-        }
-
         return sortedMap;
     }
     
@@ -1721,16 +1150,14 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
             sortedMap.put(question, new ArrayList<FeedbackResponseAttributes>());
         }
 
-        for (FeedbackResponseAttributes response : responses) {
+        FeedbackSessionResultsIndex index = getIndex();
+        for (int position : index.getOrder(ResponseOrder.RECIPIENT_NAME_EMAIL_GIVER_NAME_EMAIL)) {
+            FeedbackResponseAttributes response = index.getResponse(position);
             FeedbackQuestionAttributes question = questions.get(response.feedbackQuestionId);
             List<FeedbackResponseAttributes> responsesForQuestion = sortedMap.get(question);
             responsesForQuestion.add(response);
         }
 
-        for (List<FeedbackResponseAttributes> responsesForQuestion : sortedMap.values()) {
-            Collections.sort(responsesForQuestion, compareByRecipientNameEmailGiverNameEmail);
-        }
-
         return sortedMap;
     }
 
@@ -1739,13 +1166,10 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
         LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> sortedMap =
                 new LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>();
 
-        Collections.sort(responses, compareByTeamQuestionRecipientTeamGiver);
-
-        for (FeedbackResponseAttributes response : responses) {
-            String recipientTeam = getTeamNameForEmail(response.recipient);
-            if (recipientTeam.isEmpty()) {
-                recipientTeam = getNameForEmail(response.recipient);
-            }
+        FeedbackSessionResultsIndex index = getIndex();
+        for (int position : sortResponses(index, ResponseOrder.TEAM_QUESTION_RECIPIENT_TEAM_GIVER)) {
+            FeedbackResponseAttributes response = index.getResponse(position);
+            String recipientTeam = index.getRecipientTeamOrName(position);
             
             if (!sortedMap.containsKey(recipientTeam)) {
                 sortedMap.put(recipientTeam,
@@ -1773,14 +1197,10 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
                 new LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>();
         
 
-        Collections.sort(responses, compareByTeamQuestionGiverTeamRecipient);
-
-
-        for (FeedbackResponseAttributes response : responses) {
-            String giverTeam = getTeamNameForEmail(response.giver);
-            if (giverTeam.isEmpty()) {
-                giverTeam = getNameForEmail(response.giver);
-            }
+        FeedbackSessionResultsIndex index = getIndex();
+        for (int position : sortResponses(index, ResponseOrder.TEAM_QUESTION_GIVER_TEAM_RECIPIENT)) {
+            FeedbackResponseAttributes response = index.getResponse(position);
+            String giverTeam = index.getGiverTeamOrName(position);
             
             if (!sortedMap.containsKey(giverTeam)) {
                 sortedMap.put(giverTeam,
@@ -1812,11 +1232,8 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
         Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> sortedMap =
                 new LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>();
 
-        if (sortByTeam) {
-            Collections.sort(responses, compareByTeamRecipientQuestionTeamGiver);
-        } else {
-            Collections.sort(responses, compareByRecipientQuestionTeamGiver);
-        }
+        sortResponses(getIndex(), sortByTeam ? ResponseOrder.TEAM_RECIPIENT_QUESTION_TEAM_GIVER
+                                             : ResponseOrder.RECIPIENT_QUESTION_TEAM_GIVER);
         
         for (FeedbackResponseAttributes response : responses) {
             String recipientEmail = response.recipient;
@@ -1860,16 +1277,12 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
         Map<String, Map<String, List<FeedbackResponseAttributes>>> sortedMap =
                 new LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>>();
         
-        if (sortByTeam) {
-            Collections.sort(responses, compareByTeamRecipientGiverQuestion);
-        } else {
-            Collections.sort(responses, compareByRecipientGiverQuestion);
-        }
-        
-        for (FeedbackResponseAttributes response : responses) {
-            String recipientName = this.getRecipientNameForResponse(response);
-            String recipientTeamName = this.getTeamNameForEmail(response.recipient);
-            String recipientNameWithTeam = this.appendTeamNameToName(recipientName, recipientTeamName);
+        FeedbackSessionResultsIndex index = getIndex();
+        int[] order = sortResponses(index, sortByTeam ? ResponseOrder.TEAM_RECIPIENT_GIVER_QUESTION
+                                                      : ResponseOrder.RECIPIENT_GIVER_QUESTION);
+        for (int position : order) {
+            FeedbackResponseAttributes response = index.getResponse(position);
+            String recipientNameWithTeam = index.getRecipientNameWithTeam(position);
             if (!sortedMap.containsKey(recipientNameWithTeam)) {
                 sortedMap.put(recipientNameWithTeam,
                         new LinkedHashMap<String, List<FeedbackResponseAttributes>>());
@@ -1877,9 +1290,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
             Map<String, List<FeedbackResponseAttributes>> responsesToOneRecipient =
                                             sortedMap.get(recipientNameWithTeam);
             
-            String giverName = this.getGiverNameForResponse(response);
-            String giverTeamName = this.getTeamNameForEmail(response.giver);
-            String giverNameWithTeam = this.appendTeamNameToName(giverName, giverTeamName);
+            String giverNameWithTeam = index.getGiverNameWithTeam(position);
             if (!responsesToOneRecipient.containsKey(giverNameWithTeam)) {
                 responsesToOneRecipient.put(giverNameWithTeam, new ArrayList<FeedbackResponseAttributes>());
             }
@@ -1909,11 +1320,8 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
         LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>> sortedMap =
                 new LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>>();
 
-        if (sortByTeam) {
-            Collections.sort(responses, compareByTeamRecipientGiverQuestion);
-        } else {
-            Collections.sort(responses, compareByRecipientGiverQuestion);
-        }
+        sortResponses(getIndex(), sortByTeam ? ResponseOrder.TEAM_RECIPIENT_GIVER_QUESTION
+                                             : ResponseOrder.RECIPIENT_GIVER_QUESTION);
         
         for (FeedbackResponseAttributes response : responses) {
             String recipientEmail = response.recipient;
@@ -1947,11 +1355,8 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
         Map<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> sortedMap =
                 new LinkedHashMap<String, Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>>();
 
-        if (sortByTeam) {
-            Collections.sort(responses, compareByTeamGiverQuestionTeamRecipient);
-        } else {
-            Collections.sort(responses, compareByGiverQuestionTeamRecipient);
-        }
+        sortResponses(getIndex(), sortByTeam ? ResponseOrder.TEAM_GIVER_QUESTION_TEAM_RECIPIENT
+                                             : ResponseOrder.GIVER_QUESTION_TEAM_RECIPIENT);
 
         for (FeedbackResponseAttributes response : responses) {
             String giverEmail = response.giver;
@@ -1994,26 +1399,19 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
         Map<String, Map<String, List<FeedbackResponseAttributes>>> sortedMap =
                 new LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>>();
         
-        if (sortByTeam) {
-            Collections.sort(responses, compareByTeamGiverRecipientQuestion);
-        } else {
-            Collections.sort(responses, compareByGiverRecipientQuestion);
-        }
-        
-        
-        for (FeedbackResponseAttributes response : responses) {
-            String giverName = this.getGiverNameForResponse(response);
-            String giverTeamName = this.getTeamNameForEmail(response.giver);
-            String giverNameWithTeam = this.appendTeamNameToName(giverName, giverTeamName);
+        FeedbackSessionResultsIndex index = getIndex();
+        int[] order = sortResponses(index, sortByTeam ? ResponseOrder.TEAM_GIVER_RECIPIENT_QUESTION
+                                                      : ResponseOrder.GIVER_RECIPIENT_QUESTION);
+        for (int position : order) {
+            FeedbackResponseAttributes response = index.getResponse(position);
+            String giverNameWithTeam = index.getGiverNameWithTeam(position);
             if (!sortedMap.containsKey(giverNameWithTeam)) {
                 sortedMap.put(giverNameWithTeam,
                               new LinkedHashMap<String, List<FeedbackResponseAttributes>>());
             }
             Map<String, List<FeedbackResponseAttributes>> responsesFromOneGiver = sortedMap.get(giverNameWithTeam);
             
-            String recipientName = this.getRecipientNameForResponse(response);
-            String recipientTeamName = this.getTeamNameForEmail(response.recipient);
-            String recipientNameWithTeam = this.appendTeamNameToName(recipientName, recipientTeamName);
+            String recipientNameWithTeam = index.getRecipientNameWithTeam(position);
             if (!responsesFromOneGiver.containsKey(recipientNameWithTeam)) {
                 responsesFromOneGiver.put(recipientNameWithTeam,
                                           new ArrayList<FeedbackResponseAttributes>());
@@ -2040,11 +1438,8 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
      */
     public Map<String, Map<String, List<FeedbackResponseAttributes>>>
                 getResponsesSortedByGiverRecipientQuestion(boolean sortByTeam) {
-        if (sortByTeam) {
-            Collections.sort(responses, compareByTeamGiverRecipientQuestion);
-        } else {
-            Collections.sort(responses, compareByGiverRecipientQuestion);
-        }
+        sortResponses(getIndex(), sortByTeam ? ResponseOrder.TEAM_GIVER_RECIPIENT_QUESTION
+                                             : ResponseOrder.GIVER_RECIPIENT_QUESTION);
         
         Map<String, Map<String, List<FeedbackResponseAttributes>>> sortedMap =
                                         new LinkedHashMap<String, Map<String, List<FeedbackResponseAttributes>>>();
@@ -2070,6 +1465,75 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
         return sortedMap;
     }
 
+    /**
+     * Sorts {@link #responses} in the given order, which is computed only once for each order.
+     * @return the positions of the sorted responses in {@code index}
+     */
+    private int[] sortResponses(FeedbackSessionResultsIndex index, ResponseOrder order) {
+        int[] sorted = index.getOrder(order);
+        for (int i = 0; i < sorted.length; i++) {
+            responses.set(i, index.getResponse(sorted[i]));
+        }
+        return sorted;
+    }
+
+    /**
+     * Returns the index of {@link #responses}, which is built again if
+     * responses were added to or removed from the bundle since it was built.
+     */
+    private FeedbackSessionResultsIndex getIndex() {
+        if (index == null || !index.isIndexOf(responses)) {
+            index = new FeedbackSessionResultsIndex(this);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the statistics of the responses to the question, which are aggregated by
+     * {@code questionDetails} the first time they are needed for the same list of responses.
+     */
+    public FeedbackResponseStatistics getResponseStatistics(String questionId,
+                                                            List<FeedbackResponseAttributes> responsesForQuestion,
+                                                            FeedbackQuestionDetails questionDetails) {
+        CachedResponseStatistics cached = responseStatistics.get(questionId);
+        if (cached == null || !cached.isStatisticsOf(responsesForQuestion)) {
+            cached = new CachedResponseStatistics(responsesForQuestion,
+                                                  aggregateResponseStatistics(questionId, responsesForQuestion,
+                                                                              questionDetails));
+            responseStatistics.put(questionId, cached);
+        }
+        return cached.statistics;
+    }
+
+    /**
+     * Takes the statistics from the stored statistics of the question if they are of the same responses,
+     * which is the case if the digest of the stored responses matches that of the responses and none of them
+     * had its giver or recipient changed, so that statistics which missed an update are never shown.
+     * Otherwise, aggregates the statistics from the responses.
+     */
+    private FeedbackResponseStatistics aggregateResponseStatistics(
+            String questionId, List<FeedbackResponseAttributes> responsesForQuestion,
+            FeedbackQuestionDetails questionDetails) {
+        FeedbackQuestionStatisticsAttributes stored = storedResponseStatistics.get(questionId);
+        boolean isStoredStatisticsOfResponses = stored != null
+                && questionDetails.isResponseStatisticsIncremental()
+                && !questionsWithChangedResponses.contains(questionId)
+                && stored.isStatisticsOf(responsesForQuestion);
+        if (isStoredStatisticsOfResponses) {
+            return questionDetails.toResponseStatistics(stored);
+        }
+        return questionDetails.aggregateResponseStatistics(responsesForQuestion);
+    }
+
+    /**
+     * Sets the statistics of the questions which were kept up to date as responses were saved.
+     * They are used instead of the responses for the statistics of the questions whose responses are all in the bundle.
+     */
+    public void setStoredResponseStatistics(Map<String, FeedbackQuestionStatisticsAttributes> storedResponseStatistics) {
+        this.storedResponseStatistics = storedResponseStatistics;
+        this.responseStatistics.clear();
+    }
+
     public boolean isStudentHasSomethingNewToSee(StudentAttributes student) {
         for (FeedbackResponseAttributes response : responses) {
             // There is a response not written by the student
@@ -2250,4 +1714,30 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
         return isComplete;
     }
 
+    private static class CachedResponseStatistics {
+        final FeedbackResponseAttributes[] responses;
+        final FeedbackResponseStatistics statistics;
+
+        CachedResponseStatistics(List<FeedbackResponseAttributes> responses, FeedbackResponseStatistics statistics) {
+            this.responses = responses.toArray(new FeedbackResponseAttributes[responses.size()]);
+            this.statistics = statistics;
+        }
+
+        /**
+         * @return true if the statistics were aggregated from the same responses, in the same order.
+         */
+        boolean isStatisticsOf(List<FeedbackResponseAttributes> currentResponses) {
+            if (currentResponses.size() != responses.length) {
+                return false;
+            }
+            int i = 0;
+            for (FeedbackResponseAttributes response : currentResponses) {
+                if (response != responses[i++]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
 }
@@ -0,0 +1,335 @@
+package teammates.common.datatransfer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import teammates.common.util.Const;
+
+/**
+ * Sort keys and display keys of the responses in a {@link FeedbackSessionResultsBundle},
+ * computed in one pass the first time the bundle's responses are ordered.
+ * <br> Each participant is given an integer ID, and each name, section, answer and response ID
+ * that responses are sorted by is replaced by its rank among all such values in the bundle.
+ * Sorting the responses then compares integers, instead of looking up names in the bundle's
+ * tables and rebuilding answer strings in every comparison.
+ * <br> The order of the responses for each {@link ResponseOrder} is computed once and reused
+ * by every view of the bundle.
+ */
+class FeedbackSessionResultsIndex {
+
+    /** Sort key of a participant whose identity is hidden; hidden participants are ordered last. */
+    private static final int HIDDEN = Integer.MAX_VALUE;
+
+    private static final int GIVER_SECTION = 0;
+    private static final int GIVER_NAME = 1;
+    private static final int GIVER_TEAM = 2;
+    private static final int GIVER_DISPLAY_NAME = 3;
+    private static final int GIVER_IDENTIFIER = 4;
+    private static final int RECIPIENT_SECTION = 5;
+    private static final int RECIPIENT_NAME = 6;
+    private static final int RECIPIENT_TEAM = 7;
+    private static final int RECIPIENT_DISPLAY_NAME = 8;
+    private static final int RECIPIENT_IDENTIFIER = 9;
+    /**
+     * The giver's team, hidden when the recipient is hidden. This is how responses grouped by
+     * recipient team have always been ordered, and is kept so that the order does not change.
+     */
+    private static final int GIVER_TEAM_BY_RECIPIENT_VISIBILITY = 10;
+    private static final int QUESTION = 11;
+    private static final int ANSWER = 12;
+    private static final int RESPONSE_ID = 13;
+    private static final int NUM_OF_SORT_KEYS = 14;
+
+    /**
+     * Orders of responses, by the sort keys compared in turn.
+     * Every order ends with the response ID, so the order of any set of responses is unique.
+     */
+    enum ResponseOrder {
+        GIVER_RECIPIENT(GIVER_NAME, RECIPIENT_NAME, ANSWER, RESPONSE_ID),
+        GIVER_RECIPIENT_QUESTION(GIVER_SECTION, GIVER_NAME, RECIPIENT_NAME, QUESTION, ANSWER, RESPONSE_ID),
+        TEAM_GIVER_RECIPIENT_QUESTION(GIVER_SECTION, GIVER_TEAM, GIVER_NAME, RECIPIENT_NAME, QUESTION,
+                                      ANSWER, RESPONSE_ID),
+        RECIPIENT_GIVER_QUESTION(RECIPIENT_SECTION, RECIPIENT_NAME, GIVER_NAME, QUESTION, ANSWER, RESPONSE_ID),
+        TEAM_RECIPIENT_GIVER_QUESTION(RECIPIENT_SECTION, RECIPIENT_TEAM, RECIPIENT_NAME, GIVER_NAME, QUESTION,
+                                      ANSWER, RESPONSE_ID),
+        GIVER_QUESTION_TEAM_RECIPIENT(GIVER_SECTION, GIVER_NAME, QUESTION, RECIPIENT_TEAM, RECIPIENT_NAME,
+                                      ANSWER, RESPONSE_ID),
+        TEAM_GIVER_QUESTION_TEAM_RECIPIENT(GIVER_SECTION, GIVER_TEAM, GIVER_NAME, QUESTION, RECIPIENT_TEAM,
+                                           RECIPIENT_NAME, ANSWER, RESPONSE_ID),
+        RECIPIENT_QUESTION_TEAM_GIVER(RECIPIENT_SECTION, RECIPIENT_NAME, QUESTION, GIVER_TEAM, GIVER_NAME,
+                                      ANSWER, RESPONSE_ID),
+        TEAM_RECIPIENT_QUESTION_TEAM_GIVER(RECIPIENT_SECTION, RECIPIENT_TEAM, RECIPIENT_NAME, QUESTION,
+                                           GIVER_TEAM, GIVER_NAME, ANSWER, RESPONSE_ID),
+        TEAM_QUESTION_RECIPIENT_TEAM_GIVER(RECIPIENT_TEAM, QUESTION, RECIPIENT_NAME,
+                                           GIVER_TEAM_BY_RECIPIENT_VISIBILITY, GIVER_NAME, ANSWER, RESPONSE_ID),
+        TEAM_QUESTION_GIVER_TEAM_RECIPIENT(GIVER_TEAM, QUESTION, GIVER_NAME, RECIPIENT_TEAM, RECIPIENT_NAME,
+                                           ANSWER, RESPONSE_ID),
+        RECIPIENT_NAME_EMAIL_GIVER_NAME_EMAIL(RECIPIENT_DISPLAY_NAME, RECIPIENT_IDENTIFIER, GIVER_DISPLAY_NAME,
+                                              GIVER_IDENTIFIER, ANSWER, RESPONSE_ID);
+
+        private final int[] sortKeys;
+
+        ResponseOrder(int... sortKeys) {
+            this.sortKeys = sortKeys;
+        }
+    }
+
+    /**
+     * Orders names with class feedback (nobody) first and team responses last,
+     * as the bundle has always displayed them.
+     */
+    private static final Comparator<String> NAME_ORDER = new Comparator<String>() {
+        @Override
+        public int compare(String name1, String name2) {
+            int order = Integer.compare(getPriority(name1), getPriority(name2));
+            return order == 0 ? name1.compareTo(name2) : order;
+        }
+
+        private int getPriority(String name) {
+            if (name.equals(Const.USER_IS_NOBODY)) {
+                return -1;
+            } else if (name.equals(Const.USER_IS_TEAM)) {
+                return 1;
+            }
+            return 0;
+        }
+    };
+
+    private final FeedbackResponseAttributes[] responses;
+    private final Map<FeedbackResponseAttributes, Integer> positions =
+            new IdentityHashMap<FeedbackResponseAttributes, Integer>();
+    private final FeedbackQuestionAttributes[] questionOfResponse;
+    private final int[] giverOfResponse;
+    private final int[] recipientOfResponse;
+    private final int[][] sortKeys;
+
+    private final List<String> teamOrNameOfParticipant = new ArrayList<String>();
+    private final List<String> nameWithTeamOfParticipant = new ArrayList<String>();
+
+    private final int[][] orders = new int[ResponseOrder.values().length][];
+
+    FeedbackSessionResultsIndex(FeedbackSessionResultsBundle bundle) {
+        int numOfResponses = bundle.responses.size();
+        responses = bundle.responses.toArray(new FeedbackResponseAttributes[numOfResponses]);
+        questionOfResponse = new FeedbackQuestionAttributes[numOfResponses];
+        giverOfResponse = new int[numOfResponses];
+        recipientOfResponse = new int[numOfResponses];
+        sortKeys = new int[NUM_OF_SORT_KEYS][numOfResponses];
+
+        Map<String, Integer> participantIds = new HashMap<String, Integer>();
+        List<String> nameOfParticipant = new ArrayList<String>();
+        List<String> displayNameOfParticipant = new ArrayList<String>();
+        List<String> identifierOfParticipant = new ArrayList<String>();
+        for (int i = 0; i < numOfResponses; i++) {
+            FeedbackResponseAttributes response = responses[i];
+            positions.put(response, i);
+            questionOfResponse[i] = bundle.questions.get(response.feedbackQuestionId);
+            for (String participant : new String[] {response.giver, response.recipient}) {
+                if (participantIds.containsKey(participant)) {
+                    continue;
+                }
+                participantIds.put(participant, participantIds.size());
+                String name = bundle.emailNameTable.get(participant);
+                String teamName = bundle.getTeamNameForEmail(participant);
+                nameOfParticipant.add(orEmpty(name));
+                displayNameOfParticipant.add(bundle.getNameForEmail(participant));
+                identifierOfParticipant.add(participant);
+                teamOrNameOfParticipant.add(teamName.isEmpty() ? bundle.getNameForEmail(participant) : teamName);
+                nameWithTeamOfParticipant.add(
+                        bundle.appendTeamNameToName(bundle.getResponseParticipantName(participant), teamName));
+            }
+            giverOfResponse[i] = participantIds.get(response.giver);
+            recipientOfResponse[i] = participantIds.get(response.recipient);
+        }
+
+        List<String> names = new ArrayList<String>(nameOfParticipant);
+        names.addAll(displayNameOfParticipant);
+        names.addAll(identifierOfParticipant);
+        names.addAll(teamOrNameOfParticipant);
+        Map<String, Integer> nameRanks = getRanks(NAME_ORDER, names);
+        int[] nameRank = getRanksOf(nameOfParticipant, nameRanks);
+        int[] teamRank = getRanksOf(teamOrNameOfParticipant, nameRanks);
+        int[] displayNameRank = getRanksOf(displayNameOfParticipant, nameRanks);
+        int[] identifierRank = getRanksOf(identifierOfParticipant, nameRanks);
+
+        String[] answers = new String[numOfResponses];
+        List<String> values = new ArrayList<String>();
+        for (int i = 0; i < numOfResponses; i++) {
+            answers[i] = responses[i].getResponseDetails().getAnswerString();
+            values.add(orEmpty(responses[i].giverSection));
+            values.add(orEmpty(responses[i].recipientSection));
+            values.add(answers[i]);
+            values.add(responses[i].getId());
+        }
+        Map<String, Integer> valueRanks = getRanks(null, values);
+        Map<FeedbackQuestionAttributes, Integer> questionRanks = getQuestionRanks(questionOfResponse);
+
+        for (int i = 0; i < numOfResponses; i++) {
+            FeedbackResponseAttributes response = responses[i];
+            // the visibility of the participants depends on the question, so without it they are hidden
+            boolean hasQuestion = questionOfResponse[i] != null;
+            boolean isGiverVisible = hasQuestion && bundle.isGiverVisible(response);
+            boolean isRecipientVisible = hasQuestion && bundle.isRecipientVisible(response);
+            int giver = giverOfResponse[i];
+            int recipient = recipientOfResponse[i];
+
+            sortKeys[GIVER_SECTION][i] = valueRanks.get(orEmpty(response.giverSection));
+            sortKeys[GIVER_NAME][i] = isGiverVisible ? nameRank[giver] : HIDDEN;
+            sortKeys[GIVER_TEAM][i] = isGiverVisible ? teamRank[giver] : HIDDEN;
+            sortKeys[GIVER_DISPLAY_NAME][i] = isGiverVisible ? displayNameRank[giver] : HIDDEN;
+            sortKeys[GIVER_IDENTIFIER][i] = isGiverVisible ? identifierRank[giver] : HIDDEN;
+            sortKeys[RECIPIENT_SECTION][i] = valueRanks.get(orEmpty(response.recipientSection));
+            sortKeys[RECIPIENT_NAME][i] = isRecipientVisible ? nameRank[recipient] : HIDDEN;
+            sortKeys[RECIPIENT_TEAM][i] = isRecipientVisible ? teamRank[recipient] : HIDDEN;
+            sortKeys[RECIPIENT_DISPLAY_NAME][i] = isRecipientVisible ? displayNameRank[recipient] : HIDDEN;
+            sortKeys[RECIPIENT_IDENTIFIER][i] = isRecipientVisible ? identifierRank[recipient] : HIDDEN;
+            sortKeys[GIVER_TEAM_BY_RECIPIENT_VISIBILITY][i] = isRecipientVisible ? teamRank[giver] : HIDDEN;
+            sortKeys[QUESTION][i] = getQuestionRank(questionOfResponse[i], questionRanks);
+            sortKeys[ANSWER][i] = valueRanks.get(answers[i]);
+            sortKeys[RESPONSE_ID][i] = valueRanks.get(response.getId());
+        }
+    }
+
+    /**
+     * @return true if {@code currentResponses} are the responses that were indexed, in any order.
+     */
+    boolean isIndexOf(List<FeedbackResponseAttributes> currentResponses) {
+        if (currentResponses == null || currentResponses.size() != responses.length) {
+            return false;
+        }
+        for (FeedbackResponseAttributes response : currentResponses) {
+            if (!positions.containsKey(response)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the positions of the responses in the given order. The array must not be modified.
+     */
+    int[] getOrder(ResponseOrder order) {
+        int[] sorted = orders[order.ordinal()];
+        if (sorted == null) {
+            sorted = sort(order.sortKeys);
+            orders[order.ordinal()] = sorted;
+        }
+        return sorted;
+    }
+
+    FeedbackResponseAttributes getResponse(int position) {
+        return responses[position];
+    }
+
+    FeedbackQuestionAttributes getQuestion(int position) {
+        return questionOfResponse[position];
+    }
+
+    /**
+     * @return the team name of the giver, or the giver's name if the giver is not in a team.
+     */
+    String getGiverTeamOrName(int position) {
+        return teamOrNameOfParticipant.get(giverOfResponse[position]);
+    }
+
+    /**
+     * @return the team name of the recipient, or the recipient's name if the recipient is not in a team.
+     */
+    String getRecipientTeamOrName(int position) {
+        return teamOrNameOfParticipant.get(recipientOfResponse[position]);
+    }
+
+    String getGiverNameWithTeam(int position) {
+        return nameWithTeamOfParticipant.get(giverOfResponse[position]);
+    }
+
+    String getRecipientNameWithTeam(int position) {
+        return nameWithTeamOfParticipant.get(recipientOfResponse[position]);
+    }
+
+    private int[] sort(final int[] keys) {
+        Integer[] boxed = new Integer[responses.length];
+        for (int i = 0; i < boxed.length; i++) {
+            boxed[i] = i;
+        }
+        Arrays.sort(boxed, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer position1, Integer position2) {
+                for (int key : keys) {
+                    int order = Integer.compare(sortKeys[key][position1], sortKeys[key][position2]);
+                    if (order != 0) {
+                        return order;
+                    }
+                }
+                return 0;
+            }
+        });
+
+        int[] sorted = new int[boxed.length];
+        for (int i = 0; i < boxed.length; i++) {
+            sorted[i] = boxed[i];
+        }
+        return sorted;
+    }
+
+    /**
+     * @return the rank of each of {@code values} in the order of {@code comparator},
+     *         or in the natural order if {@code comparator} is null. Equal values have the same rank.
+     */
+    private static Map<String, Integer> getRanks(Comparator<String> comparator, List<String> values) {
+        TreeMap<String, Integer> ranks = new TreeMap<String, Integer>(comparator);
+        for (String value : values) {
+            ranks.put(value, 0);
+        }
+        int rank = 0;
+        for (Map.Entry<String, Integer> entry : ranks.entrySet()) {
+            entry.setValue(rank++);
+        }
+        return ranks;
+    }
+
+    private static String orEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static int[] getRanksOf(List<String> values, Map<String, Integer> ranks) {
+        int[] ranksOfValues = new int[values.size()];
+        for (int i = 0; i < ranksOfValues.length; i++) {
+            ranksOfValues[i] = ranks.get(values.get(i));
+        }
+        return ranksOfValues;
+    }
+
+    private static Map<FeedbackQuestionAttributes, Integer> getQuestionRanks(FeedbackQuestionAttributes[] questions) {
+        List<FeedbackQuestionAttributes> sortedQuestions = new ArrayList<FeedbackQuestionAttributes>();
+        Map<FeedbackQuestionAttributes, Integer> ranks = new IdentityHashMap<FeedbackQuestionAttributes, Integer>();
+        for (FeedbackQuestionAttributes question : questions) {
+            if (question != null && !ranks.containsKey(question)) {
+                ranks.put(question, 0);
+                sortedQuestions.add(question);
+            }
+        }
+        // sorts the questions by its natural ordering, which is by question number
+        Collections.sort(sortedQuestions);
+        for (int i = 0; i < sortedQuestions.size(); i++) {
+            ranks.put(sortedQuestions.get(i), i);
+        }
+        return ranks;
+    }
+
+    /**
+     * @return the rank of the question, or a rank after all the questions if the question of a response
+     *         is not in the bundle (i.e. {@code question} is null)
+     */
+    private static int getQuestionRank(FeedbackQuestionAttributes question,
+                                       Map<FeedbackQuestionAttributes, Integer> questionRanks) {
+        return question == null ? questionRanks.size() : questionRanks.get(question);
+    }
+}
@@ -3,20 +3,23 @@ package teammates.common.datatransfer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import teammates.common.util.Const;
 import teammates.common.util.StringHelper;
+import teammates.common.util.Utils;
 import teammates.logic.core.InstructorsLogic;
 
 import com.google.appengine.api.search.Cursor;
 import com.google.appengine.api.search.Results;
 import com.google.appengine.api.search.ScoredDocument;
-import com.google.gson.Gson;
 
 public class InstructorSearchResultBundle extends SearchResultBundle {
     
     public List<InstructorAttributes> instructorList = new ArrayList<InstructorAttributes>();
+    public Map<String, String> courseIdToCourseNameMap = new HashMap<String, String>();
     public Cursor cursor;
     private int numberOfResults;
     private InstructorsLogic instructorsLogic = InstructorsLogic.inst();
@@ -38,14 +41,23 @@ public class InstructorSearchResultBundle extends SearchResultBundle {
         
         for (ScoredDocument doc : results) {
             InstructorAttributes instructor =
-                    new Gson().fromJson(doc.getOnlyField(Const.SearchDocumentField.INSTRUCTOR_ATTRIBUTE).getText(),
-                                                         InstructorAttributes.class);
+                    Utils.getCompactGson().fromJson(
+                            doc.getOnlyField(Const.SearchDocumentField.INSTRUCTOR_ATTRIBUTE).getText(),
+                            InstructorAttributes.class);
             
             if (instructorsLogic.getInstructorForRegistrationKey(StringHelper.encrypt(instructor.key)) == null) {
                 instructorsLogic.deleteDocument(instructor);
                 continue;
             }
             
+            // documents indexed before the course name field was introduced do not have it
+            if (doc.getFieldCount(Const.SearchDocumentField.COURSE_NAME) > 0) {
+                String courseName = doc.getOnlyField(Const.SearchDocumentField.COURSE_NAME).getText();
+                if (!courseName.isEmpty()) {
+                    courseIdToCourseNameMap.put(instructor.courseId, courseName);
+                }
+            }
+            
             instructorList.add(instructor);
             numberOfResults++;
         }
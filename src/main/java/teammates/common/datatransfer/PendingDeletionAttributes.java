@@ -0,0 +1,81 @@
+package teammates.common.datatransfer;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import teammates.common.util.Utils;
+import teammates.storage.entity.PendingDeletion;
+
+/**
+ * The data transfer object for {@link PendingDeletion} entities.
+ */
+public class PendingDeletionAttributes extends EntityAttributes {
+
+    public String courseId;
+
+    /** {@code null} if the whole course is deleted. */
+    public String feedbackSessionName;
+
+    public Date createdAt;
+
+    public PendingDeletionAttributes(String courseId, String feedbackSessionName) {
+        this.courseId = courseId;
+        this.feedbackSessionName = feedbackSessionName;
+    }
+
+    public PendingDeletionAttributes(PendingDeletion pendingDeletion) {
+        this.courseId = pendingDeletion.getCourseId();
+        this.feedbackSessionName = pendingDeletion.getFeedbackSessionName();
+        this.createdAt = pendingDeletion.getCreatedAt();
+    }
+
+    public String getId() {
+        return PendingDeletion.makeId(courseId, feedbackSessionName);
+    }
+
+    @Override
+    public List<String> getInvalidityInfo() {
+        List<String> errors = new ArrayList<String>();
+        if (courseId == null || courseId.isEmpty()) {
+            errors.add("A pending deletion must belong to a course");
+        }
+        return errors;
+    }
+
+    @Override
+    public Object toEntity() {
+        return new PendingDeletion(courseId, feedbackSessionName);
+    }
+
+    @Override
+    public String getIdentificationString() {
+        return getId();
+    }
+
+    @Override
+    public String getEntityTypeAsString() {
+        return "Pending Deletion";
+    }
+
+    @Override
+    public String getBackupIdentifier() {
+        return "Recently modified pending deletion::" + getId();
+    }
+
+    @Override
+    public String getJsonString() {
+        return Utils.getTeammatesGson().toJson(this, PendingDeletionAttributes.class);
+    }
+
+    @Override
+    public void sanitizeForSaving() {
+        // nothing to sanitize: the ids are never rendered
+    }
+
+    @Override
+    public String toString() {
+        return "PendingDeletionAttributes [courseId=" + courseId + ", feedbackSessionName=" + feedbackSessionName
+               + ", createdAt=" + createdAt + "]";
+    }
+}
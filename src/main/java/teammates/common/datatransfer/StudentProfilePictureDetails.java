@@ -0,0 +1,47 @@
+package teammates.common.datatransfer;
+
+import java.util.Date;
+
+/**
+ * The details needed to serve the profile picture of a student in a course:
+ * the section of the student, which decides who can see the picture, and the keys of the picture.
+ */
+public class StudentProfilePictureDetails {
+    public String courseId;
+    public String email;
+    public String section;
+    public String googleId;
+
+    /** The key of the picture, or an empty string if the student has no picture. */
+    public String pictureKey;
+
+    /** The key of the thumbnail of the picture, or an empty string if there is no thumbnail. */
+    public String thumbnailKey;
+
+    /** The time the picture was last written, in milliseconds. */
+    public long pictureModifiedTime;
+
+    public StudentProfilePictureDetails(StudentAttributes student, StudentProfileAttributes profile,
+                                        String thumbnailKey) {
+        this.courseId = student.course;
+        this.email = student.email;
+        this.section = student.section;
+        this.googleId = student.googleId;
+        boolean hasPicture = profile != null && profile.pictureKey != null && !profile.pictureKey.isEmpty();
+        this.pictureKey = hasPicture ? profile.pictureKey : "";
+        this.thumbnailKey = hasPicture && thumbnailKey != null ? thumbnailKey : "";
+        this.pictureModifiedTime = hasPicture && profile.modifiedDate != null ? profile.modifiedDate.getTime() : 0;
+    }
+
+    public boolean hasPicture() {
+        return !pictureKey.isEmpty();
+    }
+
+    public boolean hasThumbnail() {
+        return !thumbnailKey.isEmpty();
+    }
+
+    public Date getPictureModifiedDate() {
+        return new Date(pictureModifiedTime);
+    }
+}
@@ -9,17 +9,18 @@ import java.util.Map;
 
 import teammates.common.util.Const;
 import teammates.common.util.StringHelper;
+import teammates.common.util.Utils;
 import teammates.logic.core.StudentsLogic;
 
 import com.google.appengine.api.search.Cursor;
 import com.google.appengine.api.search.Results;
 import com.google.appengine.api.search.ScoredDocument;
-import com.google.gson.Gson;
 
 public class StudentSearchResultBundle extends SearchResultBundle {
 
     public List<StudentAttributes> studentList = new ArrayList<StudentAttributes>();
     public Map<String, InstructorAttributes> courseIdInstructorMap = new HashMap<String, InstructorAttributes>();
+    public Map<String, String> courseIdToCourseNameMap = new HashMap<String, String>();
     public Cursor cursor;
     private int numberOfResults;
     private StudentsLogic studentsLogic = StudentsLogic.inst();
@@ -43,9 +44,7 @@ public class StudentSearchResultBundle extends SearchResultBundle {
         
         List<ScoredDocument> filteredResults = filterOutCourseId(results, instructors);
         for (ScoredDocument doc : filteredResults) {
-            StudentAttributes student = new Gson().fromJson(
-                    doc.getOnlyField(Const.SearchDocumentField.STUDENT_ATTRIBUTE).getText(),
-                    StudentAttributes.class);
+            StudentAttributes student = extractStudent(doc);
             if (student.key == null) {
                 studentsLogic.deleteDocument(student);
                 continue;
@@ -80,9 +79,7 @@ public class StudentSearchResultBundle extends SearchResultBundle {
         cursor = results.getCursor();
         
         for (ScoredDocument doc : results) {
-            StudentAttributes student =
-                    new Gson().fromJson(doc.getOnlyField(Const.SearchDocumentField.STUDENT_ATTRIBUTE).getText(),
-                                                         StudentAttributes.class);
+            StudentAttributes student = extractStudent(doc);
             
             if (studentsLogic.getStudentForRegistrationKey(StringHelper.encrypt(student.key)) == null) {
                 studentsLogic.deleteDocument(student);
@@ -98,6 +95,36 @@ public class StudentSearchResultBundle extends SearchResultBundle {
         return this;
     }
 
+    /**
+     * Builds the student from the typed fields returned with the search result.
+     * Documents indexed before the typed fields were introduced only have the
+     * student stored as JSON, which is parsed instead.
+     */
+    private StudentAttributes extractStudent(ScoredDocument doc) {
+        if (doc.getFieldCount(Const.SearchDocumentField.STUDENT_EMAIL) == 0) {
+            return Utils.getCompactGson().fromJson(
+                    doc.getOnlyField(Const.SearchDocumentField.STUDENT_ATTRIBUTE).getText(),
+                    StudentAttributes.class);
+        }
+        
+        StudentAttributes student = new StudentAttributes();
+        student.course = doc.getOnlyField(Const.SearchDocumentField.COURSE_ID).getText();
+        student.email = doc.getOnlyField(Const.SearchDocumentField.STUDENT_EMAIL).getAtom();
+        student.name = doc.getOnlyField(Const.SearchDocumentField.STUDENT_NAME).getText();
+        student.lastName = doc.getOnlyField(Const.SearchDocumentField.STUDENT_LAST_NAME).getText();
+        student.googleId = doc.getOnlyField(Const.SearchDocumentField.STUDENT_GOOGLE_ID).getAtom();
+        student.team = doc.getOnlyField(Const.SearchDocumentField.STUDENT_TEAM).getAtom();
+        student.section = doc.getOnlyField(Const.SearchDocumentField.STUDENT_SECTION).getAtom();
+        student.comments = doc.getOnlyField(Const.SearchDocumentField.STUDENT_COMMENTS).getText();
+        student.key = doc.getId();
+        
+        String courseName = doc.getOnlyField(Const.SearchDocumentField.COURSE_NAME).getText();
+        if (!courseName.isEmpty()) {
+            courseIdToCourseNameMap.put(student.course, courseName);
+        }
+        return student;
+    }
+
     private void sortStudentResultList() {
         
         Collections.sort(studentList, new Comparator<StudentAttributes>() {
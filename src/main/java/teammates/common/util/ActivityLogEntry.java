@@ -74,6 +74,10 @@ public class ActivityLogEntry {
     
     private boolean isFirstRow;
     
+    /**
+     * The table row of the entry for the logs loaded by js, which is only rendered by
+     * {@link #renderLogInfoAsHtml()} for the entries sent to the page.
+     */
     @SuppressWarnings("unused") // used by js
     private String logInfoAsHtml;
     
@@ -115,7 +119,6 @@ public class ActivityLogEntry {
         }
         
         keyStringsToHighlight = null;
-        logInfoAsHtml = getLogInfoForTableRowAsHtml();
     }
 
     /**
@@ -639,8 +642,14 @@ public class ActivityLogEntry {
             }
         }
         
+    }
+    
+    /**
+     * Renders the table row of the entry for it to be sent to the page as JSON.
+     * Entries which are filtered out are never rendered.
+     */
+    public void renderLogInfoAsHtml() {
         logInfoAsHtml = getLogInfoForTableRowAsHtml();
-        
     }
     
     public void setFirstRow() {
@@ -158,6 +158,19 @@ public final class Const {
         public static final String FEEDBACK_SUBMISSION_ADJUSTMENT_TASK_QUEUE =
                                 "feedback-submission-adjust-queue";
         
+        public static final String FEEDBACK_QUESTION_STATISTICS_REBUILD_TASK_QUEUE =
+                                "feedback-question-statistics-rebuild-queue";
+        
+        public static final String CASCADE_DELETION_TASK_QUEUE = "cascade-deletion-queue";
+        
+        public static final String FEEDBACK_SESSION_COPY_TASK_QUEUE = "feedback-session-copy-queue";
+        
+        /**
+         * The time after which a copy of a feedback session which still does not have all its questions
+         * is taken to have failed, i.e. when the copying task has given up or run out of retries.
+         */
+        public static final long FEEDBACK_SESSION_COPY_TIMEOUT_MILLIS = 2 * 60 * 1000;
+        
         public static final String COURSE_JOIN_REMIND_EMAIL_TASK_QUEUE = "course-join-remind-email-queue";
         
         public static final String FEEDBACK_REMIND_EMAIL_TASK_QUEUE = "feedback-remind-email-queue";
@@ -647,8 +660,8 @@ public final class Const {
         public static final String ADMIN_EMAIL_EMPTY_TRASH_BIN = "emptytrashbin";
         public static final String ADMIN_EMAIL_TRASH_ACTION_REDIRECT = "redirect";
         
-        public static final String ADMIN_GROUP_RECEIVER_EMAIL_LIST_INDEX = "emaillistindex";
-        public static final String ADMIN_GROUP_RECEIVER_EMAIL_INDEX = "emailindex";
+        public static final String ADMIN_GROUP_RECEIVER_LIST_START_OFFSET = "receiverliststartoffset";
+        public static final String ADMIN_GROUP_RECEIVER_LIST_END_OFFSET = "receiverlistendoffset";
     
         public static final String FEEDBACK_SESSION_NAME = "fsname";
         public static final String FEEDBACK_SESSION_INDEX = "fsindex";
@@ -816,6 +829,9 @@ public final class Const {
         
         public static final String ENROLLMENT_DETAILS = "enrollmentdetails";
         
+        public static final String CASCADE_DELETION_STAGE = "cascadedeletionstage";
+        public static final String CASCADE_DELETION_CURSOR = "cascadedeletioncursor";
+        
         public static final String SEARCH_KEY = "searchkey";
         public static final String DISPLAY_ARCHIVE = "displayarchive";
         
@@ -829,6 +845,7 @@ public final class Const {
         public static final String PROFILE_PICTURE_HEIGHT = "pictureheight";
         public static final String PROFILE_PICTURE_WIDTH = "picturewidth";
         public static final String PROFILE_PICTURE_ROTATE = "picturerotate";
+        public static final String PROFILE_PICTURE_VERSION = "picturever";
         
         public static final String SEARCH_STUDENTS = "searchstudents";
         public static final String SEARCH_COMMENTS_FOR_STUDENTS = "searchcommentforstudents";
@@ -845,6 +862,14 @@ public final class Const {
     public class SearchDocumentField {
         public static final String COMMENT_ATTRIBUTE = "commentAttibute";
         public static final String STUDENT_ATTRIBUTE = "studentAttribute";
+        public static final String STUDENT_EMAIL = "studentEmail";
+        public static final String STUDENT_NAME = "studentName";
+        public static final String STUDENT_LAST_NAME = "studentLastName";
+        public static final String STUDENT_GOOGLE_ID = "studentGoogleId";
+        public static final String STUDENT_TEAM = "studentTeam";
+        public static final String STUDENT_SECTION = "studentSection";
+        public static final String STUDENT_COMMENTS = "studentComments";
+        public static final String COURSE_NAME = "courseName";
         public static final String INSTRUCTOR_ATTRIBUTE = "instructorAttribute";
         public static final String COMMENT_GIVER_NAME = "commentGiverName";
         public static final String COMMENT_RECIPIENT_NAME = "commentRecipientName";
@@ -925,6 +950,7 @@ public final class Const {
         public static final String INSTRUCTOR_FEEDBACK_UNPUBLISH = "/page/instructorFeedbackUnpublish";
         public static final String INSTRUCTOR_FEEDBACK_EDIT_COPY_PAGE = "/page/instructorFeedbackEditCopyPage";
         public static final String INSTRUCTOR_FEEDBACK_EDIT_COPY = "/page/instructorFeedbackEditCopy";
+        public static final String INSTRUCTOR_FEEDBACK_COPY_STATUS = "/page/instructorFeedbackCopyStatus";
         public static final String INSTRUCTOR_FEEDBACK_EDIT_PAGE = "/page/instructorFeedbackEditPage";
         public static final String INSTRUCTOR_FEEDBACK_EDIT_SAVE = "/page/instructorFeedbackEditSave";
         public static final String INSTRUCTOR_FEEDBACK_RESULTS_PAGE = "/page/instructorFeedbackResultsPage";
@@ -1012,6 +1038,10 @@ public final class Const {
         public static final String ADMIN_EMAIL_PREPARE_TASK_QUEUE_WORKER = "/adminEmailPrepareTaskQueueWorker";
         public static final String FEEDBACK_SUBMISSION_ADJUSTMENT_WORKER =
                                     "/feedbackSubmissionAdjustmentWorker";
+        public static final String FEEDBACK_QUESTION_STATISTICS_REBUILD_WORKER =
+                                    "/feedbackQuestionStatisticsRebuildWorker";
+        public static final String CASCADE_DELETION_WORKER = "/cascadeDeletionWorker";
+        public static final String FEEDBACK_SESSION_COPY_WORKER = "/feedbackSessionCopyWorker";
         public static final String FEEDBACK_REMIND_EMAIL_WORKER = "/feedbackRemindEmailWorker";
         public static final String FEEDBACK_REMIND_EMAIL_PARTICULAR_USERS_WORKER =
                                     "/feedbackRemindEmailParticularUsersWorker";
@@ -1179,6 +1209,9 @@ public final class Const {
         public static final String COURSE_EXISTS =
                 "A course by the same ID already exists in the system, possibly created by another user. "
                 + "Please choose a different course ID";
+        public static final String COURSE_DELETION_PENDING =
+                "The course %s has been deleted recently and its data is still being removed. "
+                + "Please try again in a few minutes or choose a different course ID";
         public static final String COURSE_EDITED = "The course has been edited.";
         public static final String COURSE_ARCHIVED =
                 "The course %s has been archived. It will not appear in the home page any more.";
@@ -1274,6 +1307,9 @@ public final class Const {
                 "You have not selected any course to copy the feedback session to";
         public static final String FEEDBACK_SESSION_COPY_ALREADYEXISTS =
                 "A feedback session with the name \"%s\" already exists in the following course(s): %s.";
+        public static final String FEEDBACK_SESSION_COPY_FAILED =
+                "The questions could not be copied to the feedback session in the following course(s): %s. "
+                + "Please delete the feedback session in these courses and copy it again.";
         public static final String FEEDBACK_SESSION_EDITED = "The feedback session has been updated.";
         public static final String FEEDBACK_SESSION_END_TIME_EARLIER_THAN_START_TIME =
                 "The end time for this feedback session cannot be earlier than the start time.";
@@ -1290,6 +1326,9 @@ public final class Const {
         public static final String FEEDBACK_SESSION_REMINDERSEMPTYRECIPIENT = "You have not selected any student to remind.";
         public static final String FEEDBACK_SESSION_EXISTS =
                 "A feedback session by this name already exists under this course";
+        public static final String FEEDBACK_SESSION_DELETION_PENDING =
+                "A feedback session by this name has been deleted recently and its data is still being removed. "
+                + "Please try again in a few minutes or choose a different name";
         public static final String FEEDBACK_SESSION_EMPTY =
                 "You have not created any sessions yet. Use the form above to create a session.";
     
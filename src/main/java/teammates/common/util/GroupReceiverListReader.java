@@ -0,0 +1,123 @@
+package teammates.common.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+
+import com.google.appengine.api.blobstore.BlobKey;
+import com.google.appengine.api.blobstore.BlobstoreService;
+import com.google.appengine.api.blobstore.BlobstoreServiceFactory;
+
+/**
+ * Reads the receivers of a group email one at a time from the uploaded txt file of
+ * comma-separated email addresses, streaming the file from the Google Cloud Storage
+ * in chunks of at most {@link BlobstoreService#MAX_BLOB_FETCH_SIZE} bytes instead of loading it whole.<br>
+ * A reader can be limited to a byte range of the file so that the file can be split into shards
+ * that are read independently: a receiver belongs to the range in which its address starts,
+ * and is read whole even if its address ends after the range.
+ */
+public class GroupReceiverListReader implements Closeable {
+
+    private static final char SEPARATOR = ',';
+
+    private final BlobKey blobKey;
+    private final long endOffset;
+
+    /** The offset in the file of the next byte to read. */
+    private long offset;
+
+    private byte[] chunk = new byte[0];
+    private int indexInChunk;
+
+    /**
+     * Creates a reader for all the receivers in the file with the specified {@link BlobKey}.
+     */
+    public GroupReceiverListReader(BlobKey blobKey) throws IOException {
+        this(blobKey, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a reader for the receivers whose address starts at or after {@code startOffset}
+     * and before {@code endOffset} in the file with the specified {@link BlobKey}.
+     */
+    public GroupReceiverListReader(BlobKey blobKey, long startOffset, long endOffset) throws IOException {
+        Assumption.assertNotNull(blobKey);
+        Assumption.assertTrue(startOffset >= 0);
+
+        this.blobKey = blobKey;
+        this.endOffset = endOffset;
+
+        if (startOffset == 0) {
+            offset = 0;
+            return;
+        }
+
+        // Start from the byte before the range, so that the address cut by the start of the range
+        // is skipped unless the range starts right after a separator
+        offset = startOffset - 1;
+        int nextByte = read();
+        while (nextByte != -1 && nextByte != SEPARATOR) {
+            nextByte = read();
+        }
+    }
+
+    /**
+     * @return the next receiver in the range, or {@code null} if all the receivers in the range have been read
+     */
+    public String readNextReceiver() throws IOException {
+        while (offset < endOffset) {
+            ByteArrayOutputStream address = new ByteArrayOutputStream();
+            int nextByte = read();
+            while (nextByte != -1 && nextByte != SEPARATOR) {
+                address.write(nextByte);
+                nextByte = read();
+            }
+
+            String receiver = new String(address.toByteArray(), Const.SystemParams.ENCODING).trim();
+            if (!receiver.isEmpty()) {
+                return receiver;
+            }
+            if (nextByte == -1) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the offset in the file from which a new reader can resume reading the receivers
+     *         after the ones read so far
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public void close() {
+        chunk = new byte[0];
+        indexInChunk = 0;
+    }
+
+    private int read() throws IOException {
+        if (indexInChunk == chunk.length && !fetchNextChunk()) {
+            return -1;
+        }
+        offset++;
+        return chunk[indexInChunk++] & 0xFF;
+    }
+
+    /**
+     * @return false if the end of the file has been reached
+     */
+    private boolean fetchNextChunk() throws IOException {
+        try {
+            chunk = BlobstoreServiceFactory.getBlobstoreService()
+                                           .fetchData(blobKey, offset, offset + BlobstoreService.MAX_BLOB_FETCH_SIZE - 1);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Failed to read the group receiver list: " + e.getMessage(), e);
+        }
+        indexInChunk = 0;
+        return chunk.length > 0;
+    }
+
+}
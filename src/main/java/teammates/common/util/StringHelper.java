@@ -16,6 +16,21 @@ import javax.crypto.spec.SecretKeySpec;
  */
 public final class StringHelper {
     
+    /**
+     * Looking up a cipher is much more expensive than initializing it, and ciphers are not
+     * thread-safe, so each thread reuses its own and re-initializes it for every use.
+     */
+    private static final ThreadLocal<Cipher> AES_CIPHER = new ThreadLocal<Cipher>() {
+        @Override
+        protected Cipher initialValue() {
+            try {
+                return Cipher.getInstance("AES");
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+    };
+    
     private StringHelper() {
         // utility class
     }
@@ -127,7 +142,7 @@ public final class StringHelper {
     public static String encrypt(String value) {
         try {
             SecretKeySpec sks = new SecretKeySpec(hexStringToByteArray(Config.ENCRYPTION_KEY), "AES");
-            Cipher cipher = Cipher.getInstance("AES");
+            Cipher cipher = AES_CIPHER.get();
             cipher.init(Cipher.ENCRYPT_MODE, sks, cipher.getParameters());
             byte[] encrypted = cipher.doFinal(value.getBytes());
             return byteArrayToHexString(encrypted);
@@ -139,7 +154,7 @@ public final class StringHelper {
     public static String decrypt(String message) {
         try {
             SecretKeySpec sks = new SecretKeySpec(hexStringToByteArray(Config.ENCRYPTION_KEY), "AES");
-            Cipher cipher = Cipher.getInstance("AES");
+            Cipher cipher = AES_CIPHER.get();
             cipher.init(Cipher.DECRYPT_MODE, sks);
             byte[] decrypted = cipher.doFinal(hexStringToByteArray(message));
             return new String(decrypted);
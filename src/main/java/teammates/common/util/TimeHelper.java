@@ -160,6 +160,23 @@ public final class TimeHelper {
         return time; // for chaining
     }
 
+    /**
+     * Converts a time in the given time zone, as the times of feedback sessions are stored, to UTC.
+     */
+    public static Date convertLocalDateToUtc(Date localDate, double timeZone) {
+        return new Date(localDate.getTime() - (long) (60 * 60 * 1000 * timeZone));
+    }
+
+    /**
+     * Returns the number of whole hours from the epoch to the given UTC time,
+     * i.e. the hour the time falls in. Times before the epoch fall in negative hours.
+     */
+    public static long getUtcHour(Date utcDate) {
+        long millisPerHour = 60 * 60 * 1000;
+        long hour = utcDate.getTime() / millisPerHour;
+        return utcDate.getTime() % millisPerHour < 0 ? hour - 1 : hour;
+    }
+
     /**
      * Formats a date in the corresponding option value in 'Time' dropdowns The
      * hour just after midnight is converted to option 24 (i.e., 2359 as shown
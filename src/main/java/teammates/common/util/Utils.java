@@ -10,6 +10,8 @@ import com.google.gson.GsonBuilder;
 
 public final class Utils {
 
+    private static final Gson COMPACT_GSON = new Gson();
+
     private Utils() {
         // utility class
     }
@@ -36,4 +38,13 @@ public final class Utils {
                 .create();
     }
 
+    /**
+     * Returns a shared Gson object with the default settings, e.g. for converting
+     * attributes to and from the JSON stored in search documents.
+     * Gson objects are thread-safe, so there is no need to create one per use.
+     */
+    public static Gson getCompactGson() {
+        return COMPACT_GSON;
+    }
+
 }
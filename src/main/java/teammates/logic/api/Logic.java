@@ -1,5 +1,7 @@
 package teammates.logic.api;
 
+import java.io.PrintWriter;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -31,6 +33,7 @@ import teammates.common.datatransfer.InstructorSearchResultBundle;
 import teammates.common.datatransfer.SectionDetailsBundle;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.datatransfer.StudentProfileAttributes;
+import teammates.common.datatransfer.StudentProfilePictureDetails;
 import teammates.common.datatransfer.StudentSearchResultBundle;
 import teammates.common.datatransfer.TeamDetailsBundle;
 import teammates.common.datatransfer.UserType;
@@ -174,6 +177,18 @@ public class Logic {
         return accountsLogic.getAccount(googleId, retrieveStudentProfile);
     }
     
+    /**
+     * Gets the accounts with the given Google IDs, without their student profiles. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return Empty list if none found.
+     */
+    public List<AccountAttributes> getAccounts(Collection<String> googleIds) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, googleIds);
+        
+        return accountsLogic.getAccounts(googleIds);
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -432,6 +447,18 @@ public class Logic {
         return instructorsLogic.getInstructorsForCourse(courseId);
     }
     
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return Empty list if none found.
+     */
+    public List<InstructorAttributes> getInstructorsForCourses(List<String> courseIds) {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseIds);
+        
+        return instructorsLogic.getInstructorsForCourses(courseIds);
+    }
+    
     /**
      * Get the encrypted registration key for the instructor.
      * Preconditions: <br>
@@ -653,6 +680,18 @@ public class Logic {
         
         return coursesLogic.getCourse(courseId);
     }
+    
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the courses that exist among the given {@code courseIds}, in no particular order.
+     */
+    public List<CourseAttributes> getCourses(List<String> courseIds) {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseIds);
+        
+        return coursesLogic.getCourses(courseIds);
+    }
 
     /**
      * Returns a detailed version of course data. <br>
@@ -837,6 +876,18 @@ public class Logic {
         Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
         coursesLogic.deleteCourseCascade(courseId);
     }
+    
+    /**
+     * Deletes the course, its instructors and its feedback sessions, and schedules
+     * the rest of the data related to the course (students, comments, questions,
+     * responses) to be deleted in the background. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void deleteCourseInBackground(String courseId) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        coursesLogic.deleteCourseCascadeInBackground(courseId);
+    }
 
 
     /**
@@ -945,6 +996,18 @@ public class Logic {
         return accountsLogic.getStudentProfile(googleId);
     }
 
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * 
+     * @return Null if no match found.
+     */
+    public StudentProfilePictureDetails getStudentProfilePictureDetails(String courseId, String email) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, email);
+        return studentsLogic.getStudentProfilePictureDetails(courseId, email);
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -1317,6 +1380,20 @@ public class Logic {
         return coursesLogic.getCourseStudentListAsCsv(courseId, googleId);
     }
 
+    /**
+     * Loads the students of a course and writes their list in CSV format to {@code writer} row by row,
+     * without building the whole CSV in memory and without checking the access of the instructor. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null. <br>
+     */
+    public void writeCourseStudentListAsCsv(CourseAttributes course, PrintWriter writer) {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, course);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, writer);
+        
+        coursesLogic.writeCourseStudentListAsCsv(course, writer);
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -1349,6 +1426,66 @@ public class Logic {
                 copiedCourseId, feedbackSessionName, courseId, instructorEmail);
     }
     
+    /**
+     * Creates the copies of a feedback session in the given courses, and schedules
+     * the copying of its questions to each copy. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public List<FeedbackSessionAttributes> copyFeedbackSessionToCourses(String copiedFeedbackSessionName,
+                                                                        List<String> copiedCourseIds,
+                                                                        String feedbackSessionName,
+                                                                        String courseId,
+                                                                        String instructorEmail)
+            throws EntityAlreadyExistsException, InvalidParametersException, EntityDoesNotExistException {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, copiedFeedbackSessionName);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, copiedCourseIds);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackSessionName);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, instructorEmail);
+        
+        return feedbackSessionsLogic.copyFeedbackSessionToCourses(copiedFeedbackSessionName, copiedCourseIds,
+                                                                  feedbackSessionName, courseId, instructorEmail);
+    }
+    
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return true if all the questions of a copy made by {@link #copyFeedbackSessionToCourses} have been copied
+     */
+    public boolean isFeedbackSessionCopyCompleted(String copiedFeedbackSessionName, String copiedCourseId,
+                                                  String feedbackSessionName, String courseId)
+            throws EntityDoesNotExistException {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, copiedFeedbackSessionName);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, copiedCourseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackSessionName);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        
+        return feedbackSessionsLogic.isFeedbackSessionCopyCompleted(copiedFeedbackSessionName, copiedCourseId,
+                                                                    feedbackSessionName, courseId);
+    }
+    
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return true if the questions of a copy made by {@link #copyFeedbackSessionToCourses} have not all been
+     *         copied long after the copy was made, i.e. the copying has given up
+     */
+    public boolean isFeedbackSessionCopyFailed(String copiedFeedbackSessionName, String copiedCourseId,
+                                               String feedbackSessionName, String courseId)
+            throws EntityDoesNotExistException {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, copiedFeedbackSessionName);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, copiedCourseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackSessionName);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        
+        return feedbackSessionsLogic.isFeedbackSessionCopyFailed(copiedFeedbackSessionName, copiedCourseId,
+                                                                 feedbackSessionName, courseId);
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -1370,6 +1507,15 @@ public class Logic {
         return feedbackSessionsLogic.getFeedbackSessionsForCourse(courseId);
     }
     
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public List<FeedbackSessionAttributes> getFeedbackSessionsForCourses(List<String> courseIds) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseIds);
+        return feedbackSessionsLogic.getFeedbackSessionsForCourses(courseIds);
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -1574,6 +1720,21 @@ public class Logic {
         return feedbackSessionsLogic.isFeedbackSessionCompletedByStudent(fsa, studentEmail);
     }
     
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null. <br>
+     * * The student with the Google ID is enrolled in the courses of all the sessions.
+     * @return whether the student has submitted each of the sessions, keyed by session
+     */
+    public Map<FeedbackSessionAttributes, Boolean> getFeedbackSessionsSubmissionStatusForStudent(
+            List<FeedbackSessionAttributes> sessions, String googleId) {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, sessions);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, googleId);
+        
+        return feedbackSessionsLogic.getFeedbackSessionsCompletionStatusForStudent(sessions, googleId);
+    }
+    
     /**
      * Updates the details of a feedback session <br>
      * Does not affect the questions and responses associated with it.
@@ -1682,6 +1843,20 @@ public class Logic {
         feedbackSessionsLogic.deleteFeedbackSessionCascade(feedbackSessionName, courseId);
     }
     
+    /**
+     * Deletes the feedback session and schedules its questions, responses and
+     * response comments to be deleted in the background. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void deleteFeedbackSessionInBackground(String feedbackSessionName, String courseId) {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackSessionName);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+
+        feedbackSessionsLogic.deleteFeedbackSessionCascadeInBackground(feedbackSessionName, courseId);
+    }
+    
     
     /**
      * Preconditions: <br>
@@ -2200,6 +2375,19 @@ public class Logic {
         return feedbackResponseCommentsLogic.getFeedbackResponseCommentsForSendingState(courseId, state);
     }
     
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the number of response comments in the course with the given sending state
+     * @throws EntityDoesNotExistException when the course with given courseId doesn't exist
+     */
+    public int getFeedbackResponseCommentsCountForSendingState(String courseId, CommentSendingState state)
+            throws EntityDoesNotExistException {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        return feedbackResponseCommentsLogic.getFeedbackResponseCommentsCountForSendingState(courseId, state);
+    }
+    
     /**
      * Create or update document for the given FeedbackResponseComment
      * @param comment to be put into documents
@@ -2208,6 +2396,18 @@ public class Logic {
         feedbackResponseCommentsLogic.putDocument(comment);
     }
     
+    /**
+     * Create or update documents for the given FeedbackResponseComments,
+     * looking up the entities related to the comments in batch.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @param comments to be put into documents
+     */
+    public void putDocuments(List<FeedbackResponseCommentAttributes> comments) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, comments);
+        feedbackResponseCommentsLogic.putDocuments(comments);
+    }
+    
     /**
      * Remove document for the given FeedbackResponseComment
      * @param comment to be removed from documents
@@ -2480,6 +2680,19 @@ public class Logic {
         return commentsLogic.getCommentsForSendingState(courseId, sendingState);
     }
     
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the number of comments in the course with the given sending state
+     * @throws EntityDoesNotExistException when the course with given courseId doesn't exist
+     */
+    public int getCommentsCountForSendingState(String courseId, CommentSendingState sendingState)
+            throws EntityDoesNotExistException {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        return commentsLogic.getCommentsCountForSendingState(courseId, sendingState);
+    }
+    
     /**
      * @see CommentsLogic#sendCommentNotification(String)
      */
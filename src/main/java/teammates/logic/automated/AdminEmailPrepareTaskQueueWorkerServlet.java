@@ -2,24 +2,25 @@ package teammates.logic.automated;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
-import teammates.common.datatransfer.AdminEmailAttributes;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.Const.ParamsNames;
 import teammates.common.util.Const.SystemParams;
 import teammates.common.util.GoogleCloudStorageHelper;
+import teammates.common.util.GroupReceiverListReader;
 import teammates.common.util.HttpRequestHelper;
 import teammates.logic.core.AdminEmailsLogic;
 import teammates.logic.core.TaskQueuesLogic;
 
 import com.google.appengine.api.blobstore.BlobKey;
+import com.google.appengine.api.taskqueue.QueueConstants;
 import com.google.apphosting.api.ApiProxy;
 
 /**
@@ -28,11 +29,16 @@ import com.google.apphosting.api.ApiProxy;
  * 
  * 1. Address Mode: receiver emails are retrieved from receiver list string
  * 2. Group Mode: receiver emails are retrieved from a txt file uploaded into Google Cloud Storage.
+ *    The file is split into shards of a fixed size which are prepared in parallel by separate tasks,
+ *    each streaming its part of the file.
+ * 
+ * The admin email tasks only carry the id of the email, not its subject or content.
  */
 @SuppressWarnings("serial")
 public class AdminEmailPrepareTaskQueueWorkerServlet extends WorkerServlet {
     
-    private List<List<String>> processedReceiverEmails = new ArrayList<List<String>>();
+    /** The size in bytes of the part of the group receiver list file prepared by each task. */
+    private static final long RECEIVER_LIST_SHARD_SIZE = 64 * 1024;
     
     //param needed for sending small number of emails
     private String addressReceiverListString;
@@ -74,25 +80,21 @@ public class AdminEmailPrepareTaskQueueWorkerServlet extends WorkerServlet {
                             req, ParamsNames.ADMIN_EMAIL_GROUP_RECEIVER_LIST_FILE_KEY);
             Assumption.assertNotNull(groupReceiverListFileKey);
             
-            String indexOfEmailListToResumeAsString =
+            String startOffsetAsString =
                     HttpRequestHelper.getValueFromRequestParameterMap(
-                            req, ParamsNames.ADMIN_GROUP_RECEIVER_EMAIL_LIST_INDEX);
-            String indexOfEmailToResumeAsString =
+                            req, ParamsNames.ADMIN_GROUP_RECEIVER_LIST_START_OFFSET);
+            String endOffsetAsString =
                     HttpRequestHelper.getValueFromRequestParameterMap(
-                            req, ParamsNames.ADMIN_GROUP_RECEIVER_EMAIL_INDEX);
+                            req, ParamsNames.ADMIN_GROUP_RECEIVER_LIST_END_OFFSET);
+            
+            if (startOffsetAsString == null || endOffsetAsString == null) {
+                splitGroupReceiverListIntoShards();
+                return;
+            }
             
-            int indexOfEmailListToResume = indexOfEmailListToResumeAsString == null
-                                           ? 0
-                                           : Integer.parseInt(indexOfEmailListToResumeAsString);
-            int indexOfEmailToResume = indexOfEmailToResumeAsString == null
-                                       ? 0
-                                       : Integer.parseInt(indexOfEmailToResumeAsString);
-  
             try {
-                processedReceiverEmails =
-                        GoogleCloudStorageHelper.getGroupReceiverList(new BlobKey(groupReceiverListFileKey));
-                addAdminEmailToTaskQueue(emailId, indexOfEmailListToResume, indexOfEmailToResume);
-    
+                addAdminEmailToTaskQueue(emailId, Long.parseLong(startOffsetAsString),
+                                         Long.parseLong(endOffsetAsString));
             } catch (IOException e) {
                 log.severe("Unexpected error while adding admin email tasks" + e.getMessage());
             }
@@ -106,110 +108,94 @@ public class AdminEmailPrepareTaskQueueWorkerServlet extends WorkerServlet {
         return timeLeftInMillis / 1000 < 100;
     }
     
-    private void pauseAndCreateAnNewTask(int indexOfEmailList, int indexOfEmail) {
-        TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
+    private void splitGroupReceiverListIntoShards() {
+        long fileSize = GoogleCloudStorageHelper.getFileSize(new BlobKey(groupReceiverListFileKey));
+        
+        List<Map<String, String>> paramMaps = new ArrayList<Map<String, String>>();
+        for (long startOffset = 0; startOffset < fileSize; startOffset += RECEIVER_LIST_SHARD_SIZE) {
+            paramMaps.add(getShardParamMap(startOffset, Math.min(startOffset + RECEIVER_LIST_SHARD_SIZE, fileSize)));
+        }
         
+        TaskQueuesLogic.inst().createAndAddTasks(SystemParams.ADMIN_PREPARE_EMAIL_TASK_QUEUE,
+                                                 Const.ActionURIs.ADMIN_EMAIL_PREPARE_TASK_QUEUE_WORKER, paramMaps);
+        log.info("Split group receiver list of mail with id " + emailId + " into " + paramMaps.size() + " shards");
+    }
+    
+    private Map<String, String> getShardParamMap(long startOffset, long endOffset) {
         HashMap<String, String> paramMap = new HashMap<String, String>();
         paramMap.put(ParamsNames.ADMIN_EMAIL_ID, emailId);
         paramMap.put(ParamsNames.ADMIN_EMAIL_GROUP_RECEIVER_LIST_FILE_KEY, groupReceiverListFileKey);
-        paramMap.put(ParamsNames.ADMIN_GROUP_RECEIVER_EMAIL_LIST_INDEX, Integer.toString(indexOfEmailList));
-        paramMap.put(ParamsNames.ADMIN_GROUP_RECEIVER_EMAIL_INDEX, Integer.toString(indexOfEmail));
+        paramMap.put(ParamsNames.ADMIN_GROUP_RECEIVER_LIST_START_OFFSET, Long.toString(startOffset));
+        paramMap.put(ParamsNames.ADMIN_GROUP_RECEIVER_LIST_END_OFFSET, Long.toString(endOffset));
         paramMap.put(ParamsNames.ADMIN_EMAIL_TASK_QUEUE_MODE, Const.ADMIN_EMAIL_TASK_QUEUE_GROUP_MODE);
-        
-        taskQueueLogic.createAndAddTask(SystemParams.ADMIN_PREPARE_EMAIL_TASK_QUEUE,
-                                        Const.ActionURIs.ADMIN_EMAIL_PREPARE_TASK_QUEUE_WORKER, paramMap);
-                
+        return paramMap;
+    }
+    
+    private Map<String, String> getEmailParamMap(String receiverEmail) {
+        HashMap<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(ParamsNames.ADMIN_EMAIL_ID, emailId);
+        paramMap.put(ParamsNames.ADMIN_EMAIL_RECEIVER, receiverEmail);
+        return paramMap;
     }
     
     private void addAdminEmailToTaskQueue(String emailId) {
         
-        AdminEmailAttributes adminEmail = AdminEmailsLogic.inst().getAdminEmailById(emailId);
-        Assumption.assertNotNull(adminEmail);
-        TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
-        List<String> addressList = new ArrayList<String>();
+        Assumption.assertNotNull(AdminEmailsLogic.inst().getAdminEmailById(emailId));
         
-        if (addressReceiverListString.contains(",")) {
-            addressList.addAll(Arrays.asList(addressReceiverListString.split(",")));
-        } else {
-            addressList.add(addressReceiverListString);
+        List<Map<String, String>> paramMaps = new ArrayList<Map<String, String>>();
+        for (String emailAddress : addressReceiverListString.split(",")) {
+            paramMaps.add(getEmailParamMap(emailAddress));
         }
         
-        for (String emailAddress : addressList) {
-            HashMap<String, String> paramMap = new HashMap<String, String>();
-            paramMap.put(ParamsNames.ADMIN_EMAIL_ID, emailId);
-            paramMap.put(ParamsNames.ADMIN_EMAIL_RECEIVER, emailAddress);
-            paramMap.put(ParamsNames.ADMIN_EMAIL_SUBJECT, adminEmail.getSubject());
-            paramMap.put(ParamsNames.ADMIN_EMAIL_CONTENT, adminEmail.getContent().getValue());
-            
-            try {
-                taskQueueLogic.createAndAddTask(SystemParams.ADMIN_EMAIL_TASK_QUEUE,
-                                                Const.ActionURIs.ADMIN_EMAIL_WORKER, paramMap);
-            } catch (IllegalArgumentException e) {
-                if (e.getMessage().toLowerCase().contains("task size too large")) {
-                    log.info("Email task size exceeds max limit. Switching to large email task mode.");
-                    paramMap.remove(ParamsNames.ADMIN_EMAIL_SUBJECT);
-                    paramMap.remove(ParamsNames.ADMIN_EMAIL_CONTENT);
-                    taskQueueLogic.createAndAddTask(SystemParams.ADMIN_EMAIL_TASK_QUEUE,
-                                                    Const.ActionURIs.ADMIN_EMAIL_WORKER, paramMap);
-                }
-            }
-               
-        }
-
+        TaskQueuesLogic.inst().createAndAddTasks(SystemParams.ADMIN_EMAIL_TASK_QUEUE,
+                                                 Const.ActionURIs.ADMIN_EMAIL_WORKER, paramMaps);
     }
     
-    private void addAdminEmailToTaskQueue(String emailId, int indexOfEmailListToResume, int indexOfEmailToResume) {
+    private void addAdminEmailToTaskQueue(String emailId, long startOffset, long endOffset) throws IOException {
         
-        AdminEmailAttributes adminEmail = AdminEmailsLogic.inst().getAdminEmailById(emailId);
-        Assumption.assertNotNull(adminEmail);
+        Assumption.assertNotNull(AdminEmailsLogic.inst().getAdminEmailById(emailId));
         TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
         
-        log.info("Resume Adding group mail tasks for mail with id " + emailId + "from list index: "
-                + indexOfEmailListToResume + " email index: " + indexOfEmailToResume);
-        
-        int indexOfLastEmailList = 0;
-        int indexOfLastEmail = 0;
-        
-        for (int i = indexOfEmailListToResume; i < processedReceiverEmails.size(); i++) {
-            
-            List<String> currentEmailList = processedReceiverEmails.get(i);
-            
-            for (int j = indexOfEmailToResume; j < currentEmailList.size(); j++) {
-                String receiverEmail = currentEmailList.get(j);
-                
-                HashMap<String, String> paramMap = new HashMap<String, String>();
-                paramMap.put(ParamsNames.ADMIN_EMAIL_ID, emailId);
-                paramMap.put(ParamsNames.ADMIN_EMAIL_RECEIVER, receiverEmail);
-                paramMap.put(ParamsNames.ADMIN_EMAIL_SUBJECT, adminEmail.getSubject());
-                paramMap.put(ParamsNames.ADMIN_EMAIL_CONTENT, adminEmail.getContent().getValue());
+        log.info("Resume Adding group mail tasks for mail with id " + emailId + " from offset: "
+                + startOffset + " to offset: " + endOffset);
+        
+        GroupReceiverListReader reader =
+                new GroupReceiverListReader(new BlobKey(groupReceiverListFileKey), startOffset, endOffset);
+        int numberOfReceivers = 0;
+        try {
+            List<Map<String, String>> paramMaps = new ArrayList<Map<String, String>>();
+            String receiverEmail = reader.readNextReceiver();
+            while (receiverEmail != null) {
+                paramMaps.add(getEmailParamMap(receiverEmail));
+                numberOfReceivers++;
                 
-                try {
-                    taskQueueLogic.createAndAddTask(SystemParams.ADMIN_EMAIL_TASK_QUEUE,
-                                                    Const.ActionURIs.ADMIN_EMAIL_WORKER, paramMap);
-                } catch (IllegalArgumentException e) {
-                    if (e.getMessage().toLowerCase().contains("task size too large")) {
-                        log.info("Email task size exceeds max limit. Switching to large email task mode.");
-                        paramMap.remove(ParamsNames.ADMIN_EMAIL_SUBJECT);
-                        paramMap.remove(ParamsNames.ADMIN_EMAIL_CONTENT);
-                        taskQueueLogic.createAndAddTask(SystemParams.ADMIN_EMAIL_TASK_QUEUE,
-                                                        Const.ActionURIs.ADMIN_EMAIL_WORKER, paramMap);
+                if (paramMaps.size() == QueueConstants.maxTasksPerAdd()) {
+                    taskQueueLogic.createAndAddTasks(SystemParams.ADMIN_EMAIL_TASK_QUEUE,
+                                                     Const.ActionURIs.ADMIN_EMAIL_WORKER, paramMaps);
+                    paramMaps.clear();
+                    
+                    if (isNearDeadline()) {
+                        taskQueueLogic.createAndAddTask(SystemParams.ADMIN_PREPARE_EMAIL_TASK_QUEUE,
+                                                        Const.ActionURIs.ADMIN_EMAIL_PREPARE_TASK_QUEUE_WORKER,
+                                                        getShardParamMap(reader.getOffset(), endOffset));
+                        log.info("Adding group mail tasks for mail with id " + emailId
+                                 + " have been paused with offset: " + reader.getOffset() + " after "
+                                 + numberOfReceivers + " email addresses");
+                        return;
                     }
                 }
                 
-                if (isNearDeadline()) {
-                    pauseAndCreateAnNewTask(i, j);
-                    log.info("Adding group mail tasks for mail with id " + emailId
-                             + " have been paused with list index: " + i + " email index: " + j);
-                    return;
-                }
-                
-                indexOfLastEmail = j;
+                receiverEmail = reader.readNextReceiver();
             }
-            indexOfLastEmailList = i;
+            
+            taskQueueLogic.createAndAddTasks(SystemParams.ADMIN_EMAIL_TASK_QUEUE,
+                                             Const.ActionURIs.ADMIN_EMAIL_WORKER, paramMaps);
+        } finally {
+            reader.close();
         }
         
         log.info("Adding Group mail tasks for mail with id " + emailId
-                + "was complete. List index : " + indexOfLastEmailList
-                + " Email index: " + indexOfLastEmail);
+                + " was complete. Offset: " + reader.getOffset() + ". " + numberOfReceivers
+                + " email addresses retrieved from the group receiver list");
     }
 }
@@ -15,7 +15,8 @@ import teammates.logic.core.EmailGenerator;
 import teammates.logic.core.EmailSender;
 
 /**
- * Retrieves admin email content and subject by email id and sends email to the receiver
+ * Retrieves admin email content and subject by email id and sends email to the receiver.
+ * The tasks only carry the email id so that they stay small however long the email is.
  */
 @SuppressWarnings("serial")
 public class AdminEmailWorkerServlet extends WorkerServlet {
@@ -30,22 +31,11 @@ public class AdminEmailWorkerServlet extends WorkerServlet {
         String receiverEmail = HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.ADMIN_EMAIL_RECEIVER);
         Assumption.assertNotNull(receiverEmail);
         
-
-        
-        String emailContent = HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.ADMIN_EMAIL_CONTENT);
-        String emailSubject = HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.ADMIN_EMAIL_SUBJECT);
-        
-        if (emailContent == null || emailSubject == null) {
-            log.info("Sending large email. Going to retrieve email content and subject from datastore.");
-            AdminEmailAttributes adminEmail = AdminEmailsLogic.inst().getAdminEmailById(emailId);
-            Assumption.assertNotNull(adminEmail);
-
-            emailContent = adminEmail.getContent().getValue();
-            emailSubject = adminEmail.getSubject();
-        }
+        AdminEmailAttributes adminEmail = AdminEmailsLogic.inst().getAdminEmailById(emailId);
+        Assumption.assertNotNull(adminEmail);
         
-        Assumption.assertNotNull(emailContent);
-        Assumption.assertNotNull(emailSubject);
+        String emailContent = adminEmail.getContent().getValue();
+        String emailSubject = adminEmail.getSubject();
         
         try {
             EmailWrapper email =
@@ -0,0 +1,95 @@
+package teammates.logic.automated;
+
+import java.util.HashMap;
+
+import javax.servlet.http.HttpServletRequest;
+
+import teammates.common.util.Assumption;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.HttpRequestHelper;
+import teammates.logic.core.CascadeDeletionLogic;
+import teammates.logic.core.CascadeDeletionLogic.Stage;
+
+import com.google.apphosting.api.ApiProxy;
+
+/**
+ * Deletes the data of a deleted course or feedback session in batches, starting from the stage and cursor
+ * reached by the previous task. When the request is close to its deadline, the deletion is handed over
+ * to a new task that continues from where this one stopped. The course or session stays marked as
+ * pending deletion, and cannot be created again, until the last stage is done.
+ */
+public class CascadeDeletionAction extends TaskQueueWorkerAction {
+    private String courseId;
+    private String feedbackSessionName;
+    private Stage stage;
+    private String cursor;
+    
+    public CascadeDeletionAction(HttpServletRequest request) {
+        super(request);
+        
+        this.courseId = HttpRequestHelper.getValueFromRequestParameterMap(request, ParamsNames.COURSE_ID);
+        Assumption.assertNotNull(courseId);
+        
+        this.feedbackSessionName = HttpRequestHelper
+                .getValueFromRequestParameterMap(request, ParamsNames.FEEDBACK_SESSION_NAME);
+        
+        String stageName = HttpRequestHelper
+                .getValueFromRequestParameterMap(request, ParamsNames.CASCADE_DELETION_STAGE);
+        Assumption.assertNotNull(stageName);
+        this.stage = Stage.valueOf(stageName);
+        
+        this.cursor = HttpRequestHelper.getValueFromRequestParameterMap(request, ParamsNames.CASCADE_DELETION_CURSOR);
+    }
+    
+    public CascadeDeletionAction(HashMap<String, String> paramMap) {
+        super(null);
+        
+        this.courseId = paramMap.get(ParamsNames.COURSE_ID);
+        Assumption.assertNotNull(courseId);
+        
+        this.feedbackSessionName = paramMap.get(ParamsNames.FEEDBACK_SESSION_NAME);
+        
+        String stageName = paramMap.get(ParamsNames.CASCADE_DELETION_STAGE);
+        Assumption.assertNotNull(stageName);
+        this.stage = Stage.valueOf(stageName);
+        
+        this.cursor = paramMap.get(ParamsNames.CASCADE_DELETION_CURSOR);
+    }
+    
+    @Override
+    public boolean execute() {
+        log.info("Deleting the data of " + getDeletedEntityDescription() + " from stage " + stage);
+        
+        CascadeDeletionLogic cascadeDeletionLogic = CascadeDeletionLogic.inst();
+        while (stage != null) {
+            if (isNearDeadline()) {
+                cascadeDeletionLogic.scheduleDataDeletion(courseId, feedbackSessionName, stage, cursor);
+                log.info("Deleting the data of " + getDeletedEntityDescription()
+                         + " has been paused at stage " + stage);
+                return true;
+            }
+            
+            cursor = cascadeDeletionLogic.deleteBatch(courseId, feedbackSessionName, stage, cursor);
+            if (cursor == null) {
+                stage = cascadeDeletionLogic.getNextStage(feedbackSessionName, stage);
+            }
+        }
+        
+        // the course or session cannot be created again until all its data has been deleted
+        cascadeDeletionLogic.finishDataDeletion(courseId, feedbackSessionName);
+        log.info("Deleted the data of " + getDeletedEntityDescription());
+        return true;
+    }
+    
+    private boolean isNearDeadline() {
+        long timeLeftInMillis = ApiProxy.getCurrentEnvironment().getRemainingMillis();
+        return timeLeftInMillis / 1000 < 100;
+    }
+    
+    private String getDeletedEntityDescription() {
+        return feedbackSessionName == null
+               ? "course " + courseId
+               : "feedback session " + feedbackSessionName + " in course " + courseId;
+    }
+    
+}
@@ -0,0 +1,51 @@
+package teammates.logic.automated;
+
+import java.util.HashMap;
+
+import javax.servlet.http.HttpServletRequest;
+
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.HttpRequestHelper;
+import teammates.logic.core.FeedbackQuestionsLogic;
+import teammates.logic.core.FeedbackResponsesLogic;
+
+/**
+ * Rebuilds the stored statistics of a feedback question from all its responses,
+ * to repair statistics which are outdated or were never built.
+ */
+public class FeedbackQuestionStatisticsRebuildAction extends TaskQueueWorkerAction {
+    private String feedbackQuestionId;
+    
+    public FeedbackQuestionStatisticsRebuildAction(HttpServletRequest request) {
+        super(request);
+        
+        this.feedbackQuestionId = HttpRequestHelper
+                .getValueFromRequestParameterMap(request, ParamsNames.FEEDBACK_QUESTION_ID);
+        Assumption.assertNotNull(feedbackQuestionId);
+    }
+    
+    public FeedbackQuestionStatisticsRebuildAction(HashMap<String, String> paramMap) {
+        super(null);
+        
+        this.feedbackQuestionId = paramMap.get(ParamsNames.FEEDBACK_QUESTION_ID);
+        Assumption.assertNotNull(feedbackQuestionId);
+    }
+    
+    @Override
+    public boolean execute() {
+        log.info("Rebuilding the statistics of feedback question : " + feedbackQuestionId);
+        
+        FeedbackQuestionAttributes question = FeedbackQuestionsLogic.inst().getFeedbackQuestion(feedbackQuestionId);
+        if (question == null) {
+            // the question was deleted together with its statistics
+            log.info("Feedback question does not exist : " + feedbackQuestionId);
+            return true;
+        }
+        
+        FeedbackResponsesLogic.inst().rebuildFeedbackQuestionStatistics(question);
+        return true;
+    }
+    
+}
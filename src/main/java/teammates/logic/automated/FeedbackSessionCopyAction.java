@@ -0,0 +1,85 @@
+package teammates.logic.automated;
+
+import java.util.HashMap;
+
+import javax.servlet.http.HttpServletRequest;
+
+import teammates.common.exception.EntityDoesNotExistException;
+import teammates.common.exception.InvalidParametersException;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.HttpRequestHelper;
+import teammates.logic.core.FeedbackSessionsLogic;
+
+/**
+ * Copies the questions of a feedback session to one of its copies, which was created
+ * when the session was copied to several courses at once.
+ */
+public class FeedbackSessionCopyAction extends TaskQueueWorkerAction {
+    private String copiedFeedbackSessionName;
+    private String copiedCourseId;
+    private String feedbackSessionName;
+    private String courseId;
+    private String instructorEmail;
+    
+    public FeedbackSessionCopyAction(HttpServletRequest request) {
+        super(request);
+        
+        this.copiedFeedbackSessionName = HttpRequestHelper
+                .getValueFromRequestParameterMap(request, ParamsNames.COPIED_FEEDBACK_SESSION_NAME);
+        Assumption.assertNotNull(copiedFeedbackSessionName);
+        
+        this.copiedCourseId = HttpRequestHelper.getValueFromRequestParameterMap(request, ParamsNames.COPIED_COURSE_ID);
+        Assumption.assertNotNull(copiedCourseId);
+        
+        this.feedbackSessionName = HttpRequestHelper
+                .getValueFromRequestParameterMap(request, ParamsNames.FEEDBACK_SESSION_NAME);
+        Assumption.assertNotNull(feedbackSessionName);
+        
+        this.courseId = HttpRequestHelper.getValueFromRequestParameterMap(request, ParamsNames.COURSE_ID);
+        Assumption.assertNotNull(courseId);
+        
+        this.instructorEmail = HttpRequestHelper.getValueFromRequestParameterMap(request, ParamsNames.INSTRUCTOR_EMAIL);
+        Assumption.assertNotNull(instructorEmail);
+    }
+    
+    public FeedbackSessionCopyAction(HashMap<String, String> paramMap) {
+        super(null);
+        
+        this.copiedFeedbackSessionName = paramMap.get(ParamsNames.COPIED_FEEDBACK_SESSION_NAME);
+        Assumption.assertNotNull(copiedFeedbackSessionName);
+        
+        this.copiedCourseId = paramMap.get(ParamsNames.COPIED_COURSE_ID);
+        Assumption.assertNotNull(copiedCourseId);
+        
+        this.feedbackSessionName = paramMap.get(ParamsNames.FEEDBACK_SESSION_NAME);
+        Assumption.assertNotNull(feedbackSessionName);
+        
+        this.courseId = paramMap.get(ParamsNames.COURSE_ID);
+        Assumption.assertNotNull(courseId);
+        
+        this.instructorEmail = paramMap.get(ParamsNames.INSTRUCTOR_EMAIL);
+        Assumption.assertNotNull(instructorEmail);
+    }
+    
+    @Override
+    public boolean execute() {
+        log.info("Copying the questions of feedback session " + feedbackSessionName + " in course " + courseId
+                 + " to feedback session " + copiedFeedbackSessionName + " in course " + copiedCourseId);
+        
+        try {
+            FeedbackSessionsLogic.inst().copyFeedbackQuestionsToCopiedSession(
+                    copiedFeedbackSessionName, copiedCourseId, feedbackSessionName, courseId, instructorEmail);
+        } catch (InvalidParametersException e) {
+            // copying again will not make the questions valid
+            log.severe("Failed to copy the questions of feedback session " + feedbackSessionName + " in course "
+                       + courseId + " : " + e.getMessage());
+        } catch (EntityDoesNotExistException e) {
+            // the session was deleted after it was copied, so there are no questions to copy
+            log.warning("Failed to copy the questions of feedback session " + feedbackSessionName + " in course "
+                        + courseId + " : " + e.getMessage());
+        }
+        return true;
+    }
+    
+}
@@ -32,11 +32,13 @@ import teammates.logic.api.Logic;
 import teammates.storage.api.AccountsDb;
 import teammates.storage.api.CommentsDb;
 import teammates.storage.api.CoursesDb;
+import teammates.storage.api.FeedbackQuestionStatisticsDb;
 import teammates.storage.api.FeedbackQuestionsDb;
 import teammates.storage.api.FeedbackResponseCommentsDb;
 import teammates.storage.api.FeedbackResponsesDb;
 import teammates.storage.api.FeedbackSessionsDb;
 import teammates.storage.api.InstructorsDb;
+import teammates.storage.api.PendingDeletionsDb;
 import teammates.storage.api.StudentsDb;
 
 import com.google.appengine.api.blobstore.BlobKey;
@@ -50,7 +52,9 @@ public class BackDoorLogic extends Logic {
     private static final FeedbackSessionsDb fbDb = new FeedbackSessionsDb();
     private static final FeedbackQuestionsDb fqDb = new FeedbackQuestionsDb();
     private static final FeedbackResponsesDb frDb = new FeedbackResponsesDb();
+    private static final FeedbackQuestionStatisticsDb fqsDb = new FeedbackQuestionStatisticsDb();
     private static final FeedbackResponseCommentsDb fcDb = new FeedbackResponseCommentsDb();
+    private static final PendingDeletionsDb pendingDeletionsDb = new PendingDeletionsDb();
     
     public String putDocumentsForStudents(DataBundle dataBundle) {
         for (StudentAttributes student : dataBundle.students.values()) {
@@ -250,11 +254,13 @@ public class BackDoorLogic extends Logic {
         }
         
         Map<String, FeedbackResponseCommentAttributes> responseComments = dataBundle.feedbackResponseComments;
+        List<FeedbackResponseCommentAttributes> responseCommentsInDb = new ArrayList<FeedbackResponseCommentAttributes>();
         for (FeedbackResponseCommentAttributes responseComment : responseComments.values()) {
             FeedbackResponseCommentAttributes fcInDb = fcDb.getFeedbackResponseComment(
                     responseComment.courseId, responseComment.createdAt, responseComment.giverEmail);
-            fcDb.putDocument(fcInDb);
+            responseCommentsInDb.add(fcInDb);
         }
+        fcDb.putDocuments(responseCommentsInDb);
         
         Map<String, CommentAttributes> comments = dataBundle.comments;
         for (CommentAttributes comment : comments.values()) {
@@ -470,7 +476,10 @@ public class BackDoorLogic extends Logic {
             fbDb.deleteFeedbackSessionsForCourses(courseIds);
             fqDb.deleteFeedbackQuestionsForCourses(courseIds);
             frDb.deleteFeedbackResponsesForCourses(courseIds);
+            fqsDb.deleteFeedbackQuestionStatisticsForCourses(courseIds);
             fcDb.deleteFeedbackResponseCommentsForCourses(courseIds);
+            // all the data of the courses is gone, including any left by deletions in the background
+            pendingDeletionsDb.deletePendingDeletionsForCourses(courseIds);
         }
     }
 
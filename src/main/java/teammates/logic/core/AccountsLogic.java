@@ -1,5 +1,6 @@
 package teammates.logic.core;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -64,6 +65,10 @@ public class AccountsLogic {
         return accountsDb.getAccount(googleId, retrieveStudentProfile);
     }
     
+    public List<AccountAttributes> getAccounts(Collection<String> googleIds) {
+        return accountsDb.getAccounts(googleIds);
+    }
+    
     public boolean isAccountPresent(String googleId) {
         return accountsDb.getAccount(googleId) != null;
     }
@@ -0,0 +1,229 @@
+package teammates.logic.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.storage.api.PendingDeletionsDb;
+
+/**
+ * Deletes the data of a deleted course or feedback session in batches, one kind of data at a time,
+ * so that large courses and sessions can be deleted by tasks that each resume where the previous one stopped.<br>
+ * The course or session itself is expected to have been deleted already, so that it is removed from view
+ * while its data is being deleted. Until all its data has been deleted, the course or session is marked
+ * as pending deletion so that it cannot be created again and take over the data left.
+ */
+public class CascadeDeletionLogic {
+
+    /**
+     * The number of entities deleted in a batch, which is also the most search documents
+     * that can be deleted at a time.
+     */
+    public static final int BATCH_SIZE = 200;
+
+    /**
+     * The kinds of data deleted, in the order they are deleted. <br>
+     * Students are deleted first, as they keep a deleted course in the student search
+     * and in the course lists of the students until they are deleted.
+     */
+    public enum Stage {
+        STUDENTS,
+        COMMENTS,
+        FEEDBACK_RESPONSE_COMMENTS,
+        FEEDBACK_RESPONSES,
+        FEEDBACK_QUESTION_STATISTICS,
+        FEEDBACK_QUESTIONS
+    }
+
+    private static final Stage[] COURSE_STAGES = Stage.values();
+
+    private static final Stage[] FEEDBACK_SESSION_STAGES = {
+        Stage.FEEDBACK_RESPONSE_COMMENTS,
+        Stage.FEEDBACK_RESPONSES,
+        Stage.FEEDBACK_QUESTION_STATISTICS,
+        Stage.FEEDBACK_QUESTIONS
+    };
+
+    private static CascadeDeletionLogic instance;
+
+    private static final CommentsLogic commentsLogic = CommentsLogic.inst();
+    private static final FeedbackResponseCommentsLogic frcLogic = FeedbackResponseCommentsLogic.inst();
+    private static final FeedbackResponsesLogic frLogic = FeedbackResponsesLogic.inst();
+    private static final FeedbackQuestionStatisticsLogic fqsLogic = FeedbackQuestionStatisticsLogic.inst();
+    private static final FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
+    private static final StudentsLogic studentsLogic = StudentsLogic.inst();
+    private static final PendingDeletionsDb pendingDeletionsDb = new PendingDeletionsDb();
+
+    public static CascadeDeletionLogic inst() {
+        if (instance == null) {
+            instance = new CascadeDeletionLogic();
+        }
+        return instance;
+    }
+
+    /**
+     * Deletes the students, comments and feedback data of the course within the current request.
+     */
+    public void deleteCourseData(String courseId) {
+        deleteData(courseId, null);
+    }
+
+    /**
+     * Deletes the questions, responses and response comments of the session within the current request.
+     */
+    public void deleteFeedbackSessionData(String feedbackSessionName, String courseId) {
+        Assumption.assertNotNull(feedbackSessionName);
+        deleteData(courseId, feedbackSessionName);
+    }
+
+    /**
+     * Schedules the students, comments and feedback data of the course to be deleted
+     * by the cascade deletion queue.
+     * @see #markDataDeletionPending(String, String)
+     */
+    public void scheduleCourseDataDeletion(String courseId) {
+        scheduleDataDeletion(courseId, null, getFirstStage(null), null);
+    }
+
+    /**
+     * Schedules the questions, responses and response comments of the session to be deleted
+     * by the cascade deletion queue.
+     * @see #markDataDeletionPending(String, String)
+     */
+    public void scheduleFeedbackSessionDataDeletion(String feedbackSessionName, String courseId) {
+        Assumption.assertNotNull(feedbackSessionName);
+        scheduleDataDeletion(courseId, feedbackSessionName, getFirstStage(feedbackSessionName), null);
+    }
+
+    /**
+     * Schedules the deletion of the data of the course or session to continue from the given stage and cursor.
+     * @param feedbackSessionName {@code null} if the data of the whole course is deleted
+     * @param cursor {@code null} to start from the first batch of the stage
+     */
+    public void scheduleDataDeletion(String courseId, String feedbackSessionName, Stage stage, String cursor) {
+        Map<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(ParamsNames.COURSE_ID, courseId);
+        if (feedbackSessionName != null) {
+            paramMap.put(ParamsNames.FEEDBACK_SESSION_NAME, feedbackSessionName);
+        }
+        paramMap.put(ParamsNames.CASCADE_DELETION_STAGE, stage.name());
+        if (cursor != null) {
+            paramMap.put(ParamsNames.CASCADE_DELETION_CURSOR, cursor);
+        }
+
+        TaskQueuesLogic.inst().createAndAddTask(Const.SystemParams.CASCADE_DELETION_TASK_QUEUE,
+                                                Const.ActionURIs.CASCADE_DELETION_WORKER,
+                                                paramMap);
+    }
+
+    /**
+     * Marks the course or session as pending deletion, so that it cannot be created again
+     * until all its data has been deleted. To be called before the course or session itself is deleted
+     * and the deletion of its data is scheduled.
+     * @param feedbackSessionName {@code null} if the data of the whole course is to be deleted
+     */
+    public void markDataDeletionPending(String courseId, String feedbackSessionName) {
+        pendingDeletionsDb.putPendingDeletion(courseId, feedbackSessionName);
+    }
+
+    /**
+     * @param feedbackSessionName {@code null} to check the course
+     * @return true if the course or session has been deleted but not all its data has been deleted yet,
+     *         in which case it cannot be created again
+     */
+    public boolean isDataDeletionPending(String courseId, String feedbackSessionName) {
+        return pendingDeletionsDb.isPendingDeletion(courseId, feedbackSessionName);
+    }
+
+    /**
+     * Removes the pending deletion mark of the course or session once the last stage of the deletion
+     * of its data is done, so that it can be created again.
+     * @param feedbackSessionName {@code null} if the data of the whole course has been deleted
+     */
+    public void finishDataDeletion(String courseId, String feedbackSessionName) {
+        pendingDeletionsDb.deletePendingDeletion(courseId, feedbackSessionName);
+    }
+
+    /**
+     * @param feedbackSessionName {@code null} if the data of the whole course is deleted
+     * @return the stage from which the deletion of the data of the course or session starts
+     */
+    public Stage getFirstStage(String feedbackSessionName) {
+        return getStages(feedbackSessionName)[0];
+    }
+
+    /**
+     * @param feedbackSessionName {@code null} if the data of the whole course is deleted
+     * @return the stage after the given one, or {@code null} if the given stage is the last one
+     */
+    public Stage getNextStage(String feedbackSessionName, Stage stage) {
+        Stage[] stages = getStages(feedbackSessionName);
+        for (int i = 0; i < stages.length - 1; i++) {
+            if (stages[i] == stage) {
+                return stages[i + 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Deletes the next batch of the data of the stage.
+     * @param feedbackSessionName {@code null} if the data of the whole course is deleted
+     * @param cursor the cursor returned by the deletion of the previous batch of the stage,
+     *               or {@code null} for the first batch
+     * @return the cursor from which the next batch of the stage starts,
+     *         or {@code null} if all the data of the stage has been deleted
+     */
+    public String deleteBatch(String courseId, String feedbackSessionName, Stage stage, String cursor) {
+        Assumption.assertNotNull(courseId);
+        boolean isForSession = feedbackSessionName != null;
+
+        switch (stage) {
+        case COMMENTS:
+            Assumption.assertFalse(isForSession);
+            return commentsLogic.deleteCommentsBatchForCourse(courseId, cursor, BATCH_SIZE);
+        case FEEDBACK_RESPONSE_COMMENTS:
+            return isForSession
+                   ? frcLogic.deleteFeedbackResponseCommentsBatchForSession(feedbackSessionName, courseId,
+                                                                            cursor, BATCH_SIZE)
+                   : frcLogic.deleteFeedbackResponseCommentsBatchForCourse(courseId, cursor, BATCH_SIZE);
+        case FEEDBACK_RESPONSES:
+            return isForSession
+                   ? frLogic.deleteFeedbackResponsesBatchForSession(feedbackSessionName, courseId, cursor, BATCH_SIZE)
+                   : frLogic.deleteFeedbackResponsesBatchForCourse(courseId, cursor, BATCH_SIZE);
+        case FEEDBACK_QUESTION_STATISTICS:
+            return isForSession
+                   ? fqsLogic.deleteFeedbackQuestionStatisticsBatchForSession(feedbackSessionName, courseId,
+                                                                              cursor, BATCH_SIZE)
+                   : fqsLogic.deleteFeedbackQuestionStatisticsBatchForCourse(courseId, cursor, BATCH_SIZE);
+        case FEEDBACK_QUESTIONS:
+            return isForSession
+                   ? fqLogic.deleteFeedbackQuestionsBatchForSession(feedbackSessionName, courseId, cursor, BATCH_SIZE)
+                   : fqLogic.deleteFeedbackQuestionsBatchForCourse(courseId, cursor, BATCH_SIZE);
+        case STUDENTS:
+            Assumption.assertFalse(isForSession);
+            return studentsLogic.deleteStudentsBatchForCourse(courseId, cursor, BATCH_SIZE);
+        default:
+            Assumption.fail("Unknown cascade deletion stage: " + stage);
+            return null;
+        }
+    }
+
+    private void deleteData(String courseId, String feedbackSessionName) {
+        Stage stage = getFirstStage(feedbackSessionName);
+        String cursor = null;
+        while (stage != null) {
+            cursor = deleteBatch(courseId, feedbackSessionName, stage, cursor);
+            if (cursor == null) {
+                stage = getNextStage(feedbackSessionName, stage);
+            }
+        }
+    }
+
+    private Stage[] getStages(String feedbackSessionName) {
+        return feedbackSessionName == null ? COURSE_STAGES : FEEDBACK_SESSION_STAGES;
+    }
+
+}
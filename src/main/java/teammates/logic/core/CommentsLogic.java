@@ -8,12 +8,12 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import teammates.common.datatransfer.CommentAttributes;
 import teammates.common.datatransfer.CommentParticipantType;
 import teammates.common.datatransfer.CommentSearchResultBundle;
 import teammates.common.datatransfer.CommentSendingState;
-import teammates.common.datatransfer.CommentStatus;
 import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
@@ -26,7 +26,6 @@ import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Const;
 import teammates.common.util.EmailType;
-import teammates.common.util.Sanitizer;
 import teammates.storage.api.CommentsDb;
 import teammates.storage.api.InstructorsDb;
 import teammates.storage.api.StudentsDb;
@@ -36,8 +35,19 @@ import teammates.storage.api.StudentsDb;
  */
 public class CommentsLogic {
     
+    /**
+     * Comment notifications of a course requested within the same window are coalesced into one email task,
+     * which runs when the window ends and notifies the recipients of all the comments being sent by then.
+     */
+    public static final long COMMENT_NOTIFICATION_WINDOW_MILLIS = 60 * 1000;
+    
+    private static final String COMMENT_NOTIFICATION_TASK_NAME_PREFIX = "pendingCommentCleared-";
+    
     private static CommentsLogic instance;
 
+    private static final AtomicLong commentNotificationRequests = new AtomicLong();
+    private static final AtomicLong coalescedCommentNotificationRequests = new AtomicLong();
+
     private static final CommentsDb commentsDb = new CommentsDb();
 
     private static final CoursesLogic coursesLogic = CoursesLogic.inst();
@@ -158,6 +168,12 @@ public class CommentsLogic {
         return commentsDb.getCommentsForSendingState(courseId, sendingState);
     }
     
+    public int getCommentsCountForSendingState(String courseId, CommentSendingState sendingState)
+           throws EntityDoesNotExistException {
+        verifyIsCoursePresent(courseId, "get");
+        return commentsDb.getCommentsCountForSendingState(courseId, sendingState);
+    }
+    
     public void updateCommentsSendingState(String courseId, CommentSendingState oldState, CommentSendingState newState)
            throws EntityDoesNotExistException {
         verifyIsCoursePresent(courseId, "clear pending");
@@ -211,6 +227,14 @@ public class CommentsLogic {
         commentsDb.deleteCommentsForCourse(courseId);
     }
     
+    /**
+     * Deletes the next batch of the comments in the course, and their search documents.
+     * @return the cursor from which the next batch starts, or {@code null} if there are no more comments
+     */
+    public String deleteCommentsBatchForCourse(String courseId, String cursor, int batchSize) {
+        return commentsDb.deleteCommentsBatchForCourse(courseId, cursor, batchSize);
+    }
+    
     public void deleteCommentAndDocument(CommentAttributes comment) {
         this.deleteComment(comment);
         this.deleteDocument(comment);
@@ -268,24 +292,8 @@ public class CommentsLogic {
            throws EntityDoesNotExistException {
         verifyIsCoursePresent(instructor.courseId, "get");
         verifyIsInstructorOfCourse(instructor.courseId, instructor.email);
-        HashSet<String> commentsVisitedSet = new HashSet<String>();
-        
-        //When the given instructor is the comment giver,
-        List<CommentAttributes> comments = getCommentsForGiverAndStatus(instructor.courseId,
-                                                                        instructor.email,
-                                                                        CommentStatus.FINAL);
-        for (CommentAttributes c : comments) {
-            preventAppendingThisCommentAgain(commentsVisitedSet, c);
-        }
         
-        //When other giver's comments are visible to the given instructor
-        List<CommentAttributes> commentsForOtherInstructor = getCommentsForCommentViewer(instructor.courseId,
-                                                                 CommentParticipantType.INSTRUCTOR);
-        removeNonVisibleCommentsForInstructor(commentsForOtherInstructor, commentsVisitedSet, comments);
-        
-        java.util.Collections.sort(comments);
-        
-        return comments;
+        return commentsDb.getCommentVisibilityIndex(instructor.courseId).getCommentsForInstructor(instructor.email);
     }
     
     private void removeNonVisibleCommentsForInstructor(List<CommentAttributes> commentsForInstructor,
@@ -297,21 +305,6 @@ public class CommentsLogic {
         }
     }
     
-    private List<CommentAttributes> getCommentsForCommentViewer(String courseId,
-                                                                CommentParticipantType commentViewerType)
-                                                                throws EntityDoesNotExistException {
-        verifyIsCoursePresent(courseId, "get");
-        return commentsDb.getCommentsForCommentViewer(courseId, commentViewerType);
-    }
-    
-    private List<CommentAttributes> getCommentsForGiverAndStatus(String courseId,
-                                                                 String giverEmail,
-                                                                 CommentStatus status)
-                                                                 throws EntityDoesNotExistException {
-        verifyIsCoursePresent(courseId, "get");
-        return commentsDb.getCommentsForGiverAndStatus(courseId, giverEmail, status);
-    }
-    
     /************ Get Comments For a Student ************/
     
     /**
@@ -323,162 +316,12 @@ public class CommentsLogic {
     public List<CommentAttributes> getCommentsForStudent(StudentAttributes student)
            throws EntityDoesNotExistException {
         verifyIsCoursePresent(student.course, "get");
-        List<StudentAttributes> teammates = studentsLogic.getStudentsForTeam(student.team, student.course);
+        // teams do not span sections, so the teammates are among the students in the section
         List<StudentAttributes> studentsInTheSameSection = studentsLogic.getStudentsForSection(student.section,
                                                                                                student.course);
-        List<String> teammatesEmails = getTeammatesEmails(teammates);
-        List<String> sectionStudentsEmails = getSectionStudentsEmails(studentsInTheSameSection);
-        List<String> teamsInThisSection = getTeamsForSection(studentsInTheSameSection);
-
-        List<CommentAttributes> comments = new ArrayList<CommentAttributes>();
-        HashSet<String> commentsVisitedSet = new HashSet<String>();
-        
-        //Get comments sent to the given student
-        List<CommentAttributes> commentsForStudent = getCommentsForReceiver(student.course,
-                                                                            CommentParticipantType.PERSON,
-                                                                            student.email);
-        removeNonVisibleCommentsForStudent(commentsForStudent, commentsVisitedSet, comments);
-        
-        //Get comments visible to the given student's teammates
-        List<CommentAttributes> commentsForTeam = getCommentsForCommentViewer(student.course,
-                                                                              CommentParticipantType.TEAM);
-        removeNonVisibleCommentsForTeam(commentsForTeam, student, teammatesEmails, commentsVisitedSet, comments);
-        
-        //Get comments visible to the given student's section
-        List<CommentAttributes> commentsForSection = getCommentsForCommentViewer(student.course,
-                                                                                 CommentParticipantType.SECTION);
-        removeNonVisibleCommentsForSection(commentsForSection, student, teammatesEmails,
-                                           sectionStudentsEmails, teamsInThisSection,
-                                           commentsVisitedSet, comments);
-        
-        //Get comments visible to the whole course
-        List<CommentAttributes> commentsForCourse = getCommentsForCommentViewer(student.course,
-                                                                                CommentParticipantType.COURSE);
-        removeNonVisibleCommentsForCourse(commentsForCourse, student, teammatesEmails,
-                                          sectionStudentsEmails, teamsInThisSection,
-                                          commentsVisitedSet, comments);
-        
-        java.util.Collections.sort(comments);
-        
-        return comments;
-    }
-    
-    private List<String> getTeamsForSection(List<StudentAttributes> studentsInTheSameSection) {
-        List<String> teams = new ArrayList<String>();
-        for (StudentAttributes stu : studentsInTheSameSection) {
-            teams.add(stu.team);
-        }
-        return teams;
-    }
-
-    private List<String> getSectionStudentsEmails(List<StudentAttributes> studentsInTheSameSection) {
-        List<String> sectionStudentsEmails = new ArrayList<String>();
-        for (StudentAttributes stu : studentsInTheSameSection) {
-            sectionStudentsEmails.add(stu.email);
-        }
-        return sectionStudentsEmails;
-    }
-    
-    private List<String> getTeammatesEmails(List<StudentAttributes> teammates) {
-        List<String> teammatesEmails = new ArrayList<String>();
-        for (StudentAttributes teammate : teammates) {
-            teammatesEmails.add(teammate.email);
-        }
-        return teammatesEmails;
-    }
-
-    private void removeNonVisibleCommentsForCourse(List<CommentAttributes> commentsForCourse, StudentAttributes student,
-                                                   List<String> teammates, List<String> sectionStudentsEmails,
-                                                   List<String> teamsInThisSection, HashSet<String> commentsVisitedSet,
-                                                   List<CommentAttributes> comments) {
-        removeNonVisibleCommentsForSection(commentsForCourse, student, teammates,
-                                           sectionStudentsEmails, teamsInThisSection,
-                                           commentsVisitedSet, comments);
-        
-        for (CommentAttributes c : commentsForCourse) {
-            if (c.courseId.equals(student.course)) {
-                if (c.recipientType == CommentParticipantType.COURSE) {
-                    removeGiverNameByVisibilityOptions(c, CommentParticipantType.COURSE);
-                } else {
-                    removeGiverAndRecipientNameByVisibilityOptions(c, CommentParticipantType.COURSE);
-                }
-                appendComments(c, comments, commentsVisitedSet);
-            }
-        }
-    }
-    
-    private void removeNonVisibleCommentsForSection(List<CommentAttributes> commentsForSection,
-            StudentAttributes student, List<String> teammatesEmails, List<String> sectionStudentsEmails,
-            List<String> teamsInThisSection, HashSet<String> commentsVisitedSet, List<CommentAttributes> comments) {
-        removeNonVisibleCommentsForTeam(commentsForSection, student, teammatesEmails, commentsVisitedSet, comments);
         
-        for (CommentAttributes c : commentsForSection) {
-            //for teammates
-            if (c.recipientType == CommentParticipantType.PERSON
-                    && isCommentRecipientsWithinGroup(sectionStudentsEmails, c)) {
-                if (c.showCommentTo.contains(CommentParticipantType.SECTION)) {
-                    removeGiverAndRecipientNameByVisibilityOptions(c, CommentParticipantType.SECTION);
-                    appendComments(c, comments, commentsVisitedSet);
-                } else {
-                    preventAppendingThisCommentAgain(commentsVisitedSet, c);
-                }
-            //for team
-            } else if (c.recipientType == CommentParticipantType.TEAM
-                       && isCommentRecipientsWithinGroup(teamsInThisSection, c)) {
-                if (c.showCommentTo.contains(CommentParticipantType.SECTION)) {
-                    removeGiverNameByVisibilityOptions(c, CommentParticipantType.SECTION);
-                    appendComments(c, comments, commentsVisitedSet);
-                } else {
-                    preventAppendingThisCommentAgain(commentsVisitedSet, c);
-                }
-            //for section
-            } else if (c.recipientType == CommentParticipantType.SECTION && c.recipients.contains(student.section)) {
-                if (c.showCommentTo.contains(CommentParticipantType.SECTION)) {
-                    removeGiverNameByVisibilityOptions(c, CommentParticipantType.SECTION);
-                    appendComments(c, comments, commentsVisitedSet);
-                } else {
-                    preventAppendingThisCommentAgain(commentsVisitedSet, c);
-                }
-            }
-        }
-    }
-    
-    private void removeNonVisibleCommentsForTeam(List<CommentAttributes> commentsForTeam, StudentAttributes student,
-                                                 List<String> teammates, HashSet<String> commentsVisitedSet,
-                                                 List<CommentAttributes> comments) {
-        for (CommentAttributes c : commentsForTeam) {
-            //for teammates
-            if (c.recipientType == CommentParticipantType.PERSON && isCommentRecipientsWithinGroup(teammates, c)) {
-                if (c.showCommentTo.contains(CommentParticipantType.TEAM)) {
-                    removeGiverAndRecipientNameByVisibilityOptions(c, CommentParticipantType.TEAM);
-                    appendComments(c, comments, commentsVisitedSet);
-                } else {
-                    preventAppendingThisCommentAgain(commentsVisitedSet, c);
-                }
-            //for team
-            } else if (c.recipientType == CommentParticipantType.TEAM
-                       && c.recipients.contains(Sanitizer.sanitizeForHtml(student.team))) {
-                if (c.showCommentTo.contains(CommentParticipantType.TEAM)) {
-                    removeGiverNameByVisibilityOptions(c, CommentParticipantType.TEAM);
-                    appendComments(c, comments, commentsVisitedSet);
-                } else {
-                    preventAppendingThisCommentAgain(commentsVisitedSet, c);
-                }
-            }
-        }
-    }
-
-    private void removeNonVisibleCommentsForStudent(List<CommentAttributes> commentsForStudent,
-                                                    HashSet<String> commentsVisitedSet,
-                                                    List<CommentAttributes> comments) {
-        for (CommentAttributes c : commentsForStudent) {
-            if (c.showCommentTo.contains(CommentParticipantType.PERSON)) {
-                removeGiverNameByVisibilityOptions(c, CommentParticipantType.PERSON);
-                appendComments(c, comments, commentsVisitedSet);
-            } else {
-                preventAppendingThisCommentAgain(commentsVisitedSet, c);
-            }
-        }
+        return commentsDb.getCommentVisibilityIndex(student.course)
+                         .getCommentsForStudent(student, studentsInTheSameSection);
     }
     
     private boolean canViewCommentsFromOthers(String courseId, CommentParticipantType recipientType,
@@ -528,15 +371,6 @@ public class CommentsLogic {
     private void preventAppendingThisCommentAgain(HashSet<String> commentsVisitedSet, CommentAttributes c) {
         commentsVisitedSet.add(c.getCommentId().toString());
     }
-
-    private boolean isCommentRecipientsWithinGroup(List<String> group, CommentAttributes c) {
-        for (String recipient : c.recipients) {
-            if (group.contains(recipient)) {
-                return true;
-            }
-        }
-        return false;
-    }
     
     /************ Send Email For Pending Comments ************/
     
@@ -549,7 +383,30 @@ public class CommentsLogic {
      */
     public Set<String> getRecipientEmailsForSendingComments(String courseId) throws EntityDoesNotExistException {
         List<StudentAttributes> allStudents = new StudentsDb().getStudentsForCourse(courseId);
-
+        return getRecipientEmailsForSendingComments(courseId, allStudents);
+    }
+    
+    /**
+     * Gets the students who can see the comments with sending state, using one read of the students of the course.
+     * @return the students in course {@code courseId} to be notified of the sending comments
+     * @throws EntityDoesNotExistException when the course doesn't exist
+     */
+    public List<StudentAttributes> getRecipientsForSendingComments(String courseId)
+            throws EntityDoesNotExistException {
+        List<StudentAttributes> allStudents = new StudentsDb().getStudentsForCourse(courseId);
+        Set<String> recipientEmails = getRecipientEmailsForSendingComments(courseId, allStudents);
+        
+        List<StudentAttributes> recipients = new ArrayList<StudentAttributes>();
+        for (StudentAttributes student : allStudents) {
+            if (recipientEmails.contains(student.email)) {
+                recipients.add(student);
+            }
+        }
+        return recipients;
+    }
+    
+    private Set<String> getRecipientEmailsForSendingComments(String courseId, List<StudentAttributes> allStudents)
+            throws EntityDoesNotExistException {
         CourseRoster roster = new CourseRoster(allStudents, new InstructorsDb().getInstructorsForCourse(courseId));
         
         Map<String, List<StudentAttributes>> teamStudentTable = new HashMap<String, List<StudentAttributes>>();
@@ -948,14 +805,54 @@ public class CommentsLogic {
     
     /**
      * Sends notifications to students in course {@code courseId} who have received comments and not yet been notified.
+     * The notifications are sent at the end of the current window of {@link #COMMENT_NOTIFICATION_WINDOW_MILLIS},
+     * together with the notifications requested for the course later in the window.
      */
     public void sendCommentNotification(String courseId) {
         Map<String, String> paramMap = new HashMap<String, String>();
         paramMap.put(Const.ParamsNames.EMAIL_COURSE, courseId);
         paramMap.put(Const.ParamsNames.EMAIL_TYPE, EmailType.PENDING_COMMENT_CLEARED.toString());
         
+        long now = System.currentTimeMillis();
+        long window = now / COMMENT_NOTIFICATION_WINDOW_MILLIS;
+        long timeToEndOfWindow = (window + 1) * COMMENT_NOTIFICATION_WINDOW_MILLIS - now;
+        String taskName = COMMENT_NOTIFICATION_TASK_NAME_PREFIX + toTaskNamePart(courseId) + "-" + window;
+        
+        commentNotificationRequests.incrementAndGet();
         TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
-        taskQueueLogic.createAndAddTask(Const.SystemParams.EMAIL_TASK_QUEUE, Const.ActionURIs.EMAIL_WORKER, paramMap);
+        boolean isAdded = taskQueueLogic.createAndAddNamedDeferredTask(Const.SystemParams.EMAIL_TASK_QUEUE, taskName,
+                                                                       Const.ActionURIs.EMAIL_WORKER, paramMap,
+                                                                       timeToEndOfWindow);
+        if (!isAdded) {
+            coalescedCommentNotificationRequests.incrementAndGet();
+        }
+    }
+    
+    public static long getCommentNotificationRequestCount() {
+        return commentNotificationRequests.get();
+    }
+    
+    /**
+     * @return the number of comment notifications requested for a course which already had one
+     *         requested in the same window
+     */
+    public static long getCoalescedCommentNotificationRequestCount() {
+        return coalescedCommentNotificationRequests.get();
+    }
+    
+    /**
+     * Escapes the characters allowed in course IDs but not in task names, keeping different course IDs apart.
+     */
+    private static String toTaskNamePart(String courseId) {
+        StringBuilder taskNamePart = new StringBuilder();
+        for (char c : courseId.toCharArray()) {
+            if (c < 128 && (Character.isLetterOrDigit(c) || c == '-')) {
+                taskNamePart.append(c);
+            } else {
+                taskNamePart.append('_').append(Integer.toHexString(c)).append('_');
+            }
+        }
+        return taskNamePart.toString();
     }
     
 }
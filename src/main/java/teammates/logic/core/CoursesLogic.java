@@ -1,5 +1,7 @@
 package teammates.logic.core;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -62,6 +64,7 @@ public class CoursesLogic {
     private static final AccountsLogic accountsLogic = AccountsLogic.inst();
     private static final FeedbackSessionsLogic feedbackSessionsLogic = FeedbackSessionsLogic.inst();
     private static final CommentsLogic commentsLogic = CommentsLogic.inst();
+    private static final CascadeDeletionLogic cascadeDeletionLogic = CascadeDeletionLogic.inst();
 
     public static CoursesLogic inst() {
         if (instance == null) {
@@ -74,6 +77,13 @@ public class CoursesLogic {
             throws InvalidParametersException, EntityAlreadyExistsException {
         
         CourseAttributes courseToAdd = new CourseAttributes(courseId, courseName, courseTimeZone);
+        if (!courseToAdd.isValid()) {
+            throw new InvalidParametersException(courseToAdd.getInvalidityInfo());
+        }
+        if (cascadeDeletionLogic.isDataDeletionPending(courseToAdd.getId(), null)) {
+            throw new InvalidParametersException(
+                    String.format(Const.StatusMessages.COURSE_DELETION_PENDING, courseToAdd.getId()));
+        }
         coursesDb.createEntity(courseToAdd);
     }
     
@@ -125,6 +135,14 @@ public class CoursesLogic {
     public CourseAttributes getCourse(String courseId) {
         return coursesDb.getCourse(courseId);
     }
+    
+    /**
+     * @param courseIds
+     * @return {@link CourseAttributes} of the courses that exist among {@code courseIds}
+     */
+    public List<CourseAttributes> getCourses(List<String> courseIds) {
+        return coursesDb.getCourses(courseIds);
+    }
 
     /**
      * Checks whether course is present using courseId.
@@ -169,36 +187,23 @@ public class CoursesLogic {
     public List<CourseDetailsBundle> getCourseDetailsListForStudent(String googleId)
                 throws EntityDoesNotExistException {
         
-        List<CourseAttributes> courseList = getCoursesForStudentAccount(googleId);
+        List<StudentAttributes> studentDataList = studentsLogic.getStudentsForGoogleId(googleId);
+        List<CourseAttributes> courseList = getCoursesForStudents(googleId, studentDataList);
         CourseAttributes.sortById(courseList);
         List<CourseDetailsBundle> courseDetailsList = new ArrayList<CourseDetailsBundle>();
         
+        Map<String, String> studentEmailsForCourses = new HashMap<String, String>();
+        for (StudentAttributes s : studentDataList) {
+            studentEmailsForCourses.put(s.course, s.email);
+        }
+        
+        // Skip the course existence check since the course IDs are obtained from
+        // valid CourseAttributes resulting from query
+        Map<String, List<FeedbackSessionAttributes>> feedbackSessionsForCourses =
+                feedbackSessionsLogic.getFeedbackSessionsForUserInCoursesSkipCheck(studentEmailsForCourses);
+        
         for (CourseAttributes c : courseList) {
-
-            StudentAttributes s = studentsLogic.getStudentForCourseIdAndGoogleId(c.getId(), googleId);
-            
-            if (s == null) {
-                //TODO Remove excessive logging after the reason why s can be null is found
-                StringBuilder logMsgBuilder = new StringBuilder();
-                String logMsg = "Student is null in CoursesLogic.getCourseDetailsListForStudent(String googleId)"
-                        + "<br> Student Google ID: "
-                        + googleId + "<br> Course: " + c.getId()
-                        + "<br> All Courses Retrieved using the Google ID:";
-                logMsgBuilder.append(logMsg);
-                for (CourseAttributes course : courseList) {
-                    logMsgBuilder.append("<br>").append(course.getId());
-                }
-                log.severe(logMsgBuilder.toString());
-                
-                //TODO Failing might not be the best course of action here.
-                //Maybe throw a custom exception and tell user to wait due to eventual consistency?
-                Assumption.assertNotNull("Student should not be null at this point.", s);
-            }
-            
-            // Skip the course existence check since the course ID is obtained from a
-            // valid CourseAttributes resulting from query
-            List<FeedbackSessionAttributes> feedbackSessionList =
-                    feedbackSessionsLogic.getFeedbackSessionsForUserInCourseSkipCheck(c.getId(), s.email);
+            List<FeedbackSessionAttributes> feedbackSessionList = feedbackSessionsForCourses.get(c.getId());
 
             CourseDetailsBundle cdd = new CourseDetailsBundle(c);
             
@@ -568,8 +573,11 @@ public class CoursesLogic {
      * @throws EntityDoesNotExistException
      */
     public List<CourseAttributes> getCoursesForStudentAccount(String googleId) throws EntityDoesNotExistException {
-        List<StudentAttributes> studentDataList = studentsLogic.getStudentsForGoogleId(googleId);
-        
+        return getCoursesForStudents(googleId, studentsLogic.getStudentsForGoogleId(googleId));
+    }
+    
+    private List<CourseAttributes> getCoursesForStudents(String googleId, List<StudentAttributes> studentDataList)
+            throws EntityDoesNotExistException {
         if (studentDataList.isEmpty()) {
             throw new EntityDoesNotExistException("Student with Google ID " + googleId + " does not exist");
         }
@@ -779,10 +787,24 @@ public class CoursesLogic {
      * This will also cascade the data in other databases which are related to this course
      */
     public void deleteCourseCascade(String courseId) {
-        studentsLogic.deleteStudentsForCourse(courseId);
+        deleteCourseAndInstructors(courseId);
+        cascadeDeletionLogic.deleteCourseData(courseId);
+    }
+    
+    /**
+     * Deletes a course, its instructors and its feedback sessions, which removes the course from view,
+     * and schedules the rest of the data related to the course to be deleted in the background,
+     * starting with its students.
+     */
+    public void deleteCourseCascadeInBackground(String courseId) {
+        cascadeDeletionLogic.markDataDeletionPending(courseId, null);
+        deleteCourseAndInstructors(courseId);
+        cascadeDeletionLogic.scheduleCourseDataDeletion(courseId);
+    }
+    
+    private void deleteCourseAndInstructors(String courseId) {
         instructorsLogic.deleteInstructorsForCourse(courseId);
-        commentsLogic.deleteCommentsForCourse(courseId);
-        feedbackSessionsLogic.deleteFeedbackSessionsForCourseCascade(courseId);
+        feedbackSessionsLogic.deleteFeedbackSessionsForCourse(courseId);
         coursesDb.deleteCourse(courseId);
     }
     
@@ -820,50 +842,63 @@ public class CoursesLogic {
      * @throws EntityDoesNotExistException
      */
     public String getCourseStudentListAsCsv(String courseId, String googleId) throws EntityDoesNotExistException {
-
-        HashMap<String, CourseDetailsBundle> courses = getCourseSummariesForInstructor(googleId, false);
-        CourseDetailsBundle course = courses.get(courseId);
-        boolean hasSection = hasIndicatedSections(courseId);
-        
-        StringBuilder export = new StringBuilder(100);
-        String courseInfo = "Course ID," + Sanitizer.sanitizeForCsv(courseId) + Const.EOL
-                      + "Course Name," + Sanitizer.sanitizeForCsv(course.course.getName()) + Const.EOL
-                      + Const.EOL + Const.EOL;
-        export.append(courseInfo);
-        
-        String header = (hasSection ? "Section," : "") + "Team,Full Name,Last Name,Status,Email" + Const.EOL;
-        export.append(header);
-        
-        for (SectionDetailsBundle section : course.sections) {
-            for (TeamDetailsBundle team : section.teams) {
-                for (StudentAttributes student : team.students) {
-                    String studentStatus = null;
-                    if (student.googleId == null || student.googleId.isEmpty()) {
-                        studentStatus = Const.STUDENT_COURSE_STATUS_YET_TO_JOIN;
-                    } else {
-                        studentStatus = Const.STUDENT_COURSE_STATUS_JOINED;
-                    }
-                    
-                    if (hasSection) {
-                        export.append(Sanitizer.sanitizeForCsv(section.name)).append(',');
-                    }
-
-                    export.append(Sanitizer.sanitizeForCsv(team.name) + ','
-                            + Sanitizer.sanitizeForCsv(StringHelper.removeExtraSpace(student.name)) + ','
-                            + Sanitizer.sanitizeForCsv(StringHelper.removeExtraSpace(student.lastName)) + ','
-                            + Sanitizer.sanitizeForCsv(studentStatus) + ','
-                            + Sanitizer.sanitizeForCsv(student.email) + Const.EOL);
-                }
-            }
+        instructorsLogic.verifyInstructorExists(googleId);
+        CourseAttributes course = getCourse(courseId);
+        if (course == null) {
+            throw new EntityDoesNotExistException("Course does not exist: " + courseId);
         }
+        
+        StringWriter export = new StringWriter();
+        writeCourseStudentListAsCsv(course, new PrintWriter(export));
         return export.toString();
     }
+    
+    /**
+     * Writes a CSV for the details(name, email, status) of all students belonging to a given course
+     * to {@code writer} row by row. The students of that course only are loaded, all at once,
+     * as they are sorted before any row is written.
+     */
+    public void writeCourseStudentListAsCsv(CourseAttributes course, PrintWriter writer) {
+        List<StudentAttributes> students = studentsLogic.getStudentsForCourse(course.getId());
+        // the order of the course details page: by section, then team, then name
+        StudentAttributes.sortBySectionName(students);
+        boolean hasSection = hasIndicatedSections(students);
+        
+        writer.append("Course ID,").append(Sanitizer.sanitizeForCsv(course.getId())).append(Const.EOL)
+              .append("Course Name,").append(Sanitizer.sanitizeForCsv(course.getName())).append(Const.EOL)
+              .append(Const.EOL).append(Const.EOL);
+        
+        writer.append(hasSection ? "Section," : "").append("Team,Full Name,Last Name,Status,Email").append(Const.EOL);
+        
+        for (StudentAttributes student : students) {
+            String studentStatus = null;
+            if (student.googleId == null || student.googleId.isEmpty()) {
+                studentStatus = Const.STUDENT_COURSE_STATUS_YET_TO_JOIN;
+            } else {
+                studentStatus = Const.STUDENT_COURSE_STATUS_JOINED;
+            }
+            
+            if (hasSection) {
+                writer.append(Sanitizer.sanitizeForCsv(student.section)).append(',');
+            }
+            
+            writer.append(Sanitizer.sanitizeForCsv(student.team)).append(',')
+                  .append(Sanitizer.sanitizeForCsv(StringHelper.removeExtraSpace(student.name))).append(',')
+                  .append(Sanitizer.sanitizeForCsv(StringHelper.removeExtraSpace(student.lastName))).append(',')
+                  .append(Sanitizer.sanitizeForCsv(studentStatus)).append(',')
+                  .append(Sanitizer.sanitizeForCsv(student.email)).append(Const.EOL);
+        }
+        writer.flush();
+    }
 
     public boolean hasIndicatedSections(String courseId) throws EntityDoesNotExistException {
         verifyCourseIsPresent(courseId);
         
-        List<StudentAttributes> studentList = studentsLogic.getStudentsForCourse(courseId);
-        for (StudentAttributes student : studentList) {
+        return hasIndicatedSections(studentsLogic.getStudentsForCourse(courseId));
+    }
+    
+    private static boolean hasIndicatedSections(List<StudentAttributes> students) {
+        for (StudentAttributes student : students) {
             if (!student.section.equals(Const.DEFAULT_SECTION)) {
                 return true;
             }
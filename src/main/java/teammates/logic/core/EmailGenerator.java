@@ -1,9 +1,7 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.logging.Logger;
 
 import teammates.common.datatransfer.CourseAttributes;
@@ -405,23 +403,19 @@ public class EmailGenerator {
      */
     public List<EmailWrapper> generatePendingCommentsClearedEmails(String courseId) {
         
-        Set<String> recipients;
+        List<StudentAttributes> recipients;
         try {
-            recipients = commentsLogic.getRecipientEmailsForSendingComments(courseId);
+            recipients = commentsLogic.getRecipientsForSendingComments(courseId);
         } catch (EntityDoesNotExistException e) {
             log.severe("Recipient emails for pending comments in course : " + courseId + " could not be fetched");
-            recipients = new HashSet<String>();
+            recipients = new ArrayList<StudentAttributes>();
         }
         
         List<EmailWrapper> emails = new ArrayList<EmailWrapper>();
         CourseAttributes course = coursesLogic.getCourse(courseId);
         String template = EmailTemplates.USER_PENDING_COMMENTS_CLEARED;
         
-        for (String recipientEmail : recipients) {
-            StudentAttributes student = studentsLogic.getStudentForEmail(courseId, recipientEmail);
-            if (student == null) {
-                continue;
-            }
+        for (StudentAttributes student : recipients) {
             EmailWrapper email = generatePendingCommentsClearedEmailBaseForStudent(course, student, template);
             emails.add(email);
         }
@@ -1,10 +1,13 @@
 package teammates.logic.core;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
+import com.google.appengine.api.taskqueue.QueueConstants;
+
 import teammates.common.exception.EmailSendingException;
 import teammates.common.exception.TeammatesException;
 import teammates.common.util.Config;
@@ -13,6 +16,7 @@ import teammates.common.util.Const.ParamsNames;
 import teammates.common.util.Const.SystemParams;
 import teammates.common.util.EmailLogEntry;
 import teammates.common.util.EmailWrapper;
+import teammates.common.util.StringHelper;
 import teammates.common.util.Utils;
 
 /**
@@ -49,42 +53,68 @@ public class EmailSender {
         int oneHourInMillis = 60 * 60 * 1000;
         int emailIntervalMillis = Math.min(5000, oneHourInMillis / messages.size());
         
-        int numberOfEmailsSent = 0;
-        for (EmailWrapper m : messages) {
-            long emailDelayTimer = numberOfEmailsSent * emailIntervalMillis;
-            addEmailToTaskQueue(m, emailDelayTimer);
-            numberOfEmailsSent++;
+        // Each batch is added to the task queue in one call, so that a failed call loses at most one batch,
+        // whose emails are then added one at a time
+        int batchSize = QueueConstants.maxTasksPerAdd();
+        List<String> failedRecipients = new ArrayList<String>();
+        for (int batchStart = 0; batchStart < messages.size(); batchStart += batchSize) {
+            List<EmailWrapper> batch = messages.subList(batchStart, Math.min(batchStart + batchSize, messages.size()));
+            long batchCountdownMillis = (long) batchStart * emailIntervalMillis;
+            
+            List<Map<String, String>> paramMaps = new ArrayList<Map<String, String>>();
+            for (EmailWrapper m : batch) {
+                paramMaps.add(getEmailTaskParams(m));
+            }
+            
+            try {
+                TaskQueuesLogic.inst().createAndAddDeferredTasks(SystemParams.SEND_EMAIL_TASK_QUEUE,
+                        Const.ActionURIs.SEND_EMAIL_WORKER, paramMaps, batchCountdownMillis, emailIntervalMillis);
+            } catch (Exception e) {
+                log.warning("Error when adding " + batch.size() + " emails to task queue at once, "
+                            + "adding them one at a time: " + e.getMessage());
+                failedRecipients.addAll(addEmailTasksOneByOne(batch, paramMaps, batchCountdownMillis,
+                                                              emailIntervalMillis));
+            }
+        }
+        
+        if (!failedRecipients.isEmpty()) {
+            log.severe("Error when adding " + failedRecipients.size() + " of " + messages.size()
+                       + " emails to task queue\n"
+                       + "Email receivers: " + StringHelper.toString(failedRecipients, ", ") + "\n"
+                       + "Email subject: " + messages.get(0).getSubject());
         }
     }
     
-    private void addEmailToTaskQueue(EmailWrapper message, long emailDelayTimer) {
-        String emailSubject = message.getSubject();
-        String emailSenderName = message.getSenderName();
-        String emailSender = message.getSenderEmail();
-        String emailReceiver = message.getRecipient();
-        String emailReplyToAddress = message.getReplyTo();
-        try {
-            Map<String, String> paramMap = new HashMap<String, String>();
-            paramMap.put(ParamsNames.EMAIL_SUBJECT, emailSubject);
-            paramMap.put(ParamsNames.EMAIL_CONTENT, message.getContent());
-            paramMap.put(ParamsNames.EMAIL_SENDER, emailSender);
-            if (emailSenderName != null && !emailSenderName.isEmpty()) {
-                paramMap.put(ParamsNames.EMAIL_SENDERNAME, emailSenderName);
+    /**
+     * @return the recipients of the emails which could not be added to the task queue
+     */
+    private List<String> addEmailTasksOneByOne(List<EmailWrapper> messages, List<Map<String, String>> paramMaps,
+                                               long firstCountdownMillis, long emailIntervalMillis) {
+        List<String> failedRecipients = new ArrayList<String>();
+        for (int i = 0; i < messages.size(); i++) {
+            try {
+                TaskQueuesLogic.inst().createAndAddDeferredTask(SystemParams.SEND_EMAIL_TASK_QUEUE,
+                        Const.ActionURIs.SEND_EMAIL_WORKER, paramMaps.get(i),
+                        firstCountdownMillis + i * emailIntervalMillis);
+            } catch (Exception e) {
+                failedRecipients.add(messages.get(i).getRecipient());
             }
-            paramMap.put(ParamsNames.EMAIL_RECEIVER, emailReceiver);
-            paramMap.put(ParamsNames.EMAIL_REPLY_TO_ADDRESS, emailReplyToAddress);
-            
-            TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
-            taskQueueLogic.createAndAddDeferredTask(SystemParams.SEND_EMAIL_TASK_QUEUE,
-                    Const.ActionURIs.SEND_EMAIL_WORKER, paramMap, emailDelayTimer);
-        } catch (Exception e) {
-            log.severe("Error when adding email to task queue: " + e.getMessage() + "\n"
-                       + "Email sender: " + emailSender + "\n"
-                       + "Email sender name: " + emailSenderName + "\n"
-                       + "Email receiver: " + emailReceiver + "\n"
-                       + "Email subject: " + emailSubject + "\n"
-                       + "Email reply to address: " + emailReplyToAddress);
         }
+        return failedRecipients;
+    }
+    
+    private Map<String, String> getEmailTaskParams(EmailWrapper message) {
+        Map<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(ParamsNames.EMAIL_SUBJECT, message.getSubject());
+        paramMap.put(ParamsNames.EMAIL_CONTENT, message.getContent());
+        paramMap.put(ParamsNames.EMAIL_SENDER, message.getSenderEmail());
+        String emailSenderName = message.getSenderName();
+        if (emailSenderName != null && !emailSenderName.isEmpty()) {
+            paramMap.put(ParamsNames.EMAIL_SENDERNAME, emailSenderName);
+        }
+        paramMap.put(ParamsNames.EMAIL_RECEIVER, message.getRecipient());
+        paramMap.put(ParamsNames.EMAIL_REPLY_TO_ADDRESS, message.getReplyTo());
+        return paramMap;
     }
     
     /**
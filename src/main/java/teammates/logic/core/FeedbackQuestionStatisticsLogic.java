@@ -0,0 +1,121 @@
+package teammates.logic.core;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionDetails;
+import teammates.common.datatransfer.FeedbackQuestionStatisticsAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.storage.api.FeedbackQuestionStatisticsDb;
+
+/**
+ * Handles operations on the statistics of feedback questions, which are kept up to date
+ * by {@link FeedbackResponsesLogic} as responses are created, updated and deleted.
+ */
+public class FeedbackQuestionStatisticsLogic {
+
+    private static FeedbackQuestionStatisticsLogic instance;
+    private static final FeedbackQuestionStatisticsDb fqsDb = new FeedbackQuestionStatisticsDb();
+
+    public static FeedbackQuestionStatisticsLogic inst() {
+        if (instance == null) {
+            instance = new FeedbackQuestionStatisticsLogic();
+        }
+        return instance;
+    }
+
+    /**
+     * @return null if the question has no stored statistics.
+     */
+    public FeedbackQuestionStatisticsAttributes getFeedbackQuestionStatistics(String feedbackQuestionId) {
+        return fqsDb.getFeedbackQuestionStatistics(feedbackQuestionId);
+    }
+
+    /**
+     * @return the stored statistics of the questions in the session, keyed by question id.
+     */
+    public Map<String, FeedbackQuestionStatisticsAttributes> getFeedbackQuestionStatisticsForSession(
+            String feedbackSessionName, String courseId) {
+        return fqsDb.getFeedbackQuestionStatisticsForSession(feedbackSessionName, courseId);
+    }
+
+    /**
+     * Builds the statistics of the question from all its responses and stores them,
+     * replacing the stored statistics if any.
+     * Does nothing if the statistics of the question type are not incremental.
+     */
+    public void rebuildFeedbackQuestionStatistics(FeedbackQuestionAttributes question,
+                                                  List<FeedbackResponseAttributes> responses) {
+        FeedbackQuestionDetails questionDetails = question.getQuestionDetails();
+        if (!questionDetails.isResponseStatisticsIncremental()) {
+            return;
+        }
+
+        FeedbackQuestionStatisticsAttributes statistics = new FeedbackQuestionStatisticsAttributes(question);
+        for (FeedbackResponseAttributes response : responses) {
+            statistics.addResponse(response, questionDetails);
+        }
+        fqsDb.putFeedbackQuestionStatistics(statistics);
+    }
+
+    /**
+     * Replaces the stored statistics of a question.
+     */
+    public void updateFeedbackQuestionStatistics(FeedbackQuestionStatisticsAttributes statistics) {
+        fqsDb.putFeedbackQuestionStatistics(statistics);
+    }
+
+    /**
+     * Removes the old responses from and adds the new responses to the stored statistics of the question,
+     * without losing updates made concurrently.
+     * @return false if the question has no stored statistics
+     */
+    public boolean updateFeedbackQuestionStatistics(String feedbackQuestionId, FeedbackQuestionDetails questionDetails,
+                                                    List<FeedbackResponseAttributes> oldResponses,
+                                                    List<FeedbackResponseAttributes> newResponses) {
+        return fqsDb.updateFeedbackQuestionStatistics(feedbackQuestionId, questionDetails, oldResponses, newResponses);
+    }
+
+    /**
+     * Schedules the statistics of the question to be rebuilt from all its responses.
+     */
+    public void scheduleFeedbackQuestionStatisticsRebuild(String feedbackQuestionId) {
+        Map<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(ParamsNames.FEEDBACK_QUESTION_ID, feedbackQuestionId);
+
+        TaskQueuesLogic.inst().createAndAddTask(Const.SystemParams.FEEDBACK_QUESTION_STATISTICS_REBUILD_TASK_QUEUE,
+                                                Const.ActionURIs.FEEDBACK_QUESTION_STATISTICS_REBUILD_WORKER,
+                                                paramMap);
+    }
+
+    public void deleteFeedbackQuestionStatistics(String feedbackQuestionId) {
+        fqsDb.deleteFeedbackQuestionStatistics(feedbackQuestionId);
+    }
+
+    public void deleteFeedbackQuestionStatisticsForCourse(String courseId) {
+        fqsDb.deleteFeedbackQuestionStatisticsForCourse(courseId);
+    }
+
+    /**
+     * Deletes the next batch of the statistics of the questions in the course.
+     * @return the cursor from which the next batch starts, or {@code null} if there are no more statistics
+     */
+    public String deleteFeedbackQuestionStatisticsBatchForCourse(String courseId, String cursor, int batchSize) {
+        return fqsDb.deleteFeedbackQuestionStatisticsBatchForCourse(courseId, cursor, batchSize);
+    }
+
+    /**
+     * Deletes the next batch of the statistics of the questions in the session.
+     * @return the cursor from which the next batch starts, or {@code null} if there are no more statistics
+     */
+    public String deleteFeedbackQuestionStatisticsBatchForSession(String feedbackSessionName, String courseId,
+                                                                  String cursor, int batchSize) {
+        return fqsDb.deleteFeedbackQuestionStatisticsBatchForSession(feedbackSessionName, courseId,
+                                                                     cursor, batchSize);
+    }
+
+}
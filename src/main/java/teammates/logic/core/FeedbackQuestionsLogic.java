@@ -1,6 +1,7 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -11,6 +12,7 @@ import java.util.Set;
 import java.util.logging.Logger;
 
 import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackQuestionDetails;
@@ -18,7 +20,6 @@ import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
-import teammates.common.datatransfer.TeamDetailsBundle;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
@@ -38,6 +39,7 @@ public class FeedbackQuestionsLogic {
     private static final CoursesLogic coursesLogic = CoursesLogic.inst();
     private static final StudentsLogic studentsLogic = StudentsLogic.inst();
     private static final InstructorsLogic instructorsLogic = InstructorsLogic.inst();
+    private static final FeedbackQuestionStatisticsLogic fqsLogic = FeedbackQuestionStatisticsLogic.inst();
     
     public static FeedbackQuestionsLogic inst() {
         if (instance == null) {
@@ -80,6 +82,22 @@ public class FeedbackQuestionsLogic {
         return fqDb.createFeedbackQuestionWithoutExistenceCheck(fqa);
     }
     
+    /**
+     * Used for creating all the questions of a new session in one batched write,
+     * e.g. when copying a session.
+     * Does not check if feedback session exists.
+     * Does not check if the question numbers supplied are valid(does not check for clashes, or make adjustments)
+     * @param questions
+     * @throws InvalidParametersException if any question is invalid, in which case no question is created
+     */
+    public void createFeedbackQuestionsNoIntegrityCheck(List<FeedbackQuestionAttributes> questions)
+            throws InvalidParametersException {
+        for (FeedbackQuestionAttributes question : questions) {
+            question.removeIrrelevantVisibilityOptions();
+        }
+        fqDb.createEntitiesWithoutExistenceCheck(questions);
+    }
+    
     public FeedbackQuestionAttributes copyFeedbackQuestion(
             String oldCourseId, String oldFeedbackSessionName,
             String feedbackQuestionId,
@@ -109,6 +127,10 @@ public class FeedbackQuestionsLogic {
         return fqDb.getFeedbackQuestion(feedbackQuestionId);
     }
     
+    public List<FeedbackQuestionAttributes> getFeedbackQuestions(Collection<String> feedbackQuestionIds) {
+        return fqDb.getFeedbackQuestions(feedbackQuestionIds);
+    }
+    
     /**
      * Gets a single question corresponding to the given parameters.
      */
@@ -140,7 +162,21 @@ public class FeedbackQuestionsLogic {
         
         return questions;
     }
-    
+
+    /**
+     * Gets the questions of each of the given sessions, which are assumed to exist, sorted by question number.
+     * The questions of all the sessions are read at once rather than for each session.
+     */
+    public Map<FeedbackSessionAttributes, List<FeedbackQuestionAttributes>> getFeedbackQuestionsForSessions(
+            List<FeedbackSessionAttributes> sessions) {
+        Map<FeedbackSessionAttributes, List<FeedbackQuestionAttributes>> questionsForSessions =
+                fqDb.getFeedbackQuestionsForSessions(sessions);
+        for (List<FeedbackQuestionAttributes> questions : questionsForSessions.values()) {
+            Collections.sort(questions);
+        }
+        return questionsForSessions;
+    }
+
     // TODO can be removed once we are sure that question numbers will be consistent
     private boolean areQuestionNumbersConsistent(List<FeedbackQuestionAttributes> questions) {
         Set<Integer> questionNumbersInSession = new HashSet<>();
@@ -352,22 +388,53 @@ public class FeedbackQuestionsLogic {
             FeedbackQuestionAttributes question, String giver,
             InstructorAttributes instructorGiver, StudentAttributes studentGiver)
                     throws EntityDoesNotExistException {
+        
+        // only the part of the roster needed for the recipient type is read
+        CourseRoster roster;
+        switch (question.recipientType) {
+        case STUDENTS:
+            roster = new CourseRoster(studentsLogic.getStudentsForCourse(question.courseId), null);
+            break;
+        case INSTRUCTORS:
+            roster = new CourseRoster(null, instructorsLogic.getInstructorsForCourse(question.courseId));
+            break;
+        case TEAMS:
+            if (coursesLogic.getCourse(question.courseId) == null) {
+                throw new EntityDoesNotExistException("The course " + question.courseId + " does not exist");
+            }
+            roster = new CourseRoster(studentsLogic.getStudentsForCourse(question.courseId), null);
+            break;
+        case OWN_TEAM_MEMBERS:
+        case OWN_TEAM_MEMBERS_INCLUDING_SELF:
+            String giverTeam = getGiverTeam(giver, instructorGiver, studentGiver);
+            roster = new CourseRoster(studentsLogic.getStudentsForTeam(giverTeam, question.courseId), null);
+            break;
+        default:
+            roster = new CourseRoster(null, null);
+            break;
+        }
+        
+        return getRecipientsForQuestion(question, giver, instructorGiver, studentGiver, roster);
+    }
+
+    /**
+     * Gets the recipients of {@code question} for {@code giver} from {@code roster},
+     * without reading the datastore. Use this when the recipients of several questions
+     * in the same course are needed, so that the roster is read only once.
+     * 
+     * @param roster the students and instructors of the course of the question
+     * @return a map of recipient identifiers to recipient names
+     */
+    public Map<String, String> getRecipientsForQuestion(
+            FeedbackQuestionAttributes question, String giver,
+            InstructorAttributes instructorGiver, StudentAttributes studentGiver,
+            CourseRoster roster) {
 
         Map<String, String> recipients = new HashMap<String, String>();
         
         FeedbackParticipantType recipientType = question.recipientType;
         
-        String giverTeam = null;
-        
-        boolean isStudentGiver = studentGiver != null;
-        boolean isInstructorGiver = instructorGiver != null;
-        if (isStudentGiver) {
-            giverTeam = studentGiver.team;
-        } else if (isInstructorGiver) {
-            giverTeam = Const.USER_TEAM_FOR_INSTRUCTOR;
-        } else {
-            giverTeam = giver;
-        }
+        String giverTeam = getGiverTeam(giver, instructorGiver, studentGiver);
         
         switch (recipientType) {
         case SELF:
@@ -378,8 +445,7 @@ public class FeedbackQuestionsLogic {
             }
             break;
         case STUDENTS:
-            List<StudentAttributes> studentsInCourse = studentsLogic.getStudentsForCourse(question.courseId);
-            for (StudentAttributes student : studentsInCourse) {
+            for (StudentAttributes student : roster.getStudents()) {
                 // Ensure student does not evaluate himself
                 if (!giver.equals(student.email)) {
                     recipients.put(student.email, student.name);
@@ -387,8 +453,7 @@ public class FeedbackQuestionsLogic {
             }
             break;
         case INSTRUCTORS:
-            List<InstructorAttributes> instructorsInCourse = instructorsLogic.getInstructorsForCourse(question.courseId);
-            for (InstructorAttributes instr : instructorsInCourse) {
+            for (InstructorAttributes instr : roster.getInstructors()) {
                 // Ensure instructor does not evaluate himself
                 if (!giver.equals(instr.email)) {
                     recipients.put(instr.email, instr.name);
@@ -396,12 +461,11 @@ public class FeedbackQuestionsLogic {
             }
             break;
         case TEAMS:
-            List<TeamDetailsBundle> teams = coursesLogic.getTeamsForCourse(question.courseId);
-            for (TeamDetailsBundle team : teams) {
+            for (String teamName : roster.getTeamNames()) {
                 // Ensure student('s team) does not evaluate own team.
-                if (!giverTeam.equals(team.name)) {
+                if (!giverTeam.equals(teamName)) {
                     // recipientEmail doubles as team name in this case.
-                    recipients.put(team.name, team.name);
+                    recipients.put(teamName, teamName);
                 }
             }
             break;
@@ -409,16 +473,14 @@ public class FeedbackQuestionsLogic {
             recipients.put(giverTeam, giverTeam);
             break;
         case OWN_TEAM_MEMBERS:
-            List<StudentAttributes> students = studentsLogic.getStudentsForTeam(giverTeam, question.courseId);
-            for (StudentAttributes student : students) {
+            for (StudentAttributes student : roster.getStudentsForTeam(giverTeam)) {
                 if (!student.email.equals(giver)) {
                     recipients.put(student.email, student.name);
                 }
             }
             break;
         case OWN_TEAM_MEMBERS_INCLUDING_SELF:
-            List<StudentAttributes> teamMembers = studentsLogic.getStudentsForTeam(giverTeam, question.courseId);
-            for (StudentAttributes student : teamMembers) {
+            for (StudentAttributes student : roster.getStudentsForTeam(giverTeam)) {
                 // accepts self feedback too
                 recipients.put(student.email, student.name);
             }
@@ -432,16 +494,25 @@ public class FeedbackQuestionsLogic {
         return recipients;
     }
     
+    private String getGiverTeam(String giver, InstructorAttributes instructorGiver, StudentAttributes studentGiver) {
+        if (studentGiver != null) {
+            return studentGiver.team;
+        } else if (instructorGiver != null) {
+            return Const.USER_TEAM_FOR_INSTRUCTOR;
+        } else {
+            return giver;
+        }
+    }
+    
     public boolean isQuestionHasResponses(String feedbackQuestionId) {
-        return !frLogic.getFeedbackResponsesForQuestionWithinRange(feedbackQuestionId, 1)
-                       .isEmpty();
+        return frLogic.hasResponsesForQuestion(feedbackQuestionId);
     }
   
     public boolean isQuestionFullyAnsweredByUser(FeedbackQuestionAttributes question, String email)
             throws EntityDoesNotExistException {
         
         int numberOfResponsesGiven =
-                frLogic.getFeedbackResponsesFromGiverForQuestion(question.getId(), email).size();
+                frLogic.getFeedbackResponsesCountFromGiverForQuestion(question.getId(), email);
         int numberOfResponsesNeeded =
                 question.numberOfEntitiesToGiveFeedbackTo;
         
@@ -520,6 +591,7 @@ public class FeedbackQuestionsLogic {
      * Adjust questions between the old and new number,
      * if the new number is smaller, then shift up (increase qn#) all questions in between.
      * if the new number is bigger, then shift down(decrease qn#) all questions in between.
+     * The new numbers are worked out in memory and written together.
      * @param oldQuestionNumber
      * @param newQuestionNumber
      * @param questions
@@ -527,47 +599,44 @@ public class FeedbackQuestionsLogic {
     private void adjustQuestionNumbers(int oldQuestionNumber,
             int newQuestionNumber, List<FeedbackQuestionAttributes> questions) {
         
+        List<FeedbackQuestionAttributes> questionsToRenumber = new ArrayList<FeedbackQuestionAttributes>();
         if (oldQuestionNumber > newQuestionNumber && oldQuestionNumber >= 1) {
             for (int i = oldQuestionNumber - 1; i >= newQuestionNumber; i--) {
                 FeedbackQuestionAttributes question = questions.get(i - 1);
                 question.questionNumber += 1;
-                try {
-                    updateFeedbackQuestionWithoutResponseRateUpdate(question);
-                } catch (InvalidParametersException e) {
-                    Assumption.fail("Invalid question.");
-                } catch (EntityDoesNotExistException e) {
-                    Assumption.fail("Question disappeared.");
-                }
+                questionsToRenumber.add(question);
             }
         } else if (oldQuestionNumber < newQuestionNumber && oldQuestionNumber < questions.size()) {
             for (int i = oldQuestionNumber + 1; i <= newQuestionNumber; i++) {
                 FeedbackQuestionAttributes question = questions.get(i - 1);
                 question.questionNumber -= 1;
-                try {
-                    updateFeedbackQuestionWithoutResponseRateUpdate(question);
-                } catch (InvalidParametersException e) {
-                    Assumption.fail("Invalid question.");
-                } catch (EntityDoesNotExistException e) {
-                    Assumption.fail("Question disappeared.");
-                }
+                questionsToRenumber.add(question);
             }
         }
+        updateFeedbackQuestionNumbers(questionsToRenumber);
     }
 
     /**
-     * Updates the feedback question. For each attribute in
-     * {@code newAttributes}, the existing value is preserved if the attribute
-     * is null (due to 'keep existing' policy). Existing responses for the
-     * question are automatically deleted if giverType/recipientType are
-     * changed, or if the response visibility is increased. However, the
-     * response rate of the feedback session is not updated.<br>
-     * Precondition: <br>
-     * {@code newAttributes} is not {@code null}
+     * Writes the question numbers of the questions, which belong to the same session, in one batch.
+     * Only the question numbers are written, as changing them does not affect the responses.
      */
-    private void updateFeedbackQuestionWithoutResponseRateUpdate(FeedbackQuestionAttributes newAttributes)
-            throws InvalidParametersException, EntityDoesNotExistException {
-
-        updateFeedbackQuestion(newAttributes, false);
+    private void updateFeedbackQuestionNumbers(List<FeedbackQuestionAttributes> questions) {
+        if (questions.isEmpty()) {
+            return;
+        }
+        
+        Map<String, Integer> newQuestionNumbers = new HashMap<String, Integer>();
+        for (FeedbackQuestionAttributes question : questions) {
+            newQuestionNumbers.put(question.getId(), question.questionNumber);
+        }
+        
+        FeedbackQuestionAttributes firstQuestion = questions.get(0);
+        try {
+            fqDb.updateFeedbackQuestionNumbers(firstQuestion.feedbackSessionName, firstQuestion.courseId,
+                                               newQuestionNumbers);
+        } catch (EntityDoesNotExistException e) {
+            Assumption.fail("Question disappeared.");
+        }
     }
 
     /**
@@ -601,13 +670,25 @@ public class FeedbackQuestionsLogic {
                     "Trying to update a feedback question that does not exist.");
         }
         
-        if (oldQuestion.isChangesRequiresResponseDeletion(newAttributes)) {
+        boolean isResponsesDeleted = oldQuestion.isChangesRequiresResponseDeletion(newAttributes);
+        if (isResponsesDeleted) {
             frLogic.deleteFeedbackResponsesForQuestionAndCascade(oldQuestion.getId(), hasResponseRateUpdate);
         }
         
+        // the statistics of the kept responses may depend on the details that were changed
+        boolean isStatisticsOutdated = !isResponsesDeleted
+                && newAttributes.questionMetaData != null
+                && !newAttributes.questionMetaData.equals(oldQuestion.questionMetaData)
+                && oldQuestion.getQuestionDetails().isResponseStatisticsIncremental();
+        
         oldQuestion.updateValues(newAttributes);
         newAttributes.removeIrrelevantVisibilityOptions();
         fqDb.updateFeedbackQuestion(newAttributes);
+        
+        if (isStatisticsOutdated) {
+            fqsLogic.deleteFeedbackQuestionStatistics(oldQuestion.getId());
+            fqsLogic.scheduleFeedbackQuestionStatisticsRebuild(oldQuestion.getId());
+        }
     }
 
     public void deleteFeedbackQuestionsForSession(String feedbackSessionName, String courseId)
@@ -677,6 +758,24 @@ public class FeedbackQuestionsLogic {
         fqDb.deleteFeedbackQuestionsForCourse(courseId);
     }
     
+    /**
+     * Deletes the next batch of the questions in the course. This is a non-cascade delete.
+     * @return the cursor from which the next batch starts, or {@code null} if there are no more questions
+     */
+    public String deleteFeedbackQuestionsBatchForCourse(String courseId, String cursor, int batchSize) {
+        return fqDb.deleteFeedbackQuestionsBatchForCourse(courseId, cursor, batchSize);
+    }
+    
+    /**
+     * Deletes the next batch of the questions in the session. This is a non-cascade delete,
+     * and the question numbers of the remaining questions are not shifted.
+     * @return the cursor from which the next batch starts, or {@code null} if there are no more questions
+     */
+    public String deleteFeedbackQuestionsBatchForSession(String feedbackSessionName, String courseId,
+                                                         String cursor, int batchSize) {
+        return fqDb.deleteFeedbackQuestionsBatchForSession(feedbackSessionName, courseId, cursor, batchSize);
+    }
+    
     /**
      * Deletes a question.<br> Question is identified by it's question number, and
      * the feedback session name and course ID of the question.<br>
@@ -710,21 +809,17 @@ public class FeedbackQuestionsLogic {
         }
     }
     
-    // Shifts all question numbers after questionNumberToShiftFrom down by one.
+    // Shifts all question numbers after questionNumberToShiftFrom down by one, writing them together.
     private void shiftQuestionNumbersDown(int questionNumberToShiftFrom,
             List<FeedbackQuestionAttributes> questionsToShift) {
+        List<FeedbackQuestionAttributes> questionsToRenumber = new ArrayList<FeedbackQuestionAttributes>();
         for (FeedbackQuestionAttributes question : questionsToShift) {
             if (question.questionNumber > questionNumberToShiftFrom) {
                 question.questionNumber -= 1;
-                try {
-                    updateFeedbackQuestionWithoutResponseRateUpdate(question);
-                } catch (InvalidParametersException e) {
-                    Assumption.fail("Invalid question.");
-                } catch (EntityDoesNotExistException e) {
-                    Assumption.fail("Question disappeared.");
-                }
+                questionsToRenumber.add(question);
             }
         }
+        updateFeedbackQuestionNumbers(questionsToRenumber);
     }
     
     /*
@@ -1,8 +1,10 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import teammates.common.datatransfer.CommentSendingState;
@@ -76,6 +78,11 @@ public class FeedbackResponseCommentsLogic {
         return frcDb.getFeedbackResponseComment(feedbackResponseCommentId);
     }
     
+    public List<FeedbackResponseCommentAttributes> getFeedbackResponseComments(
+            Collection<Long> feedbackResponseCommentIds) {
+        return frcDb.getFeedbackResponseComments(feedbackResponseCommentIds);
+    }
+    
     public FeedbackResponseCommentAttributes getFeedbackResponseComment(String responseId, String giverEmail,
                                                                         Date creationDate) {
         return frcDb.getFeedbackResponseComment(responseId, giverEmail, creationDate);
@@ -109,6 +116,20 @@ public class FeedbackResponseCommentsLogic {
         }
     }
     
+    /**
+     * Moves the comments on responses which were recreated with new ids to the recreated responses,
+     * with one batch of writes and one batch of search document updates for all the comments.
+     * @param newResponseIds the new ids of the responses, keyed by their old ids
+     */
+    public void updateFeedbackResponseCommentsForChangingResponseIds(String courseId,
+                                                                     Map<String, String> newResponseIds) {
+        List<FeedbackResponseCommentAttributes> updatedComments =
+                frcDb.updateFeedbackResponseIdOfFeedbackResponseComments(courseId, newResponseIds);
+        if (!updatedComments.isEmpty()) {
+            frcDb.putDocuments(updatedComments);
+        }
+    }
+
     /*
      * Updates all email fields of feedback response comments with the new email
      */
@@ -151,6 +172,21 @@ public class FeedbackResponseCommentsLogic {
         return frcList;
     }
     
+    public int getFeedbackResponseCommentsCountForSendingState(String courseId, CommentSendingState state)
+            throws EntityDoesNotExistException {
+        verifyIsCoursePresent(courseId);
+        
+        int count = 0;
+        List<FeedbackSessionAttributes> feedbackSessions = fsLogic.getFeedbackSessionsForCourse(courseId);
+        for (FeedbackSessionAttributes fs : feedbackSessions) {
+            if (fs.isPublished()) {
+                count += frcDb.getFeedbackResponseCommentsCountForSendingState(
+                        courseId, fs.getFeedbackSessionName(), state);
+            }
+        }
+        return count;
+    }
+    
     public void updateFeedbackResponseCommentsSendingState(
             String courseId, CommentSendingState oldState, CommentSendingState newState)
             throws EntityDoesNotExistException {
@@ -172,6 +208,14 @@ public class FeedbackResponseCommentsLogic {
         frcDb.putDocument(comment);
     }
     
+    /**
+     * Create or update documents for the given comments
+     * @param comments
+     */
+    public void putDocuments(List<FeedbackResponseCommentAttributes> comments) {
+        frcDb.putDocuments(comments);
+    }
+    
     public List<FeedbackResponseCommentAttributes> getFeedbackResponseCommentsForGiver(String courseId,
                                                                                        String giverEmail) {
         return frcDb.getFeedbackResponseCommentForGiver(courseId, giverEmail);
@@ -187,6 +231,23 @@ public class FeedbackResponseCommentsLogic {
         frcDb.deleteFeedbackResponseCommentsForCourse(courseId);
     }
     
+    /**
+     * Deletes the next batch of the response comments in the course, and their search documents.
+     * @return the cursor from which the next batch starts, or {@code null} if there are no more comments
+     */
+    public String deleteFeedbackResponseCommentsBatchForCourse(String courseId, String cursor, int batchSize) {
+        return frcDb.deleteFeedbackResponseCommentsBatchForCourse(courseId, cursor, batchSize);
+    }
+    
+    /**
+     * Deletes the next batch of the response comments in the session, and their search documents.
+     * @return the cursor from which the next batch starts, or {@code null} if there are no more comments
+     */
+    public String deleteFeedbackResponseCommentsBatchForSession(String feedbackSessionName, String courseId,
+                                                               String cursor, int batchSize) {
+        return frcDb.deleteFeedbackResponseCommentsBatchForSession(feedbackSessionName, courseId, cursor, batchSize);
+    }
+    
     public void deleteFeedbackResponseCommentsForResponse(String responseId) {
         frcDb.deleteFeedbackResponseCommentsForResponse(responseId);
     }
@@ -1,6 +1,7 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -11,6 +12,7 @@ import java.util.logging.Logger;
 import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionDetails;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.datatransfer.StudentEnrollDetails;
@@ -33,6 +35,7 @@ public class FeedbackResponsesLogic {
     private static final FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic
             .inst();
     private static final FeedbackResponseCommentsLogic frcLogic = FeedbackResponseCommentsLogic.inst();
+    private static final FeedbackQuestionStatisticsLogic fqsLogic = FeedbackQuestionStatisticsLogic.inst();
     private static final FeedbackResponsesDb frDb = new FeedbackResponsesDb();
 
     public static FeedbackResponsesLogic inst() {
@@ -46,6 +49,7 @@ public class FeedbackResponsesLogic {
             throws InvalidParametersException, EntityDoesNotExistException {
         try {
             frDb.createEntity(fra);
+            updateFeedbackQuestionStatistics(null, fra);
         } catch (EntityAlreadyExistsException eaee) {
             try {
                 updateFeedbackResponse(fra, (FeedbackResponse) eaee.existingEntity);
@@ -59,6 +63,10 @@ public class FeedbackResponsesLogic {
             String feedbackResponseId) {
         return frDb.getFeedbackResponse(feedbackResponseId);
     }
+    
+    public List<FeedbackResponseAttributes> getFeedbackResponses(Collection<String> feedbackResponseIds) {
+        return frDb.getFeedbackResponses(feedbackResponseIds);
+    }
 
     public FeedbackResponseAttributes getFeedbackResponse(
             String feedbackQuestionId, String giverEmail, String recipient) {
@@ -179,8 +187,15 @@ public class FeedbackResponsesLogic {
     }
 
     public boolean hasGiverRespondedForSession(String userEmail, String feedbackSessionName, String courseId) {
-
-        return !getFeedbackResponsesFromGiverForSessionWithinRange(userEmail, feedbackSessionName, courseId, 1).isEmpty();
+        return frDb.hasFeedbackResponsesFromGiverForSession(userEmail, feedbackSessionName, courseId);
+    }
+    
+    public boolean hasResponsesForQuestion(String feedbackQuestionId) {
+        return frDb.hasFeedbackResponsesForQuestion(feedbackQuestionId);
+    }
+    
+    public int getFeedbackResponsesCountFromGiverForQuestion(String feedbackQuestionId, String userEmail) {
+        return frDb.getFeedbackResponsesCountFromGiverForQuestion(feedbackQuestionId, userEmail);
     }
 
     public List<FeedbackResponseAttributes> getFeedbackResponsesForReceiverForCourse(
@@ -451,6 +466,7 @@ public class FeedbackResponsesLogic {
             // Recreate response to prevent possible future id conflict.
             recreateResponse(newResponse, oldResponse);
         }
+        updateFeedbackQuestionStatistics(oldResponse, newResponse);
     }
 
     private void recreateResponse(
@@ -486,7 +502,7 @@ public class FeedbackResponsesLogic {
             question = fqLogic.getFeedbackQuestion(response.feedbackQuestionId);
             if (question.giverType == FeedbackParticipantType.TEAMS
                     || isRecipientTypeTeamMembers(question)) {
-                frDb.deleteEntity(response);
+                deleteFeedbackResponse(response);
             }
         }
 
@@ -496,7 +512,7 @@ public class FeedbackResponsesLogic {
         for (FeedbackResponseAttributes response : responsesToUser) {
             question = fqLogic.getFeedbackQuestion(response.feedbackQuestionId);
             if (isRecipientTypeTeamMembers(question)) {
-                frDb.deleteEntity(response);
+                deleteFeedbackResponse(response);
             }
         }
 
@@ -504,7 +520,7 @@ public class FeedbackResponsesLogic {
             List<FeedbackResponseAttributes> responsesToTeam =
                     getFeedbackResponsesForReceiverForCourse(courseId, oldTeam);
             for (FeedbackResponseAttributes response : responsesToTeam) {
-                frDb.deleteEntity(response);
+                deleteFeedbackResponse(response);
             }
         }
     }
@@ -554,7 +570,7 @@ public class FeedbackResponsesLogic {
                 || shouldDeleteByChangeOfRecipient;
 
         if (shouldDeleteResponse) {
-            frDb.deleteEntity(response);
+            deleteFeedbackResponse(response);
             updateSessionResponseRateForDeletingStudentResponse(enrollment.email,
                     response.feedbackSessionName, enrollment.course);
         }
@@ -601,44 +617,60 @@ public class FeedbackResponsesLogic {
 
     /**
      * Updates responses for a student when his email changes.
+     * As the email is part of the id of a response, the responses from and to the student are recreated,
+     * together with one batch of updates for the comments on them and one statistics update per question.
      */
-    // TODO: cascade the update to response comments
     public void updateFeedbackResponsesForChangingEmail(
             String courseId, String oldEmail, String newEmail)
-            throws InvalidParametersException, EntityDoesNotExistException {
+            throws InvalidParametersException {
 
-        List<FeedbackResponseAttributes> responsesFromUser =
+        List<FeedbackResponseAttributes> oldResponses =
                 getFeedbackResponsesFromGiverForCourse(courseId, oldEmail);
-
-        for (FeedbackResponseAttributes response : responsesFromUser) {
-            response.giver = newEmail;
-            try {
-                updateFeedbackResponse(response);
-            } catch (EntityAlreadyExistsException e) {
-                Assumption
-                        .fail("Feedback response failed to update successfully"
-                            + "as email was already in use.");
+        for (FeedbackResponseAttributes response : getFeedbackResponsesForReceiverForCourse(courseId, oldEmail)) {
+            // responses of the student to the student are already among the responses from the student
+            if (!response.giver.equals(oldEmail)) {
+                oldResponses.add(response);
             }
         }
+        if (oldResponses.isEmpty()) {
+            return;
+        }
 
-        List<FeedbackResponseAttributes> responsesToUser =
-                getFeedbackResponsesForReceiverForCourse(courseId, oldEmail);
-
-        for (FeedbackResponseAttributes response : responsesToUser) {
-            response.recipient = newEmail;
-            try {
-                updateFeedbackResponse(response);
-            } catch (EntityAlreadyExistsException e) {
-                Assumption
-                        .fail("Feedback response failed to update successfully"
+        if (frDb.hasFeedbackResponsesForEmailForCourse(newEmail, courseId)) {
+            Assumption.fail("Feedback response failed to update successfully"
                             + "as email was already in use.");
+        }
+
+        List<FeedbackResponseAttributes> newResponses = new ArrayList<FeedbackResponseAttributes>();
+        for (FeedbackResponseAttributes oldResponse : oldResponses) {
+            FeedbackResponseAttributes newResponse = new FeedbackResponseAttributes(oldResponse);
+            if (newResponse.giver.equals(oldEmail)) {
+                newResponse.giver = newEmail;
+            }
+            if (newResponse.recipient.equals(oldEmail)) {
+                newResponse.recipient = newEmail;
             }
+            newResponses.add(newResponse);
+        }
+        frDb.recreateFeedbackResponses(oldResponses, newResponses);
+
+        Map<String, String> newResponseIds = new HashMap<String, String>();
+        for (int i = 0; i < oldResponses.size(); i++) {
+            newResponseIds.put(oldResponses.get(i).getId(), newResponses.get(i).getId());
         }
+        frcLogic.updateFeedbackResponseCommentsForChangingResponseIds(courseId, newResponseIds);
+
+        updateFeedbackQuestionStatistics(oldResponses, newResponses);
     }
 
     public void deleteFeedbackResponseAndCascade(FeedbackResponseAttributes responseToDelete) {
         frcLogic.deleteFeedbackResponseCommentsForResponse(responseToDelete.getId());
+        deleteFeedbackResponse(responseToDelete);
+    }
+
+    private void deleteFeedbackResponse(FeedbackResponseAttributes responseToDelete) {
         frDb.deleteEntity(responseToDelete);
+        updateFeedbackQuestionStatistics(responseToDelete, null);
     }
 
     public void deleteFeedbackResponsesForQuestionAndCascade(
@@ -649,9 +681,12 @@ public class FeedbackResponsesLogic {
         Set<String> emails = new HashSet<String>();
 
         for (FeedbackResponseAttributes response : responsesForQuestion) {
-            this.deleteFeedbackResponseAndCascade(response);
+            frcLogic.deleteFeedbackResponseCommentsForResponse(response.getId());
+            frDb.deleteEntity(response);
             emails.add(response.giver);
         }
+        // the statistics are deleted with the responses instead of being updated for each of them
+        fqsLogic.deleteFeedbackQuestionStatistics(feedbackQuestionId);
 
         if (!hasResponseRateUpdate) {
             return;
@@ -713,6 +748,132 @@ public class FeedbackResponsesLogic {
      */
     public void deleteFeedbackResponsesForCourse(String courseId) {
         frDb.deleteFeedbackResponsesForCourse(courseId);
+        fqsLogic.deleteFeedbackQuestionStatisticsForCourse(courseId);
+    }
+
+    /**
+     * Deletes the next batch of the responses in the course. This is a non-cascade delete,
+     * and the statistics of the questions are not updated.
+     * @return the cursor from which the next batch starts, or {@code null} if there are no more responses
+     */
+    public String deleteFeedbackResponsesBatchForCourse(String courseId, String cursor, int batchSize) {
+        return frDb.deleteFeedbackResponsesBatchForCourse(courseId, cursor, batchSize);
+    }
+
+    /**
+     * Deletes the next batch of the responses in the session. This is a non-cascade delete,
+     * and the statistics of the questions are not updated.
+     * @return the cursor from which the next batch starts, or {@code null} if there are no more responses
+     */
+    public String deleteFeedbackResponsesBatchForSession(String feedbackSessionName, String courseId,
+                                                         String cursor, int batchSize) {
+        return frDb.deleteFeedbackResponsesBatchForSession(feedbackSessionName, courseId, cursor, batchSize);
+    }
+
+    /**
+     * Rebuilds the stored statistics of the question from all its responses.
+     */
+    public void rebuildFeedbackQuestionStatistics(FeedbackQuestionAttributes question) {
+        fqsLogic.rebuildFeedbackQuestionStatistics(question, getFeedbackResponsesForQuestion(question.getId()));
+    }
+
+    /**
+     * Updates the stored statistics of the question of a response which was created, updated or deleted.
+     * Statistics which are not stored yet are built from all the responses to the question
+     * when a response is created or updated.
+     * @param oldResponse  the response before the change, or null if it was created
+     * @param newResponse  the response after the change, or null if it was deleted
+     */
+    private void updateFeedbackQuestionStatistics(FeedbackResponseAttributes oldResponse,
+                                                  FeedbackResponseAttributes newResponse) {
+        FeedbackResponseAttributes response = newResponse == null ? oldResponse : newResponse;
+        FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestion(response.feedbackQuestionId);
+        if (question == null) {
+            return;
+        }
+        FeedbackQuestionDetails questionDetails = question.getQuestionDetails();
+        if (!questionDetails.isResponseStatisticsIncremental()) {
+            return;
+        }
+
+        List<FeedbackResponseAttributes> oldResponses = new ArrayList<FeedbackResponseAttributes>();
+        if (oldResponse != null) {
+            oldResponses.add(oldResponse);
+        }
+        List<FeedbackResponseAttributes> newResponses = new ArrayList<FeedbackResponseAttributes>();
+        if (newResponse != null) {
+            newResponses.add(newResponse);
+        }
+        boolean isUpdated = fqsLogic.updateFeedbackQuestionStatistics(question.getId(), questionDetails,
+                                                                      oldResponses, newResponses);
+        if (!isUpdated && newResponse != null) {
+            fqsLogic.rebuildFeedbackQuestionStatistics(question,
+                                                       getFeedbackResponsesForStatistics(question, oldResponse,
+                                                                                         newResponse));
+        }
+    }
+
+    /**
+     * Updates the stored statistics of the questions of responses which were all changed at once,
+     * with one update per question. Statistics which are not stored yet are scheduled to be built.
+     * @param oldResponses the responses before the change
+     * @param newResponses the responses after the change, in the same order
+     */
+    private void updateFeedbackQuestionStatistics(List<FeedbackResponseAttributes> oldResponses,
+                                                  List<FeedbackResponseAttributes> newResponses) {
+        Map<String, List<Integer>> responseIndexesForQuestion = new HashMap<String, List<Integer>>();
+        for (int i = 0; i < newResponses.size(); i++) {
+            String questionId = newResponses.get(i).feedbackQuestionId;
+            if (!responseIndexesForQuestion.containsKey(questionId)) {
+                responseIndexesForQuestion.put(questionId, new ArrayList<Integer>());
+            }
+            responseIndexesForQuestion.get(questionId).add(i);
+        }
+
+        for (Map.Entry<String, List<Integer>> entry : responseIndexesForQuestion.entrySet()) {
+            FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestion(entry.getKey());
+            if (question == null) {
+                continue;
+            }
+            FeedbackQuestionDetails questionDetails = question.getQuestionDetails();
+            if (!questionDetails.isResponseStatisticsIncremental()) {
+                continue;
+            }
+
+            List<FeedbackResponseAttributes> oldResponsesForQuestion = new ArrayList<FeedbackResponseAttributes>();
+            List<FeedbackResponseAttributes> newResponsesForQuestion = new ArrayList<FeedbackResponseAttributes>();
+            for (int i : entry.getValue()) {
+                oldResponsesForQuestion.add(oldResponses.get(i));
+                newResponsesForQuestion.add(newResponses.get(i));
+            }
+            boolean isUpdated = fqsLogic.updateFeedbackQuestionStatistics(question.getId(), questionDetails,
+                                                                          oldResponsesForQuestion,
+                                                                          newResponsesForQuestion);
+            if (!isUpdated) {
+                fqsLogic.scheduleFeedbackQuestionStatisticsRebuild(question.getId());
+            }
+        }
+    }
+
+    /**
+     * Gets the responses to the question after {@code oldResponse} was changed to {@code newResponse},
+     * as the query for the responses may not reflect a change which was just made.
+     */
+    private List<FeedbackResponseAttributes> getFeedbackResponsesForStatistics(
+            FeedbackQuestionAttributes question, FeedbackResponseAttributes oldResponse,
+            FeedbackResponseAttributes newResponse) {
+        List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+        for (FeedbackResponseAttributes response : getFeedbackResponsesForQuestion(question.getId())) {
+            if (!isSameGiverAndRecipient(response, oldResponse) && !isSameGiverAndRecipient(response, newResponse)) {
+                responses.add(response);
+            }
+        }
+        responses.add(newResponse);
+        return responses;
+    }
+
+    private boolean isSameGiverAndRecipient(FeedbackResponseAttributes response, FeedbackResponseAttributes other) {
+        return other != null && response.giver.equals(other.giver) && response.recipient.equals(other.recipient);
     }
 
     /**
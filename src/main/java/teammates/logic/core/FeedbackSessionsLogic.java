@@ -12,7 +12,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.logging.Logger;
 
 import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.FeedbackParticipantType;
@@ -34,7 +33,6 @@ import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.ExceedingRangeException;
 import teammates.common.exception.InvalidParametersException;
-import teammates.common.exception.TeammatesException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.Const.ParamsNames;
@@ -44,7 +42,6 @@ import teammates.common.util.EmailWrapper;
 import teammates.common.util.Sanitizer;
 import teammates.common.util.StringHelper;
 import teammates.common.util.TimeHelper;
-import teammates.common.util.Utils;
 import teammates.storage.api.FeedbackSessionsDb;
 import teammates.storage.api.InstructorsDb;
 import teammates.storage.api.StudentsDb;
@@ -53,15 +50,15 @@ public class FeedbackSessionsLogic {
     
     private static FeedbackSessionsLogic instance;
 
-    private static final Logger log = Utils.getLogger();
-
     private static final FeedbackSessionsDb fsDb = new FeedbackSessionsDb();
     private static final FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
     private static final FeedbackResponsesLogic frLogic = FeedbackResponsesLogic.inst();
     private static final FeedbackResponseCommentsLogic frcLogic = FeedbackResponseCommentsLogic.inst();
+    private static final FeedbackQuestionStatisticsLogic fqsLogic = FeedbackQuestionStatisticsLogic.inst();
     private static final InstructorsLogic instructorsLogic = InstructorsLogic.inst();
     private static final CoursesLogic coursesLogic = CoursesLogic.inst();
     private static final StudentsLogic studentsLogic = StudentsLogic.inst();
+    private static final CascadeDeletionLogic cascadeDeletionLogic = CascadeDeletionLogic.inst();
     private static final String QUESTION_ID_FOR_RESPONSE_RATE = "-1";
     private static final int EMAIL_NAME_PAIR = 0;
     private static final int EMAIL_LASTNAME_PAIR = 1;
@@ -115,6 +112,7 @@ public class FeedbackSessionsLogic {
 
     public void createFeedbackSession(FeedbackSessionAttributes fsa)
             throws InvalidParametersException, EntityAlreadyExistsException {
+        checkFeedbackSessionNotPendingDeletion(fsa);
         fsDb.createEntity(fsa);
     }
 
@@ -134,29 +132,160 @@ public class FeedbackSessionsLogic {
             String courseId) {
         return fsDb.getFeedbackSessionsForCourse(courseId);
     }
+    
+    public List<FeedbackSessionAttributes> getFeedbackSessionsForCourses(List<String> courseIds) {
+        return fsDb.getFeedbackSessionsForCourses(courseIds);
+    }
 
     public FeedbackSessionAttributes copyFeedbackSession(String newFeedbackSessionName,
             String newCourseId, String feedbackSessionName, String courseId, String instructorEmail)
             throws InvalidParametersException, EntityAlreadyExistsException, EntityDoesNotExistException {
         FeedbackSessionAttributes copiedFeedbackSession = getFeedbackSession(feedbackSessionName, courseId);
+        createCopiedFeedbackSession(copiedFeedbackSession, newFeedbackSessionName, newCourseId, instructorEmail);
+        copyFeedbackQuestions(newFeedbackSessionName, newCourseId, feedbackSessionName, courseId, instructorEmail,
+                              new HashSet<Integer>());
+        
+        return copiedFeedbackSession;
+    }
+    
+    /**
+     * Copies a feedback session to each of the given courses. The sessions are created right away, while
+     * their questions are copied by tasks in the feedback session copy queue, one task for each course,
+     * which run concurrently. Use {@link #isFeedbackSessionCopyCompleted} to check on the tasks.
+     * @return the copied sessions, in the order of {@code newCourseIds}
+     */
+    public List<FeedbackSessionAttributes> copyFeedbackSessionToCourses(String newFeedbackSessionName,
+            List<String> newCourseIds, String feedbackSessionName, String courseId, String instructorEmail)
+            throws InvalidParametersException, EntityAlreadyExistsException, EntityDoesNotExistException {
+        FeedbackSessionAttributes feedbackSession = getFeedbackSession(feedbackSessionName, courseId);
+        if (feedbackSession == null) {
+            throw new EntityDoesNotExistException(ERROR_NON_EXISTENT_FS_GET + courseId + "/" + feedbackSessionName);
+        }
+        
+        List<FeedbackSessionAttributes> copiedFeedbackSessions = new ArrayList<FeedbackSessionAttributes>();
+        for (String newCourseId : newCourseIds) {
+            FeedbackSessionAttributes copiedFeedbackSession = feedbackSession.getCopy();
+            createCopiedFeedbackSession(copiedFeedbackSession, newFeedbackSessionName, newCourseId, instructorEmail);
+            copiedFeedbackSessions.add(copiedFeedbackSession);
+            
+            // scheduled right away, so that the copies made before a later copy fails still get their questions
+            Map<String, String> paramMap = new HashMap<String, String>();
+            paramMap.put(ParamsNames.COPIED_FEEDBACK_SESSION_NAME, newFeedbackSessionName);
+            paramMap.put(ParamsNames.COPIED_COURSE_ID, newCourseId);
+            paramMap.put(ParamsNames.FEEDBACK_SESSION_NAME, feedbackSessionName);
+            paramMap.put(ParamsNames.COURSE_ID, courseId);
+            paramMap.put(ParamsNames.INSTRUCTOR_EMAIL, instructorEmail);
+            TaskQueuesLogic.inst().createAndAddTask(SystemParams.FEEDBACK_SESSION_COPY_TASK_QUEUE,
+                                                    Const.ActionURIs.FEEDBACK_SESSION_COPY_WORKER,
+                                                    paramMap);
+        }
+        return copiedFeedbackSessions;
+    }
+    
+    /**
+     * Copies the questions of a feedback session to a copy of the session created by
+     * {@link #copyFeedbackSessionToCourses}, unless the copy has been deleted. Questions whose number
+     * the copy already has are skipped, e.g. when a copying task which created some of them is retried.
+     * @throws EntityDoesNotExistException if the session to copy no longer exists
+     */
+    public void copyFeedbackQuestionsToCopiedSession(String newFeedbackSessionName, String newCourseId,
+            String feedbackSessionName, String courseId, String instructorEmail)
+            throws InvalidParametersException, EntityDoesNotExistException {
+        if (!isFeedbackSessionExists(newFeedbackSessionName, newCourseId)) {
+            return;
+        }
+        Set<Integer> copiedQuestionNumbers = new HashSet<Integer>();
+        for (FeedbackQuestionAttributes question
+                : fqLogic.getFeedbackQuestionsForSession(newFeedbackSessionName, newCourseId)) {
+            copiedQuestionNumbers.add(question.questionNumber);
+        }
+        copyFeedbackQuestions(newFeedbackSessionName, newCourseId, feedbackSessionName, courseId, instructorEmail,
+                              copiedQuestionNumbers);
+    }
+    
+    /**
+     * @return true if all the questions of a feedback session copied by {@link #copyFeedbackSessionToCourses}
+     *         have been copied, or the copy has been deleted
+     * @throws EntityDoesNotExistException if the session to copy no longer exists
+     */
+    public boolean isFeedbackSessionCopyCompleted(String newFeedbackSessionName, String newCourseId,
+                                                  String feedbackSessionName, String courseId)
+            throws EntityDoesNotExistException {
+        return !isFeedbackSessionExists(newFeedbackSessionName, newCourseId)
+               || fqLogic.getFeedbackQuestionsForSession(newFeedbackSessionName, newCourseId).size()
+                  >= fqLogic.getFeedbackQuestionsForSession(feedbackSessionName, courseId).size();
+    }
+    
+    /**
+     * @return true if a feedback session copied by {@link #copyFeedbackSessionToCourses} still does not have
+     *         all the questions {@link SystemParams#FEEDBACK_SESSION_COPY_TIMEOUT_MILLIS} after it was created,
+     *         i.e. its copying task has given up
+     * @throws EntityDoesNotExistException if the session to copy no longer exists
+     */
+    public boolean isFeedbackSessionCopyFailed(String newFeedbackSessionName, String newCourseId,
+                                               String feedbackSessionName, String courseId)
+            throws EntityDoesNotExistException {
+        FeedbackSessionAttributes copiedFeedbackSession = getFeedbackSession(newFeedbackSessionName, newCourseId);
+        if (copiedFeedbackSession == null) {
+            return false;
+        }
+        long timeSinceCreated = new Date().getTime() - copiedFeedbackSession.getCreatedTime().getTime();
+        return timeSinceCreated > SystemParams.FEEDBACK_SESSION_COPY_TIMEOUT_MILLIS
+               && !isFeedbackSessionCopyCompleted(newFeedbackSessionName, newCourseId,
+                                                  feedbackSessionName, courseId);
+    }
+    
+    private void createCopiedFeedbackSession(FeedbackSessionAttributes copiedFeedbackSession,
+            String newFeedbackSessionName, String newCourseId, String instructorEmail)
+            throws InvalidParametersException, EntityAlreadyExistsException {
         copiedFeedbackSession.setCreatorEmail(instructorEmail);
         copiedFeedbackSession.setFeedbackSessionName(newFeedbackSessionName);
         copiedFeedbackSession.setCourseId(newCourseId);
         copiedFeedbackSession.setCreatedTime(new Date());
         copiedFeedbackSession.setRespondingInstructorList(new HashSet<String>());
         copiedFeedbackSession.setRespondingStudentList(new HashSet<String>());
+        checkFeedbackSessionNotPendingDeletion(copiedFeedbackSession);
         fsDb.createEntity(copiedFeedbackSession);
-        
+    }
+    
+    /**
+     * Checks the session to be created as {@link FeedbackSessionsDb#createEntity} does before checking
+     * that it is not pending deletion, so that an invalid session is rejected for its invalidity first.
+     * @throws InvalidParametersException if the session is invalid, or a session of the same name
+     *         has been deleted but not all its data has been deleted yet
+     */
+    private void checkFeedbackSessionNotPendingDeletion(FeedbackSessionAttributes fsa)
+            throws InvalidParametersException {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, fsa);
+        if (!fsa.isValid()) {
+            throw new InvalidParametersException(fsa.getInvalidityInfo());
+        }
+        if (cascadeDeletionLogic.isDataDeletionPending(fsa.getCourseId(), fsa.getFeedbackSessionName())) {
+            throw new InvalidParametersException(Const.StatusMessages.FEEDBACK_SESSION_DELETION_PENDING);
+        }
+    }
+    
+    /**
+     * Reads the questions of the session once, numbers them in order and creates them in one batched write,
+     * leaving out the questions whose number is in {@code questionNumbersToSkip}.
+     */
+    private void copyFeedbackQuestions(String newFeedbackSessionName, String newCourseId,
+            String feedbackSessionName, String courseId, String instructorEmail, Set<Integer> questionNumbersToSkip)
+            throws InvalidParametersException, EntityDoesNotExistException {
         List<FeedbackQuestionAttributes> feedbackQuestions =
                 fqLogic.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
+        List<FeedbackQuestionAttributes> questionsToCopy = new ArrayList<FeedbackQuestionAttributes>();
+        int questionNumber = 1;
         for (FeedbackQuestionAttributes question : feedbackQuestions) {
             question.courseId = newCourseId;
             question.feedbackSessionName = newFeedbackSessionName;
             question.creatorEmail = instructorEmail;
-            fqLogic.createFeedbackQuestionNoIntegrityCheck(question, question.questionNumber);
+            question.questionNumber = questionNumber++;
+            if (!questionNumbersToSkip.contains(question.questionNumber)) {
+                questionsToCopy.add(question);
+            }
         }
-        
-        return copiedFeedbackSession;
+        fqLogic.createFeedbackQuestionsNoIntegrityCheck(questionsToCopy);
     }
 
     /**
@@ -206,6 +335,51 @@ public class FeedbackSessionsLogic {
         return viewableSessions;
     }
 
+    /**
+     * Gets the feedback sessions viewable to the given users in their courses, like
+     * {@link #getFeedbackSessionsForUserInCourseSkipCheck(String, String)} for each course,
+     * but reading the sessions, instructors and questions of all the courses at once.
+     * 
+     * @param userEmailsForCourses the email of the user in each course, keyed by course ID
+     * @return the viewable feedback sessions in each of the courses, keyed by course ID
+     */
+    public Map<String, List<FeedbackSessionAttributes>> getFeedbackSessionsForUserInCoursesSkipCheck(
+            Map<String, String> userEmailsForCourses) {
+        Map<String, List<FeedbackSessionAttributes>> viewableSessionsForCourses =
+                new HashMap<String, List<FeedbackSessionAttributes>>();
+        for (String courseId : userEmailsForCourses.keySet()) {
+            viewableSessionsForCourses.put(courseId, new ArrayList<FeedbackSessionAttributes>());
+        }
+        
+        List<FeedbackSessionAttributes> sessions =
+                getFeedbackSessionsForCourses(new ArrayList<String>(userEmailsForCourses.keySet()));
+        if (sessions.isEmpty()) {
+            return viewableSessionsForCourses;
+        }
+        
+        Set<String> coursesAsInstructor = new HashSet<String>();
+        for (String userEmail : new HashSet<String>(userEmailsForCourses.values())) {
+            for (InstructorAttributes instructor : instructorsLogic.getInstructorsForEmail(userEmail)) {
+                if (userEmail.equals(userEmailsForCourses.get(instructor.courseId))) {
+                    coursesAsInstructor.add(instructor.courseId);
+                }
+            }
+        }
+        
+        Map<FeedbackSessionAttributes, List<FeedbackQuestionAttributes>> questionsForSessions =
+                fqLogic.getFeedbackQuestionsForSessions(sessions);
+        for (FeedbackSessionAttributes session : sessions) {
+            String courseId = session.getCourseId();
+            if (isFeedbackSessionViewableTo(session, userEmailsForCourses.get(courseId),
+                                            coursesAsInstructor.contains(courseId),
+                                            questionsForSessions.get(session))) {
+                viewableSessionsForCourses.get(courseId).add(session);
+            }
+        }
+        
+        return viewableSessionsForCourses;
+    }
+
     /**
      * Returns a {@code List} of all feedback sessions bundled with their
      * response statistics for a instructor given by his googleId.<br>
@@ -311,12 +485,14 @@ public class FeedbackSessionsLogic {
         
         InstructorAttributes instructorGiver = instructor;
         StudentAttributes studentGiver = null;
+        CourseRoster roster = new CourseRoster(studentsLogic.getStudentsForCourse(courseId),
+                                               instructorsLogic.getInstructorsForCourse(courseId));
 
         for (FeedbackQuestionAttributes question : questions) {
 
             updateBundleAndRecipientListWithResponsesForInstructor(courseId,
                     userEmail, fsa, instructor, bundle, recipientList,
-                    question, instructorGiver, studentGiver);
+                    question, instructorGiver, studentGiver, roster);
         }
 
         return new FeedbackSessionQuestionsBundle(fsa, bundle, recipientList);
@@ -342,10 +518,12 @@ public class FeedbackSessionsLogic {
         
         InstructorAttributes instructorGiver = instructor;
         StudentAttributes studentGiver = null;
+        CourseRoster roster = new CourseRoster(studentsLogic.getStudentsForCourse(courseId),
+                                               instructorsLogic.getInstructorsForCourse(courseId));
 
         updateBundleAndRecipientListWithResponsesForInstructor(courseId,
                 userEmail, fsa, instructor, bundle, recipientList,
-                question, instructorGiver, studentGiver);
+                question, instructorGiver, studentGiver, roster);
 
         return new FeedbackSessionQuestionsBundle(fsa, bundle, recipientList);
     }
@@ -358,19 +536,19 @@ public class FeedbackSessionsLogic {
             Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> bundle,
             Map<String, Map<String, String>> recipientList,
             FeedbackQuestionAttributes question,
-            InstructorAttributes instructorGiver, StudentAttributes studentGiver)
-            throws EntityDoesNotExistException {
+            InstructorAttributes instructorGiver, StudentAttributes studentGiver,
+            CourseRoster roster) {
         List<FeedbackResponseAttributes> responses =
                 frLogic.getFeedbackResponsesFromGiverForQuestion(
                         question.getId(), userEmail);
         Map<String, String> recipients =
-                fqLogic.getRecipientsForQuestion(question, userEmail, instructorGiver, studentGiver);
+                fqLogic.getRecipientsForQuestion(question, userEmail, instructorGiver, studentGiver, roster);
         // instructor can only see students in allowed sections for him/her
         if (question.recipientType.equals(FeedbackParticipantType.STUDENTS)) {
             Iterator<Map.Entry<String, String>> iter = recipients.entrySet().iterator();
             while (iter.hasNext()) {
                 Map.Entry<String, String> studentEntry = iter.next();
-                StudentAttributes student = studentsLogic.getStudentForEmail(courseId, studentEntry.getKey());
+                StudentAttributes student = roster.getStudentForEmail(studentEntry.getKey());
                 if (!instructor.isAllowedForPrivilege(student.section,
                         fsa.getFeedbackSessionName(), Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS)) {
                     iter.remove();
@@ -382,7 +560,7 @@ public class FeedbackSessionsLogic {
             Iterator<Map.Entry<String, String>> iter = recipients.entrySet().iterator();
             while (iter.hasNext()) {
                 Map.Entry<String, String> teamEntry = iter.next();
-                String teamSection = studentsLogic.getSectionForTeam(courseId, teamEntry.getKey());
+                String teamSection = roster.getSectionForTeam(teamEntry.getKey());
                 if (!instructor.isAllowedForPrivilege(teamSection,
                         fsa.getFeedbackSessionName(), Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS)) {
                     iter.remove();
@@ -422,19 +600,14 @@ public class FeedbackSessionsLogic {
         List<FeedbackQuestionAttributes> questions = fqLogic.getFeedbackQuestionsForStudents(feedbackSessionName,
                 courseId);
 
-        Set<String> hiddenInstructorEmails = null;
-        
-        for (FeedbackQuestionAttributes question : questions) {
-            if (question.getRecipientType() == FeedbackParticipantType.INSTRUCTORS) {
-                hiddenInstructorEmails = getHiddenInstructorEmails(courseId);
-                break;
-            }
-        }
+        CourseRoster roster = new CourseRoster(studentsLogic.getStudentsForCourse(courseId),
+                                               instructorsLogic.getInstructorsForCourse(courseId));
+        Set<String> hiddenInstructorEmails = getHiddenInstructorEmails(roster);
 
         for (FeedbackQuestionAttributes question : questions) {
 
             updateBundleAndRecipientListWithResponsesForStudent(userEmail, student,
-                    bundle, recipientList, question, hiddenInstructorEmails);
+                    bundle, recipientList, question, hiddenInstructorEmails, roster);
         }
 
         return new FeedbackSessionQuestionsBundle(fsa, bundle, recipientList);
@@ -462,14 +635,12 @@ public class FeedbackSessionsLogic {
 
         FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestion(feedbackQuestionId);
 
-        Set<String> hiddenInstructorEmails = null;
-
-        if (question.getRecipientType() == FeedbackParticipantType.INSTRUCTORS) {
-            hiddenInstructorEmails = getHiddenInstructorEmails(courseId);
-        }
+        CourseRoster roster = new CourseRoster(studentsLogic.getStudentsForCourse(courseId),
+                                               instructorsLogic.getInstructorsForCourse(courseId));
+        Set<String> hiddenInstructorEmails = getHiddenInstructorEmails(roster);
 
         updateBundleAndRecipientListWithResponsesForStudent(userEmail, student,
-                bundle, recipientList, question, hiddenInstructorEmails);
+                bundle, recipientList, question, hiddenInstructorEmails, roster);
 
         return new FeedbackSessionQuestionsBundle(fsa, bundle, recipientList);
     }
@@ -480,13 +651,13 @@ public class FeedbackSessionsLogic {
             Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> bundle,
             Map<String, Map<String, String>> recipientList,
             FeedbackQuestionAttributes question,
-            Set<String> hiddenInstructorEmails)
-            throws EntityDoesNotExistException {
+            Set<String> hiddenInstructorEmails,
+            CourseRoster roster) {
         List<FeedbackResponseAttributes> responses =
                 frLogic.getFeedbackResponsesFromStudentOrTeamForQuestion(
                         question, student);
         Map<String, String> recipients =
-                fqLogic.getRecipientsForQuestion(question, userEmail, null, student);
+                fqLogic.getRecipientsForQuestion(question, userEmail, null, student, roster);
 
         removeHiddenInstructors(question, responses, recipients, hiddenInstructorEmails);
 
@@ -546,19 +717,16 @@ public class FeedbackSessionsLogic {
     }
 
     /**
-     * @param courseId
-     *            the ID of the course
+     * @param roster
+     *            the roster of the course
      * @return a {@link Set} of emails of the instructors who are not displayed
-     *         to students in the course specified by {@code courseId}
+     *         to students in the course of {@code roster}
      */
-    private Set<String> getHiddenInstructorEmails(String courseId) {
+    private Set<String> getHiddenInstructorEmails(CourseRoster roster) {
 
-        InstructorsLogic instructorLogic = InstructorsLogic.inst();
-
-        List<InstructorAttributes> instructors = instructorLogic.getInstructorsForCourse(courseId);
         Set<String> hiddenInstructorEmails = new HashSet<>();
 
-        for (InstructorAttributes instructor : instructors) {
+        for (InstructorAttributes instructor : roster.getInstructors()) {
             if (!instructor.isDisplayedToStudents()) {
                 hiddenInstructorEmails.add(instructor.email);
             }
@@ -861,10 +1029,6 @@ public class FeedbackSessionsLogic {
         if (!results.isComplete) {
             throw new ExceedingRangeException(ERROR_NUMBER_OF_RESPONSES_EXCEEDS_RANGE);
         }
-        // sort responses by giver > recipient > qnNumber
-        Collections.sort(results.responses,
-                results.compareByGiverRecipientQuestion);
-        
         StringBuilder exportBuilder = new StringBuilder(100);
 
         exportBuilder.append(String.format("Course,%s", Sanitizer.sanitizeForCsv(results.feedbackSession.getCourseId())))
@@ -1165,6 +1329,55 @@ public class FeedbackSessionsLogic {
         return allQuestions.isEmpty();
     }
 
+    /**
+     * Checks whether the student with the given Google ID has completed each of the given sessions,
+     * which must be in courses the student is enrolled in.
+     * 
+     * @return whether each of the sessions is completed, keyed by session
+     */
+    public Map<FeedbackSessionAttributes, Boolean> getFeedbackSessionsCompletionStatusForStudent(
+            List<FeedbackSessionAttributes> sessions, String googleId) {
+        Map<String, String> studentEmailsForCourses = new HashMap<String, String>();
+        for (StudentAttributes student : studentsLogic.getStudentsForGoogleId(googleId)) {
+            studentEmailsForCourses.put(student.course, student.email);
+        }
+        return getFeedbackSessionsCompletionStatusForStudent(sessions, studentEmailsForCourses);
+    }
+
+    /**
+     * Checks whether the student has completed each of the given sessions, like
+     * {@link #isFeedbackSessionCompletedByStudent(FeedbackSessionAttributes, String)},
+     * but reading the questions of all the sessions at once.
+     * 
+     * @param studentEmailsForCourses the email of the student in each course of the sessions, keyed by course ID
+     * @return whether each of the sessions is completed, keyed by session
+     */
+    public Map<FeedbackSessionAttributes, Boolean> getFeedbackSessionsCompletionStatusForStudent(
+            List<FeedbackSessionAttributes> sessions, Map<String, String> studentEmailsForCourses) {
+        Map<FeedbackSessionAttributes, Boolean> completionStatus = new HashMap<FeedbackSessionAttributes, Boolean>();
+        List<FeedbackSessionAttributes> sessionsNotRespondedTo = new ArrayList<FeedbackSessionAttributes>();
+        for (FeedbackSessionAttributes session : sessions) {
+            String studentEmail = studentEmailsForCourses.get(session.getCourseId());
+            Assumption.assertNotNull(studentEmail);
+            if (session.getRespondingStudentList().contains(studentEmail)) {
+                completionStatus.put(session, true);
+            } else {
+                sessionsNotRespondedTo.add(session);
+            }
+        }
+        
+        if (!sessionsNotRespondedTo.isEmpty()) {
+            Map<FeedbackSessionAttributes, List<FeedbackQuestionAttributes>> questionsForSessions =
+                    fqLogic.getFeedbackQuestionsForSessions(sessionsNotRespondedTo);
+            for (FeedbackSessionAttributes session : sessionsNotRespondedTo) {
+                // if there is no question for students, session is complete
+                completionStatus.put(session,
+                        fqLogic.getFeedbackQuestionsForStudents(questionsForSessions.get(session)).isEmpty());
+            }
+        }
+        return completionStatus;
+    }
+
     public boolean isFeedbackSessionCompletedByInstructor(
             String feedbackSessionName,
             String courseId, String userEmail)
@@ -1748,20 +1961,26 @@ public class FeedbackSessionsLogic {
      * and responses
      */
     public void deleteFeedbackSessionCascade(String feedbackSessionName, String courseId) {
+        deleteFeedbackSession(feedbackSessionName, courseId);
+        cascadeDeletionLogic.deleteFeedbackSessionData(feedbackSessionName, courseId);
+    }
 
-        try {
-            fqLogic.deleteFeedbackQuestionsForSession(feedbackSessionName, courseId);
-        } catch (EntityDoesNotExistException e) {
-            // Silently fail if session does not exist
-            log.warning(TeammatesException.toStringWithStackTrace(e));
-        }
+    /**
+     * Deletes a specific feedback session, which removes it from view, and schedules
+     * its questions, responses and response comments to be deleted in the background.
+     */
+    public void deleteFeedbackSessionCascadeInBackground(String feedbackSessionName, String courseId) {
+        cascadeDeletionLogic.markDataDeletionPending(courseId, feedbackSessionName);
+        deleteFeedbackSession(feedbackSessionName, courseId);
+        cascadeDeletionLogic.scheduleFeedbackSessionDataDeletion(feedbackSessionName, courseId);
+    }
 
+    private void deleteFeedbackSession(String feedbackSessionName, String courseId) {
         FeedbackSessionAttributes sessionToDelete = new FeedbackSessionAttributes();
         sessionToDelete.setFeedbackSessionName(feedbackSessionName);
         sessionToDelete.setCourseId(courseId);
 
         fsDb.deleteEntity(sessionToDelete);
-
     }
 
     public FeedbackSessionDetailsBundle getFeedbackSessionDetails(
@@ -1968,6 +2187,7 @@ public class FeedbackSessionsLogic {
                         session, responses, relevantQuestions, emailNameTable,
                         emailLastNameTable, emailTeamNameTable, sectionTeamNameTable,
                         visibilityTable, responseStatus, roster, responseComments);
+        addStoredResponseStatistics(results, responses);
 
         return results;
     }
@@ -2116,6 +2336,7 @@ public class FeedbackSessionsLogic {
                             session, responses, relevantQuestions, emailNameTable,
                             emailLastNameTable, emailTeamNameTable, sectionTeamNameTable,
                             visibilityTable, responseStatus, roster, responseComments, true);
+            addStoredResponseStatistics(results, responses);
 
             return results;
         }
@@ -2257,10 +2478,24 @@ public class FeedbackSessionsLogic {
                         session, responses, relevantQuestions, emailNameTable,
                         emailLastNameTable, emailTeamNameTable, sectionTeamNameTable,
                         visibilityTable, responseStatus, roster, responseComments, isComplete);
+        addStoredResponseStatistics(results, responses);
 
         return results;
     }
 
+    /**
+     * Gives the bundle the stored statistics of the questions in its session, so that the statistics
+     * of the questions whose responses are all in the bundle are not aggregated from the responses.
+     */
+    private void addStoredResponseStatistics(FeedbackSessionResultsBundle results,
+                                             List<FeedbackResponseAttributes> responses) {
+        if (responses.isEmpty()) {
+            return;
+        }
+        results.setStoredResponseStatistics(fqsLogic.getFeedbackQuestionStatisticsForSession(
+                results.feedbackSession.getFeedbackSessionName(), results.feedbackSession.getCourseId()));
+    }
+
     private void addSectionTeamNamesToTable(Map<String, Set<String>> sectionTeamNameTable,
                                     CourseRoster roster, String courseId, String userEmail, Role role,
                                     String feedbackSessionName, String sectionToView) {
@@ -2630,6 +2865,27 @@ public class FeedbackSessionsLogic {
         return isFeedbackSessionViewableToStudents(session);
     }
 
+    /**
+     * Checks whether the feedback session is viewable to the specified user,
+     * given all the questions of the session.
+     */
+    private boolean isFeedbackSessionViewableTo(
+            FeedbackSessionAttributes session,
+            String userEmail,
+            boolean isInstructorOfCourse,
+            List<FeedbackQuestionAttributes> allQuestions) {
+
+        if (session.getFeedbackSessionType() == FeedbackSessionType.PRIVATE) {
+            return session.getCreatorEmail().equals(userEmail);
+        }
+        
+        if (isInstructorOfCourse) {
+            return true;
+        }
+
+        return isFeedbackSessionViewableToStudents(session, allQuestions);
+    }
+
     public boolean isFeedbackSessionViewableToStudents(
             FeedbackSessionAttributes session) {
         // Allow students to view the feedback session if there are questions for them
@@ -2655,6 +2911,29 @@ public class FeedbackSessionsLogic {
         
         return session.isVisible() && !questionsWithVisibleResponses.isEmpty();
     }
+
+    /**
+     * Checks whether the feedback session is viewable to students, like
+     * {@link #isFeedbackSessionViewableToStudents(FeedbackSessionAttributes)},
+     * given all the questions of the session.
+     */
+    private boolean isFeedbackSessionViewableToStudents(
+            FeedbackSessionAttributes session, List<FeedbackQuestionAttributes> allQuestions) {
+        if (!session.isVisible()) {
+            return false;
+        }
+        
+        if (!fqLogic.getFeedbackQuestionsForStudents(allQuestions).isEmpty()) {
+            return true;
+        }
+        
+        for (FeedbackQuestionAttributes question : fqLogic.getFeedbackQuestionsForInstructor(allQuestions, true)) {
+            if (frLogic.isResponseOfFeedbackQuestionVisibleToStudent(question)) {
+                return true;
+            }
+        }
+        return false;
+    }
     
     /**
      * Returns true if there are any questions for students to answer.
@@ -110,6 +110,11 @@ public class InstructorsLogic {
         return instructorsDb.getInstructorsForCourse(courseId);
     }
     
+    public List<InstructorAttributes> getInstructorsForCourses(List<String> courseIds) {
+        
+        return instructorsDb.getInstructorsForCourses(courseIds);
+    }
+    
     public List<InstructorAttributes> getInstructorsForGoogleId(String googleId) {
         
         return getInstructorsForGoogleId(googleId, false);
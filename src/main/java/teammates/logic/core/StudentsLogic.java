@@ -3,6 +3,7 @@ package teammates.logic.core;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.logging.Logger;
 
 import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
@@ -13,6 +14,7 @@ import teammates.common.datatransfer.StudentAttributes.UpdateStatus;
 import teammates.common.datatransfer.StudentAttributesFactory;
 import teammates.common.datatransfer.StudentEnrollDetails;
 import teammates.common.datatransfer.StudentProfileAttributes;
+import teammates.common.datatransfer.StudentProfilePictureDetails;
 import teammates.common.datatransfer.StudentSearchResultBundle;
 import teammates.common.datatransfer.TeamDetailsBundle;
 import teammates.common.exception.EnrollException;
@@ -25,11 +27,14 @@ import teammates.common.util.Const.ParamsNames;
 import teammates.common.util.Const.SystemParams;
 import teammates.common.util.EmailWrapper;
 import teammates.common.util.FieldValidator;
+import teammates.common.util.GoogleCloudStorageHelper;
 import teammates.common.util.Sanitizer;
 import teammates.common.util.StringHelper;
 import teammates.common.util.Utils;
+import teammates.storage.api.StudentProfilePictureCache;
 import teammates.storage.api.StudentsDb;
 
+import com.google.appengine.api.blobstore.BlobKey;
 import com.google.gson.Gson;
 
 /**
@@ -41,6 +46,8 @@ public class StudentsLogic {
     //  familiar with the its code and Logic's code. Hence, no need for header
     //  comments.
     
+    private static final Logger log = Utils.getLogger();
+    
     private static final int SECTION_SIZE_LIMIT = 100;
     private static final int SIZE_LIMIT_PER_ENROLLMENT = 150;
 
@@ -92,6 +99,53 @@ public class StudentsLogic {
         return studentsDb.getStudentForEmail(courseId, email);
     }
 
+    /**
+     * Gets the details needed to serve the profile picture of a student, from the cache if possible.
+     * @return null if there is no such student
+     */
+    public StudentProfilePictureDetails getStudentProfilePictureDetails(String courseId, String email) {
+        StudentProfilePictureDetails cachedDetails = StudentProfilePictureCache.get(courseId, email);
+        if (cachedDetails != null) {
+            return cachedDetails;
+        }
+        
+        StudentAttributes student = getStudentForEmail(courseId, email);
+        if (student == null) {
+            return null;
+        }
+        
+        // picture request is only relevant for registered student
+        if (student.googleId == null || student.googleId.isEmpty()) {
+            StudentProfilePictureDetails details = new StudentProfilePictureDetails(student, null, null);
+            StudentProfilePictureCache.put(details, 0L);
+            return details;
+        }
+        
+        // read before the profile, so that a change to the picture meanwhile keeps the details from being cached
+        Long pictureVersion = StudentProfilePictureCache.getPictureVersion(student.googleId);
+        StudentProfileAttributes profile = accLogic.getStudentProfile(student.googleId);
+        String thumbnailKey = null;
+        if (profile != null && !profile.pictureKey.isEmpty()) {
+            thumbnailKey = getThumbnailKeyIfExists(student.googleId);
+        }
+        StudentProfilePictureDetails details = new StudentProfilePictureDetails(student, profile, thumbnailKey);
+        StudentProfilePictureCache.put(details, pictureVersion);
+        return details;
+    }
+    
+    /**
+     * Pictures saved before thumbnails were generated have no thumbnail.
+     */
+    private String getThumbnailKeyIfExists(String googleId) {
+        try {
+            String thumbnailKey = GoogleCloudStorageHelper.getThumbnailKey(googleId);
+            return GoogleCloudStorageHelper.doesFileExistInGcs(new BlobKey(thumbnailKey)) ? thumbnailKey : null;
+        } catch (RuntimeException e) {
+            log.warning("Failed to look for the profile picture thumbnail of " + googleId + ": " + e.getMessage());
+            return null;
+        }
+    }
+
     public StudentAttributes getStudentForCourseIdAndGoogleId(String courseId, String googleId) {
         return studentsDb.getStudentForGoogleId(courseId, googleId);
     }
@@ -108,6 +162,10 @@ public class StudentsLogic {
         return studentsDb.getStudentsForCourse(courseId);
     }
     
+    public List<StudentAttributes> getStudentsForCourses(List<String> courseIds) {
+        return studentsDb.getStudentsForCourses(courseIds);
+    }
+    
     public List<StudentAttributes> getStudentsForTeam(String teamName, String courseId) {
         return studentsDb.getStudentsForTeam(teamName, courseId);
     }
@@ -652,6 +710,14 @@ public class StudentsLogic {
         studentsDb.deleteStudentsForCourse(courseId);
     }
 
+    /**
+     * Deletes the next batch of the students in the course, and their search documents.
+     * @return the cursor from which the next batch starts, or {@code null} if there are no more students
+     */
+    public String deleteStudentsBatchForCourse(String courseId, String cursor, int batchSize) {
+        return studentsDb.deleteStudentsBatchForCourse(courseId, cursor, batchSize);
+    }
+
     public void deleteStudentsForCourseWithoutDocument(String courseId) {
         studentsDb.deleteStudentsForCourseWithoutDocument(courseId);
     }
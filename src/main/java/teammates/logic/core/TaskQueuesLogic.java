@@ -1,9 +1,13 @@
 package teammates.logic.core;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import com.google.appengine.api.taskqueue.Queue;
+import com.google.appengine.api.taskqueue.QueueConstants;
 import com.google.appengine.api.taskqueue.QueueFactory;
+import com.google.appengine.api.taskqueue.TaskAlreadyExistsException;
 import com.google.appengine.api.taskqueue.TaskOptions;
 
 /**
@@ -35,6 +39,56 @@ public class TaskQueuesLogic {
         requiredQueue.add(taskToBeAdded);
     }
     
+    /**
+     * Adds a task for each of the given maps of parameters, in as few calls to the task queue as allowed.
+     */
+    public void createAndAddTasks(String queueName,
+            String workerUrl, List<Map<String, String>> paramMaps) {
+        createAndAddDeferredTasks(queueName, workerUrl, paramMaps, 0);
+    }
+    
+    /**
+     * Adds a task for each of the given maps of parameters, in as few calls to the task queue as allowed.
+     * The tasks are spread out, so that the i-th task (from 0) runs after i * {@code countdownIntervalMillis}.
+     */
+    public void createAndAddDeferredTasks(String queueName,
+            String workerUrl, List<Map<String, String>> paramMaps, long countdownIntervalMillis) {
+        createAndAddDeferredTasks(queueName, workerUrl, paramMaps, 0, countdownIntervalMillis);
+    }
+    
+    /**
+     * Adds a task for each of the given maps of parameters, in as few calls to the task queue as allowed.
+     * The tasks are spread out, so that the i-th task (from 0) runs after
+     * {@code firstCountdownMillis} + i * {@code countdownIntervalMillis}.
+     */
+    public void createAndAddDeferredTasks(String queueName, String workerUrl, List<Map<String, String>> paramMaps,
+            long firstCountdownMillis, long countdownIntervalMillis) {
+        Queue requiredQueue = QueueFactory.getQueue(queueName);
+        List<TaskOptions> tasksToBeAdded = new ArrayList<TaskOptions>();
+        
+        long countdownTime = firstCountdownMillis;
+        for (Map<String, String> paramMap : paramMaps) {
+            TaskOptions taskToBeAdded = TaskOptions.Builder.withUrl(workerUrl);
+            if (countdownTime > 0) {
+                taskToBeAdded.countdownMillis(countdownTime);
+            }
+            for (Map.Entry<String, String> entry : paramMap.entrySet()) {
+                taskToBeAdded = taskToBeAdded.param(entry.getKey(), entry.getValue());
+            }
+            tasksToBeAdded.add(taskToBeAdded);
+            countdownTime += countdownIntervalMillis;
+            
+            if (tasksToBeAdded.size() == QueueConstants.maxTasksPerAdd()) {
+                requiredQueue.add(tasksToBeAdded);
+                tasksToBeAdded.clear();
+            }
+        }
+        
+        if (!tasksToBeAdded.isEmpty()) {
+            requiredQueue.add(tasksToBeAdded);
+        }
+    }
+    
     // TODO Combine this and createAndAddTask and modify task schedulers accordingly?
     public void createAndAddTaskMultisetParam(String queueName,
             String workerUrl, Map<String, String[]> paramMap) {
@@ -68,4 +122,28 @@ public class TaskQueuesLogic {
         
         requiredQueue.add(taskToBeAdded);
     }
+    
+    /**
+     * Adds a task named {@code taskName}, which runs after {@code countdownTime}.
+     * Task names are unique within a queue, including the names of tasks which already ran
+     * in the last few days, so this can be used to add a task at most once.
+     * @return false if a task with the same name was added before, in which case nothing is added
+     */
+    public boolean createAndAddNamedDeferredTask(String queueName, String taskName,
+            String workerUrl, Map<String, String> paramMap, long countdownTime) {
+        Queue requiredQueue = QueueFactory.getQueue(queueName);
+        TaskOptions taskToBeAdded = TaskOptions.Builder.withUrl(workerUrl).taskName(taskName);
+        taskToBeAdded.countdownMillis(countdownTime);
+        
+        for (Map.Entry<String, String> entry : paramMap.entrySet()) {
+            taskToBeAdded = taskToBeAdded.param(entry.getKey(), entry.getValue());
+        }
+        
+        try {
+            requiredQueue.add(taskToBeAdded);
+            return true;
+        } catch (TaskAlreadyExistsException e) {
+            return false;
+        }
+    }
 }
@@ -100,6 +100,37 @@ public class AccountsDb extends EntitiesDb {
     public AccountAttributes getAccount(String googleId) {
         return getAccount(googleId, false);
     }
+    
+    /**
+     * Gets the data transfer versions of the accounts with the given Google IDs,
+     * without their student profiles. <br>
+     * Preconditions:
+     * <br> * All parameters are non-null.
+     * @return an empty list if none of the accounts are found.
+     */
+    public List<AccountAttributes> getAccounts(Collection<String> googleIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, googleIds);
+        
+        List<AccountAttributes> accounts = new ArrayList<AccountAttributes>();
+        if (googleIds.isEmpty()) {
+            return accounts;
+        }
+        
+        for (Account a : getAccountEntities(googleIds)) {
+            if (!JDOHelper.isDeleted(a)) {
+                // the profile is not read, as reading it fetches it separately for each account
+                AccountAttributes account = new AccountAttributes();
+                account.googleId = a.getGoogleId();
+                account.name = a.getName();
+                account.isInstructor = a.isInstructor();
+                account.email = a.getEmail();
+                account.institute = a.getInstitute();
+                account.createdAt = a.getCreatedAt();
+                accounts.add(account);
+            }
+        }
+        return accounts;
+    }
 
     /**
      * @return {@link AccountAttribute} objects for all accounts with instructor privileges.
@@ -226,6 +257,16 @@ public class AccountsDb extends EntitiesDb {
         }
     }
     
+    private List<Account> getAccountEntities(Collection<String> googleIds) {
+        Query q = getPm().newQuery(Account.class);
+        q.setFilter(":p.contains(googleId)");
+        
+        @SuppressWarnings("unchecked")
+        List<Account> accounts = (List<Account>) q.execute(googleIds);
+        
+        return accounts;
+    }
+    
     private Account getAccountEntity(String googleId) {
         return getAccountEntity(googleId, false);
     }
@@ -0,0 +1,130 @@
+package teammates.storage.api;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import teammates.common.datatransfer.CommentVisibilityIndex;
+import teammates.common.util.Utils;
+
+import com.google.appengine.api.memcache.MemcacheService;
+import com.google.appengine.api.memcache.MemcacheService.SetPolicy;
+import com.google.appengine.api.memcache.MemcacheServiceFactory;
+
+/**
+ * Caches the {@link CommentVisibilityIndex} of each course in an LRU map local to the instance. <br>
+ * Each course has a version in memcache, which is the time of the last change to its comments.
+ * Indexes are stored with the version they were built at, so a change made through any
+ * instance makes the indexes cached by every instance stale. <br>
+ * {@link CommentsDb} must call {@link #invalidate(String)} after every change to the comments of a course.
+ */
+public final class CommentVisibilityIndexCache {
+
+    /**
+     * Queries for the comments of a course are eventually consistent, so an index built
+     * shortly after a change might not include the change yet and is not cached.
+     */
+    public static final long CONSISTENCY_WINDOW_MILLIS = 5000;
+
+    private static final int LOCAL_CACHE_SIZE = 200;
+
+    private static final String VERSION_KEY_PREFIX = "commentVersion:";
+
+    private static final Logger log = Utils.getLogger();
+
+    private static final Map<String, VersionedIndex> localCache =
+            new LinkedHashMap<String, VersionedIndex>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, VersionedIndex> eldest) {
+                    return size() > LOCAL_CACHE_SIZE;
+                }
+            };
+
+    private CommentVisibilityIndexCache() {
+        // utility class
+    }
+
+    /**
+     * @return the cached index of the course, or null if it is not cached or the cached index is stale.
+     */
+    public static CommentVisibilityIndex get(String courseId) {
+        try {
+            Long version = getVersion(courseId);
+            VersionedIndex local;
+            synchronized (localCache) {
+                local = localCache.get(courseId);
+            }
+            if (version != null && local != null && local.version == version) {
+                return local.index;
+            }
+        } catch (RuntimeException e) {
+            log.warning("Failed to get cached comment visibility index of " + courseId + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Caches the index of the course, which was just built from the comments read from the datastore.
+     * Nothing is cached if the comments of the course changed too recently.
+     */
+    public static void put(CommentVisibilityIndex index) {
+        String courseId = index.getCourseId();
+        try {
+            Long version = getVersion(courseId);
+            if (version == null || System.currentTimeMillis() - version < CONSISTENCY_WINDOW_MILLIS) {
+                return;
+            }
+            synchronized (localCache) {
+                localCache.put(courseId, new VersionedIndex(version, index));
+            }
+        } catch (RuntimeException e) {
+            log.warning("Failed to cache comment visibility index of " + courseId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Makes the cached index of the course stale in all instances.
+     */
+    public static void invalidate(String courseId) {
+        synchronized (localCache) {
+            localCache.remove(courseId);
+        }
+        try {
+            getMemcache().put(VERSION_KEY_PREFIX + courseId, System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.severe("Failed to invalidate cached comment visibility index of " + courseId + ": "
+                       + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the version of the course, which is set to the current time
+     *         if the course has no version yet, e.g. because it was evicted from memcache.
+     */
+    private static Long getVersion(String courseId) {
+        String versionKey = VERSION_KEY_PREFIX + courseId;
+        MemcacheService memcache = getMemcache();
+        Long version = (Long) memcache.get(versionKey);
+        if (version != null) {
+            return version;
+        }
+        memcache.put(versionKey, System.currentTimeMillis(), null, SetPolicy.ADD_ONLY_IF_NOT_PRESENT);
+        return (Long) memcache.get(versionKey);
+    }
+
+    private static MemcacheService getMemcache() {
+        return MemcacheServiceFactory.getMemcacheService();
+    }
+
+    private static class VersionedIndex {
+        final long version;
+        final CommentVisibilityIndex index;
+
+        VersionedIndex(long version, CommentVisibilityIndex index) {
+            this.version = version;
+            this.index = index;
+        }
+    }
+}
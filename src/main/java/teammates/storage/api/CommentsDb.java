@@ -3,6 +3,7 @@ package teammates.storage.api;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -14,6 +15,7 @@ import teammates.common.datatransfer.CommentParticipantType;
 import teammates.common.datatransfer.CommentSearchResultBundle;
 import teammates.common.datatransfer.CommentSendingState;
 import teammates.common.datatransfer.CommentStatus;
+import teammates.common.datatransfer.CommentVisibilityIndex;
 import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.exception.EntityAlreadyExistsException;
@@ -64,6 +66,7 @@ public class CommentsDb extends EntitiesDb {
     public CommentAttributes createEntity(EntityAttributes entityToAdd)
             throws InvalidParametersException, EntityAlreadyExistsException {
         Comment createdEntity = (Comment) super.createEntity(entityToAdd);
+        invalidateCachedIndex(entityToAdd);
         if (createdEntity == null) {
             log.info("Trying to get non-existent Comment, possibly entity not persistent yet.");
             return null;
@@ -229,6 +232,22 @@ public class CommentsDb extends EntitiesDb {
         return commentAttributesList;
     }
     
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the number of comments in the course with the given sending state
+     */
+    public int getCommentsCountForSendingState(String courseId, CommentSendingState state) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, state);
+        
+        Query q = getPm().newQuery(Comment.class);
+        q.declareParameters("String courseIdParam, String sendingStateParam");
+        q.setFilter("courseId == courseIdParam && sendingState == sendingStateParam");
+        
+        return count(q, courseId, state.toString());
+    }
+    
     /*
      * Get comments for a course
      */
@@ -247,6 +266,21 @@ public class CommentsDb extends EntitiesDb {
     }
     
     
+    /**
+     * @return the index of the comments of the course by the viewers they can be shown to,
+     *         from the cache if it is fresh there
+     */
+    public CommentVisibilityIndex getCommentVisibilityIndex(String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        CommentVisibilityIndex index = CommentVisibilityIndexCache.get(courseId);
+        if (index == null) {
+            index = new CommentVisibilityIndex(courseId, getCommentsForCourse(courseId));
+            CommentVisibilityIndexCache.put(index);
+        }
+        return index;
+    }
+    
     /*
      * Update comment from old state to new state
      */
@@ -261,6 +295,7 @@ public class CommentsDb extends EntitiesDb {
         
         log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
         getPm().close();
+        CommentVisibilityIndexCache.invalidate(courseId);
     }
 
     /**
@@ -311,6 +346,7 @@ public class CommentsDb extends EntitiesDb {
         
         CommentAttributes updatedComment = new CommentAttributes(comment);
         log.info(updatedComment.getBackupIdentifier());
+        CommentVisibilityIndexCache.invalidate(updatedComment.courseId);
         return updatedComment;
     }
     
@@ -327,6 +363,7 @@ public class CommentsDb extends EntitiesDb {
         updateInstructorEmailAsLastEditorForStudentComments(courseId, oldInstrEmail, updatedInstrEmail);
         // for now, instructors can only be giver
         // updateInstructorEmailAsRecipient(courseId, oldInstrEmail, updatedInstrEmail);
+        CommentVisibilityIndexCache.invalidate(courseId);
     }
     
     private void updateInstructorEmailAsGiver(String courseId, String oldInstrEmail,
@@ -366,6 +403,7 @@ public class CommentsDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, updatedStudentEmail);
         
         updateStudentEmailAsRecipient(courseId, oldStudentEmail, updatedStudentEmail);
+        CommentVisibilityIndexCache.invalidate(courseId);
     }
 
     private void updateStudentEmailAsRecipient(String courseId,
@@ -400,6 +438,7 @@ public class CommentsDb extends EntitiesDb {
         getPm().deletePersistentAll(giverComments);
         
         getPm().flush();
+        CommentVisibilityIndexCache.invalidate(courseId);
     }
     
     /*
@@ -417,6 +456,7 @@ public class CommentsDb extends EntitiesDb {
         getPm().deletePersistentAll(recipientComments);
         
         getPm().flush();
+        CommentVisibilityIndexCache.invalidate(courseId);
     }
     
     /*
@@ -433,6 +473,7 @@ public class CommentsDb extends EntitiesDb {
         
         getPm().deletePersistentAll(recipientComments);
         getPm().flush();
+        CommentVisibilityIndexCache.invalidate(courseId);
     }
     
     /*
@@ -449,6 +490,7 @@ public class CommentsDb extends EntitiesDb {
         
         getPm().deletePersistentAll(recipientComments);
         getPm().flush();
+        CommentVisibilityIndexCache.invalidate(courseId);
     }
     
     /*
@@ -462,6 +504,7 @@ public class CommentsDb extends EntitiesDb {
         
         getPm().deletePersistentAll(courseComments);
         getPm().flush();
+        CommentVisibilityIndexCache.invalidate(courseId);
     }
     
     /*
@@ -475,6 +518,31 @@ public class CommentsDb extends EntitiesDb {
         
         getPm().deletePersistentAll(commentsToDelete);
         getPm().flush();
+        for (String courseId : courseIds) {
+            CommentVisibilityIndexCache.invalidate(courseId);
+        }
+    }
+    
+    /**
+     * Deletes the next batch of the comments in the course, and their search documents,
+     * without reading the comments.
+     * @param cursor the cursor returned by the deletion of the previous batch, or {@code null} for the first batch
+     * @return the cursor from which the next batch starts, or {@code null} if there are no more comments
+     */
+    public String deleteCommentsBatchForCourse(String courseId, String cursor, int batchSize) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        Query q = getPm().newQuery(Comment.class);
+        q.declareParameters("String courseIdParam");
+        q.setFilter("courseId == courseIdParam");
+        
+        List<?> commentIds = getPrimaryKeysBatch(q, "commentId", cursor, batchSize, courseId);
+        String nextCursor = getCursor(commentIds, batchSize);
+        
+        deleteEntitiesByPrimaryKeys(Comment.class, "commentId", commentIds);
+        deleteDocumentsForPrimaryKeys(Const.SearchIndex.COMMENT, commentIds);
+        CommentVisibilityIndexCache.invalidate(courseId);
+        return nextCursor;
     }
     
     /*
@@ -644,6 +712,62 @@ public class CommentsDb extends EntitiesDb {
         return getCommentsWithoutDeletedEntity(commentList);
     }
 
+    @Override
+    public List<EntityAttributes> createEntities(Collection<? extends EntityAttributes> entitiesToAdd)
+            throws InvalidParametersException {
+        List<EntityAttributes> entitiesToUpdate = super.createEntities(entitiesToAdd);
+        invalidateCachedIndexes(entitiesToAdd);
+        return entitiesToUpdate;
+    }
+    
+    @Override
+    public List<Object> createAndReturnEntities(Collection<? extends EntityAttributes> entitiesToAdd)
+            throws InvalidParametersException {
+        List<Object> entities = super.createAndReturnEntities(entitiesToAdd);
+        invalidateCachedIndexes(entitiesToAdd);
+        return entities;
+    }
+    
+    @Override
+    public Object createEntityWithoutExistenceCheck(EntityAttributes entityToAdd)
+            throws InvalidParametersException {
+        Object entity = super.createEntityWithoutExistenceCheck(entityToAdd);
+        invalidateCachedIndex(entityToAdd);
+        return entity;
+    }
+    
+    @Override
+    public void deleteEntity(EntityAttributes entityToDelete) {
+        super.deleteEntity(entityToDelete);
+        invalidateCachedIndex(entityToDelete);
+    }
+    
+    @Override
+    public void deleteEntities(Collection<? extends EntityAttributes> entitiesToDelete) {
+        super.deleteEntities(entitiesToDelete);
+        invalidateCachedIndexes(entitiesToDelete);
+    }
+    
+    private void invalidateCachedIndexes(Collection<? extends EntityAttributes> comments) {
+        Set<String> courseIds = new HashSet<String>();
+        for (EntityAttributes comment : comments) {
+            courseIds.add(((CommentAttributes) comment).courseId);
+        }
+        for (String courseId : courseIds) {
+            invalidateCachedIndex(courseId);
+        }
+    }
+    
+    private void invalidateCachedIndex(EntityAttributes comment) {
+        invalidateCachedIndex(((CommentAttributes) comment).courseId);
+    }
+    
+    private void invalidateCachedIndex(String courseId) {
+        if (courseId != null) {
+            CommentVisibilityIndexCache.invalidate(courseId);
+        }
+    }
+    
     @Override
     protected Object getEntity(EntityAttributes attributes) {
         CommentAttributes commentToGet = (CommentAttributes) attributes;
@@ -2,11 +2,14 @@ package teammates.storage.api;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
 
 import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.exception.EntityAlreadyExistsException;
@@ -22,7 +25,11 @@ import teammates.storage.search.SearchDocument;
 import teammates.storage.search.SearchManager;
 import teammates.storage.search.SearchQuery;
 
+import org.datanucleus.store.appengine.query.JDOCursorHelper;
+
 import com.google.appengine.api.blobstore.BlobKey;
+import com.google.appengine.api.datastore.Cursor;
+import com.google.appengine.api.search.Document;
 import com.google.appengine.api.search.Results;
 import com.google.appengine.api.search.ScoredDocument;
 import com.google.appengine.api.search.SearchQueryException;
@@ -44,6 +51,9 @@ public abstract class EntitiesDb {
     public static final String ERROR_TRYING_TO_MAKE_NON_EXISTENT_ACCOUNT_AN_INSTRUCTOR =
             "Trying to make an non-existent account an Instructor :";
 
+    /** The most values the datastore accepts in a single {@code contains} filter. */
+    protected static final int MAX_VALUES_PER_CONTAINS_FILTER = 30;
+
     protected static final Logger log = Utils.getLogger();
     
     /**
@@ -211,6 +221,38 @@ public abstract class EntitiesDb {
         return entity;
     }
     
+    /**
+     * Creates all the entities in one batched write, without looking for existing entities first.<br>
+     * Warning: Do not use this method unless the entities are known not to exist,
+     * e.g. because their keys are generated by the datastore.
+     * Preconditions:
+     * <br> * {@code entitiesToAdd} is not null.
+     * @throws InvalidParametersException if any entity is invalid, in which case no entity is created
+     */
+    public void createEntitiesWithoutExistenceCheck(Collection<? extends EntityAttributes> entitiesToAdd)
+            throws InvalidParametersException {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, entitiesToAdd);
+        
+        List<Object> entities = new ArrayList<Object>();
+        for (EntityAttributes entityToAdd : entitiesToAdd) {
+            entityToAdd.sanitizeForSaving();
+            
+            if (!entityToAdd.isValid()) {
+                throw new InvalidParametersException(entityToAdd.getInvalidityInfo());
+            }
+            
+            entities.add(entityToAdd.toEntity());
+        }
+        
+        getPm().makePersistentAll(entities);
+        getPm().flush();
+        
+        for (EntityAttributes entityToAdd : entitiesToAdd) {
+            log.info(entityToAdd.getBackupIdentifier());
+        }
+    }
+    
     // TODO: use this method for subclasses.
     /**
      * Note: This is a non-cascade delete.<br>
@@ -294,6 +336,76 @@ public abstract class EntitiesDb {
      */
     protected abstract Object getEntity(EntityAttributes attributes);
     
+    /**
+     * Checks whether any entity matches the query, with a keys-only query
+     * that does not read the entities themselves.
+     * @param parameters the values of the parameters declared by the query, in order
+     */
+    protected boolean exists(Query query, Object... parameters) {
+        query.setRange(0, 1);
+        return count(query, parameters) > 0;
+    }
+    
+    /**
+     * Counts the entities matching the query, with a keys-only query
+     * that does not read the entities themselves.
+     * @param parameters the values of the parameters declared by the query, in order
+     */
+    protected int count(Query query, Object... parameters) {
+        query.setResult("count(this)");
+        return ((Number) query.executeWithArray(parameters)).intValue();
+    }
+    
+    /**
+     * Gets the next batch of the results of the query, starting from the cursor returned with the previous batch.
+     * @param cursor the web-safe cursor returned with the previous batch, or {@code null} for the first batch
+     * @param parameters the values of the parameters declared by the query, in order
+     */
+    protected List<?> getBatch(Query query, String cursor, int batchSize, Object... parameters) {
+        if (cursor != null) {
+            Map<String, Object> extensions = new HashMap<String, Object>();
+            extensions.put(JDOCursorHelper.CURSOR_EXTENSION, Cursor.fromWebSafeString(cursor));
+            query.setExtensions(extensions);
+        }
+        query.setRange(0, batchSize);
+        return (List<?>) query.executeWithArray(parameters);
+    }
+    
+    /**
+     * Gets the primary keys of the next batch of the entities matching the query, with a keys-only query
+     * that does not read the entities themselves.
+     * @see #getBatch(Query, String, int, Object...)
+     */
+    protected List<?> getPrimaryKeysBatch(Query query, String primaryKeyField, String cursor, int batchSize,
+                                          Object... parameters) {
+        query.setResult(primaryKeyField);
+        return getBatch(query, cursor, batchSize, parameters);
+    }
+    
+    /**
+     * Gets the web-safe cursor from which the batch after the given one starts.
+     * To be called before the entities of the batch are deleted.
+     * @return {@code null} if the batch is the last one
+     */
+    protected String getCursor(List<?> batch, int batchSize) {
+        if (batch.size() < batchSize) {
+            return null;
+        }
+        return JDOCursorHelper.getCursor(batch).toWebSafeString();
+    }
+    
+    /**
+     * Deletes the entities with the given primary keys without reading them.
+     */
+    protected void deleteEntitiesByPrimaryKeys(Class<?> entityClass, String primaryKeyField, List<?> primaryKeys) {
+        if (primaryKeys.isEmpty()) {
+            return;
+        }
+        Query q = getPm().newQuery(entityClass);
+        q.setFilter(":p.contains(" + primaryKeyField + ")");
+        q.deletePersistentAll(new Object[] {primaryKeys});
+    }
+    
     protected PersistenceManager getPm() {
         return Datastore.getPersistenceManager();
     }
@@ -307,6 +419,23 @@ public abstract class EntitiesDb {
         }
     }
     
+    protected void putDocuments(String indexName, List<? extends SearchDocument> searchDocuments) {
+        List<Document> documents = new ArrayList<Document>();
+        for (SearchDocument document : searchDocuments) {
+            try {
+                documents.add(document.build());
+            } catch (Exception e) {
+                log.info("Failed to put searchable document in " + indexName + " for " + document.toString());
+            }
+        }
+        
+        try {
+            SearchManager.putDocuments(indexName, documents);
+        } catch (Exception e) {
+            log.info("Failed to put " + documents.size() + " searchable documents in " + indexName);
+        }
+    }
+    
     protected void getDocument(String indexName, String documentId) {
         SearchManager.getDocument(indexName, documentId);
     }
@@ -334,4 +463,18 @@ public abstract class EntitiesDb {
     protected void deleteDocuments(String indexName, String[] documentId) {
         SearchManager.deleteDocuments(indexName, documentId);
     }
+    
+    /**
+     * Deletes the search documents whose ids are the given primary keys.
+     */
+    protected void deleteDocumentsForPrimaryKeys(String indexName, List<?> primaryKeys) {
+        if (primaryKeys.isEmpty()) {
+            return;
+        }
+        String[] documentIds = new String[primaryKeys.size()];
+        for (int i = 0; i < documentIds.length; i++) {
+            documentIds[i] = primaryKeys.get(i).toString();
+        }
+        deleteDocuments(indexName, documentIds);
+    }
 }
@@ -0,0 +1,271 @@
+package teammates.storage.api;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.jdo.JDOCanRetryException;
+import javax.jdo.JDOHelper;
+import javax.jdo.JDOObjectNotFoundException;
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+import javax.jdo.Transaction;
+
+import teammates.common.datatransfer.EntityAttributes;
+import teammates.common.datatransfer.FeedbackQuestionDetails;
+import teammates.common.datatransfer.FeedbackQuestionStatisticsAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.storage.entity.FeedbackQuestionStatistics;
+
+import com.google.appengine.api.datastore.Key;
+import com.google.appengine.api.datastore.KeyFactory;
+
+/**
+ * Handles CRUD operations for the statistics of feedback questions.
+ * @see FeedbackQuestionStatistics
+ * @see FeedbackQuestionStatisticsAttributes
+ */
+public class FeedbackQuestionStatisticsDb extends EntitiesDb {
+
+    /** The number of times an update of statistics changed concurrently by another update is tried. */
+    private static final int MAX_UPDATE_ATTEMPTS = 5;
+
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return Null if not found.
+     */
+    public FeedbackQuestionStatisticsAttributes getFeedbackQuestionStatistics(String feedbackQuestionId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackQuestionId);
+
+        FeedbackQuestionStatistics statistics = getFeedbackQuestionStatisticsEntity(feedbackQuestionId);
+        if (statistics == null) {
+            return null;
+        }
+        return new FeedbackQuestionStatisticsAttributes(statistics);
+    }
+
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the statistics of the questions in the session, keyed by question id.
+     *         Questions without statistics are not included.
+     */
+    public Map<String, FeedbackQuestionStatisticsAttributes> getFeedbackQuestionStatisticsForSession(
+            String feedbackSessionName, String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        Map<String, FeedbackQuestionStatisticsAttributes> statisticsForQuestions =
+                new HashMap<String, FeedbackQuestionStatisticsAttributes>();
+        for (FeedbackQuestionStatistics statistics
+                : getFeedbackQuestionStatisticsEntitiesForSession(feedbackSessionName, courseId)) {
+            if (!JDOHelper.isDeleted(statistics)) {
+                statisticsForQuestions.put(statistics.getFeedbackQuestionId(),
+                                           new FeedbackQuestionStatisticsAttributes(statistics));
+            }
+        }
+        return statisticsForQuestions;
+    }
+
+    /**
+     * Creates the statistics of the question, or replaces them if they exist.
+     * Preconditions: <br>
+     * * All parameters are non-null and valid.
+     */
+    public void putFeedbackQuestionStatistics(FeedbackQuestionStatisticsAttributes newAttributes) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, newAttributes);
+        Assumption.assertTrue(newAttributes.getInvalidityInfo().toString(), newAttributes.isValid());
+
+        FeedbackQuestionStatistics statistics = getFeedbackQuestionStatisticsEntity(newAttributes.feedbackQuestionId);
+        if (statistics == null) {
+            getPm().makePersistent(newAttributes.toEntity());
+        } else {
+            statistics.setNumResponses(newAttributes.getNumResponses());
+            statistics.setValueCounts(newAttributes.getValueCountsAsText());
+            statistics.setResponsesDigest(newAttributes.getResponsesDigest());
+            statistics.setUpdatedAt(new Date());
+        }
+
+        log.info(newAttributes.getBackupIdentifier());
+        getPm().close();
+    }
+
+    /**
+     * Removes the old responses from and adds the new responses to the stored statistics of the question,
+     * reading and writing the statistics in a transaction so that concurrent updates are not lost.
+     * The transaction is tried again if the statistics were changed by another update meanwhile.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return false if the question has no stored statistics, or statistics stored without a digest of the responses
+     */
+    public boolean updateFeedbackQuestionStatistics(String feedbackQuestionId, FeedbackQuestionDetails questionDetails,
+                                                    List<FeedbackResponseAttributes> oldResponses,
+                                                    List<FeedbackResponseAttributes> newResponses) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackQuestionId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, questionDetails);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, oldResponses);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, newResponses);
+
+        PersistenceManager pm = getPm();
+        for (int attempt = 1;; attempt++) {
+            Transaction tx = pm.currentTransaction();
+            try {
+                tx.begin();
+                FeedbackQuestionStatistics statistics = getFeedbackQuestionStatisticsEntity(feedbackQuestionId);
+                if (statistics == null) {
+                    return false;
+                }
+                // reads the statistics as committed, not as cached by an earlier read outside the transaction
+                pm.refresh(statistics);
+                if (statistics.getResponsesDigest() == null) {
+                    // stored before the digest was, so they are to be rebuilt like missing statistics
+                    return false;
+                }
+
+                FeedbackQuestionStatisticsAttributes updated = new FeedbackQuestionStatisticsAttributes(statistics);
+                for (FeedbackResponseAttributes oldResponse : oldResponses) {
+                    updated.removeResponse(oldResponse, questionDetails);
+                }
+                for (FeedbackResponseAttributes newResponse : newResponses) {
+                    updated.addResponse(newResponse, questionDetails);
+                }
+                statistics.setNumResponses(updated.getNumResponses());
+                statistics.setValueCounts(updated.getValueCountsAsText());
+                statistics.setResponsesDigest(updated.getResponsesDigest());
+                statistics.setUpdatedAt(new Date());
+                tx.commit();
+
+                log.info(updated.getBackupIdentifier());
+                return true;
+            } catch (JDOCanRetryException | ConcurrentModificationException e) {
+                if (attempt == MAX_UPDATE_ATTEMPTS) {
+                    throw e;
+                }
+                log.info("Retrying the update of the statistics of question " + feedbackQuestionId
+                         + " changed concurrently: " + e.getMessage());
+            } finally {
+                if (tx.isActive()) {
+                    tx.rollback();
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes the statistics of the question, if any.
+     */
+    public void deleteFeedbackQuestionStatistics(String feedbackQuestionId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackQuestionId);
+
+        FeedbackQuestionStatistics statistics = getFeedbackQuestionStatisticsEntity(feedbackQuestionId);
+        if (statistics == null) {
+            return;
+        }
+        getPm().deletePersistent(statistics);
+        getPm().flush();
+    }
+
+    public void deleteFeedbackQuestionStatisticsForCourse(String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        List<String> courseIds = new ArrayList<String>();
+        courseIds.add(courseId);
+        deleteFeedbackQuestionStatisticsForCourses(courseIds);
+    }
+
+    public void deleteFeedbackQuestionStatisticsForCourses(List<String> courseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+
+        Query q = getPm().newQuery(FeedbackQuestionStatistics.class);
+        q.setFilter(":p.contains(courseId)");
+
+        @SuppressWarnings("unchecked")
+        List<FeedbackQuestionStatistics> statistics = (List<FeedbackQuestionStatistics>) q.execute(courseIds);
+
+        getPm().deletePersistentAll(statistics);
+        getPm().flush();
+    }
+
+    /**
+     * Deletes the next batch of the statistics of the questions in the course.
+     * @param cursor the cursor returned by the deletion of the previous batch, or {@code null} for the first batch
+     * @return the cursor from which the next batch starts, or {@code null} if there are no more statistics
+     */
+    public String deleteFeedbackQuestionStatisticsBatchForCourse(String courseId, String cursor, int batchSize) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        Query q = getPm().newQuery(FeedbackQuestionStatistics.class);
+        q.declareParameters("String courseIdParam");
+        q.setFilter("courseId == courseIdParam");
+
+        return deleteFeedbackQuestionStatisticsBatch(q, cursor, batchSize, courseId);
+    }
+
+    /**
+     * Deletes the next batch of the statistics of the questions in the session.
+     * @see #deleteFeedbackQuestionStatisticsBatchForCourse(String, String, int)
+     */
+    public String deleteFeedbackQuestionStatisticsBatchForSession(String feedbackSessionName, String courseId,
+                                                                  String cursor, int batchSize) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        Query q = getPm().newQuery(FeedbackQuestionStatistics.class);
+        q.declareParameters("String feedbackSessionNameParam, String courseIdParam");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam");
+
+        return deleteFeedbackQuestionStatisticsBatch(q, cursor, batchSize, feedbackSessionName, courseId);
+    }
+
+    // the statistics are read instead of deleted by key, as a key filter would take their ids,
+    // which are themselves encoded keys, as the keys to delete
+    private String deleteFeedbackQuestionStatisticsBatch(Query q, String cursor, int batchSize, Object... parameters) {
+        List<?> statistics = getBatch(q, cursor, batchSize, parameters);
+        String nextCursor = getCursor(statistics, batchSize);
+
+        getPm().deletePersistentAll(statistics);
+        getPm().flush();
+        return nextCursor;
+    }
+
+    private FeedbackQuestionStatistics getFeedbackQuestionStatisticsEntity(String feedbackQuestionId) {
+        // looked up by key as a query would take the id, which is itself an encoded key, as the key to look for
+        try {
+            Key key = KeyFactory.createKey(FeedbackQuestionStatistics.class.getSimpleName(), feedbackQuestionId);
+            FeedbackQuestionStatistics statistics = getPm().getObjectById(FeedbackQuestionStatistics.class, key);
+
+            if (JDOHelper.isDeleted(statistics)) {
+                return null;
+            }
+            return statistics;
+        } catch (IllegalArgumentException iae) {
+            return null;
+        } catch (JDOObjectNotFoundException je) {
+            return null;
+        }
+    }
+
+    private List<FeedbackQuestionStatistics> getFeedbackQuestionStatisticsEntitiesForSession(
+            String feedbackSessionName, String courseId) {
+        Query q = getPm().newQuery(FeedbackQuestionStatistics.class);
+        q.declareParameters("String feedbackSessionNameParam, String courseIdParam");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam");
+
+        @SuppressWarnings("unchecked")
+        List<FeedbackQuestionStatistics> statistics =
+                (List<FeedbackQuestionStatistics>) q.execute(feedbackSessionName, courseId);
+        return statistics;
+    }
+
+    @Override
+    protected Object getEntity(EntityAttributes attributes) {
+        return getFeedbackQuestionStatisticsEntity(
+                ((FeedbackQuestionStatisticsAttributes) attributes).feedbackQuestionId);
+    }
+}
@@ -0,0 +1,335 @@
+package teammates.storage.api;
+
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.util.Utils;
+
+import com.google.appengine.api.datastore.Text;
+import com.google.appengine.api.memcache.Expiration;
+import com.google.appengine.api.memcache.MemcacheService;
+import com.google.appengine.api.memcache.MemcacheService.SetPolicy;
+import com.google.appengine.api.memcache.MemcacheServiceFactory;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Caches the list of questions of each feedback session, in memcache and in an LRU map
+ * local to the instance. <br>
+ * Each session has a version in memcache, which is the time of the last change to its questions.
+ * Cached lists are stored with the version they were read at, so a change made through any
+ * instance makes the lists cached by every instance stale. <br>
+ * {@link FeedbackQuestionsDb} must call {@link #invalidate(String, String)} after every
+ * change to the questions of a session.
+ */
+public final class FeedbackQuestionsCache {
+
+    /**
+     * Queries for the questions of a session are eventually consistent, so a list read
+     * shortly after a change might not include the change yet and is not cached.
+     */
+    public static final long CONSISTENCY_WINDOW_MILLIS = 5000;
+
+    private static final int LOCAL_CACHE_SIZE = 500;
+    private static final int MEMCACHE_EXPIRATION_SECONDS = 24 * 60 * 60;
+
+    private static final String VERSION_KEY_PREFIX = "fqVersion:";
+    private static final String QUESTIONS_KEY_PREFIX = "fqList:";
+
+    private static final Type QUESTION_LIST_TYPE = new TypeToken<List<FeedbackQuestionAttributes>>() { }.getType();
+
+    private static final Logger log = Utils.getLogger();
+
+    /**
+     * Unlike the default Gson, this keeps the transient timestamps of the questions.
+     */
+    private static final Gson gson = new GsonBuilder()
+            .excludeFieldsWithModifiers(Modifier.STATIC)
+            .registerTypeAdapter(Date.class, new DateAdapter())
+            .registerTypeAdapter(Text.class, new TextAdapter())
+            .create();
+
+    /** Maps the session key to the JSON of the question list, which is parsed again on every hit. */
+    private static final Map<String, VersionedQuestions> localCache =
+            new LinkedHashMap<String, VersionedQuestions>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, VersionedQuestions> eldest) {
+                    return size() > LOCAL_CACHE_SIZE;
+                }
+            };
+
+    private static final AtomicLong localHits = new AtomicLong();
+    private static final AtomicLong memcacheHits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+
+    private FeedbackQuestionsCache() {
+        // utility class
+    }
+
+    /**
+     * @return a fresh copy of the cached questions of the session,
+     *         or null if they are not cached or the cached copy is stale.
+     */
+    public static List<FeedbackQuestionAttributes> get(String feedbackSessionName, String courseId) {
+        String sessionKey = getSessionKey(feedbackSessionName, courseId);
+        try {
+            Long version = getVersion(sessionKey);
+            if (version == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+
+            VersionedQuestions local;
+            synchronized (localCache) {
+                local = localCache.get(sessionKey);
+            }
+            if (local != null && local.version == version) {
+                localHits.incrementAndGet();
+                return fromJson(local.json);
+            }
+
+            String json = (String) getMemcache().get(getQuestionsKey(sessionKey, version));
+            if (json != null) {
+                putLocal(sessionKey, version, json);
+                memcacheHits.incrementAndGet();
+                return fromJson(json);
+            }
+        } catch (RuntimeException e) {
+            log.warning("Failed to get cached questions of " + sessionKey + ": " + e.getMessage());
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Gets the cached questions of many sessions at once, with a constant number of calls to memcache.
+     * @return fresh copies of the cached questions of the sessions, keyed by session.
+     *         Sessions whose questions are not cached or stale are not included.
+     */
+    public static Map<FeedbackSessionAttributes, List<FeedbackQuestionAttributes>> getAll(
+            Collection<FeedbackSessionAttributes> sessions) {
+        Map<FeedbackSessionAttributes, List<FeedbackQuestionAttributes>> questionsForSessions =
+                new HashMap<FeedbackSessionAttributes, List<FeedbackQuestionAttributes>>();
+        if (sessions.isEmpty()) {
+            return questionsForSessions;
+        }
+        try {
+            Map<String, Long> versions = getVersions(sessions);
+
+            Map<String, FeedbackSessionAttributes> sessionsNotCachedLocally =
+                    new HashMap<String, FeedbackSessionAttributes>();
+            for (FeedbackSessionAttributes session : sessions) {
+                String sessionKey = getSessionKey(session.getFeedbackSessionName(), session.getCourseId());
+                Long version = versions.get(sessionKey);
+                if (version == null) {
+                    continue;
+                }
+
+                VersionedQuestions local;
+                synchronized (localCache) {
+                    local = localCache.get(sessionKey);
+                }
+                if (local != null && local.version == version) {
+                    localHits.incrementAndGet();
+                    questionsForSessions.put(session, fromJson(local.json));
+                } else {
+                    sessionsNotCachedLocally.put(getQuestionsKey(sessionKey, version), session);
+                }
+            }
+
+            if (!sessionsNotCachedLocally.isEmpty()) {
+                Map<String, Object> jsons = getMemcache().getAll(sessionsNotCachedLocally.keySet());
+                for (Map.Entry<String, Object> entry : jsons.entrySet()) {
+                    FeedbackSessionAttributes session = sessionsNotCachedLocally.get(entry.getKey());
+                    String sessionKey = getSessionKey(session.getFeedbackSessionName(), session.getCourseId());
+                    String json = (String) entry.getValue();
+                    putLocal(sessionKey, versions.get(sessionKey), json);
+                    memcacheHits.incrementAndGet();
+                    questionsForSessions.put(session, fromJson(json));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warning("Failed to get cached questions of " + sessions.size() + " sessions: " + e.getMessage());
+            questionsForSessions.clear();
+        }
+        misses.addAndGet(sessions.size() - questionsForSessions.size());
+        return questionsForSessions;
+    }
+
+    /**
+     * Caches the questions of the session, which were just read from the datastore.
+     * Nothing is cached if the questions of the session changed too recently.
+     */
+    public static void put(String feedbackSessionName, String courseId, List<FeedbackQuestionAttributes> questions) {
+        String sessionKey = getSessionKey(feedbackSessionName, courseId);
+        try {
+            Long version = getVersion(sessionKey);
+            if (version == null || System.currentTimeMillis() - version < CONSISTENCY_WINDOW_MILLIS) {
+                return;
+            }
+
+            String json = gson.toJson(questions, QUESTION_LIST_TYPE);
+            getMemcache().put(getQuestionsKey(sessionKey, version), json,
+                              Expiration.byDeltaSeconds(MEMCACHE_EXPIRATION_SECONDS));
+            putLocal(sessionKey, version, json);
+        } catch (RuntimeException e) {
+            log.warning("Failed to cache questions of " + sessionKey + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Makes the cached questions of the session stale in all instances.
+     */
+    public static void invalidate(String feedbackSessionName, String courseId) {
+        String sessionKey = getSessionKey(feedbackSessionName, courseId);
+        synchronized (localCache) {
+            localCache.remove(sessionKey);
+        }
+        try {
+            getMemcache().put(VERSION_KEY_PREFIX + sessionKey, System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.severe("Failed to invalidate cached questions of " + sessionKey + ": " + e.getMessage());
+        }
+    }
+
+    public static long getLocalHitCount() {
+        return localHits.get();
+    }
+
+    public static long getMemcacheHitCount() {
+        return memcacheHits.get();
+    }
+
+    public static long getHitCount() {
+        return localHits.get() + memcacheHits.get();
+    }
+
+    public static long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return the version of the session, which is set to the current time
+     *         if the session has no version yet, e.g. because it was evicted from memcache.
+     */
+    private static Long getVersion(String sessionKey) {
+        String versionKey = VERSION_KEY_PREFIX + sessionKey;
+        MemcacheService memcache = getMemcache();
+        Long version = (Long) memcache.get(versionKey);
+        if (version != null) {
+            return version;
+        }
+        memcache.put(versionKey, System.currentTimeMillis(), null, SetPolicy.ADD_ONLY_IF_NOT_PRESENT);
+        return (Long) memcache.get(versionKey);
+    }
+
+    /**
+     * @return the versions of the sessions, keyed by session key, like {@link #getVersion(String)}
+     *         but with a constant number of calls to memcache.
+     */
+    private static Map<String, Long> getVersions(Collection<FeedbackSessionAttributes> sessions) {
+        Set<String> versionKeys = new HashSet<String>();
+        for (FeedbackSessionAttributes session : sessions) {
+            versionKeys.add(VERSION_KEY_PREFIX + getSessionKey(session.getFeedbackSessionName(),
+                                                               session.getCourseId()));
+        }
+
+        MemcacheService memcache = getMemcache();
+        Map<String, Object> versions = new HashMap<String, Object>(memcache.getAll(versionKeys));
+        if (versions.size() < versionKeys.size()) {
+            Map<String, Object> missingVersions = new HashMap<String, Object>();
+            for (String versionKey : versionKeys) {
+                if (!versions.containsKey(versionKey)) {
+                    missingVersions.put(versionKey, System.currentTimeMillis());
+                }
+            }
+            memcache.putAll(missingVersions, null, SetPolicy.ADD_ONLY_IF_NOT_PRESENT);
+            versions.putAll(memcache.getAll(missingVersions.keySet()));
+        }
+
+        Map<String, Long> versionsForSessions = new HashMap<String, Long>();
+        for (Map.Entry<String, Object> entry : versions.entrySet()) {
+            versionsForSessions.put(entry.getKey().substring(VERSION_KEY_PREFIX.length()), (Long) entry.getValue());
+        }
+        return versionsForSessions;
+    }
+
+    private static void putLocal(String sessionKey, long version, String json) {
+        synchronized (localCache) {
+            localCache.put(sessionKey, new VersionedQuestions(version, json));
+        }
+    }
+
+    private static List<FeedbackQuestionAttributes> fromJson(String json) {
+        List<FeedbackQuestionAttributes> questions = gson.fromJson(json, QUESTION_LIST_TYPE);
+        return questions == null ? new ArrayList<FeedbackQuestionAttributes>() : questions;
+    }
+
+    private static String getSessionKey(String feedbackSessionName, String courseId) {
+        return courseId + "%" + feedbackSessionName;
+    }
+
+    private static String getQuestionsKey(String sessionKey, long version) {
+        return QUESTIONS_KEY_PREFIX + version + ":" + sessionKey;
+    }
+
+    private static MemcacheService getMemcache() {
+        return MemcacheServiceFactory.getMemcacheService();
+    }
+
+    private static class VersionedQuestions {
+        final long version;
+        final String json;
+
+        VersionedQuestions(long version, String json) {
+            this.version = version;
+            this.json = json;
+        }
+    }
+
+    private static class DateAdapter implements JsonSerializer<Date>, JsonDeserializer<Date> {
+        @Override
+        public JsonElement serialize(Date date, Type type, JsonSerializationContext context) {
+            return new JsonPrimitive(date.getTime());
+        }
+
+        @Override
+        public Date deserialize(JsonElement json, Type type, JsonDeserializationContext context) {
+            return new Date(json.getAsLong());
+        }
+    }
+
+    private static class TextAdapter implements JsonSerializer<Text>, JsonDeserializer<Text> {
+        @Override
+        public JsonElement serialize(Text text, Type type, JsonSerializationContext context) {
+            return new JsonPrimitive(text.getValue());
+        }
+
+        @Override
+        public Text deserialize(JsonElement json, Type type, JsonDeserializationContext context) {
+            return new Text(json.getAsString());
+        }
+    }
+}
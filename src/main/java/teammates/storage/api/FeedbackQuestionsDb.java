@@ -1,8 +1,13 @@
 package teammates.storage.api;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
@@ -10,6 +15,8 @@ import javax.jdo.Query;
 import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
@@ -52,6 +59,23 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         return new FeedbackQuestionAttributes(fq);
     }
 
+    /**
+     * Gets the questions with the given IDs using a single batch query.
+     * Questions that do not exist are omitted from the result.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return An empty list if none of the questions are found.
+     */
+    public List<FeedbackQuestionAttributes> getFeedbackQuestions(Collection<String> feedbackQuestionIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackQuestionIds);
+        
+        if (feedbackQuestionIds.isEmpty()) {
+            return new ArrayList<FeedbackQuestionAttributes>();
+        }
+        
+        return getListOfQuestionAttributes(getFeedbackQuestionEntities(feedbackQuestionIds));
+    }
+    
     public FeedbackQuestionAttributes createFeedbackQuestionWithoutExistenceCheck(
             EntityAttributes entityToAdd) throws InvalidParametersException {
         Object obj = this.createEntityWithoutExistenceCheck(entityToAdd);
@@ -94,13 +118,61 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
 
+        List<FeedbackQuestionAttributes> fqList = FeedbackQuestionsCache.get(feedbackSessionName, courseId);
+        if (fqList != null) {
+            return fqList;
+        }
+        
         List<FeedbackQuestion> questions = getFeedbackQuestionEntitiesForSession(
                 feedbackSessionName, courseId);
-        List<FeedbackQuestionAttributes> fqList = getListOfQuestionAttributes(questions);
+        fqList = getListOfQuestionAttributes(questions);
+        FeedbackQuestionsCache.put(feedbackSessionName, courseId, fqList);
         
         return fqList;
     }
     
+    /**
+     * Gets the questions of many sessions, taking the cached questions from memcache at once
+     * and reading the rest from the datastore in a single query. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the questions of each of the sessions, keyed by session.
+     */
+    public Map<FeedbackSessionAttributes, List<FeedbackQuestionAttributes>> getFeedbackQuestionsForSessions(
+            List<FeedbackSessionAttributes> sessions) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, sessions);
+
+        Map<FeedbackSessionAttributes, List<FeedbackQuestionAttributes>> questionsForSessions =
+                FeedbackQuestionsCache.getAll(sessions);
+        if (questionsForSessions.size() == sessions.size()) {
+            return questionsForSessions;
+        }
+
+        Map<String, FeedbackSessionAttributes> sessionsNotCached = new HashMap<String, FeedbackSessionAttributes>();
+        Set<String> courseIds = new HashSet<String>();
+        for (FeedbackSessionAttributes session : sessions) {
+            if (!questionsForSessions.containsKey(session)) {
+                sessionsNotCached.put(session.getCourseId() + "%" + session.getFeedbackSessionName(), session);
+                courseIds.add(session.getCourseId());
+                questionsForSessions.put(session, new ArrayList<FeedbackQuestionAttributes>());
+            }
+        }
+
+        for (FeedbackQuestion question : getFeedbackQuestionEntitiesForCourses(new ArrayList<String>(courseIds))) {
+            FeedbackSessionAttributes session =
+                    sessionsNotCached.get(question.getCourseId() + "%" + question.getFeedbackSessionName());
+            if (session != null && !JDOHelper.isDeleted(question)) {
+                questionsForSessions.get(session).add(new FeedbackQuestionAttributes(question));
+            }
+        }
+
+        for (FeedbackSessionAttributes session : sessionsNotCached.values()) {
+            FeedbackQuestionsCache.put(session.getFeedbackSessionName(), session.getCourseId(),
+                                       questionsForSessions.get(session));
+        }
+        return questionsForSessions;
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -112,9 +184,13 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, giverType);
 
-        List<FeedbackQuestion> questions = getFeedbackQuestionEntitiesForGiverType(
-                feedbackSessionName, courseId, giverType);
-        List<FeedbackQuestionAttributes> fqList = getListOfQuestionAttributes(questions);
+        // filtered from the questions of the session, which are likely to be cached
+        List<FeedbackQuestionAttributes> fqList = new ArrayList<FeedbackQuestionAttributes>();
+        for (FeedbackQuestionAttributes question : getFeedbackQuestionsForSession(feedbackSessionName, courseId)) {
+            if (question.giverType == giverType) {
+                fqList.add(question);
+            }
+        }
         
         return fqList;
     }
@@ -202,8 +278,56 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         //set true to prevent changes to last update timestamp
         fq.keepUpdateTimestamp = keepUpdateTimestamp;
         
+        String feedbackSessionName = fq.getFeedbackSessionName();
+        String courseId = fq.getCourseId();
+        
         log.info(newAttributes.getBackupIdentifier());
         getPm().close();
+        
+        FeedbackQuestionsCache.invalidate(feedbackSessionName, courseId);
+    }
+    
+    /**
+     * Renumbers questions of a session, reading the questions of the session with one query
+     * and writing all the changed questions together. The other fields of the questions are unchanged,
+     * and the cached questions of the session are invalidated once. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @param newQuestionNumbers the new question numbers, keyed by question ID
+     */
+    public void updateFeedbackQuestionNumbers(String feedbackSessionName, String courseId,
+                                              Map<String, Integer> newQuestionNumbers)
+            throws EntityDoesNotExistException {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, newQuestionNumbers);
+        
+        if (newQuestionNumbers.isEmpty()) {
+            return;
+        }
+        
+        List<FeedbackQuestion> questionsToUpdate = new ArrayList<FeedbackQuestion>();
+        for (FeedbackQuestion fq : getFeedbackQuestionEntitiesForSession(feedbackSessionName, courseId)) {
+            if (!JDOHelper.isDeleted(fq) && newQuestionNumbers.containsKey(fq.getId())) {
+                questionsToUpdate.add(fq);
+            }
+        }
+        
+        // checked before any change, so that either all or none of the questions are renumbered
+        if (questionsToUpdate.size() != newQuestionNumbers.size()) {
+            throw new EntityDoesNotExistException(ERROR_UPDATE_NON_EXISTENT + newQuestionNumbers.keySet()
+                                                  + " in " + courseId + "/" + feedbackSessionName);
+        }
+        
+        for (FeedbackQuestion fq : questionsToUpdate) {
+            fq.setQuestionNumber(newQuestionNumbers.get(fq.getId()));
+            fq.keepUpdateTimestamp = false;
+        }
+        
+        log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
+        getPm().close();
+        
+        FeedbackQuestionsCache.invalidate(feedbackSessionName, courseId);
     }
     
     public void deleteFeedbackQuestionsForCourse(String courseId) {
@@ -219,8 +343,72 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         
         List<FeedbackQuestion> feedbackQuestionList = getFeedbackQuestionEntitiesForCourses(courseIds);
         
+        // noted before the deletion, as deleted entities cannot be read
+        Map<String, String[]> sessionsToInvalidate = new HashMap<String, String[]>();
+        for (FeedbackQuestion question : feedbackQuestionList) {
+            sessionsToInvalidate.put(question.getCourseId() + "%" + question.getFeedbackSessionName(),
+                                     new String[] {question.getFeedbackSessionName(), question.getCourseId()});
+        }
+        
         getPm().deletePersistentAll(feedbackQuestionList);
         getPm().flush();
+        
+        for (String[] session : sessionsToInvalidate.values()) {
+            FeedbackQuestionsCache.invalidate(session[0], session[1]);
+        }
+    }
+    
+    /**
+     * Deletes the next batch of the questions in the course.
+     * @param cursor the cursor returned by the deletion of the previous batch, or {@code null} for the first batch
+     * @return the cursor from which the next batch starts, or {@code null} if there are no more questions
+     */
+    public String deleteFeedbackQuestionsBatchForCourse(String courseId, String cursor, int batchSize) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        Query q = getPm().newQuery(FeedbackQuestion.class);
+        q.declareParameters("String courseIdParam");
+        q.setFilter("courseId == courseIdParam");
+        
+        return deleteFeedbackQuestionsBatch(q, cursor, batchSize, courseId);
+    }
+    
+    /**
+     * Deletes the next batch of the questions in the session.
+     * @see #deleteFeedbackQuestionsBatchForCourse(String, String, int)
+     */
+    public String deleteFeedbackQuestionsBatchForSession(String feedbackSessionName, String courseId,
+                                                         String cursor, int batchSize) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        Query q = getPm().newQuery(FeedbackQuestion.class);
+        q.declareParameters("String feedbackSessionNameParam, String courseIdParam");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam");
+        
+        return deleteFeedbackQuestionsBatch(q, cursor, batchSize, feedbackSessionName, courseId);
+    }
+    
+    // the questions are read, as their sessions are needed to invalidate the cached questions of the sessions
+    private String deleteFeedbackQuestionsBatch(Query q, String cursor, int batchSize, Object... parameters) {
+        @SuppressWarnings("unchecked")
+        List<FeedbackQuestion> feedbackQuestionList =
+                (List<FeedbackQuestion>) getBatch(q, cursor, batchSize, parameters);
+        String nextCursor = getCursor(feedbackQuestionList, batchSize);
+        
+        Map<String, String[]> sessionsToInvalidate = new HashMap<String, String[]>();
+        for (FeedbackQuestion question : feedbackQuestionList) {
+            sessionsToInvalidate.put(question.getCourseId() + "%" + question.getFeedbackSessionName(),
+                                     new String[] {question.getFeedbackSessionName(), question.getCourseId()});
+        }
+        
+        getPm().deletePersistentAll(feedbackQuestionList);
+        getPm().flush();
+        
+        for (String[] session : sessionsToInvalidate.values()) {
+            FeedbackQuestionsCache.invalidate(session[0], session[1]);
+        }
+        return nextCursor;
     }
     
     private List<FeedbackQuestion> getFeedbackQuestionEntitiesForCourses(List<String> courseIds) {
@@ -252,6 +440,16 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         return feedbackQuestionList.get(0);
     }
     
+    private List<FeedbackQuestion> getFeedbackQuestionEntities(Collection<String> feedbackQuestionIds) {
+        Query q = getPm().newQuery(FeedbackQuestion.class);
+        q.setFilter(":p.contains(feedbackQuestionId)");
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackQuestion> feedbackQuestionList = (List<FeedbackQuestion>) q.execute(feedbackQuestionIds);
+        
+        return feedbackQuestionList;
+    }
+    
     // Gets a feedbackQuestion based on feedbackSessionName and questionNumber.
     private FeedbackQuestion getFeedbackQuestionEntity(
             String feedbackSessionName, String courseId, int questionNumber) {
@@ -297,22 +495,99 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         return feedbackQuestionList;
     }
     
-    private List<FeedbackQuestion> getFeedbackQuestionEntitiesForGiverType(
-            String feedbackSessionName, String courseId, FeedbackParticipantType giverType) {
-        Query q = getPm().newQuery(FeedbackQuestion.class);
-        q.declareParameters("String feedbackSessionNameParam, "
-                            + "String courseIdParam, "
-                            + "FeedbackParticipantType giverTypeParam");
-        q.declareImports("import teammates.common.datatransfer.FeedbackParticipantType");
-        q.setFilter("feedbackSessionName == feedbackSessionNameParam && "
-                    + "courseId == courseIdParam && "
-                    + "giverType == giverTypeParam ");
-        
-        @SuppressWarnings("unchecked")
-        List<FeedbackQuestion> feedbackQuestionList =
-                (List<FeedbackQuestion>) q.execute(feedbackSessionName, courseId, giverType);
+    @Override
+    public Object createEntity(EntityAttributes entityToAdd)
+            throws InvalidParametersException, EntityAlreadyExistsException {
+        Object entity = super.createEntity(entityToAdd);
+        invalidateCachedQuestions(entityToAdd);
+        return entity;
+    }
+    
+    @Override
+    public List<EntityAttributes> createEntities(Collection<? extends EntityAttributes> entitiesToAdd)
+            throws InvalidParametersException {
+        List<EntityAttributes> entitiesToUpdate = super.createEntities(entitiesToAdd);
+        invalidateCachedQuestions(entitiesToAdd);
+        return entitiesToUpdate;
+    }
+    
+    @Override
+    public List<Object> createAndReturnEntities(Collection<? extends EntityAttributes> entitiesToAdd)
+            throws InvalidParametersException {
+        List<Object> entities = super.createAndReturnEntities(entitiesToAdd);
+        invalidateCachedQuestions(entitiesToAdd);
+        return entities;
+    }
+    
+    @Override
+    public Object createEntityWithoutExistenceCheck(EntityAttributes entityToAdd)
+            throws InvalidParametersException {
+        Object entity = super.createEntityWithoutExistenceCheck(entityToAdd);
+        invalidateCachedQuestions(entityToAdd);
+        return entity;
+    }
+    
+    @Override
+    public void createEntitiesWithoutExistenceCheck(Collection<? extends EntityAttributes> entitiesToAdd)
+            throws InvalidParametersException {
+        super.createEntitiesWithoutExistenceCheck(entitiesToAdd);
+        invalidateCachedQuestions(entitiesToAdd);
+    }
+    
+    @Override
+    public void deleteEntity(EntityAttributes entityToDelete) {
+        String[] session = getSessionOfQuestion(entityToDelete);
+        super.deleteEntity(entityToDelete);
+        invalidateCachedQuestions(session);
+    }
+    
+    @Override
+    public void deleteEntities(Collection<? extends EntityAttributes> entitiesToDelete) {
+        List<String[]> sessions = new ArrayList<String[]>();
+        for (EntityAttributes entityToDelete : entitiesToDelete) {
+            sessions.add(getSessionOfQuestion(entityToDelete));
+        }
+        super.deleteEntities(entitiesToDelete);
+        for (String[] session : sessions) {
+            invalidateCachedQuestions(session);
+        }
+    }
+    
+    private void invalidateCachedQuestions(Collection<? extends EntityAttributes> questions) {
+        // the questions of a batch usually belong to a few sessions, so each session is invalidated once
+        Set<List<String>> sessions = new HashSet<List<String>>();
+        for (EntityAttributes attributes : questions) {
+            FeedbackQuestionAttributes question = (FeedbackQuestionAttributes) attributes;
+            if (sessions.add(Arrays.asList(question.feedbackSessionName, question.courseId))) {
+                FeedbackQuestionsCache.invalidate(question.feedbackSessionName, question.courseId);
+            }
+        }
+    }
+    
+    private void invalidateCachedQuestions(EntityAttributes attributes) {
+        FeedbackQuestionAttributes question = (FeedbackQuestionAttributes) attributes;
+        FeedbackQuestionsCache.invalidate(question.feedbackSessionName, question.courseId);
+    }
+    
+    private void invalidateCachedQuestions(String[] session) {
+        if (session != null) {
+            FeedbackQuestionsCache.invalidate(session[0], session[1]);
+        }
+    }
+    
+    /**
+     * @return the name and course ID of the session of the question,
+     *         looked up from the question itself if the attributes only contain its ID.
+     *         Null if the question does not exist.
+     */
+    private String[] getSessionOfQuestion(EntityAttributes attributes) {
+        FeedbackQuestionAttributes question = (FeedbackQuestionAttributes) attributes;
+        if (question.feedbackSessionName != null && question.courseId != null) {
+            return new String[] {question.feedbackSessionName, question.courseId};
+        }
         
-        return feedbackQuestionList;
+        FeedbackQuestion fq = (FeedbackQuestion) getEntity(question);
+        return fq == null ? null : new String[] {fq.getFeedbackSessionName(), fq.getCourseId()};
     }
     
     @Override
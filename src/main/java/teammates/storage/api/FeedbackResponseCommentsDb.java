@@ -22,6 +22,7 @@ import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.storage.entity.FeedbackResponseComment;
 import teammates.storage.search.FeedbackResponseCommentSearchDocument;
+import teammates.storage.search.FeedbackResponseCommentSearchHydrator;
 import teammates.storage.search.FeedbackResponseCommentSearchQuery;
 
 import com.google.appengine.api.search.Results;
@@ -99,6 +100,30 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         return new FeedbackResponseCommentAttributes(frc);
     }
     
+    /**
+     * Gets the response comments with the given IDs using a single batch query.
+     * Comments that do not exist are omitted from the result.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return An empty list if none of the comments are found.
+     */
+    public List<FeedbackResponseCommentAttributes> getFeedbackResponseComments(
+            Collection<Long> feedbackResponseCommentIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackResponseCommentIds);
+        
+        List<FeedbackResponseCommentAttributes> resultList = new ArrayList<FeedbackResponseCommentAttributes>();
+        if (feedbackResponseCommentIds.isEmpty()) {
+            return resultList;
+        }
+        
+        for (FeedbackResponseComment frc : getFeedbackResponseCommentEntities(feedbackResponseCommentIds)) {
+            if (!JDOHelper.isDeleted(frc)) {
+                resultList.add(new FeedbackResponseCommentAttributes(frc));
+            }
+        }
+        return resultList;
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -225,6 +250,48 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         deleteFeedbackResponseCommentsForCourses(courseIds);
     }
     
+    /**
+     * Deletes the next batch of the response comments in the course, and their search documents,
+     * without reading the comments.
+     * @param cursor the cursor returned by the deletion of the previous batch, or {@code null} for the first batch
+     * @return the cursor from which the next batch starts, or {@code null} if there are no more comments
+     */
+    public String deleteFeedbackResponseCommentsBatchForCourse(String courseId, String cursor, int batchSize) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        Query q = getPm().newQuery(FeedbackResponseComment.class);
+        q.declareParameters("String courseIdParam");
+        q.setFilter("courseId == courseIdParam");
+        
+        return deleteFeedbackResponseCommentsBatch(q, cursor, batchSize, courseId);
+    }
+    
+    /**
+     * Deletes the next batch of the response comments in the session, and their search documents,
+     * without reading the comments.
+     * @see #deleteFeedbackResponseCommentsBatchForCourse(String, String, int)
+     */
+    public String deleteFeedbackResponseCommentsBatchForSession(String feedbackSessionName, String courseId,
+                                                               String cursor, int batchSize) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        Query q = getPm().newQuery(FeedbackResponseComment.class);
+        q.declareParameters("String feedbackSessionNameParam, String courseIdParam");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam");
+        
+        return deleteFeedbackResponseCommentsBatch(q, cursor, batchSize, feedbackSessionName, courseId);
+    }
+    
+    private String deleteFeedbackResponseCommentsBatch(Query q, String cursor, int batchSize, Object... parameters) {
+        List<?> commentIds = getPrimaryKeysBatch(q, "feedbackResponseCommentId", cursor, batchSize, parameters);
+        String nextCursor = getCursor(commentIds, batchSize);
+        
+        deleteEntitiesByPrimaryKeys(FeedbackResponseComment.class, "feedbackResponseCommentId", commentIds);
+        deleteDocumentsForPrimaryKeys(Const.SearchIndex.FEEDBACK_RESPONSE_COMMENT, commentIds);
+        return nextCursor;
+    }
+    
     /*
      * Get response comments for the course Ids
      */
@@ -388,7 +455,43 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
                  + " for feedback response comments in the course: " + courseId);
         getPm().close();
     }
-    
+
+    /**
+     * Moves the comments on responses which were recreated with new ids to the recreated responses,
+     * writing all the changed comments together.
+     * @param newResponseIds the new ids of the responses, keyed by their old ids
+     * @return the changed comments
+     */
+    public List<FeedbackResponseCommentAttributes> updateFeedbackResponseIdOfFeedbackResponseComments(
+            String courseId, Map<String, String> newResponseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, newResponseIds);
+
+        List<String> oldResponseIds = new ArrayList<String>(newResponseIds.keySet());
+        List<FeedbackResponseCommentAttributes> updatedComments = new ArrayList<FeedbackResponseCommentAttributes>();
+
+        for (int from = 0; from < oldResponseIds.size(); from += MAX_VALUES_PER_CONTAINS_FILTER) {
+            List<String> responseIdsToQuery =
+                    oldResponseIds.subList(from, Math.min(from + MAX_VALUES_PER_CONTAINS_FILTER,
+                                                          oldResponseIds.size()));
+            Query q = getPm().newQuery(FeedbackResponseComment.class);
+            q.setFilter(":p.contains(feedbackResponseId)");
+
+            @SuppressWarnings("unchecked")
+            List<FeedbackResponseComment> responseComments =
+                    (List<FeedbackResponseComment>) q.execute(responseIdsToQuery);
+
+            for (FeedbackResponseComment responseComment : responseComments) {
+                responseComment.setFeedbackResponseId(newResponseIds.get(responseComment.getFeedbackResponseId()));
+                updatedComments.add(new FeedbackResponseCommentAttributes(responseComment));
+            }
+        }
+
+        log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
+        getPm().close();
+        return updatedComments;
+    }
+
     /*
      * Get response comments for a sending state (SENT|SENDING|PENDING)
      */
@@ -410,6 +513,25 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         return resultList;
     }
     
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the number of response comments in the session with the given sending state
+     */
+    public int getFeedbackResponseCommentsCountForSendingState(String courseId, String sessionName,
+                                                               CommentSendingState state) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, sessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, state);
+        
+        Query q = getPm().newQuery(FeedbackResponseComment.class);
+        q.declareParameters("String courseIdParam, String fsNameParam, String sendingStateParam");
+        q.setFilter("courseId == courseIdParam && feedbackSessionName == fsNameParam "
+                + "&& sendingState == sendingStateParam");
+        
+        return count(q, courseId, sessionName, state.toString());
+    }
+    
     /*
      * Update response comments from old state to new state
      */
@@ -435,6 +557,21 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         putDocument(Const.SearchIndex.FEEDBACK_RESPONSE_COMMENT, new FeedbackResponseCommentSearchDocument(comment));
     }
     
+    /*
+     * Create or update search documents for the given comments, fetching the entities
+     * the documents refer to in batch instead of once per comment
+     */
+    public void putDocuments(List<FeedbackResponseCommentAttributes> comments) {
+        FeedbackResponseCommentSearchHydrator hydrator =
+                new FeedbackResponseCommentSearchHydrator(comments).fetchForIndexing();
+        
+        List<FeedbackResponseCommentSearchDocument> documents = new ArrayList<FeedbackResponseCommentSearchDocument>();
+        for (FeedbackResponseCommentAttributes comment : comments) {
+            documents.add(new FeedbackResponseCommentSearchDocument(comment, hydrator));
+        }
+        putDocuments(Const.SearchIndex.FEEDBACK_RESPONSE_COMMENT, documents);
+    }
+    
     /**
      * Search for response comments
      * @return {@link FeedbackResponseCommentSearchResultBundle}
@@ -565,6 +702,18 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         return feedbackResponseCommentList.get(0);
     }
     
+    private List<FeedbackResponseComment> getFeedbackResponseCommentEntities(
+                                            Collection<Long> feedbackResponseCommentIds) {
+        Query q = getPm().newQuery(FeedbackResponseComment.class);
+        q.setFilter(":p.contains(feedbackResponseCommentId)");
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponseComment> feedbackResponseCommentList =
+                (List<FeedbackResponseComment>) q.execute(feedbackResponseCommentIds);
+        
+        return feedbackResponseCommentList;
+    }
+    
     private FeedbackResponseComment getFeedbackResponseCommentEntity(
                                             String feedbackResponseId, String giverEmail, Date createdAt) {
         Query q = getPm().newQuery(FeedbackResponseComment.class);
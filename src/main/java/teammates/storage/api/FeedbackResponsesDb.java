@@ -10,6 +10,7 @@ import javax.jdo.JDOHelper;
 import javax.jdo.Query;
 
 import teammates.common.datatransfer.EntityAttributes;
+import teammates.common.datatransfer.FeedbackResponseAnswerHtmlCache;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
@@ -62,6 +63,29 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return new FeedbackResponseAttributes(feedbackResponse);
     }
 
+    /**
+     * Gets the responses with the given IDs using a single batch query.
+     * Responses that do not exist are omitted from the result.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return An empty list if none of the responses are found.
+     */
+    public List<FeedbackResponseAttributes> getFeedbackResponses(Collection<String> feedbackResponseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackResponseIds);
+        
+        List<FeedbackResponseAttributes> fraList = new ArrayList<FeedbackResponseAttributes>();
+        if (feedbackResponseIds.isEmpty()) {
+            return fraList;
+        }
+        
+        for (FeedbackResponse fr : getFeedbackResponseEntities(feedbackResponseIds)) {
+            if (!JDOHelper.isDeleted(fr)) {
+                fraList.add(new FeedbackResponseAttributes(fr));
+            }
+        }
+        return fraList;
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -641,6 +665,8 @@ public class FeedbackResponsesDb extends EntitiesDb {
                 
         log.info(newAttributes.getBackupIdentifier());
         getPm().close();
+        
+        FeedbackResponseAnswerHtmlCache.invalidate(fr.getId());
     }
     
     public void updateFeedbackResponseOptimized(FeedbackResponseAttributes newAttributes, FeedbackResponse fr)
@@ -666,6 +692,45 @@ public class FeedbackResponsesDb extends EntitiesDb {
         getPm().flush();
     }
     
+    /**
+     * Deletes the next batch of the responses in the course without reading them.
+     * @param cursor the cursor returned by the deletion of the previous batch, or {@code null} for the first batch
+     * @return the cursor from which the next batch starts, or {@code null} if there are no more responses
+     */
+    public String deleteFeedbackResponsesBatchForCourse(String courseId, String cursor, int batchSize) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.declareParameters("String courseIdParam");
+        q.setFilter("courseId == courseIdParam");
+        
+        return deleteFeedbackResponsesBatch(q, cursor, batchSize, courseId);
+    }
+    
+    /**
+     * Deletes the next batch of the responses in the session without reading them.
+     * @see #deleteFeedbackResponsesBatchForCourse(String, String, int)
+     */
+    public String deleteFeedbackResponsesBatchForSession(String feedbackSessionName, String courseId,
+                                                         String cursor, int batchSize) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.declareParameters("String feedbackSessionNameParam, String courseIdParam");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam");
+        
+        return deleteFeedbackResponsesBatch(q, cursor, batchSize, feedbackSessionName, courseId);
+    }
+    
+    private String deleteFeedbackResponsesBatch(Query q, String cursor, int batchSize, Object... parameters) {
+        List<?> responseIds = getPrimaryKeysBatch(q, "feedbackResponseId", cursor, batchSize, parameters);
+        String nextCursor = getCursor(responseIds, batchSize);
+        
+        deleteEntitiesByPrimaryKeys(FeedbackResponse.class, "feedbackResponseId", responseIds);
+        return nextCursor;
+    }
+    
     @SuppressWarnings("unchecked")
     public List<FeedbackResponse> getFeedbackResponseEntitiesForCourses(List<String> courseIds) {
         Query q = getPm().newQuery(FeedbackResponse.class);
@@ -702,17 +767,125 @@ public class FeedbackResponsesDb extends EntitiesDb {
      */
     public boolean hasFeedbackResponseEntitiesForCourse(String courseId) {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
-        return !getFeedbackResponseEntitiesForCourseWithinRange(courseId, 1).isEmpty();
-    }
-
-    @SuppressWarnings("unchecked")
-    private List<FeedbackResponse> getFeedbackResponseEntitiesForCourseWithinRange(String courseId, long range) {
+        
         Query q = getPm().newQuery(FeedbackResponse.class);
         q.declareParameters("String courseIdParam");
         q.setFilter("courseId == courseIdParam");
-        q.setRange(0, range);
         
-        return (List<FeedbackResponse>) q.execute(courseId);
+        return exists(q, courseId);
+    }
+    
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return true if there are existing responses to the question
+     */
+    public boolean hasFeedbackResponsesForQuestion(String feedbackQuestionId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackQuestionId);
+        
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.declareParameters("String feedbackQuestionIdParam");
+        q.setFilter("feedbackQuestionId == feedbackQuestionIdParam");
+        
+        return exists(q, feedbackQuestionId);
+    }
+    
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return true if the giver has given any response in the session
+     */
+    public boolean hasFeedbackResponsesFromGiverForSession(
+            String giverEmail, String feedbackSessionName, String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, giverEmail);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.declareParameters("String giverEmailParam, String feedbackSessionNameParam, String courseIdParam");
+        q.setFilter("giverEmail == giverEmailParam "
+                    + "&& feedbackSessionName == feedbackSessionNameParam "
+                    + "&& courseId == courseIdParam");
+        
+        return exists(q, giverEmail, feedbackSessionName, courseId);
+    }
+
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return true if the email is the giver or recipient of any response in the course
+     */
+    public boolean hasFeedbackResponsesForEmailForCourse(String email, String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, email);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        Query giverQuery = getPm().newQuery(FeedbackResponse.class);
+        giverQuery.declareParameters("String courseIdParam, String giverEmailParam");
+        giverQuery.setFilter("courseId == courseIdParam && giverEmail == giverEmailParam");
+        if (exists(giverQuery, courseId, email)) {
+            return true;
+        }
+
+        Query receiverQuery = getPm().newQuery(FeedbackResponse.class);
+        receiverQuery.declareParameters("String courseIdParam, String receiverParam");
+        receiverQuery.setFilter("courseId == courseIdParam && receiver == receiverParam");
+        return exists(receiverQuery, courseId, email);
+    }
+
+    /**
+     * Replaces responses whose giver or recipient changed, and hence whose ids changed, with new responses,
+     * writing all the new responses together and deleting all the old responses by key.<br>
+     * The ids of {@code newResponses} are set to the ids of the new responses.
+     * Preconditions: <br>
+     * * All parameters are non-null. <br>
+     * * No response with the id of a new response exists.
+     * @param oldResponses the stored responses to replace
+     * @param newResponses the responses replacing them, in the same order
+     */
+    public void recreateFeedbackResponses(List<FeedbackResponseAttributes> oldResponses,
+                                          List<FeedbackResponseAttributes> newResponses)
+            throws InvalidParametersException {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, oldResponses);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, newResponses);
+        Assumption.assertEquals(oldResponses.size(), newResponses.size());
+
+        List<FeedbackResponse> newResponseEntities = new ArrayList<FeedbackResponse>();
+        for (FeedbackResponseAttributes newResponse : newResponses) {
+            newResponse.sanitizeForSaving();
+            if (!newResponse.isValid()) {
+                throw new InvalidParametersException(newResponse.getInvalidityInfo());
+            }
+            newResponseEntities.add(newResponse.toEntity());
+        }
+
+        List<String> oldResponseIds = new ArrayList<String>();
+        for (FeedbackResponseAttributes oldResponse : oldResponses) {
+            oldResponseIds.add(oldResponse.getId());
+        }
+
+        getPm().makePersistentAll(newResponseEntities);
+        deleteEntitiesByPrimaryKeys(FeedbackResponse.class, "feedbackResponseId", oldResponseIds);
+        getPm().flush();
+
+        for (int i = 0; i < newResponses.size(); i++) {
+            newResponses.get(i).setId(newResponseEntities.get(i).getId());
+        }
+    }
+
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the number of responses given by the giver to the question
+     */
+    public int getFeedbackResponsesCountFromGiverForQuestion(String feedbackQuestionId, String giverEmail) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackQuestionId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, giverEmail);
+        
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.declareParameters("String feedbackQuestionIdParam, String giverEmailParam");
+        q.setFilter("feedbackQuestionId == feedbackQuestionIdParam && giverEmail == giverEmailParam");
+        
+        return count(q, feedbackQuestionId, giverEmail);
     }
     
     private FeedbackResponse getFeedbackResponseEntity(String feedbackResponseId) {
@@ -730,6 +903,16 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return feedbackResponses.get(0);
     }
 
+    private List<FeedbackResponse> getFeedbackResponseEntities(Collection<String> feedbackResponseIds) {
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.setFilter(":p.contains(feedbackResponseId)");
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> feedbackResponses = (List<FeedbackResponse>) q.execute(feedbackResponseIds);
+        
+        return feedbackResponses;
+    }
+
     private FeedbackResponse getFeedbackResponseEntity(
             String feedbackQuestionId, String giverEmail, String receiver) {
         
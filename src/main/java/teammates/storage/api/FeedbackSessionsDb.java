@@ -1,12 +1,11 @@
 package teammates.storage.api;
 
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Collection;
 import java.util.Date;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
@@ -24,6 +23,9 @@ import teammates.storage.entity.FeedbackSession;
 public class FeedbackSessionsDb extends EntitiesDb {
     
     public static final String ERROR_UPDATE_NON_EXISTENT = "Trying to update non-existent Feedback Session : ";
+    
+    /** The largest number of hours a time zone can be ahead of UTC. */
+    private static final int MAX_TIME_ZONE_OFFSET_HOURS = 14;
 
     public void createFeedbackSessions(Collection<FeedbackSessionAttributes> feedbackSessionsToAdd)
             throws InvalidParametersException {
@@ -40,68 +42,59 @@ public class FeedbackSessionsDb extends EntitiesDb {
         }
     }
        
+    /**
+     * Gets the sessions which start or end within the time range. <br>
+     * The sessions are looked up by the hours they start and end in, in UTC,
+     * so that the range need not be widened to cover all time zones,
+     * except for the sessions written before those hours were stored.
+     * @param zone  the time zone the range is in
+     */
     public List<FeedbackSessionAttributes> getAllOpenFeedbackSessions(Date start, Date end, double zone) {
         
-        List<FeedbackSessionAttributes> list = new LinkedList<FeedbackSessionAttributes>();
+        Date rangeStart = TimeHelper.convertLocalDateToUtc(start, zone);
+        Date rangeEnd = TimeHelper.convertLocalDateToUtc(end, zone);
+        long rangeStartHour = TimeHelper.getUtcHour(rangeStart);
+        long rangeEndHour = TimeHelper.getUtcHour(rangeEnd);
         
-        final Query endTimequery = getPm().newQuery("SELECT FROM teammates.storage.entity.FeedbackSession "
-                                                    + "WHERE this.endTime>rangeStart && this.endTime<=rangeEnd "
-                                                    + " PARAMETERS java.util.Date rangeStart, "
-                                                    + "java.util.Date rangeEnd");
-
-        final Query startTimequery = getPm().newQuery("SELECT FROM teammates.storage.entity.FeedbackSession "
-                                                      + "WHERE this.startTime>=rangeStart && this.startTime<rangeEnd "
-                                                      + "PARAMETERS java.util.Date rangeStart, "
-                                                      + "java.util.Date rangeEnd");
-            
-        Calendar startCal = Calendar.getInstance();
-        startCal.setTime(start);
-        Calendar endCal = Calendar.getInstance();
-        endCal.setTime(end);
-
-        Date curStart = TimeHelper.convertToUserTimeZone(startCal, -25).getTime();
-        Date curEnd = TimeHelper.convertToUserTimeZone(endCal, 25).getTime();
-     
-        @SuppressWarnings("unchecked")
-        List<FeedbackSession> endEntities = (List<FeedbackSession>) endTimequery.execute(curStart, curEnd);
-        @SuppressWarnings("unchecked")
-        List<FeedbackSession> startEntities = (List<FeedbackSession>) startTimequery.execute(curStart, curEnd);
-        
-        List<FeedbackSession> endTimeEntities = new ArrayList<FeedbackSession>(endEntities);
-        List<FeedbackSession> startTimeEntities = new ArrayList<FeedbackSession>(startEntities);
-        
-        endTimeEntities.removeAll(startTimeEntities);
-        startTimeEntities.removeAll(endTimeEntities);
-        endTimeEntities.addAll(startTimeEntities);
-                    
+        // sessions both starting and ending within the range are found by both queries
+        Map<String, FeedbackSession> sessions = new LinkedHashMap<String, FeedbackSession>();
+        for (FeedbackSession session : getFeedbackSessionEntitiesWithEndTimeUtcHourWithin(rangeStartHour,
+                                                                                          rangeEndHour)) {
+            sessions.put(session.getFeedbackSessionName() + "%" + session.getCourseId(), session);
+        }
+        for (FeedbackSession session : getFeedbackSessionEntitiesWithStartTimeUtcHourWithin(rangeStartHour,
+                                                                                            rangeEndHour)) {
+            sessions.put(session.getFeedbackSessionName() + "%" + session.getCourseId(), session);
+        }
+        for (FeedbackSession session : getLegacyFeedbackSessionEntitiesWithEndTimeWithin(start, end)) {
+            if (session.getEndTimeUtcHour() == null) {
+                sessions.put(session.getFeedbackSessionName() + "%" + session.getCourseId(), session);
+            }
+        }
+        for (FeedbackSession session : getLegacyFeedbackSessionEntitiesWithStartTimeWithin(start, end)) {
+            if (session.getStartTimeUtcHour() == null) {
+                sessions.put(session.getFeedbackSessionName() + "%" + session.getCourseId(), session);
+            }
+        }
         
-        Iterator<FeedbackSession> it = endTimeEntities.iterator();
-
-        while (it.hasNext()) {
-            FeedbackSession feedbackSession = it.next();
+        List<FeedbackSessionAttributes> list = new ArrayList<FeedbackSessionAttributes>();
+        for (FeedbackSession feedbackSession : sessions.values()) {
             
             // Continue to the next element if the current element is deleted
             if (JDOHelper.isDeleted(feedbackSession)) {
                 continue;
             }
             
-            startCal.setTime(start);
-            endCal.setTime(end);
             FeedbackSessionAttributes fs = new FeedbackSessionAttributes(feedbackSession);
             
-            Date standardStart = TimeHelper.convertToUserTimeZone(startCal, fs.getTimeZone() - zone).getTime();
-            Date standardEnd = TimeHelper.convertToUserTimeZone(endCal, fs.getTimeZone() - zone).getTime();
+            // the hours found the candidates; the times themselves decide if they are within the range
+            Date startTime = TimeHelper.convertLocalDateToUtc(fs.getStartTime(), fs.getTimeZone());
+            Date endTime = TimeHelper.convertLocalDateToUtc(fs.getEndTime(), fs.getTimeZone());
             
-            boolean isStartTimeWithinRange = TimeHelper.isTimeWithinPeriod(standardStart,
-                                                                           standardEnd,
-                                                                           fs.getStartTime(),
-                                                                           true,
-                                                                           false);
-            boolean isEndTimeWithinRange = TimeHelper.isTimeWithinPeriod(standardStart,
-                                                                         standardEnd,
-                                                                         fs.getEndTime(),
-                                                                         false,
-                                                                         true);
+            boolean isStartTimeWithinRange = TimeHelper.isTimeWithinPeriod(rangeStart, rangeEnd, startTime,
+                                                                           true, false);
+            boolean isEndTimeWithinRange = TimeHelper.isTimeWithinPeriod(rangeStart, rangeEnd, endTime,
+                                                                         false, true);
 
             if (isStartTimeWithinRange || isEndTimeWithinRange) {
                 list.add(fs);
@@ -168,17 +161,46 @@ public class FeedbackSessionsDb extends EntitiesDb {
         }
         return fsaList;
     }
+    
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return An empty list if no sessions are found for the given courses.
+     */
+    public List<FeedbackSessionAttributes> getFeedbackSessionsForCourses(List<String> courseIds) {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+        
+        List<FeedbackSessionAttributes> fsaList = new ArrayList<FeedbackSessionAttributes>();
+        if (courseIds.isEmpty()) {
+            return fsaList;
+        }
+        
+        for (FeedbackSession fs : getFeedbackSessionEntitiesForCourses(courseIds)) {
+            if (!JDOHelper.isDeleted(fs)) {
+                fsaList.add(new FeedbackSessionAttributes(fs));
+            }
+        }
+        return fsaList;
+    }
         
     /**
      * @return An empty list if no sessions are found that have unsent open emails.
      */
     public List<FeedbackSessionAttributes> getFeedbackSessionsPossiblyNeedingOpenEmail() {
                 
-        List<FeedbackSession> fsList = getFeedbackSessionEntitiesPossiblyNeedingOpenEmail();
+        List<FeedbackSession> fsList =
+                new ArrayList<FeedbackSession>(getFeedbackSessionEntitiesPossiblyNeedingOpenEmail());
+        for (FeedbackSession fs : getLegacyFeedbackSessionEntitiesPossiblyNeedingOpenEmail()) {
+            if (fs.getStartTimeUtcHour() == null) {
+                fsList.add(fs);
+            }
+        }
         List<FeedbackSessionAttributes> fsaList = new ArrayList<FeedbackSessionAttributes>();
+        Date twoDaysAgo = TimeHelper.getDateOffsetToCurrentTime(-2);
         
         for (FeedbackSession fs : fsList) {
-            if (!JDOHelper.isDeleted(fs)) {
+            if (!JDOHelper.isDeleted(fs) && fs.getStartTime().after(twoDaysAgo)) {
                 fsaList.add(new FeedbackSessionAttributes(fs));
             }
         }
@@ -190,7 +212,13 @@ public class FeedbackSessionsDb extends EntitiesDb {
      */
     public List<FeedbackSessionAttributes> getFeedbackSessionsPossiblyNeedingClosingEmail() {
                 
-        List<FeedbackSession> fsList = getFeedbackSessionEntitiesPossiblyNeedingClosingEmail();
+        List<FeedbackSession> fsList =
+                new ArrayList<FeedbackSession>(getFeedbackSessionEntitiesPossiblyNeedingClosingEmail());
+        for (FeedbackSession fs : getLegacyFeedbackSessionEntitiesPossiblyNeedingClosingEmail()) {
+            if (fs.getEndTimeUtcHour() == null) {
+                fsList.add(fs);
+            }
+        }
         List<FeedbackSessionAttributes> fsaList = new ArrayList<FeedbackSessionAttributes>();
         
         for (FeedbackSession fs : fsList) {
@@ -206,11 +234,18 @@ public class FeedbackSessionsDb extends EntitiesDb {
      */
     public List<FeedbackSessionAttributes> getFeedbackSessionsPossiblyNeedingClosedEmail() {
                 
-        List<FeedbackSession> fsList = getFeedbackSessionEntitiesPossiblyNeedingClosedEmail();
+        List<FeedbackSession> fsList =
+                new ArrayList<FeedbackSession>(getFeedbackSessionEntitiesPossiblyNeedingClosedEmail());
+        for (FeedbackSession fs : getLegacyFeedbackSessionEntitiesPossiblyNeedingClosedEmail()) {
+            if (fs.getEndTimeUtcHour() == null) {
+                fsList.add(fs);
+            }
+        }
         List<FeedbackSessionAttributes> fsaList = new ArrayList<FeedbackSessionAttributes>();
+        Date twoDaysAgo = TimeHelper.getDateOffsetToCurrentTime(-2);
         
         for (FeedbackSession fs : fsList) {
-            if (!JDOHelper.isDeleted(fs)) {
+            if (!JDOHelper.isDeleted(fs) && fs.getEndTime().after(twoDaysAgo)) {
                 fsaList.add(new FeedbackSessionAttributes(fs));
             }
         }
@@ -222,11 +257,18 @@ public class FeedbackSessionsDb extends EntitiesDb {
      */
     public List<FeedbackSessionAttributes> getFeedbackSessionsPossiblyNeedingPublishedEmail() {
         
-        List<FeedbackSession> fsList = getFeedbackSessionEntitiesPossiblyNeedingPublishedEmail();
+        List<FeedbackSession> fsList =
+                new ArrayList<FeedbackSession>(getFeedbackSessionEntitiesPossiblyNeedingPublishedEmail());
+        for (FeedbackSession fs : getLegacyFeedbackSessionEntitiesPossiblyNeedingPublishedEmail()) {
+            if (fs.getResultsVisibleFromTimeUtcHour() == null) {
+                fsList.add(fs);
+            }
+        }
         List<FeedbackSessionAttributes> fsaList = new ArrayList<FeedbackSessionAttributes>();
         
         for (FeedbackSession fs : fsList) {
-            if (!JDOHelper.isDeleted(fs)) {
+            // filtered here as the query can have only one inequality filter, which is on the time
+            if (!JDOHelper.isDeleted(fs) && fs.getFeedbackSessionType() != FeedbackSessionType.PRIVATE) {
                 fsaList.add(new FeedbackSessionAttributes(fs));
             }
         }
@@ -514,10 +556,16 @@ public class FeedbackSessionsDb extends EntitiesDb {
     
     @SuppressWarnings("unchecked")
     private List<FeedbackSession> getFeedbackSessionEntitiesForCourses(List<String> courseIds) {
-        Query q = getPm().newQuery(FeedbackSession.class);
-        q.setFilter(":p.contains(courseId)");
-        
-        return (List<FeedbackSession>) q.execute(courseIds);
+        List<FeedbackSession> feedbackSessions = new ArrayList<FeedbackSession>();
+        for (int from = 0; from < courseIds.size(); from += MAX_VALUES_PER_CONTAINS_FILTER) {
+            List<String> courseIdsToQuery =
+                    courseIds.subList(from, Math.min(from + MAX_VALUES_PER_CONTAINS_FILTER, courseIds.size()));
+            Query q = getPm().newQuery(FeedbackSession.class);
+            q.setFilter(":p.contains(courseId)");
+            
+            feedbackSessions.addAll((List<FeedbackSession>) q.execute(courseIdsToQuery));
+        }
+        return feedbackSessions;
     }
     
     @SuppressWarnings("unchecked")
@@ -536,50 +584,146 @@ public class FeedbackSessionsDb extends EntitiesDb {
         return (List<FeedbackSession>) q.execute(courseId);
     }
     
+    @SuppressWarnings("unchecked")
+    private List<FeedbackSession> getFeedbackSessionEntitiesWithStartTimeUtcHourWithin(long fromHour, long toHour) {
+        Query q = getPm().newQuery(FeedbackSession.class);
+        q.declareParameters("Long fromHourParam, Long toHourParam");
+        q.setFilter("startTimeUtcHour >= fromHourParam && startTimeUtcHour <= toHourParam");
+        
+        return (List<FeedbackSession>) q.execute(fromHour, toHour);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private List<FeedbackSession> getFeedbackSessionEntitiesWithEndTimeUtcHourWithin(long fromHour, long toHour) {
+        Query q = getPm().newQuery(FeedbackSession.class);
+        q.declareParameters("Long fromHourParam, Long toHourParam");
+        q.setFilter("endTimeUtcHour >= fromHourParam && endTimeUtcHour <= toHourParam");
+        
+        return (List<FeedbackSession>) q.execute(fromHour, toHour);
+    }
+    
     @SuppressWarnings("unchecked")
     private List<FeedbackSession> getFeedbackSessionEntitiesPossiblyNeedingOpenEmail() {
+        Query q = getPm().newQuery(FeedbackSession.class);
+        q.declareParameters("Long fromHourParam, Long toHourParam, boolean sentParam");
+        q.setFilter("startTimeUtcHour > fromHourParam && startTimeUtcHour <= toHourParam "
+                    + "&& sentOpenEmail == sentParam");
+        
+        // only get sessions which started within the past two days to reduce the number of sessions returned;
+        // the two days are in the time zone of the session, so the hours cover the time zones ahead of UTC
+        return (List<FeedbackSession>) q.execute(getUtcHourOffsetToCurrentTime(-48 - MAX_TIME_ZONE_OFFSET_HOURS),
+                                                 getUtcHourOffsetToCurrentTime(0), false);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private List<FeedbackSession> getFeedbackSessionEntitiesPossiblyNeedingClosingEmail() {
+        Query q = getPm().newQuery(FeedbackSession.class);
+        q.declareParameters("Long fromHourParam, Long toHourParam, boolean sentParam, boolean enableParam");
+        q.setFilter("endTimeUtcHour >= fromHourParam && endTimeUtcHour <= toHourParam "
+                    + "&& sentClosingEmail == sentParam && isClosingEmailEnabled == enableParam");
+        
+        // only get sessions which end before the closing alert is due
+        return (List<FeedbackSession>) q.executeWithArray(
+                getUtcHourOffsetToCurrentTime(0),
+                getUtcHourOffsetToCurrentTime(Const.SystemParams.NUMBER_OF_HOURS_BEFORE_CLOSING_ALERT),
+                false, true);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private List<FeedbackSession> getFeedbackSessionEntitiesPossiblyNeedingClosedEmail() {
+        Query q = getPm().newQuery(FeedbackSession.class);
+        q.declareParameters("Long fromHourParam, Long toHourParam, boolean sentParam, boolean enableParam");
+        q.setFilter("endTimeUtcHour > fromHourParam && endTimeUtcHour <= toHourParam "
+                    + "&& sentClosedEmail == sentParam && isClosingEmailEnabled == enableParam");
+        
+        // only get sessions which ended within the past two days to reduce the number of sessions returned;
+        // the two days are in the time zone of the session, so the hours cover the time zones ahead of UTC
+        return (List<FeedbackSession>) q.executeWithArray(getUtcHourOffsetToCurrentTime(-48 - MAX_TIME_ZONE_OFFSET_HOURS),
+                                                          getUtcHourOffsetToCurrentTime(0), false, true);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private List<FeedbackSession> getFeedbackSessionEntitiesPossiblyNeedingPublishedEmail() {
+        Query q = getPm().newQuery(FeedbackSession.class);
+        q.declareParameters("Long toHourParam, boolean sentParam, boolean enableParam");
+        q.setFilter("resultsVisibleFromTimeUtcHour <= toHourParam "
+                    + "&& sentPublishedEmail == sentParam && isPublishedEmailEnabled == enableParam");
+        
+        // only leave out the sessions to be published later; the sessions published any time before
+        // whose email is not sent yet are kept, so that an email missed by an earlier run is still sent
+        return (List<FeedbackSession>) q.execute(getUtcHourOffsetToCurrentTime(0), false, true);
+    }
+    
+    // TODO: remove the legacy lookups below once DataMigrationForUtcHoursInSessions has populated
+    // the hours of all the existing sessions; until then, they find the sessions without the hours
+    
+    @SuppressWarnings("unchecked")
+    private List<FeedbackSession> getLegacyFeedbackSessionEntitiesWithStartTimeWithin(Date start, Date end) {
+        Query q = getPm().newQuery(FeedbackSession.class);
+        q.declareParameters("java.util.Date rangeStartParam, java.util.Date rangeEndParam");
+        q.setFilter("startTime >= rangeStartParam && startTime < rangeEndParam");
+        
+        return (List<FeedbackSession>) q.execute(getLegacyRangeStart(start), getLegacyRangeEnd(end));
+    }
+    
+    @SuppressWarnings("unchecked")
+    private List<FeedbackSession> getLegacyFeedbackSessionEntitiesWithEndTimeWithin(Date start, Date end) {
+        Query q = getPm().newQuery(FeedbackSession.class);
+        q.declareParameters("java.util.Date rangeStartParam, java.util.Date rangeEndParam");
+        q.setFilter("endTime > rangeStartParam && endTime <= rangeEndParam");
+        
+        return (List<FeedbackSession>) q.execute(getLegacyRangeStart(start), getLegacyRangeEnd(end));
+    }
+    
+    /**
+     * The times are in the time zones of the sessions, so the range is widened to cover all time zones.
+     */
+    private Date getLegacyRangeStart(Date start) {
+        return TimeHelper.convertToUserTimeZone(TimeHelper.dateToCalendar(start), -25).getTime();
+    }
+    
+    private Date getLegacyRangeEnd(Date end) {
+        return TimeHelper.convertToUserTimeZone(TimeHelper.dateToCalendar(end), 25).getTime();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private List<FeedbackSession> getLegacyFeedbackSessionEntitiesPossiblyNeedingOpenEmail() {
         Query q = getPm().newQuery(FeedbackSession.class);
         q.declareParameters("java.util.Date startTimeParam, boolean sentParam");
         q.setFilter("startTime > startTimeParam && sentOpenEmail == sentParam");
         
-        // only get sessions with startTime within the past two days to reduce the number of sessions returned
-        Date d = TimeHelper.getDateOffsetToCurrentTime(-2);
-        
-        return (List<FeedbackSession>) q.execute(d, false);
+        return (List<FeedbackSession>) q.execute(TimeHelper.getDateOffsetToCurrentTime(-2), false);
     }
     
     @SuppressWarnings("unchecked")
-    private List<FeedbackSession> getFeedbackSessionEntitiesPossiblyNeedingClosingEmail() {
+    private List<FeedbackSession> getLegacyFeedbackSessionEntitiesPossiblyNeedingClosingEmail() {
         Query q = getPm().newQuery(FeedbackSession.class);
         q.declareParameters("java.util.Date endTimeParam, boolean sentParam, boolean enableParam");
         q.setFilter("endTime > endTimeParam && sentClosingEmail == sentParam && isClosingEmailEnabled == enableParam");
         
-        // only get sessions with endTime within the past two days to reduce the number of sessions returned
-        Date d = TimeHelper.getDateOffsetToCurrentTime(-2);
-        
-        return (List<FeedbackSession>) q.execute(d, false, true);
+        return (List<FeedbackSession>) q.execute(TimeHelper.getDateOffsetToCurrentTime(-2), false, true);
     }
     
     @SuppressWarnings("unchecked")
-    private List<FeedbackSession> getFeedbackSessionEntitiesPossiblyNeedingClosedEmail() {
+    private List<FeedbackSession> getLegacyFeedbackSessionEntitiesPossiblyNeedingClosedEmail() {
         Query q = getPm().newQuery(FeedbackSession.class);
         q.declareParameters("java.util.Date endTimeParam, boolean sentParam, boolean enableParam");
         q.setFilter("endTime > endTimeParam && sentClosedEmail == sentParam && isClosingEmailEnabled == enableParam");
         
-        // only get sessions with endTime within the past two days to reduce the number of sessions returned
-        Date d = TimeHelper.getDateOffsetToCurrentTime(-2);
-        
-        return (List<FeedbackSession>) q.execute(d, false, true);
+        return (List<FeedbackSession>) q.execute(TimeHelper.getDateOffsetToCurrentTime(-2), false, true);
     }
     
     @SuppressWarnings("unchecked")
-    private List<FeedbackSession> getFeedbackSessionEntitiesPossiblyNeedingPublishedEmail() {
+    private List<FeedbackSession> getLegacyFeedbackSessionEntitiesPossiblyNeedingPublishedEmail() {
         Query q = getPm().newQuery(FeedbackSession.class);
-        q.declareParameters("boolean sentParam, boolean enableParam, Enum notTypeParam");
-        q.setFilter("sentPublishedEmail == sentParam && isPublishedEmailEnabled == enableParam "
-                    + "&& feedbackSessionType != notTypeParam");
+        q.declareParameters("boolean sentParam, boolean enableParam");
+        q.setFilter("sentPublishedEmail == sentParam && isPublishedEmailEnabled == enableParam");
         
-        return (List<FeedbackSession>) q.execute(false, true, FeedbackSessionType.PRIVATE);
+        return (List<FeedbackSession>) q.execute(false, true);
+    }
+    
+    private long getUtcHourOffsetToCurrentTime(int offsetHours) {
+        return TimeHelper.getUtcHour(TimeHelper.getHoursOffsetToCurrentTime(offsetHours));
     }
     
     private FeedbackSession getFeedbackSessionEntity(String feedbackSessionName, String courseId) {
@@ -255,6 +255,29 @@ public class InstructorsDb extends EntitiesDb {
         return instructorDataList;
     }
     
+    /**
+     * Preconditions: <br>
+     *  * All parameters are non-null.
+     * @return empty list if no matching objects.
+     */
+    public List<InstructorAttributes> getInstructorsForCourses(List<String> courseIds) {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+        
+        List<InstructorAttributes> instructorDataList = new ArrayList<InstructorAttributes>();
+        if (courseIds.isEmpty()) {
+            return instructorDataList;
+        }
+        
+        for (Instructor i : getInstructorEntitiesForCourses(courseIds)) {
+            if (!JDOHelper.isDeleted(i)) {
+                instructorDataList.add(new InstructorAttributes(i));
+            }
+        }
+        
+        return instructorDataList;
+    }
+    
     /**
      * Not scalable. Don't use unless for admin features.
      * @return {@code InstructorAttributes} objects for all instructor
@@ -484,12 +507,17 @@ public class InstructorsDb extends EntitiesDb {
     }
     
     private List<Instructor> getInstructorEntitiesForCourses(List<String> courseIds) {
-        Query q = getPm().newQuery(Instructor.class);
-        q.setFilter(":p.contains(courseId)");
-        
-        @SuppressWarnings("unchecked")
-        List<Instructor> instructorList = (List<Instructor>) q.execute(courseIds);
-        
+        List<Instructor> instructorList = new ArrayList<Instructor>();
+        for (int from = 0; from < courseIds.size(); from += MAX_VALUES_PER_CONTAINS_FILTER) {
+            List<String> courseIdsToQuery =
+                    courseIds.subList(from, Math.min(from + MAX_VALUES_PER_CONTAINS_FILTER, courseIds.size()));
+            Query q = getPm().newQuery(Instructor.class);
+            q.setFilter(":p.contains(courseId)");
+            
+            @SuppressWarnings("unchecked")
+            List<Instructor> instructors = (List<Instructor>) q.execute(courseIdsToQuery);
+            instructorList.addAll(instructors);
+        }
         return instructorList;
     }
     
@@ -0,0 +1,91 @@
+package teammates.storage.api;
+
+import java.util.List;
+
+import javax.jdo.JDOHelper;
+import javax.jdo.JDOObjectNotFoundException;
+import javax.jdo.Query;
+
+import teammates.common.datatransfer.EntityAttributes;
+import teammates.common.datatransfer.PendingDeletionAttributes;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.storage.entity.PendingDeletion;
+
+/**
+ * Handles CRUD operations for the markers of courses and feedback sessions whose data
+ * is still being deleted in the background.
+ * @see PendingDeletion
+ * @see PendingDeletionAttributes
+ */
+public class PendingDeletionsDb extends EntitiesDb {
+
+    /**
+     * Marks the course, or the session if {@code feedbackSessionName} is not null, as being deleted.
+     * Does nothing if it is already marked.
+     */
+    public void putPendingDeletion(String courseId, String feedbackSessionName) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        PendingDeletionAttributes pendingDeletion = new PendingDeletionAttributes(courseId, feedbackSessionName);
+        if (getPendingDeletionEntity(pendingDeletion.getId()) == null) {
+            getPm().makePersistent(pendingDeletion.toEntity());
+            log.info(pendingDeletion.getBackupIdentifier());
+        }
+        getPm().close();
+    }
+
+    /**
+     * @return true if the data of the course, or of the session if {@code feedbackSessionName} is not null,
+     *         is still being deleted
+     */
+    public boolean isPendingDeletion(String courseId, String feedbackSessionName) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        return getPendingDeletionEntity(PendingDeletion.makeId(courseId, feedbackSessionName)) != null;
+    }
+
+    /**
+     * Removes the mark of the course, or of the session if {@code feedbackSessionName} is not null, if any.
+     */
+    public void deletePendingDeletion(String courseId, String feedbackSessionName) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        deleteEntity(new PendingDeletionAttributes(courseId, feedbackSessionName));
+    }
+
+    /**
+     * Removes the marks of the courses and of all the sessions in them.
+     */
+    public void deletePendingDeletionsForCourses(List<String> courseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+
+        Query q = getPm().newQuery(PendingDeletion.class);
+        q.setFilter(":p.contains(courseId)");
+
+        @SuppressWarnings("unchecked")
+        List<PendingDeletion> pendingDeletions = (List<PendingDeletion>) q.execute(courseIds);
+
+        getPm().deletePersistentAll(pendingDeletions);
+        getPm().flush();
+    }
+
+    private PendingDeletion getPendingDeletionEntity(String pendingDeletionId) {
+        // looked up by key, so that a mark is seen as soon as it is put
+        try {
+            PendingDeletion pendingDeletion = getPm().getObjectById(PendingDeletion.class, pendingDeletionId);
+
+            if (JDOHelper.isDeleted(pendingDeletion)) {
+                return null;
+            }
+            return pendingDeletion;
+        } catch (JDOObjectNotFoundException je) {
+            return null;
+        }
+    }
+
+    @Override
+    protected Object getEntity(EntityAttributes attributes) {
+        return getPendingDeletionEntity(((PendingDeletionAttributes) attributes).getId());
+    }
+}
@@ -11,6 +11,7 @@ import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
+import teammates.common.util.GoogleCloudStorageHelper;
 import teammates.common.util.ThreadHelper;
 import teammates.storage.entity.Account;
 import teammates.storage.entity.StudentProfile;
@@ -66,6 +67,7 @@ public class ProfilesDb extends EntitiesDb {
 
         updateProfileWithNewValues(newSpa, profileToUpdate);
         closePm();
+        StudentProfilePictureCache.invalidatePicture(newSpa.googleId);
     }
 
     private void validateNewProfile(StudentProfileAttributes newSpa)
@@ -107,7 +109,7 @@ public class ProfilesDb extends EntitiesDb {
     /**
      * Udates the pictureKey of the profile with given GoogleId.
      * Deletes existing picture if key is different and updates
-     * modifiedDate
+     * modifiedDate, which is also updated if the picture was written again under the same key
      * 
      * @param googleId
      * @param newPictureKey
@@ -125,10 +127,12 @@ public class ProfilesDb extends EntitiesDb {
         
         if (hasNewNonEmptyPictureKey) {
             profileToUpdate.setPictureKey(new BlobKey(newPictureKey));
-            profileToUpdate.setModifiedDate(new Date());
         }
+        // pictures are stored under the same key for each account, so the picture can change without the key
+        profileToUpdate.setModifiedDate(new Date());
         
         closePm();
+        StudentProfilePictureCache.invalidatePicture(googleId);
     }
 
     private void validateParametersForUpdatePicture(String googleId,
@@ -152,11 +156,13 @@ public class ProfilesDb extends EntitiesDb {
         
         if (!sp.getPictureKey().equals(new BlobKey(""))) {
             deletePicture(sp.getPictureKey());
+            deletePicture(new BlobKey(GoogleCloudStorageHelper.getThumbnailKey(googleId)));
             sp.setPictureKey(new BlobKey(""));
             sp.setModifiedDate(new Date());
         }
         
         closePm();
+        StudentProfilePictureCache.invalidatePicture(googleId);
     }
     
     
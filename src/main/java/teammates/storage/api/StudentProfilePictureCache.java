@@ -0,0 +1,170 @@
+package teammates.storage.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import teammates.common.datatransfer.StudentProfilePictureDetails;
+import teammates.common.util.Utils;
+import teammates.storage.entity.CourseStudent;
+
+import com.google.appengine.api.memcache.Expiration;
+import com.google.appengine.api.memcache.MemcacheService;
+import com.google.appengine.api.memcache.MemcacheService.SetPolicy;
+import com.google.appengine.api.memcache.MemcacheServiceFactory;
+import com.google.gson.Gson;
+
+/**
+ * Caches in memcache the {@link StudentProfilePictureDetails} of students, keyed by course and email,
+ * so that serving a profile picture does not need to read the student and the profile. <br>
+ * Each student account has a picture version in memcache, which is the time of the last change to its picture.
+ * Details are stored with the picture version they were read at, so changing a picture makes the details
+ * of the student in all courses stale. <br>
+ * {@link ProfilesDb} must call {@link #invalidatePicture(String)} after every change to a picture, and
+ * {@link StudentsDb} must call {@link #invalidateStudent(String, String)} or {@link #invalidateStudents(List)}
+ * after every change to a student, including the deletion of whole courses.
+ * Details also expire, in case an invalidation fails.
+ */
+public final class StudentProfilePictureCache {
+
+    private static final int MEMCACHE_EXPIRATION_SECONDS = 60 * 60;
+
+    private static final String PICTURE_VERSION_KEY_PREFIX = "pictureVersion:";
+    private static final String DETAILS_KEY_PREFIX = "pictureDetails:";
+
+    private static final Logger log = Utils.getLogger();
+
+    private static final Gson gson = Utils.getTeammatesGson();
+
+    private StudentProfilePictureCache() {
+        // utility class
+    }
+
+    /**
+     * @return the picture version of the student account, which is to be read before the profile
+     *         whose details are cached with {@link #put(StudentProfilePictureDetails, Long)}
+     */
+    public static Long getPictureVersion(String googleId) {
+        try {
+            return getVersion(googleId);
+        } catch (RuntimeException e) {
+            log.warning("Failed to get picture version of " + googleId + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return the cached details of the student, or null if they are not cached or stale
+     */
+    public static StudentProfilePictureDetails get(String courseId, String email) {
+        try {
+            CachedDetails cached = gson.fromJson((String) getMemcache().get(getDetailsKey(courseId, email)),
+                                                 CachedDetails.class);
+            if (cached == null) {
+                return null;
+            }
+            boolean isRegistered = cached.details.googleId != null && !cached.details.googleId.isEmpty();
+            if (!isRegistered || cached.pictureVersion.equals(getVersion(cached.details.googleId))) {
+                return cached.details;
+            }
+        } catch (RuntimeException e) {
+            log.warning("Failed to get cached picture details of " + email + " in " + courseId + ": "
+                        + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Caches the details of the student, which were just read from the datastore.
+     * @param pictureVersion the picture version read with {@link #getPictureVersion(String)}
+     *                       before reading the profile, or any value if the student is not registered
+     */
+    public static void put(StudentProfilePictureDetails details, Long pictureVersion) {
+        if (pictureVersion == null) {
+            return;
+        }
+        try {
+            getMemcache().put(getDetailsKey(details.courseId, details.email),
+                              gson.toJson(new CachedDetails(details, pictureVersion)),
+                              Expiration.byDeltaSeconds(MEMCACHE_EXPIRATION_SECONDS));
+        } catch (RuntimeException e) {
+            log.warning("Failed to cache picture details of " + details.email + " in " + details.courseId + ": "
+                        + e.getMessage());
+        }
+    }
+
+    /**
+     * Makes the cached details of the student account stale in all courses.
+     */
+    public static void invalidatePicture(String googleId) {
+        try {
+            getMemcache().put(PICTURE_VERSION_KEY_PREFIX + googleId, System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.severe("Failed to invalidate cached picture details of " + googleId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the cached details of the student in the course.
+     */
+    public static void invalidateStudent(String courseId, String email) {
+        try {
+            getMemcache().delete(getDetailsKey(courseId, email));
+        } catch (RuntimeException e) {
+            log.severe("Failed to invalidate cached picture details of " + email + " in " + courseId + ": "
+                       + e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the cached details of the students, e.g. of a course being deleted, in one memcache call.
+     */
+    public static void invalidateStudents(List<CourseStudent> students) {
+        if (students.isEmpty()) {
+            return;
+        }
+        List<String> detailsKeys = new ArrayList<String>();
+        for (CourseStudent student : students) {
+            detailsKeys.add(getDetailsKey(student.getCourseId(), student.getEmail()));
+        }
+        try {
+            getMemcache().deleteAll(detailsKeys);
+        } catch (RuntimeException e) {
+            log.severe("Failed to invalidate cached picture details of " + students.size() + " students: "
+                       + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the picture version of the account, which is set to the current time
+     *         if the account has no version yet, e.g. because it was evicted from memcache.
+     */
+    private static Long getVersion(String googleId) {
+        String versionKey = PICTURE_VERSION_KEY_PREFIX + googleId;
+        MemcacheService memcache = getMemcache();
+        Long version = (Long) memcache.get(versionKey);
+        if (version != null) {
+            return version;
+        }
+        memcache.put(versionKey, System.currentTimeMillis(), null, SetPolicy.ADD_ONLY_IF_NOT_PRESENT);
+        return (Long) memcache.get(versionKey);
+    }
+
+    private static String getDetailsKey(String courseId, String email) {
+        return DETAILS_KEY_PREFIX + courseId + "/" + email;
+    }
+
+    private static MemcacheService getMemcache() {
+        return MemcacheServiceFactory.getMemcacheService();
+    }
+
+    private static class CachedDetails {
+        StudentProfilePictureDetails details;
+        Long pictureVersion;
+
+        CachedDetails(StudentProfilePictureDetails details, Long pictureVersion) {
+            this.details = details;
+            this.pictureVersion = pictureVersion;
+        }
+    }
+}
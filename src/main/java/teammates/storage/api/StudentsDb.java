@@ -130,6 +130,7 @@ public class StudentsDb extends EntitiesDb {
         if (hasDocument) {
             putDocument(createdStudent);
         }
+        StudentProfilePictureCache.invalidateStudent(createdStudent.course, createdStudent.email);
     }
 
     /**
@@ -241,6 +242,29 @@ public class StudentsDb extends EntitiesDb {
         return studentDataList;
     }
     
+    /**
+     * Preconditions: <br>
+     *  * All parameters are non-null.
+     * @return an empty list if no students in the courses.
+     */
+    public List<StudentAttributes> getStudentsForCourses(List<String> courseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+        
+        List<StudentAttributes> studentDataList = new ArrayList<StudentAttributes>();
+        if (courseIds.isEmpty()) {
+            return studentDataList;
+        }
+        
+        List<CourseStudent> courseStudentEntities = getCourseStudentEntitiesForCourses(courseIds);
+        for (CourseStudent student : courseStudentEntities) {
+            if (!JDOHelper.isDeleted(student)) {
+                studentDataList.add(new StudentAttributes(student));
+            }
+        }
+        
+        return studentDataList;
+    }
+    
     /**
      * Preconditions: <br>
      *  * All parameters are non-null.
@@ -433,6 +457,10 @@ public class StudentsDb extends EntitiesDb {
         
         log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
         getPm().close();
+        StudentProfilePictureCache.invalidateStudent(courseId, email);
+        if (newEmail != null && !newEmail.equals(email)) {
+            StudentProfilePictureCache.invalidateStudent(courseId, newEmail);
+        }
     }
 
     //TODO: add an updateStudent(StudentAttributes) version and make the above private
@@ -468,6 +496,7 @@ public class StudentsDb extends EntitiesDb {
             getPm().deletePersistent(courseStudentToDelete);
             getPm().flush();
         }
+        StudentProfilePictureCache.invalidateStudent(courseId, email);
     
         // Check delete operation persisted
         if (Config.PERSISTENCE_CHECK_DURATION > 0) {
@@ -512,6 +541,8 @@ public class StudentsDb extends EntitiesDb {
                 deleteDocument(new StudentAttributes(student));
             }
         }
+        // deleted entities can no longer be read
+        StudentProfilePictureCache.invalidateStudents(courseStudents);
         getPm().deletePersistentAll(courseStudents);
         
         
@@ -543,16 +574,49 @@ public class StudentsDb extends EntitiesDb {
                 deleteDocument(new StudentAttributes(student));
             }
         }
+        StudentProfilePictureCache.invalidateStudents(courseStudentList);
 
         getPm().deletePersistentAll(courseStudentList);
         getPm().flush();
     }
 
+    /**
+     * Deletes the next batch of the students in the course, and their search documents.
+     * The students are read, as their search documents are identified by their registration keys.
+     * @param cursor the cursor returned by the deletion of the previous batch, or {@code null} for the first batch
+     * @return the cursor from which the next batch starts, or {@code null} if there are no more students
+     */
+    public String deleteStudentsBatchForCourse(String courseId, String cursor, int batchSize) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        Query q = getPm().newQuery(CourseStudent.class);
+        q.declareParameters("String courseIdParam");
+        q.setFilter("courseId == courseIdParam");
+        
+        @SuppressWarnings("unchecked")
+        List<CourseStudent> courseStudentList = (List<CourseStudent>) getBatch(q, cursor, batchSize, courseId);
+        String nextCursor = getCursor(courseStudentList, batchSize);
+        
+        String[] documentIds = new String[courseStudentList.size()];
+        for (int i = 0; i < documentIds.length; i++) {
+            documentIds[i] = new StudentAttributes(courseStudentList.get(i)).key;
+        }
+        if (documentIds.length > 0) {
+            deleteDocuments(Const.SearchIndex.STUDENT, documentIds);
+        }
+        StudentProfilePictureCache.invalidateStudents(courseStudentList);
+        
+        getPm().deletePersistentAll(courseStudentList);
+        getPm().flush();
+        return nextCursor;
+    }
+    
     public void deleteStudentsForCourses(List<String> courseIds) {
         
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
         
         List<CourseStudent> courseStudentsToDelete = getCourseStudentEntitiesForCourses(courseIds);
+        StudentProfilePictureCache.invalidateStudents(courseStudentsToDelete);
         getPm().deletePersistentAll(courseStudentsToDelete);
         getPm().flush();
     }
@@ -634,12 +698,19 @@ public class StudentsDb extends EntitiesDb {
         return (List<CourseStudent>) q.execute(courseId);
     }
     
-    @SuppressWarnings("unchecked")
     private List<CourseStudent> getCourseStudentEntitiesForCourses(List<String> courseIds) {
-        Query q = getPm().newQuery(CourseStudent.class);
-        q.setFilter(":p.contains(courseId)");
-        
-        return (List<CourseStudent>) q.execute(courseIds);
+        List<CourseStudent> courseStudentList = new ArrayList<CourseStudent>();
+        for (int from = 0; from < courseIds.size(); from += MAX_VALUES_PER_CONTAINS_FILTER) {
+            List<String> courseIdsToQuery =
+                    courseIds.subList(from, Math.min(from + MAX_VALUES_PER_CONTAINS_FILTER, courseIds.size()));
+            Query q = getPm().newQuery(CourseStudent.class);
+            q.setFilter(":p.contains(courseId)");
+            
+            @SuppressWarnings("unchecked")
+            List<CourseStudent> courseStudents = (List<CourseStudent>) q.execute(courseIdsToQuery);
+            courseStudentList.addAll(courseStudents);
+        }
+        return courseStudentList;
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,104 @@
+package teammates.storage.entity;
+
+import java.util.Date;
+
+import javax.jdo.annotations.Extension;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * Represents the statistics of the responses to a feedback question,
+ * which are updated as each response is created, updated or deleted.
+ */
+@PersistenceCapable
+public class FeedbackQuestionStatistics {
+
+    @PrimaryKey
+    @Persistent
+    private String feedbackQuestionId;
+
+    @Persistent
+    private String feedbackSessionName;
+
+    @Persistent
+    private String courseId;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private int numResponses;
+
+    /** The number of times each key received each value, in JSON format. */
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Text valueCounts;
+
+    /** The sum of the digests of the responses, to tell whether the statistics are of the given responses. */
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Long responsesDigest;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Date updatedAt;
+
+    public FeedbackQuestionStatistics(String feedbackQuestionId, String feedbackSessionName, String courseId,
+                                      int numResponses, Text valueCounts, Long responsesDigest) {
+        this.feedbackQuestionId = feedbackQuestionId;
+        this.feedbackSessionName = feedbackSessionName;
+        this.courseId = courseId;
+        this.numResponses = numResponses;
+        this.valueCounts = valueCounts;
+        this.responsesDigest = responsesDigest;
+        this.updatedAt = new Date();
+    }
+
+    public String getFeedbackQuestionId() {
+        return feedbackQuestionId;
+    }
+
+    public String getFeedbackSessionName() {
+        return feedbackSessionName;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public int getNumResponses() {
+        return numResponses;
+    }
+
+    public void setNumResponses(int numResponses) {
+        this.numResponses = numResponses;
+    }
+
+    public Text getValueCounts() {
+        return valueCounts;
+    }
+
+    public void setValueCounts(Text valueCounts) {
+        this.valueCounts = valueCounts;
+    }
+
+    /**
+     * @return null if the statistics were stored before the digest was
+     */
+    public Long getResponsesDigest() {
+        return responsesDigest;
+    }
+
+    public void setResponsesDigest(Long responsesDigest) {
+        this.responsesDigest = responsesDigest;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -11,6 +11,7 @@ import javax.jdo.annotations.PrimaryKey;
 
 import teammates.common.datatransfer.FeedbackSessionType;
 import teammates.common.util.Const;
+import teammates.common.util.TimeHelper;
 
 import com.google.appengine.api.datastore.Text;
 
@@ -67,6 +68,21 @@ public class FeedbackSession {
     @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
     private Date resultsVisibleFromTime;
     
+    /** The hours from the epoch, in UTC, that the session starts in, ends in and
+     * publishes its results in. <br>
+     * These are kept in sync with the times and the time zone so that sessions can be
+     * looked up by time without converting each session from its own time zone. <br>
+     * The values are null for legacy data.
+     */
+    @Persistent
+    private Long startTimeUtcHour;
+    
+    @Persistent
+    private Long endTimeUtcHour;
+    
+    @Persistent
+    private Long resultsVisibleFromTimeUtcHour;
+    
     /** This is legacy data that is no longer used. <br>
      * The value is set to Const.INT_UNINITIALIZED if it is already processed or
      * the old value if it hasn't. <br>
@@ -154,6 +170,7 @@ public class FeedbackSession {
         this.feedbackSessionId = this.feedbackSessionName + "%" + this.courseId;
         this.respondingInstructorList = instructorList;
         this.respondingStudentList = studentList;
+        updateUtcHours();
     }
 
     public String getFeedbackSessionName() {
@@ -202,6 +219,7 @@ public class FeedbackSession {
 
     public void setStartTime(Date startTime) {
         this.startTime = startTime;
+        updateUtcHours();
     }
 
     public Date getEndTime() {
@@ -210,6 +228,7 @@ public class FeedbackSession {
 
     public void setEndTime(Date endTime) {
         this.endTime = endTime;
+        updateUtcHours();
     }
 
     public Date getSessionVisibleFromTime() {
@@ -226,6 +245,7 @@ public class FeedbackSession {
 
     public void setResultsVisibleFromTime(Date resultsVisibleFromTime) {
         this.resultsVisibleFromTime = resultsVisibleFromTime;
+        updateUtcHours();
     }
     
     /** This method automatically converts the legacy timeZone field to
@@ -245,6 +265,33 @@ public class FeedbackSession {
     public void setTimeZone(double timeZone) {
         this.timeZone = Const.INT_UNINITIALIZED;
         this.timeZoneDouble = timeZone;
+        updateUtcHours();
+    }
+
+    public Long getStartTimeUtcHour() {
+        return startTimeUtcHour;
+    }
+
+    public Long getEndTimeUtcHour() {
+        return endTimeUtcHour;
+    }
+
+    public Long getResultsVisibleFromTimeUtcHour() {
+        return resultsVisibleFromTimeUtcHour;
+    }
+
+    private void updateUtcHours() {
+        startTimeUtcHour = getUtcHour(startTime);
+        endTimeUtcHour = getUtcHour(endTime);
+        resultsVisibleFromTimeUtcHour = getUtcHour(resultsVisibleFromTime);
+    }
+
+    private Long getUtcHour(Date localTime) {
+        boolean isTimeZoneSet = timeZone != Const.INT_UNINITIALIZED || timeZoneDouble != null;
+        if (localTime == null || !isTimeZoneSet) {
+            return null;
+        }
+        return TimeHelper.getUtcHour(TimeHelper.convertLocalDateToUtc(localTime, getTimeZone()));
     }
 
     public int getGracePeriod() {
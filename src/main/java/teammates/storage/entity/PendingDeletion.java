@@ -0,0 +1,58 @@
+package teammates.storage.entity;
+
+import java.util.Date;
+
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+/**
+ * Marks a deleted course or feedback session whose data is still being deleted in the background.
+ * A course or session with the same id cannot be created while it is marked, as it would
+ * otherwise take over the data not deleted yet.
+ */
+@PersistenceCapable
+public class PendingDeletion {
+
+    /** The course id, followed by '%' and the session name if a feedback session is deleted. */
+    @PrimaryKey
+    @Persistent
+    private String pendingDeletionId;
+
+    @Persistent
+    private String courseId;
+
+    /** {@code null} if the whole course is deleted. */
+    @Persistent
+    private String feedbackSessionName;
+
+    @Persistent
+    private Date createdAt;
+
+    public PendingDeletion(String courseId, String feedbackSessionName) {
+        this.pendingDeletionId = makeId(courseId, feedbackSessionName);
+        this.courseId = courseId;
+        this.feedbackSessionName = feedbackSessionName;
+        this.createdAt = new Date();
+    }
+
+    public static String makeId(String courseId, String feedbackSessionName) {
+        return feedbackSessionName == null ? courseId : courseId + "%" + feedbackSessionName;
+    }
+
+    public String getPendingDeletionId() {
+        return pendingDeletionId;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public String getFeedbackSessionName() {
+        return feedbackSessionName;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -14,10 +14,10 @@ import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.util.Const;
+import teammates.common.util.Utils;
 
 import com.google.appengine.api.search.Document;
 import com.google.appengine.api.search.Field;
-import com.google.gson.Gson;
 
 /**
  * The SearchDocument object that defines how we store {@link Document} for response comments
@@ -35,25 +35,37 @@ public class FeedbackResponseCommentSearchDocument extends SearchDocument {
     private List<InstructorAttributes> relatedInstructors;
     private List<StudentAttributes> relatedStudents;
     
+    private FeedbackResponseCommentSearchHydrator hydrator;
+    
     public FeedbackResponseCommentSearchDocument(FeedbackResponseCommentAttributes comment) {
         this.comment = comment;
     }
     
+    /**
+     * Creates a document whose related entities are taken from {@code hydrator},
+     * which must have already fetched the entities for indexing {@code comment}.
+     */
+    public FeedbackResponseCommentSearchDocument(FeedbackResponseCommentAttributes comment,
+                                                 FeedbackResponseCommentSearchHydrator hydrator) {
+        this.comment = comment;
+        this.hydrator = hydrator;
+    }
+    
     @Override
     protected void prepareData() {
         if (comment == null) {
             return;
         }
         
-        relatedSession = logic.getFeedbackSession(comment.feedbackSessionName, comment.courseId);
+        relatedSession = getFeedbackSession(comment.feedbackSessionName, comment.courseId);
         
-        relatedQuestion = logic.getFeedbackQuestion(comment.feedbackQuestionId);
+        relatedQuestion = getFeedbackQuestion(comment.feedbackQuestionId);
         
-        relatedResponse = logic.getFeedbackResponse(comment.feedbackResponseId);
+        relatedResponse = getFeedbackResponse(comment.feedbackResponseId);
         
-        course = logic.getCourse(comment.courseId);
+        course = getCourse(comment.courseId);
         
-        giverAsInstructor = logic.getInstructorForEmail(comment.courseId, comment.giverEmail);
+        giverAsInstructor = getInstructorForEmail(comment.courseId, comment.giverEmail);
         
         relatedInstructors = new ArrayList<InstructorAttributes>();
         relatedStudents = new ArrayList<StudentAttributes>();
@@ -62,7 +74,7 @@ public class FeedbackResponseCommentSearchDocument extends SearchDocument {
         Set<String> addedEmailSet = new HashSet<String>();
         if (relatedQuestion.giverType == FeedbackParticipantType.INSTRUCTORS
                 || relatedQuestion.giverType == FeedbackParticipantType.SELF) {
-            InstructorAttributes ins = logic.getInstructorForEmail(comment.courseId, relatedResponse.giver);
+            InstructorAttributes ins = getInstructorForEmail(comment.courseId, relatedResponse.giver);
             if (ins == null || addedEmailSet.contains(ins.email)) {
                 responseGiverName = Const.USER_UNKNOWN_TEXT;
             } else {
@@ -71,7 +83,7 @@ public class FeedbackResponseCommentSearchDocument extends SearchDocument {
                 responseGiverName = ins.name + " (" + ins.displayedName + ")";
             }
         } else {
-            StudentAttributes stu = logic.getStudentForEmail(comment.courseId, relatedResponse.giver);
+            StudentAttributes stu = getStudentForEmail(comment.courseId, relatedResponse.giver);
             if (stu == null || addedEmailSet.contains(stu.email)) {
                 responseGiverName = Const.USER_UNKNOWN_TEXT;
             } else {
@@ -82,7 +94,7 @@ public class FeedbackResponseCommentSearchDocument extends SearchDocument {
         }
         
         if (relatedQuestion.recipientType == FeedbackParticipantType.INSTRUCTORS) {
-            InstructorAttributes ins = logic.getInstructorForEmail(comment.courseId, relatedResponse.recipient);
+            InstructorAttributes ins = getInstructorForEmail(comment.courseId, relatedResponse.recipient);
             if (ins != null && !addedEmailSet.contains(ins.email)) {
                 relatedInstructors.add(ins);
                 addedEmailSet.add(ins.email);
@@ -93,13 +105,13 @@ public class FeedbackResponseCommentSearchDocument extends SearchDocument {
         } else if (relatedQuestion.recipientType == FeedbackParticipantType.NONE) {
             responseRecipientName = Const.USER_NOBODY_TEXT;
         } else {
-            StudentAttributes stu = logic.getStudentForEmail(comment.courseId, relatedResponse.recipient);
+            StudentAttributes stu = getStudentForEmail(comment.courseId, relatedResponse.recipient);
             if (stu != null && !addedEmailSet.contains(stu.email)) {
                 relatedStudents.add(stu);
                 addedEmailSet.add(stu.email);
                 responseRecipientName = stu.name + " (" + stu.team + ")";
             }
-            List<StudentAttributes> team = logic.getStudentsForTeam(relatedResponse.recipient, comment.courseId);
+            List<StudentAttributes> team = getStudentsForTeam(relatedResponse.recipient, comment.courseId);
             if (team != null) {
                 responseRecipientName = relatedResponse.recipient; //it's actually a team name here
                 for (StudentAttributes studentInTeam : team) {
@@ -114,6 +126,40 @@ public class FeedbackResponseCommentSearchDocument extends SearchDocument {
             }
         }
     }
+    
+    private FeedbackSessionAttributes getFeedbackSession(String feedbackSessionName, String courseId) {
+        return hydrator == null ? logic.getFeedbackSession(feedbackSessionName, courseId)
+                                : hydrator.getFeedbackSession(feedbackSessionName, courseId);
+    }
+    
+    private FeedbackQuestionAttributes getFeedbackQuestion(String feedbackQuestionId) {
+        return hydrator == null ? logic.getFeedbackQuestion(feedbackQuestionId)
+                                : hydrator.getFeedbackQuestion(feedbackQuestionId);
+    }
+    
+    private FeedbackResponseAttributes getFeedbackResponse(String feedbackResponseId) {
+        return hydrator == null ? logic.getFeedbackResponse(feedbackResponseId)
+                                : hydrator.getFeedbackResponse(feedbackResponseId);
+    }
+    
+    private CourseAttributes getCourse(String courseId) {
+        return hydrator == null ? logic.getCourse(courseId) : hydrator.getCourse(courseId);
+    }
+    
+    private InstructorAttributes getInstructorForEmail(String courseId, String email) {
+        return hydrator == null ? logic.getInstructorForEmail(courseId, email)
+                                : hydrator.getCourseRoster(courseId).getInstructorForEmail(email);
+    }
+    
+    private StudentAttributes getStudentForEmail(String courseId, String email) {
+        return hydrator == null ? logic.getStudentForEmail(courseId, email)
+                                : hydrator.getCourseRoster(courseId).getStudentForEmail(email);
+    }
+    
+    private List<StudentAttributes> getStudentsForTeam(String teamName, String courseId) {
+        return hydrator == null ? logic.getStudentsForTeam(teamName, courseId)
+                                : hydrator.getCourseRoster(courseId).getStudentsForTeam(teamName);
+    }
 
     @Override
     public Document toDocument() {
@@ -204,19 +250,19 @@ public class FeedbackResponseCommentSearchDocument extends SearchDocument {
                                             .setDate(comment.createdAt))
                 // attribute field is used to convert a doc back to attribute
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.FEEDBACK_RESPONSE_COMMENT_ATTRIBUTE)
-                                            .setText(new Gson().toJson(comment)))
+                                            .setText(Utils.getCompactGson().toJson(comment)))
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.FEEDBACK_RESPONSE_ATTRIBUTE)
-                                            .setText(new Gson().toJson(relatedResponse)))
+                                            .setText(Utils.getCompactGson().toJson(relatedResponse)))
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.FEEDBACK_RESPONSE_GIVER_NAME)
-                                            .setText(new Gson().toJson(responseGiverName)))
+                                            .setText(Utils.getCompactGson().toJson(responseGiverName)))
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.FEEDBACK_RESPONSE_RECEIVER_NAME)
-                                            .setText(new Gson().toJson(responseRecipientName)))
+                                            .setText(Utils.getCompactGson().toJson(responseRecipientName)))
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.FEEDBACK_QUESTION_ATTRIBUTE)
-                                            .setText(new Gson().toJson(relatedQuestion)))
+                                            .setText(Utils.getCompactGson().toJson(relatedQuestion)))
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.FEEDBACK_SESSION_ATTRIBUTE)
-                                            .setText(new Gson().toJson(relatedSession)))
+                                            .setText(Utils.getCompactGson().toJson(relatedSession)))
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.FEEDBACK_RESPONSE_COMMENT_GIVER_NAME)
-                                            .setText(new Gson().toJson(displayedName)))
+                                            .setText(Utils.getCompactGson().toJson(displayedName)))
                 .setId(comment.getId().toString())
                 .build();
         return doc;
@@ -0,0 +1,191 @@
+package teammates.storage.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.logic.core.CoursesLogic;
+import teammates.logic.core.FeedbackQuestionsLogic;
+import teammates.logic.core.FeedbackResponseCommentsLogic;
+import teammates.logic.core.FeedbackResponsesLogic;
+import teammates.logic.core.FeedbackSessionsLogic;
+import teammates.logic.core.InstructorsLogic;
+import teammates.logic.core.StudentsLogic;
+
+/**
+ * Fetches the entities referenced by a batch of response comments with one query per entity kind,
+ * so that search documents and search results for the batch can be assembled from in-memory maps
+ * instead of looking up the related session, question, response, course and people per comment.
+ */
+public class FeedbackResponseCommentSearchHydrator {
+
+    private static final CoursesLogic coursesLogic = CoursesLogic.inst();
+    private static final FeedbackSessionsLogic fsLogic = FeedbackSessionsLogic.inst();
+    private static final FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
+    private static final FeedbackResponsesLogic frLogic = FeedbackResponsesLogic.inst();
+    private static final FeedbackResponseCommentsLogic frcLogic = FeedbackResponseCommentsLogic.inst();
+    private static final InstructorsLogic instructorsLogic = InstructorsLogic.inst();
+    private static final StudentsLogic studentsLogic = StudentsLogic.inst();
+
+    private List<String> courseIds = new ArrayList<String>();
+    private Set<String> questionIds = new HashSet<String>();
+    private Set<String> responseIds = new HashSet<String>();
+    private Set<Long> commentIds = new HashSet<Long>();
+
+    private Set<Long> existingCommentIds = new HashSet<Long>();
+    private Map<String, FeedbackResponseAttributes> responses = new HashMap<String, FeedbackResponseAttributes>();
+    private Map<String, FeedbackQuestionAttributes> questions = new HashMap<String, FeedbackQuestionAttributes>();
+    private Map<String, FeedbackSessionAttributes> sessions = new HashMap<String, FeedbackSessionAttributes>();
+    private Map<String, CourseAttributes> courses = new HashMap<String, CourseAttributes>();
+    private Map<String, CourseRoster> rosters = new HashMap<String, CourseRoster>();
+
+    /**
+     * Collects the IDs referenced by {@code comments}. Nothing is fetched until
+     * one of the {@code fetch*} methods is called.
+     */
+    public FeedbackResponseCommentSearchHydrator(Collection<FeedbackResponseCommentAttributes> comments) {
+        Set<String> courseIdSet = new HashSet<String>();
+        for (FeedbackResponseCommentAttributes comment : comments) {
+            if (comment == null) {
+                continue;
+            }
+            if (courseIdSet.add(comment.courseId)) {
+                courseIds.add(comment.courseId);
+            }
+            questionIds.add(comment.feedbackQuestionId);
+            responseIds.add(comment.feedbackResponseId);
+            if (comment.getId() != null) {
+                commentIds.add(comment.getId());
+            }
+        }
+    }
+
+    /**
+     * Fetches everything needed to build search documents for the comments.
+     */
+    public FeedbackResponseCommentSearchHydrator fetchForIndexing() {
+        fetchSessions();
+        fetchQuestions();
+        fetchResponses();
+        fetchCourses();
+        fetchRosters();
+        return this;
+    }
+
+    /**
+     * Fetches everything needed to verify that the entities stored in search results still exist.
+     */
+    public FeedbackResponseCommentSearchHydrator fetchForSearchResults() {
+        fetchComments();
+        fetchSessions();
+        fetchQuestions();
+        fetchResponses();
+        return this;
+    }
+
+    private void fetchComments() {
+        for (FeedbackResponseCommentAttributes comment : frcLogic.getFeedbackResponseComments(commentIds)) {
+            existingCommentIds.add(comment.getId());
+        }
+    }
+
+    private void fetchSessions() {
+        for (FeedbackSessionAttributes session : fsLogic.getFeedbackSessionsForCourses(courseIds)) {
+            sessions.put(getSessionKey(session.getCourseId(), session.getFeedbackSessionName()), session);
+        }
+    }
+
+    private void fetchQuestions() {
+        for (FeedbackQuestionAttributes question : fqLogic.getFeedbackQuestions(questionIds)) {
+            questions.put(question.getId(), question);
+        }
+    }
+
+    private void fetchResponses() {
+        for (FeedbackResponseAttributes response : frLogic.getFeedbackResponses(responseIds)) {
+            responses.put(response.getId(), response);
+        }
+    }
+
+    private void fetchCourses() {
+        for (CourseAttributes course : coursesLogic.getCourses(courseIds)) {
+            courses.put(course.getId(), course);
+        }
+    }
+
+    private void fetchRosters() {
+        Map<String, List<StudentAttributes>> studentsByCourse = new HashMap<String, List<StudentAttributes>>();
+        Map<String, List<InstructorAttributes>> instructorsByCourse = new HashMap<String, List<InstructorAttributes>>();
+        for (String courseId : courseIds) {
+            studentsByCourse.put(courseId, new ArrayList<StudentAttributes>());
+            instructorsByCourse.put(courseId, new ArrayList<InstructorAttributes>());
+        }
+
+        for (StudentAttributes student : studentsLogic.getStudentsForCourses(courseIds)) {
+            studentsByCourse.get(student.course).add(student);
+        }
+        for (InstructorAttributes instructor : instructorsLogic.getInstructorsForCourses(courseIds)) {
+            instructorsByCourse.get(instructor.courseId).add(instructor);
+        }
+
+        for (String courseId : courseIds) {
+            rosters.put(courseId, new CourseRoster(studentsByCourse.get(courseId), instructorsByCourse.get(courseId)));
+        }
+    }
+
+    public boolean isCommentPresent(Long feedbackResponseCommentId) {
+        return existingCommentIds.contains(feedbackResponseCommentId);
+    }
+
+    /**
+     * @return Null if not found.
+     */
+    public FeedbackResponseAttributes getFeedbackResponse(String feedbackResponseId) {
+        return responses.get(feedbackResponseId);
+    }
+
+    /**
+     * @return Null if not found.
+     */
+    public FeedbackQuestionAttributes getFeedbackQuestion(String feedbackQuestionId) {
+        return questions.get(feedbackQuestionId);
+    }
+
+    /**
+     * @return Null if not found.
+     */
+    public FeedbackSessionAttributes getFeedbackSession(String feedbackSessionName, String courseId) {
+        return sessions.get(getSessionKey(courseId, feedbackSessionName));
+    }
+
+    /**
+     * @return Null if not found.
+     */
+    public CourseAttributes getCourse(String courseId) {
+        return courses.get(courseId);
+    }
+
+    /**
+     * @return the roster of the course, which is empty if the course was not part of the batch.
+     */
+    public CourseRoster getCourseRoster(String courseId) {
+        CourseRoster roster = rosters.get(courseId);
+        return roster == null ? new CourseRoster(null, null) : roster;
+    }
+
+    private static String getSessionKey(String courseId, String feedbackSessionName) {
+        return courseId + "%" + feedbackSessionName;
+    }
+}
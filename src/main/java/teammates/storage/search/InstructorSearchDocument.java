@@ -4,10 +4,10 @@ import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.util.Const;
 import teammates.common.util.StringHelper;
+import teammates.common.util.Utils;
 
 import com.google.appengine.api.search.Document;
 import com.google.appengine.api.search.Field;
-import com.google.gson.Gson;
 
 public class InstructorSearchDocument extends SearchDocument {
     
@@ -49,9 +49,12 @@ public class InstructorSearchDocument extends SearchDocument {
                        //searchableText is used to match the query string
                        .addField(Field.newBuilder().setName(Const.SearchDocumentField.SEARCHABLE_TEXT)
                                                    .setText(searchableTextBuilder.toString()))
+                       //course name is returned with the search results to be displayed with the instructor
+                       .addField(Field.newBuilder().setName(Const.SearchDocumentField.COURSE_NAME)
+                                                   .setText(course == null ? "" : course.getName()))
                        //attribute field is used to convert a doc back to attribute
                        .addField(Field.newBuilder().setName(Const.SearchDocumentField.INSTRUCTOR_ATTRIBUTE)
-                                                   .setText(new Gson().toJson(instructor)))
+                                                   .setText(Utils.getCompactGson().toJson(instructor)))
                        .setId(StringHelper.encrypt(instructor.key))
                        .build();
                 
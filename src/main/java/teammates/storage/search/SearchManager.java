@@ -1,6 +1,9 @@
 package teammates.storage.search;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
@@ -12,6 +15,7 @@ import teammates.common.util.Utils;
 import com.google.appengine.api.search.Document;
 import com.google.appengine.api.search.Index;
 import com.google.appengine.api.search.IndexSpec;
+import com.google.appengine.api.search.OperationResult;
 import com.google.appengine.api.search.PutException;
 import com.google.appengine.api.search.PutResponse;
 import com.google.appengine.api.search.Query;
@@ -30,6 +34,10 @@ public final class SearchManager {
             "Failed to put document %s into search index %s due to non-transient backend issue.";
     private static final String ERROR_EXCEED_DURATION =
             "Operation did not succeed in time to put document %s into search index %s";
+    private static final String ERROR_EXCEED_DURATION_FOR_DOCUMENTS =
+            "Operation did not succeed in time to put %d documents into search index %s";
+    // maximum number of documents the search API accepts in a single put
+    private static final int MAX_DOCUMENTS_PER_PUT = 200;
     private static final Logger log = Utils.getLogger();
     private static final ThreadLocal<Map<String, Index>> PER_THREAD_INDICES_TABLE = new ThreadLocal<Map<String, Index>>();
     
@@ -73,6 +81,67 @@ public final class SearchManager {
         }
     }
     
+    /*
+     * Create or update the search documents for the given documents and index,
+     * putting up to MAX_DOCUMENTS_PER_PUT documents per call to the search service
+     */
+    public static void putDocuments(String indexName, List<Document> documents) {
+        for (int from = 0; from < documents.size(); from += MAX_DOCUMENTS_PER_PUT) {
+            int to = Math.min(from + MAX_DOCUMENTS_PER_PUT, documents.size());
+            putDocumentsBatch(indexName, documents.subList(from, to));
+        }
+    }
+    
+    private static void putDocumentsBatch(String indexName, List<Document> documents) {
+        int elapsedTime = 0;
+        List<Document> failedDocuments = tryPutDocuments(indexName, documents);
+        while (!failedDocuments.isEmpty()
+                && elapsedTime < Config.PERSISTENCE_CHECK_DURATION) {
+            ThreadHelper.waitBriefly();
+            //retry putting only the documents that failed
+            failedDocuments = tryPutDocuments(indexName, failedDocuments);
+            //check before incrementing to avoid boundary case problem
+            if (!failedDocuments.isEmpty()) {
+                elapsedTime += ThreadHelper.WAIT_DURATION;
+            }
+        }
+        if (elapsedTime >= Config.PERSISTENCE_CHECK_DURATION) {
+            log.severe(String.format(ERROR_EXCEED_DURATION_FOR_DOCUMENTS, failedDocuments.size(), indexName));
+        }
+    }
+    
+    /**
+     * @return the documents that were not put successfully, in the same order as given
+     */
+    private static List<Document> tryPutDocuments(String indexName, List<Document> documents) {
+        Index index = getIndex(indexName);
+        List<OperationResult> results;
+        try {
+            results = index.put(documents).getResults();
+        } catch (PutException e) {
+            results = e.getResults();
+            if (results == null) {
+                // the whole batch failed with the same result
+                results = Collections.nCopies(documents.size(), e.getOperationResult());
+            }
+        }
+        
+        List<Document> failedDocuments = new ArrayList<Document>();
+        for (int i = 0; i < documents.size(); i++) {
+            StatusCode code = results.get(i).getCode();
+            if (code == StatusCode.OK) {
+                continue;
+            }
+            //if it's a transient error in the server, it can be re-tried
+            if (StatusCode.TRANSIENT_ERROR.equals(code)) {
+                failedDocuments.add(documents.get(i));
+            } else {
+                log.severe(String.format(ERROR_NON_TRANSIENT_BACKEND_ISSUE, documents.get(i), indexName));
+            }
+        }
+        return failedDocuments;
+    }
+    
     /*
      * Get document for index and the documentId
      */
@@ -6,7 +6,6 @@ import teammates.common.util.Const;
 
 import com.google.appengine.api.search.Document;
 import com.google.appengine.api.search.Field;
-import com.google.gson.Gson;
 
 public class StudentSearchDocument extends SearchDocument {
 
@@ -50,12 +49,32 @@ public class StudentSearchDocument extends SearchDocument {
                 // searchableText and createdDate are used to match the query string
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.SEARCHABLE_TEXT)
                                             .setText(searchableTextBuilder.toString()))
-                // attribute field is used to convert a doc back to attribute
-                .addField(Field.newBuilder().setName(Const.SearchDocumentField.STUDENT_ATTRIBUTE)
-                                            .setText(new Gson().toJson(student)))
+                // the fields below are returned with the search results (see StudentSearchQuery)
+                // and are used to convert a doc back to attribute, together with the doc ID
+                // which is the registration key
+                .addField(Field.newBuilder().setName(Const.SearchDocumentField.COURSE_NAME)
+                                            .setText(course == null ? "" : course.getName()))
+                .addField(Field.newBuilder().setName(Const.SearchDocumentField.STUDENT_EMAIL)
+                                            .setAtom(nullToEmpty(student.email)))
+                .addField(Field.newBuilder().setName(Const.SearchDocumentField.STUDENT_NAME)
+                                            .setText(nullToEmpty(student.name)))
+                .addField(Field.newBuilder().setName(Const.SearchDocumentField.STUDENT_LAST_NAME)
+                                            .setText(nullToEmpty(student.lastName)))
+                .addField(Field.newBuilder().setName(Const.SearchDocumentField.STUDENT_GOOGLE_ID)
+                                            .setAtom(nullToEmpty(student.googleId)))
+                .addField(Field.newBuilder().setName(Const.SearchDocumentField.STUDENT_TEAM)
+                                            .setAtom(nullToEmpty(student.team)))
+                .addField(Field.newBuilder().setName(Const.SearchDocumentField.STUDENT_SECTION)
+                                            .setAtom(nullToEmpty(student.section)))
+                .addField(Field.newBuilder().setName(Const.SearchDocumentField.STUDENT_COMMENTS)
+                                            .setText(nullToEmpty(student.comments)))
                 .setId(student.key)
                 .build();
         
         return doc;
     }
+    
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
 }
@@ -12,6 +12,23 @@ import com.google.appengine.api.search.SortOptions;
 
 public class StudentSearchQuery extends SearchQuery {
     
+    /*
+     * Only the fields needed to build the search results are returned.
+     * STUDENT_ATTRIBUTE only exists in documents indexed before the typed fields were added.
+     */
+    private static final String[] FIELDS_TO_RETURN = {
+            Const.SearchDocumentField.COURSE_ID,
+            Const.SearchDocumentField.COURSE_NAME,
+            Const.SearchDocumentField.STUDENT_EMAIL,
+            Const.SearchDocumentField.STUDENT_NAME,
+            Const.SearchDocumentField.STUDENT_LAST_NAME,
+            Const.SearchDocumentField.STUDENT_GOOGLE_ID,
+            Const.SearchDocumentField.STUDENT_TEAM,
+            Const.SearchDocumentField.STUDENT_SECTION,
+            Const.SearchDocumentField.STUDENT_COMMENTS,
+            Const.SearchDocumentField.STUDENT_ATTRIBUTE
+    };
+    
     public StudentSearchQuery(List<InstructorAttributes> instructors, String queryString, String cursorString) {
         Cursor cursor = cursorString.isEmpty()
                 ? Cursor.newBuilder().build()
@@ -23,6 +40,7 @@ public class StudentSearchQuery extends SearchQuery {
                 .setLimit(20)
                 .setSortOptions(sortOptions)
                 .setCursor(cursor)
+                .setFieldsToReturn(FIELDS_TO_RETURN)
                 .build();
         setOptions(options);
         prepareVisibilityQueryString(instructors);
@@ -44,6 +62,7 @@ public class StudentSearchQuery extends SearchQuery {
         QueryOptions options = QueryOptions.newBuilder()
                 .setLimit(20)
                 .setCursor(cursor)
+                .setFieldsToReturn(FIELDS_TO_RETURN)
                 .build();
         setOptions(options);
         visibilityQueryString = "";
@@ -1,5 +1,6 @@
 package teammates.ui.controller;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -19,6 +20,7 @@ import teammates.common.util.Assumption;
 import teammates.common.util.Config;
 import teammates.common.util.Const;
 import teammates.common.util.Const.StatusMessageColor;
+import teammates.common.util.GoogleCloudStorageHelper;
 import teammates.common.util.HttpRequestHelper;
 import teammates.common.util.Sanitizer;
 import teammates.common.util.StatusMessage;
@@ -26,6 +28,9 @@ import teammates.common.util.StringHelper;
 import teammates.common.util.Utils;
 import teammates.logic.api.Logic;
 
+import com.google.appengine.api.blobstore.BlobKey;
+import com.google.appengine.api.blobstore.BlobstoreFailureException;
+
 /** An 'action' to be performed by the system. If the logged in user is allowed
  * to perform the requested action, this object can talk to the back end to
  * perform that action.
@@ -498,6 +503,15 @@ public abstract class Action {
                                       fileContent);
     }
 
+    public FileDownloadResult createFileDownloadResult(String fileName,
+                                                       FileDownloadResult.ContentWriter contentWriter) {
+        return new FileDownloadResult("filedownload",
+                                      account,
+                                      statusToUser,
+                                      fileName,
+                                      contentWriter);
+    }
+
     protected ActionResult createPleaseJoinCourseResponse(String courseId) {
         String errorMessage = "You are not registered in the course " + Sanitizer.sanitizeForHtml(courseId);
         statusToUser.add(new StatusMessage(errorMessage, StatusMessageColor.DANGER));
@@ -513,6 +527,26 @@ public abstract class Action {
                                statusToUser);
     }
 
+    /**
+     * Writes the thumbnail of the profile picture of the user, once the picture itself is saved.
+     * The thumbnail is only used to show the picture in lists, which fall back to the picture
+     * itself if there is no thumbnail, so failing to write it only removes the thumbnail of the old picture.
+     */
+    protected void writeProfilePictureThumbnail(byte[] imageData) {
+        try {
+            GoogleCloudStorageHelper.writeImageThumbnailToGcs(account.googleId, imageData);
+        } catch (IOException | RuntimeException e) {
+            log.warning("Failed to write the profile picture thumbnail of " + account.googleId + ": "
+                        + e.getMessage());
+            try {
+                logic.deletePicture(new BlobKey(GoogleCloudStorageHelper.getThumbnailKey(account.googleId)));
+            } catch (BlobstoreFailureException bfe) {
+                log.warning("Failed to delete the old profile picture thumbnail of " + account.googleId + ": "
+                            + bfe.getMessage());
+            }
+        }
+    }
+
     /**
      * Status messages to be shown to the user and the admin will be set based
      * on the error message in the exception {@code e}.<br>
@@ -2,8 +2,10 @@ package teammates.ui.controller;
 
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.TimeZone;
 
 import teammates.common.datatransfer.CourseAttributes;
@@ -19,7 +21,6 @@ import teammates.common.util.StatusMessage;
 import teammates.common.util.TimeHelper;
 import teammates.common.util.Version;
 import teammates.logic.api.GateKeeper;
-import teammates.logic.api.Logic;
 
 import com.google.appengine.api.log.AppLogLine;
 
@@ -39,6 +40,25 @@ public class AdminActivityLogPageAction extends Action {
      */
     private static final int MAX_VERSIONS_TO_QUERY = 1 + 5; //the current version and its 5 preceding versions
     
+    private static final int TIME_ZONE_CACHE_SIZE = 1000;
+    private static final long TIME_ZONE_CACHE_EXPIRY_MILLIS = 10 * 60 * 1000; // 10 minutes
+    private static final String USER_TIME_ZONE_KEY_PREFIX = "user:";
+    private static final String COURSE_TIME_ZONE_KEY_PREFIX = "course:";
+    
+    /**
+     * The time zones found for users and courses, shared by all requests to the instance
+     * as every log entry of a user would otherwise look up the same courses and sessions.
+     */
+    private static final Map<String, CachedTimeZone> timeZoneCache =
+            new LinkedHashMap<String, CachedTimeZone>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+                
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedTimeZone> eldest) {
+                    return size() > TIME_ZONE_CACHE_SIZE;
+                }
+            };
+    
     private int totalLogsSearched;
     private boolean isFirstRow = true;
     private Long nextEndTimeToSearch;
@@ -112,6 +132,9 @@ public class AdminActivityLogPageAction extends Action {
             return createShowPageResult(Const.ViewURIs.ADMIN_ACTIVITY_LOG, data);
         }
         
+        for (ActivityLogEntry log : logs) {
+            log.renderLogInfoAsHtml();
+        }
         return createAjaxResult(data);
     }
     
@@ -281,26 +304,27 @@ public class AdminActivityLogPageAction extends Action {
             return Const.SystemParams.ADMIN_TIME_ZONE_DOUBLE;
         }
         
-        Logic logic = new Logic();
-        double localTimeZone = Const.DOUBLE_UNINITIALIZED;
-        if (userGoogleId != null && !userGoogleId.isEmpty()) {
-            localTimeZone = findAvailableTimeZoneFromCourses(logic.getCoursesForInstructor(userGoogleId));
-            
-            if (localTimeZone != Const.DOUBLE_UNINITIALIZED) {
-                return localTimeZone;
-            }
-             
+        if (userGoogleId == null || userGoogleId.isEmpty()) {
+            return Const.DOUBLE_UNINITIALIZED;
+        }
+        
+        String cacheKey = USER_TIME_ZONE_KEY_PREFIX + userGoogleId;
+        Double cachedTimeZone = getCachedTimeZone(cacheKey);
+        if (cachedTimeZone != null) {
+            return cachedTimeZone;
+        }
+        
+        double localTimeZone = findAvailableTimeZoneFromCourses(logic.getCoursesForInstructor(userGoogleId));
+        
+        if (localTimeZone == Const.DOUBLE_UNINITIALIZED) {
             try {
                 localTimeZone = findAvailableTimeZoneFromCourses(logic.getCoursesForStudentAccount(userGoogleId));
             } catch (EntityDoesNotExistException e) {
                 localTimeZone = Const.DOUBLE_UNINITIALIZED;
             }
-            
-            if (localTimeZone != Const.DOUBLE_UNINITIALIZED) {
-                return localTimeZone;
-            }
         }
         
+        putCachedTimeZone(cacheKey, localTimeZone);
         return localTimeZone;
     }
     
@@ -311,12 +335,10 @@ public class AdminActivityLogPageAction extends Action {
             return localTimeZone;
         }
         
-        Logic logic = new Logic();
-        
         for (CourseAttributes course : courses) {
-            List<FeedbackSessionAttributes> fsl = logic.getFeedbackSessionsForCourse(course.getId());
-            if (fsl != null && !fsl.isEmpty()) {
-                return fsl.get(0).getTimeZone();
+            localTimeZone = getLocalTimeZoneForUnregisteredUserRequest(course.getId());
+            if (localTimeZone != Const.DOUBLE_UNINITIALIZED) {
+                return localTimeZone;
             }
         }
         
@@ -330,16 +352,41 @@ public class AdminActivityLogPageAction extends Action {
             return localTimeZone;
         }
         
-        Logic logic = new Logic();
+        String cacheKey = COURSE_TIME_ZONE_KEY_PREFIX + courseId;
+        Double cachedTimeZone = getCachedTimeZone(cacheKey);
+        if (cachedTimeZone != null) {
+            return cachedTimeZone;
+        }
         
         List<FeedbackSessionAttributes> fsl = logic.getFeedbackSessionsForCourse(courseId);
         if (fsl != null && !fsl.isEmpty()) {
-            return fsl.get(0).getTimeZone();
+            localTimeZone = fsl.get(0).getTimeZone();
         }
         
+        putCachedTimeZone(cacheKey, localTimeZone);
         return localTimeZone;
     }
     
+    /**
+     * @return null if the time zone is not cached or was cached too long ago,
+     *         as the courses and sessions it was found from may have changed since.
+     */
+    private static Double getCachedTimeZone(String cacheKey) {
+        synchronized (timeZoneCache) {
+            CachedTimeZone cached = timeZoneCache.get(cacheKey);
+            if (cached == null || cached.isExpired()) {
+                return null;
+            }
+            return cached.timeZone;
+        }
+    }
+    
+    private static void putCachedTimeZone(String cacheKey, double timeZone) {
+        synchronized (timeZoneCache) {
+            timeZoneCache.put(cacheKey, new CachedTimeZone(timeZone));
+        }
+    }
+    
     private double getLocalTimeZoneInfo(String logGoogleId, String logRole) {
         if (!logGoogleId.contentEquals("Unknown") && !logGoogleId.contentEquals("Unregistered")) {
             return getLocalTimeZoneForRequest(logGoogleId, logRole);
@@ -371,4 +418,19 @@ public class AdminActivityLogPageAction extends Action {
         TimeHelper.convertToUserTimeZone(appCal, timeZone);
         return sdf.format(appCal.getTime());
     }
+    
+    private static class CachedTimeZone {
+        
+        final double timeZone;
+        final long expiryTime;
+        
+        CachedTimeZone(double timeZone) {
+            this.timeZone = timeZone;
+            this.expiryTime = System.currentTimeMillis() + TIME_ZONE_CACHE_EXPIRY_MILLIS;
+        }
+        
+        boolean isExpired() {
+            return System.currentTimeMillis() > expiryTime;
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package teammates.ui.controller;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
@@ -13,7 +14,7 @@ import teammates.common.util.Const.ParamsNames;
 import teammates.common.util.Const.StatusMessageColor;
 import teammates.common.util.Const.SystemParams;
 import teammates.common.util.FieldValidator;
-import teammates.common.util.GoogleCloudStorageHelper;
+import teammates.common.util.GroupReceiverListReader;
 import teammates.common.util.StatusMessage;
 import teammates.logic.api.GateKeeper;
 import teammates.logic.core.TaskQueuesLogic;
@@ -54,7 +55,7 @@ public class AdminEmailComposeSendAction extends Action {
         if (groupModeOn) {
             try {
                 groupReceiver.add(groupReceiverListFileKey);
-                GoogleCloudStorageHelper.getGroupReceiverList(new BlobKey(groupReceiverListFileKey));
+                checkGroupReceiverListFile(groupReceiverListFileKey);
             } catch (Exception e) {
                 isError = true;
                 setStatusForException(e, "An error occurred when retrieving receiver list, please try again");
@@ -107,6 +108,21 @@ public class AdminEmailComposeSendAction extends Action {
         return createShowPageResult(Const.ViewURIs.ADMIN_EMAIL, data);
     }
     
+    /**
+     * Checks that the receiver list file exists and has a receiver, by reading its first receiver
+     * rather than the whole file.
+     */
+    private void checkGroupReceiverListFile(String fileKey) throws IOException {
+        GroupReceiverListReader reader = new GroupReceiverListReader(new BlobKey(fileKey));
+        try {
+            if (reader.readNextReceiver() == null) {
+                throw new IOException("The receiver list file has no receivers");
+            }
+        } finally {
+            reader.close();
+        }
+    }
+    
     private void checkAddressReceiverString(String addressReceiverString) throws InvalidParametersException {
         FieldValidator validator = new FieldValidator();
        
@@ -132,8 +148,6 @@ public class AdminEmailComposeSendAction extends Action {
         HashMap<String, String> paramMap = new HashMap<String, String>();
         paramMap.put(ParamsNames.ADMIN_EMAIL_ID, emailId);
         paramMap.put(ParamsNames.ADMIN_EMAIL_GROUP_RECEIVER_LIST_FILE_KEY, groupReceiverListFileKey);
-        paramMap.put(ParamsNames.ADMIN_GROUP_RECEIVER_EMAIL_LIST_INDEX, "0");
-        paramMap.put(ParamsNames.ADMIN_GROUP_RECEIVER_EMAIL_INDEX, "0");
         paramMap.put(ParamsNames.ADMIN_EMAIL_TASK_QUEUE_MODE, Const.ADMIN_EMAIL_TASK_QUEUE_GROUP_MODE);
         
         taskQueueLogic.createAndAddTask(SystemParams.ADMIN_PREPARE_EMAIL_TASK_QUEUE,
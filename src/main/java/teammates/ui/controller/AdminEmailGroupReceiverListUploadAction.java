@@ -5,7 +5,7 @@ import java.util.List;
 import java.util.Map;
 
 import teammates.common.util.Const;
-import teammates.common.util.GoogleCloudStorageHelper;
+import teammates.common.util.GroupReceiverListReader;
 import teammates.logic.api.GateKeeper;
 
 import com.google.appengine.api.blobstore.BlobInfo;
@@ -35,18 +35,7 @@ public class AdminEmailGroupReceiverListUploadAction extends Action {
         }
         
         try {
-            List<List<String>> groupReceiverList =
-                    GoogleCloudStorageHelper.getGroupReceiverList(blobInfo.getBlobKey());
-            
-            // log all email addresses retrieved from the txt file
-            int i = 0;
-            
-            for (List<String> list : groupReceiverList) {
-                for (String str : list) {
-                    log.info(str + " - " + i + " \n");
-                    i++;
-                }
-            }
+            checkGroupReceiverListFile(blobInfo.getBlobKey());
         } catch (IOException e) {
             data.isFileUploaded = false;
             data.fileSrcUrl = null;
@@ -100,6 +89,21 @@ public class AdminEmailGroupReceiverListUploadAction extends Action {
         return groupReceiverListFile;
     }
     
+    /**
+     * Checks that the receiver list file can be read and has a receiver, by reading its first receiver
+     * rather than the whole file. The receivers are counted by the tasks preparing the emails.
+     */
+    private void checkGroupReceiverListFile(BlobKey blobKey) throws IOException {
+        GroupReceiverListReader reader = new GroupReceiverListReader(blobKey);
+        try {
+            if (reader.readNextReceiver() == null) {
+                throw new IOException("The receiver list file has no receivers");
+            }
+        } finally {
+            reader.close();
+        }
+    }
+    
     private void deleteGroupReceiverListFile(BlobKey blobKey) {
         if (blobKey.equals(new BlobKey(""))) {
             return;
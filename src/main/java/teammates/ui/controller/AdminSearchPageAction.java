@@ -2,7 +2,9 @@ package teammates.ui.controller;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import teammates.common.datatransfer.AccountAttributes;
 import teammates.common.datatransfer.CourseAttributes;
@@ -17,12 +19,13 @@ import teammates.common.util.StatusMessage;
 import teammates.common.util.StringHelper;
 import teammates.common.util.Url;
 import teammates.logic.api.GateKeeper;
-import teammates.logic.api.Logic;
 
 public class AdminSearchPageAction extends Action {
 
     private HashMap<String, String> tempCourseIdToInstituteMap = new HashMap<String, String>();
     private HashMap<String, String> tempCourseIdToInstructorGoogleIdMap = new HashMap<String, String>();
+    private HashMap<String, List<FeedbackSessionAttributes>> tempCourseIdToFeedbackSessionsMap =
+            new HashMap<String, List<FeedbackSessionAttributes>>();
 
     @Override
     protected ActionResult execute() {
@@ -49,13 +52,15 @@ public class AdminSearchPageAction extends Action {
         data.searchKey = Sanitizer.sanitizeForHtml(searchKey);
        
         data.studentResultBundle = logic.searchStudentsInWholeSystem(searchKey, "");
+        data.instructorResultBundle = logic.searchInstructorsInWholeSystem(searchKey, "");
+        
+        prefetchCourseData(data.studentResultBundle.studentList, data.instructorResultBundle.instructorList);
         
         data = putFeedbackSessionLinkIntoMap(data.studentResultBundle.studentList, data);
         data = putStudentHomePageLinkIntoMap(data.studentResultBundle.studentList, data);
         data = putStudentRecordsPageLinkIntoMap(data.studentResultBundle.studentList, data);
         data = putStudentInsitituteIntoMap(data.studentResultBundle.studentList, data);
                    
-        data.instructorResultBundle = logic.searchInstructorsInWholeSystem(searchKey, "");
         data = putInstructorInsitituteIntoMap(data.instructorResultBundle.instructorList, data);
         data = putInstructorHomePageLinkIntoMap(data.instructorResultBundle.instructorList, data);
         data = putInstructorCourseJoinLinkIntoMap(data.instructorResultBundle.instructorList, data);
@@ -81,30 +86,95 @@ public class AdminSearchPageAction extends Action {
         return createShowPageResult(Const.ViewURIs.ADMIN_SEARCH, data);
     }
     
+    /**
+     * Fetches the instructors, the accounts of the instructors used for the links and institutes,
+     * and the feedback sessions of all courses in the search results, with one query per kind
+     * instead of once per search result.
+     */
+    private void prefetchCourseData(List<StudentAttributes> students, List<InstructorAttributes> instructors) {
+        Set<String> courseIdSet = new HashSet<String>();
+        for (StudentAttributes student : students) {
+            if (student.course != null) {
+                courseIdSet.add(student.course);
+            }
+        }
+        for (InstructorAttributes instructor : instructors) {
+            if (instructor.courseId != null) {
+                courseIdSet.add(instructor.courseId);
+            }
+        }
+        if (courseIdSet.isEmpty()) {
+            return;
+        }
+        List<String> courseIds = new ArrayList<String>(courseIdSet);
+        
+        HashMap<String, List<InstructorAttributes>> courseIdToInstructorsMap =
+                new HashMap<String, List<InstructorAttributes>>();
+        for (InstructorAttributes instructor : logic.getInstructorsForCourses(courseIds)) {
+            if (!courseIdToInstructorsMap.containsKey(instructor.courseId)) {
+                courseIdToInstructorsMap.put(instructor.courseId, new ArrayList<InstructorAttributes>());
+            }
+            courseIdToInstructorsMap.get(instructor.courseId).add(instructor);
+        }
+        
+        Set<String> googleIds = new HashSet<String>();
+        for (String courseId : courseIds) {
+            String googleId = findAvailableInstructorGoogleId(courseIdToInstructorsMap.get(courseId));
+            tempCourseIdToInstructorGoogleIdMap.put(courseId, googleId);
+            if (!googleId.isEmpty()) {
+                googleIds.add(googleId);
+            }
+        }
+        
+        HashMap<String, String> googleIdToInstituteMap = new HashMap<String, String>();
+        for (AccountAttributes account : logic.getAccounts(googleIds)) {
+            String institute = account.institute.trim().isEmpty() ? "None" : account.institute;
+            googleIdToInstituteMap.put(account.googleId, institute);
+        }
+        for (String courseId : courseIds) {
+            String institute = googleIdToInstituteMap.get(tempCourseIdToInstructorGoogleIdMap.get(courseId));
+            if (institute != null) {
+                tempCourseIdToInstituteMap.put(courseId, institute);
+            }
+        }
+        
+        for (String courseId : courseIds) {
+            tempCourseIdToFeedbackSessionsMap.put(courseId, new ArrayList<FeedbackSessionAttributes>());
+        }
+        for (FeedbackSessionAttributes session : logic.getFeedbackSessionsForCourses(courseIds)) {
+            tempCourseIdToFeedbackSessionsMap.get(session.getCourseId()).add(session);
+        }
+    }
+    
     private AdminSearchPageData putCourseNameIntoMap(List<StudentAttributes> students,
                                                      List<InstructorAttributes> instructors,
                                                      AdminSearchPageData data) {
         
-        Logic logic = new Logic();
+        // course names are mostly returned with the search results already
+        data.courseIdToCourseNameMap.putAll(data.studentResultBundle.courseIdToCourseNameMap);
+        data.courseIdToCourseNameMap.putAll(data.instructorResultBundle.courseIdToCourseNameMap);
         
+        Set<String> courseIdsWithoutName = new HashSet<String>();
         for (StudentAttributes student : students) {
             if (student.course != null && !data.courseIdToCourseNameMap.containsKey(student.course)) {
-                CourseAttributes course = logic.getCourse(student.course);
-                if (course != null) {
-                    data.courseIdToCourseNameMap.put(student.course, course.getName());
-                }
+                courseIdsWithoutName.add(student.course);
             }
         }
         
         for (InstructorAttributes instructor : instructors) {
             if (instructor.courseId != null && !data.courseIdToCourseNameMap.containsKey(instructor.courseId)) {
-                CourseAttributes course = logic.getCourse(instructor.courseId);
-                if (course != null) {
-                    data.courseIdToCourseNameMap.put(instructor.courseId, course.getName());
-                }
+                courseIdsWithoutName.add(instructor.courseId);
             }
         }
         
+        if (courseIdsWithoutName.isEmpty()) {
+            return data;
+        }
+        
+        for (CourseAttributes course : logic.getCourses(new ArrayList<String>(courseIdsWithoutName))) {
+            data.courseIdToCourseNameMap.put(course.getId(), course.getName());
+        }
+        
         return data;
     }
     
@@ -130,25 +200,13 @@ public class AdminSearchPageAction extends Action {
     
     private AdminSearchPageData putInstructorInsitituteIntoMap(List<InstructorAttributes> instructors,
                                                                AdminSearchPageData data) {
-        Logic logic = new Logic();
         for (InstructorAttributes instructor : instructors) {
             
-            if (tempCourseIdToInstituteMap.get(instructor.courseId) != null) {
-                data.instructorInstituteMap.put(instructor.getIdentificationString(),
-                                                tempCourseIdToInstituteMap.get(instructor.courseId));
+            String institute = tempCourseIdToInstituteMap.get(instructor.courseId);
+            if (institute == null) {
                 continue;
             }
             
-            String googleId = findAvailableInstructorGoogleIdForCourse(instructor.courseId);
-            
-            AccountAttributes account = logic.getAccount(googleId);
-            if (account == null) {
-                continue;
-            }
-            
-            String institute = account.institute.trim().isEmpty() ? "None" : account.institute;
-            
-            tempCourseIdToInstituteMap.put(instructor.courseId, institute);
             data.instructorInstituteMap.put(instructor.getIdentificationString(), institute);
         }
         
@@ -176,27 +234,13 @@ public class AdminSearchPageAction extends Action {
 
     private AdminSearchPageData putStudentInsitituteIntoMap(List<StudentAttributes> students, AdminSearchPageData data) {
         
-        Logic logic = new Logic();
-        
         for (StudentAttributes student : students) {
             
-            if (tempCourseIdToInstituteMap.get(student.course) != null) {
-                data.studentInstituteMap.put(student.getIdentificationString(),
-                                             tempCourseIdToInstituteMap.get(student.course));
-                continue;
-            }
-            
-            String instructorForCoursegoogleId = findAvailableInstructorGoogleIdForCourse(student.course);
-            
-            AccountAttributes account = logic.getAccount(instructorForCoursegoogleId);
-            if (account == null) {
+            String institute = tempCourseIdToInstituteMap.get(student.course);
+            if (institute == null) {
                 continue;
             }
             
-            String institute = account.institute.trim().isEmpty() ? "None" : account.institute;
-            
-            tempCourseIdToInstituteMap.put(student.course, institute);
-            
             data.studentInstituteMap.put(student.getIdentificationString(), institute);
         }
         
@@ -261,7 +305,12 @@ public class AdminSearchPageAction extends Action {
             return tempCourseIdToInstructorGoogleIdMap.get(courseId);
         }
         
-        List<InstructorAttributes> instructorList = logic.getInstructorsForCourse(courseId);
+        String googleId = findAvailableInstructorGoogleId(logic.getInstructorsForCourse(courseId));
+        tempCourseIdToInstructorGoogleIdMap.put(courseId, googleId);
+        return googleId;
+    }
+    
+    private String findAvailableInstructorGoogleId(List<InstructorAttributes> instructorList) {
         
         if (instructorList == null || instructorList.isEmpty()) {
             return "";
@@ -270,7 +319,6 @@ public class AdminSearchPageAction extends Action {
         for (InstructorAttributes instructor : instructorList) {
 
             if (instructor.isRegistered() && instructor.hasCoownerPrivileges()) {
-                tempCourseIdToInstructorGoogleIdMap.put(courseId, instructor.googleId);
                 return instructor.googleId;
             }
         }
@@ -279,8 +327,6 @@ public class AdminSearchPageAction extends Action {
 
             if (instructor.isRegistered()
                     && instructor.isAllowedForPrivilege(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_INSTRUCTOR)) {
-
-                tempCourseIdToInstructorGoogleIdMap.put(courseId, instructor.googleId);
                 return instructor.googleId;
             }
         }
@@ -291,11 +337,14 @@ public class AdminSearchPageAction extends Action {
     private AdminSearchPageData putFeedbackSessionLinkIntoMap(List<StudentAttributes> students,
                                                               AdminSearchPageData rawData) {
         
-        Logic logic = new Logic();
         AdminSearchPageData processedData = rawData;
         
         for (StudentAttributes student : students) {
-            List<FeedbackSessionAttributes> feedbackSessions = logic.getFeedbackSessionsForCourse(student.course);
+            List<FeedbackSessionAttributes> feedbackSessions = tempCourseIdToFeedbackSessionsMap.get(student.course);
+            if (feedbackSessions == null) {
+                feedbackSessions = logic.getFeedbackSessionsForCourse(student.course);
+                tempCourseIdToFeedbackSessionsMap.put(student.course, feedbackSessions);
+            }
             
             for (FeedbackSessionAttributes fsa : feedbackSessions) {
                 processedData = extractDataFromFeedbackSeesion(fsa, processedData, student);
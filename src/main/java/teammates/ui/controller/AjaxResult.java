@@ -1,7 +1,11 @@
 package teammates.ui.controller;
 
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -9,11 +13,26 @@ import javax.servlet.http.HttpServletResponse;
 import teammates.common.datatransfer.AccountAttributes;
 import teammates.common.util.Const;
 import teammates.common.util.StatusMessage;
+import teammates.ui.template.ElementTag;
 
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 public class AjaxResult extends ActionResult {
 
+    /**
+     * Shared by all requests as Gson is thread-safe and caches the adapters of the page data
+     * classes (e.g. the table rows) once they are first serialized.
+     */
+    private static final Gson gson = new GsonBuilder()
+            .registerTypeAdapterFactory(new ElementTagAdapterFactory())
+            .create();
+
     public PageData data;
     public boolean isClearingStatusMessage = true;
     
@@ -50,9 +69,34 @@ public class AjaxResult extends ActionResult {
         
         resp.setContentType("application/json");
         resp.setCharacterEncoding("UTF-8");
-        String jsonData = new Gson().toJson(data);
+        resp.setHeader("Vary", "Accept-Encoding");
         
-        resp.getWriter().write(jsonData);
+        if (isGzipAccepted(req)) {
+            resp.setHeader("Content-Encoding", "gzip");
+            Writer writer = new OutputStreamWriter(new GZIPOutputStream(resp.getOutputStream()), "UTF-8");
+            writeData(writer);
+            // closing the writer finishes the compressed stream
+            writer.close();
+        } else {
+            writeData(resp.getWriter());
+        }
+    }
+    
+    /**
+     * Writes the page data as JSON to the writer as it is serialized,
+     * without building the whole JSON string first.
+     */
+    public void writeData(Writer writer) {
+        if (data == null) {
+            gson.toJson(null, writer);
+            return;
+        }
+        gson.toJson(data, data.getClass(), writer);
+    }
+    
+    private boolean isGzipAccepted(HttpServletRequest req) {
+        String acceptEncoding = req.getHeader("Accept-Encoding");
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
     }
 
     /**
@@ -84,4 +128,65 @@ public class AjaxResult extends ActionResult {
             req.getSession().removeAttribute(Const.ParamsNames.STATUS_MESSAGES_LIST);
         }
     }
+    
+    /**
+     * Creates the adapters of element tags and their subclasses, which write the tags
+     * the way they would be written by reflection, but straight to the JSON writer and
+     * without the reflective lookups for each of the many tags in a page.
+     * Tags are read by the reflective adapter Gson would otherwise use.
+     */
+    private static class ElementTagAdapterFactory implements TypeAdapterFactory {
+        
+        @Override
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (!ElementTag.class.isAssignableFrom(type.getRawType())) {
+                return null;
+            }
+            @SuppressWarnings("unchecked")
+            TypeAdapter<ElementTag> delegate = (TypeAdapter<ElementTag>) gson.getDelegateAdapter(this, type);
+            @SuppressWarnings("unchecked")
+            TypeAdapter<T> adapter = (TypeAdapter<T>) new ElementTagAdapter(delegate);
+            return adapter;
+        }
+    }
+    
+    private static class ElementTagAdapter extends TypeAdapter<ElementTag> {
+        
+        private final TypeAdapter<ElementTag> delegate;
+        
+        ElementTagAdapter(TypeAdapter<ElementTag> delegate) {
+            this.delegate = delegate;
+        }
+        
+        @Override
+        public void write(JsonWriter out, ElementTag tag) throws IOException {
+            if (tag == null) {
+                out.nullValue();
+                return;
+            }
+            
+            out.beginObject();
+            out.name("content").value(tag.getContent());
+            
+            out.name("attributes").beginObject();
+            for (Map.Entry<String, String> attribute : tag.getAttributes().entrySet()) {
+                out.name(attribute.getKey()).value(attribute.getValue());
+            }
+            out.endObject();
+            
+            if (tag.getNestedElements() != null) {
+                out.name("nestedElements").beginArray();
+                for (ElementTag nestedElement : tag.getNestedElements()) {
+                    write(out, nestedElement);
+                }
+                out.endArray();
+            }
+            out.endObject();
+        }
+        
+        @Override
+        public ElementTag read(JsonReader in) throws IOException {
+            return delegate.read(in);
+        }
+    }
 }
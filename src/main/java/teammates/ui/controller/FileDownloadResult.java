@@ -2,6 +2,7 @@ package teammates.ui.controller;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.util.List;
 
 import javax.servlet.http.HttpServletRequest;
@@ -15,6 +16,17 @@ public class FileDownloadResult extends ActionResult {
     
     String fileContent = "";
     String fileName = "";
+    
+    /** Writes the content when the result is sent, if the content is not given up front. */
+    ContentWriter contentWriter;
+    
+    /**
+     * Writes the content of a file straight to the response, so that large files
+     * are neither built up in memory nor built at all if the result is not sent.
+     */
+    public interface ContentWriter {
+        void write(PrintWriter writer);
+    }
 
     public FileDownloadResult(String destination, AccountAttributes account,
             List<StatusMessage> status) {
@@ -29,6 +41,15 @@ public class FileDownloadResult extends ActionResult {
         this.fileName = fileName;
         this.fileContent = fileContent;
     }
+    
+    public FileDownloadResult(
+            String destination, AccountAttributes account,
+            List<StatusMessage> status,
+            String fileName, ContentWriter contentWriter) {
+        super(destination, account, status);
+        this.fileName = fileName;
+        this.contentWriter = contentWriter;
+    }
 
     @Override
     public void send(HttpServletRequest req, HttpServletResponse resp) throws IOException {
@@ -42,7 +63,11 @@ public class FileDownloadResult extends ActionResult {
         resp.setHeader("Content-Disposition", getContentDispositionHeader());
         PrintWriter writer = resp.getWriter();
         writer.write("\uFEFF");
-        writer.append(fileContent);
+        if (contentWriter == null) {
+            writer.append(fileContent);
+        } else {
+            contentWriter.write(writer);
+        }
     }
     
     /**
@@ -67,7 +92,12 @@ public class FileDownloadResult extends ActionResult {
     }
     
     public String getFileContent() {
-        return this.fileContent;
+        if (contentWriter == null) {
+            return this.fileContent;
+        }
+        StringWriter content = new StringWriter();
+        contentWriter.write(new PrintWriter(content));
+        return content.toString();
     }
 
 }
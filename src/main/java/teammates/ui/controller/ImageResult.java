@@ -1,6 +1,7 @@
 package teammates.ui.controller;
 
 import java.io.IOException;
+import java.util.Date;
 import java.util.List;
 
 import javax.servlet.http.HttpServletRequest;
@@ -15,24 +16,84 @@ import com.google.appengine.api.blobstore.BlobstoreServiceFactory;
 
 public class ImageResult extends ActionResult {
 
+    /** How long browsers may reuse an image requested under a URL that carries its version. */
+    private static final int VERSIONED_MAX_AGE_SECONDS = 365 * 24 * 60 * 60;
+
     public String blobKey;
-    
+
+    public String contentType = "image/png";
+
+    /** The ETag of the image, or null if the image is served without cache validators. */
+    public String eTag;
+
+    public Date lastModified;
+
+    /** Whether the image was requested under a URL that changes whenever the image changes. */
+    public boolean isVersioned;
+
     public ImageResult(String destination, String blobKey, AccountAttributes account,
             List<StatusMessage> status) {
         super(destination, account, status);
         this.blobKey = blobKey;
     }
 
+    /**
+     * Lets browsers cache the image, and revalidate it with a conditional request
+     * unless {@code isVersioned}.
+     */
+    public void setCacheValidators(String eTag, Date lastModified, boolean isVersioned) {
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+        this.isVersioned = isVersioned;
+    }
+
     @Override
     public void send(HttpServletRequest req, HttpServletResponse resp) throws IOException {
-        
+
         if (blobKey.isEmpty()) {
             resp.sendError(1, "No image found");
-        } else {
-            resp.setContentType("image/png");
-            BlobstoreService blobstoreService = BlobstoreServiceFactory.getBlobstoreService();
-            blobstoreService.serve(new BlobKey(blobKey), resp);
+            return;
+        }
+
+        if (eTag != null) {
+            resp.setHeader("ETag", eTag);
+            resp.setDateHeader("Last-Modified", lastModified.getTime());
+            resp.setHeader("Cache-Control", isVersioned ? "private, max-age=" + VERSIONED_MAX_AGE_SECONDS
+                                                        : "private, no-cache");
+            if (isNotModified(req)) {
+                resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+
+        resp.setContentType(contentType);
+        BlobstoreService blobstoreService = BlobstoreServiceFactory.getBlobstoreService();
+        blobstoreService.serve(new BlobKey(blobKey), resp);
+    }
+
+    /**
+     * If-None-Match takes precedence over If-Modified-Since, as in RFC 7232.
+     */
+    private boolean isNotModified(HttpServletRequest req) {
+        String ifNoneMatch = req.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            for (String tag : ifNoneMatch.split(",")) {
+                String trimmedTag = tag.trim();
+                if ("*".equals(trimmedTag) || trimmedTag.equals(eTag) || trimmedTag.equals("W/" + eTag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        long ifModifiedSince;
+        try {
+            ifModifiedSince = req.getDateHeader("If-Modified-Since");
+        } catch (IllegalArgumentException e) {
+            return false;
         }
+        // HTTP dates have a precision of seconds
+        return ifModifiedSince != -1 && lastModified.getTime() / 1000 <= ifModifiedSince / 1000;
     }
 
 }
@@ -1,5 +1,8 @@
 package teammates.ui.controller;
 
+import java.io.PrintWriter;
+
+import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
@@ -12,16 +15,22 @@ public class InstructorCourseStudentListDownloadAction extends Action {
         String courseId = getRequestParamValue(Const.ParamsNames.COURSE_ID);
         Assumption.assertNotNull(courseId);
         
+        final CourseAttributes course = logic.getCourse(courseId);
         new GateKeeper().verifyAccessible(
                 logic.getInstructorForGoogleId(courseId, account.googleId),
-                logic.getCourse(courseId));
+                course);
         
-        String fileContent = logic.getCourseStudentListAsCsv(courseId, account.googleId);
         String fileName = courseId + "_studentList";
         
         statusToAdmin = "Students data for Course " + courseId + " was downloaded";
         
-        return createFileDownloadResult(fileName, fileContent);
+        // the roster is loaded when the result is sent, and the rows are written to the response one by one
+        return createFileDownloadResult(fileName, new FileDownloadResult.ContentWriter() {
+            @Override
+            public void write(PrintWriter writer) {
+                logic.writeCourseStudentListAsCsv(course, writer);
+            }
+        });
     }
 
 }
@@ -0,0 +1,67 @@
+package teammates.ui.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.exception.EntityDoesNotExistException;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.common.util.Const.StatusMessageColor;
+import teammates.common.util.StatusMessage;
+import teammates.common.util.StringHelper;
+import teammates.logic.api.GateKeeper;
+
+/**
+ * Action: checks how far the copying of a feedback session to several courses has gone,
+ * for the copy modal to wait on before showing the copies.
+ */
+public class InstructorFeedbackCopyStatusAction extends Action {
+
+    @Override
+    protected ActionResult execute() throws EntityDoesNotExistException {
+        String copiedFeedbackSessionName = getRequestParamValue(Const.ParamsNames.COPIED_FEEDBACK_SESSION_NAME);
+        String[] copiedCourseIds = getRequestParamValues(Const.ParamsNames.COPIED_COURSES_ID);
+        String feedbackSessionName = getRequestParamValue(Const.ParamsNames.FEEDBACK_SESSION_NAME);
+        String courseId = getRequestParamValue(Const.ParamsNames.COURSE_ID);
+        
+        Assumption.assertNotNull("null course id", courseId);
+        Assumption.assertNotNull("null fs name", feedbackSessionName);
+        Assumption.assertNotNull("null copied fs name", copiedFeedbackSessionName);
+        Assumption.assertNotNull("null copied course ids", copiedCourseIds);
+        
+        GateKeeper gk = new GateKeeper();
+        int numberOfCompletedCopies = 0;
+        List<String> failedCourseIds = new ArrayList<String>();
+        for (String copiedCourseId : copiedCourseIds) {
+            InstructorAttributes instructor = logic.getInstructorForGoogleId(copiedCourseId, account.googleId);
+            gk.verifyAccessible(instructor, logic.getCourse(copiedCourseId));
+            
+            if (logic.isFeedbackSessionCopyCompleted(copiedFeedbackSessionName, copiedCourseId,
+                                                     feedbackSessionName, courseId)) {
+                numberOfCompletedCopies++;
+            } else if (logic.isFeedbackSessionCopyFailed(copiedFeedbackSessionName, copiedCourseId,
+                                                         feedbackSessionName, courseId)) {
+                failedCourseIds.add(copiedCourseId);
+            }
+        }
+        
+        InstructorFeedbackCopyStatusData data = new InstructorFeedbackCopyStatusData(
+                account, copiedCourseIds.length, numberOfCompletedCopies, failedCourseIds.size());
+        if (data.isFinished && !failedCourseIds.isEmpty()) {
+            // shown on the page the copy modal redirects to
+            statusToUser.add(new StatusMessage(String.format(Const.StatusMessages.FEEDBACK_SESSION_COPY_FAILED,
+                                                             StringHelper.toString(failedCourseIds, ",")),
+                                               StatusMessageColor.WARNING));
+        }
+        
+        statusToAdmin = "Checking the copying of Feedback Session <span class=\"bold\">(" + feedbackSessionName
+                        + ")</span> for Course <span class=\"bold\">[" + courseId + "]</span>: "
+                        + numberOfCompletedCopies + " of " + copiedCourseIds.length + " copies completed, "
+                        + failedCourseIds.size() + " failed";
+        
+        // the status messages of the copy are kept for the page the copy modal redirects to
+        return createAjaxResultWithoutClearingStatusMessage(data);
+    }
+
+}
@@ -0,0 +1,28 @@
+package teammates.ui.controller;
+
+import teammates.common.datatransfer.AccountAttributes;
+
+/**
+ * PageData object that is sent back as a result of InstructorFeedbackCopyStatus.
+ * Specifies how many of the copies of a feedback session have all their questions,
+ * and how many of them will not get all their questions as their copying has failed.
+ */
+public class InstructorFeedbackCopyStatusData extends PageData {
+    public final int numberOfCopies;
+    public final int numberOfCompletedCopies;
+    public final int numberOfFailedCopies;
+    public final boolean isCompleted;
+    
+    /** Whether each copy has either completed or failed, so there is nothing left to wait for. */
+    public final boolean isFinished;
+    
+    public InstructorFeedbackCopyStatusData(AccountAttributes account, int numberOfCopies,
+                                            int numberOfCompletedCopies, int numberOfFailedCopies) {
+        super(account);
+        this.numberOfCopies = numberOfCopies;
+        this.numberOfCompletedCopies = numberOfCompletedCopies;
+        this.numberOfFailedCopies = numberOfFailedCopies;
+        this.isCompleted = numberOfCompletedCopies == numberOfCopies;
+        this.isFinished = numberOfCompletedCopies + numberOfFailedCopies == numberOfCopies;
+    }
+}
@@ -63,9 +63,6 @@ public class InstructorFeedbackEditCopyAction extends Action {
                 return createAjaxResultWithErrorMessage(errorToUser);
             }
             
-            FeedbackSessionAttributes fs = null;
-            // Copy the feedback sessions
-            // TODO: consider doing this as a batch insert
             for (String courseIdToCopyTo : coursesIdToCopyTo) {
                 InstructorAttributes instructorForCourse =
                         logic.getInstructorForGoogleId(courseIdToCopyTo, account.googleId);
@@ -73,11 +70,16 @@ public class InstructorFeedbackEditCopyAction extends Action {
                         instructorForCourse,
                         logic.getCourse(courseIdToCopyTo),
                         Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_SESSION);
-                
-                fs = logic.copyFeedbackSession(newFeedbackSessionName, courseIdToCopyTo,
-                        originalFeedbackSessionName, originalCourseId, instructor.email);
             }
             
+            // Copy the feedback sessions; their questions are copied to all the courses concurrently
+            // by the task queue, which the copy modal polls until done
+            List<FeedbackSessionAttributes> copiedSessions =
+                    logic.copyFeedbackSessionToCourses(newFeedbackSessionName, Arrays.asList(coursesIdToCopyTo),
+                                                       originalFeedbackSessionName, originalCourseId,
+                                                       instructor.email);
+            FeedbackSessionAttributes fs = copiedSessions.get(copiedSessions.size() - 1);
+            
             List<String> courses = Arrays.asList(coursesIdToCopyTo);
             String commaSeparatedListOfCourses = StringHelper.toString(courses, ",");
             
@@ -101,6 +103,9 @@ public class InstructorFeedbackEditCopyAction extends Action {
                                                           Config.getAppUrl(nextUrl)
                                                                 .withParam(Const.ParamsNames.ERROR,
                                                                            Boolean.FALSE.toString())
+                                                                .withParam(Const.ParamsNames.USER_ID,
+                                                                           account.googleId),
+                                                          Config.getAppUrl(Const.ActionURIs.INSTRUCTOR_FEEDBACK_COPY_STATUS)
                                                                 .withParam(Const.ParamsNames.USER_ID,
                                                                            account.googleId)
                                                           ));
@@ -5,34 +5,39 @@ import teammates.common.util.Url;
 
 /**
  * PageData object that is sent back as a result of InstructorFeedbackEditCopy.
- * Specifies a page for the user to be redirected to as a result of the form submission.
+ * Specifies a page for the user to be redirected to as a result of the form submission,
+ * and where to poll for the copying of the questions to finish before the redirection.
  *
  */
 public class InstructorFeedbackEditCopyData extends PageData {
     public final String redirectUrl;
+    public final String copyStatusUrl;
     public final String errorMessage;
     
     public InstructorFeedbackEditCopyData(AccountAttributes account,
-                                          Url redirectUrl, String errorMessage) {
+                                          Url redirectUrl, Url copyStatusUrl, String errorMessage) {
         super(account);
         String redirectUrlAsString = redirectUrl == null ? ""
                                                          : redirectUrl.toString();
         this.redirectUrl = redirectUrlAsString;
+        this.copyStatusUrl = copyStatusUrl == null ? ""
+                                                   : copyStatusUrl.toString();
         this.errorMessage = errorMessage == null ? ""
                                                  : errorMessage;
     }
     
     /**
-     * @return new {@code InstructorFeedbackEditCopyData} with a redirect url, and without an errorMessage
+     * @return new {@code InstructorFeedbackEditCopyData} with a redirect url and a copy status url,
+     *         and without an errorMessage
      */
-    public InstructorFeedbackEditCopyData(AccountAttributes account, Url redirectUrl) {
-        this(account, redirectUrl, null);
+    public InstructorFeedbackEditCopyData(AccountAttributes account, Url redirectUrl, Url copyStatusUrl) {
+        this(account, redirectUrl, copyStatusUrl, null);
     }
     
     /**
      * @return new {@code InstructorFeedbackEditCopyData} with an error message, and a redirect url of ""
      */
     public InstructorFeedbackEditCopyData(AccountAttributes account, String errorMessage) {
-        this(account, null, errorMessage);
+        this(account, null, null, errorMessage);
     }
 }
@@ -66,7 +66,7 @@ public class InstructorStudentCommentClearPendingAction extends Action {
     }
     
     private int getPendingCommentsSize(String courseId) throws EntityDoesNotExistException {
-        return logic.getCommentsForSendingState(courseId, CommentSendingState.PENDING).size()
-                + logic.getFeedbackResponseCommentsForSendingState(courseId, CommentSendingState.PENDING).size();
+        return logic.getCommentsCountForSendingState(courseId, CommentSendingState.PENDING)
+                + logic.getFeedbackResponseCommentsCountForSendingState(courseId, CommentSendingState.PENDING);
     }
 }
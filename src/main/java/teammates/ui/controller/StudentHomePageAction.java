@@ -8,9 +8,7 @@ import java.util.Map;
 import teammates.common.datatransfer.CourseDetailsBundle;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.FeedbackSessionDetailsBundle;
-import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
-import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.Const.StatusMessageColor;
 import teammates.common.util.StatusMessage;
@@ -62,24 +60,13 @@ public class StudentHomePageAction extends Action {
     
     private Map<FeedbackSessionAttributes, Boolean> generateFeedbackSessionSubmissionStatusMap(
             List<CourseDetailsBundle> courses, String googleId) {
-        Map<FeedbackSessionAttributes, Boolean> returnValue = new HashMap<>();
-        
+        List<FeedbackSessionAttributes> sessions = new ArrayList<FeedbackSessionAttributes>();
         for (CourseDetailsBundle c : courses) {
             for (FeedbackSessionDetailsBundle fsb : c.feedbackSessions) {
-                FeedbackSessionAttributes f = fsb.feedbackSession;
-                returnValue.put(f, getStudentStatusForSession(f, googleId));
+                sessions.add(fsb.feedbackSession);
             }
         }
-        return returnValue;
-    }
-
-    private boolean getStudentStatusForSession(FeedbackSessionAttributes fs, String googleId) {
-        StudentAttributes student = logic.getStudentForGoogleId(fs.getCourseId(), googleId);
-        Assumption.assertNotNull(student);
-
-        String studentEmail = student.email;
-        
-        return logic.hasStudentSubmittedFeedback(fs, studentEmail);
+        return logic.getFeedbackSessionsSubmissionStatusForStudent(sessions, googleId);
     }
     
     private boolean isCourseIncluded(String recentlyJoinedCourseId, List<CourseDetailsBundle> courses) {
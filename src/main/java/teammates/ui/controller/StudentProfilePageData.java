@@ -21,6 +21,10 @@ public class StudentProfilePageData extends PageData {
             pictureUrl = Const.ActionURIs.STUDENT_PROFILE_PICTURE
                        + "?" + Const.ParamsNames.BLOB_KEY + "=" + profile.pictureKey
                        + "&" + Const.ParamsNames.USER_ID + "=" + account.googleId;
+            if (profile.modifiedDate != null) {
+                // lets the browser keep the picture until it is changed
+                pictureUrl += "&" + Const.ParamsNames.PROFILE_PICTURE_VERSION + "=" + profile.modifiedDate.getTime();
+            }
         }
         this.profileEditBox = new StudentProfileEditBox(account.name, isEditingPhoto, profile,
                                                         account.googleId, pictureUrl);
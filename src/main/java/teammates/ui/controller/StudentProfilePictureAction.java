@@ -1,7 +1,9 @@
 package teammates.ui.controller;
 
-import teammates.common.datatransfer.StudentAttributes;
+import java.util.Date;
+
 import teammates.common.datatransfer.StudentProfileAttributes;
+import teammates.common.datatransfer.StudentProfilePictureDetails;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
@@ -38,7 +40,14 @@ public class StudentProfilePictureAction extends Action {
     private ActionResult handleRequestWithBlobKey() {
         String blobKey = getBlobKeyFromRequest();
         log.info("blob-key given: " + blobKey);
-        return createImageResult(blobKey);
+        ImageResult result = (ImageResult) createImageResult(blobKey);
+
+        // only the key of the student's own picture is known to be current, as the key is the same for each picture
+        StudentProfileAttributes profile = logic.getStudentProfile(account.googleId);
+        if (profile != null && blobKey.equals(profile.pictureKey) && profile.modifiedDate != null) {
+            setCacheValidators(result, profile.modifiedDate.getTime());
+        }
+        return result;
     }
 
     private ActionResult handleRequestWithEmailAndCourse()
@@ -47,19 +56,34 @@ public class StudentProfilePictureAction extends Action {
         String courseId = getCourseIdFromRequest();
         log.info("email: " + email + ", course: " + courseId);
 
-        StudentAttributes student = getStudentForGivenParameters(courseId, email);
-        new GateKeeper().verifyAccessibleForCurrentUserAsInstructor(account, courseId, student.section);
+        StudentProfilePictureDetails details = logic.getStudentProfilePictureDetails(courseId, email);
+        if (details == null) {
+            throw new EntityDoesNotExistException("student with " + courseId + "/" + email);
+        }
+        new GateKeeper().verifyAccessibleForCurrentUserAsInstructor(account, courseId, details.section);
 
-        return createImageResult(getPictureKeyForStudent(student));
-    }
+        if (!details.hasPicture()) {
+            return createImageResult("");
+        }
 
-    private StudentAttributes getStudentForGivenParameters(String courseId, String email)
-            throws EntityDoesNotExistException {
-        StudentAttributes student = logic.getStudentForEmail(courseId, email);
-        if (student == null) {
-            throw new EntityDoesNotExistException("student with " + courseId + "/" + email);
+        // list views show pictures small, so serve the thumbnail of pictures that have one
+        ImageResult result = (ImageResult) createImageResult(details.hasThumbnail() ? details.thumbnailKey
+                                                                                    : details.pictureKey);
+        if (details.hasThumbnail()) {
+            result.contentType = "image/jpeg";
         }
-        return student;
+        setCacheValidators(result, details.pictureModifiedTime);
+        return result;
+    }
+
+    /**
+     * The ETag includes the modified time of the picture, as a new picture is stored under the same key.
+     */
+    private void setCacheValidators(ImageResult result, long pictureModifiedTime) {
+        String eTag = "\"" + result.blobKey + "-" + pictureModifiedTime + "\"";
+        boolean isVersioned =
+                String.valueOf(pictureModifiedTime).equals(getRequestParamValue(Const.ParamsNames.PROFILE_PICTURE_VERSION));
+        result.setCacheValidators(eTag, new Date(pictureModifiedTime), isVersioned);
     }
 
     private String getBlobKeyFromRequest() {
@@ -82,17 +106,4 @@ public class StudentProfilePictureAction extends Action {
         return email;
     }
 
-    private String getPictureKeyForStudent(StudentAttributes student) {
-        // picture request is only relevant for registered student
-        if (!student.googleId.isEmpty()) {
-            StudentProfileAttributes profile = logic.getStudentProfile(student.googleId);
-
-            // TODO: remove the null check once all legacy data has been ported
-            if (profile != null) {
-                return profile.pictureKey;
-            }
-        }
-        return "";
-    }
-
 }
@@ -2,6 +2,7 @@ package teammates.ui.controller;
 
 import java.io.IOException;
 
+import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.Const.StatusMessageColor;
@@ -33,7 +34,7 @@ public class StudentProfilePictureEditAction extends Action {
     private String rotateString;
 
     @Override
-    protected ActionResult execute() {
+    protected ActionResult execute() throws EntityDoesNotExistException {
         new GateKeeper().verifyLoggedInUserPrivileges();
         readAllPostParamterValuesToFields();
         if (!validatePostParameters()) {
@@ -44,7 +45,10 @@ public class StudentProfilePictureEditAction extends Action {
             byte[] transformedImage = this.transformImage();
             if (!isError) {
                 // this branch is covered in UiTests (look at todo in transformImage())
-                GoogleCloudStorageHelper.writeImageDataToGcs(account.googleId, transformedImage);
+                String pictureKey = GoogleCloudStorageHelper.writeImageDataToGcs(account.googleId, transformedImage);
+                // the edited picture is stored under the same key, so this only marks the picture as changed
+                logic.updateStudentProfilePicture(account.googleId, pictureKey);
+                writeProfilePictureThumbnail(transformedImage);
             }
         } catch (IOException e) {
             // Happens when GCS Service is down
@@ -75,6 +75,7 @@ public class StudentProfilePictureUploadAction extends Action {
         blobStream.close();
 
         String newKey = GoogleCloudStorageHelper.writeImageDataToGcs(account.googleId, imageData);
+        writeProfilePictureThumbnail(imageData);
         deletePicture(blobKey);
         return newKey;
     }
@@ -116,7 +116,10 @@ function setupFsCopyModal() {
                 },
                 success: function(data) {
                     var isError = data.errorMessage !== '';
-                    if (!isError && data.redirectUrl) {
+                    if (!isError && data.copyStatusUrl) {
+                        waitForFeedbackSessionCopy(data.copyStatusUrl, $this.serialize(), data.redirectUrl,
+                                                   $copyModalStatusMessage);
+                    } else if (!isError && data.redirectUrl) {
                         window.location.href = data.redirectUrl;
                     } else {
                         $copyModalStatusMessage.addClass('alert alert-danger');
@@ -129,6 +132,56 @@ function setupFsCopyModal() {
     );
 }
 
+/**
+ * Polls the status of a feedback session copy, whose questions are copied to the courses in the background,
+ * showing the progress in the copy modal, and goes to redirectUrl once each course has the questions or
+ * has failed to get them, in which case the page at redirectUrl warns about it.
+ * If the status cannot be checked, or the copy takes too long, goes to redirectUrl right away,
+ * as the sessions have been created.
+ * @param pollingStartTimeInMillis when the polling started; left out by the first call
+ */
+function waitForFeedbackSessionCopy(copyStatusUrl, copyFormData, redirectUrl, $copyModalStatusMessage,
+                                    pollingStartTimeInMillis) {
+    var pollingIntervalInMillis = 1000;
+    // longer than the copies are given on the server before they are reported as failed
+    var maxPollingTimeInMillis = 3 * 60 * 1000;
+    var redirectDelayInMillis = 5000;
+    var startTimeInMillis = pollingStartTimeInMillis || new Date().getTime();
+    
+    if (new Date().getTime() - startTimeInMillis > maxPollingTimeInMillis) {
+        $copyModalStatusMessage.addClass('alert alert-warning');
+        $copyModalStatusMessage.text('Copying the questions is taking longer than expected, so some of the copied '
+                                     + 'sessions may not have all their questions yet. '
+                                     + 'Going to the sessions page...');
+        setTimeout(function() {
+            window.location.href = redirectUrl;
+        }, redirectDelayInMillis);
+        return;
+    }
+    
+    $.ajax({
+        type: 'POST',
+        url: copyStatusUrl,
+        data: copyFormData,
+        error: function() {
+            window.location.href = redirectUrl;
+        },
+        success: function(data) {
+            if (data.isFinished) {
+                window.location.href = redirectUrl;
+                return;
+            }
+            $copyModalStatusMessage.html('<img src="/images/ajax-loader.gif" class="margin-center-horizontal">'
+                                         + '<p class="text-center">Copying questions: ' + data.numberOfCompletedCopies
+                                         + ' of ' + data.numberOfCopies + ' courses done</p>');
+            setTimeout(function() {
+                waitForFeedbackSessionCopy(copyStatusUrl, copyFormData, redirectUrl, $copyModalStatusMessage,
+                                           startTimeInMillis);
+            }, pollingIntervalInMillis);
+        }
+    });
+}
+
 // Student Profile Picture
 // --------------------------------------------------------------------------
 
@@ -1,6 +1,7 @@
 package teammates.test.cases;
 
 import java.io.IOException;
+import java.util.HashMap;
 
 import org.testng.annotations.AfterTest;
 import org.testng.annotations.BeforeTest;
@@ -15,9 +16,12 @@ import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.datatransfer.StudentAttributes.UpdateStatus;
+import teammates.common.util.Const;
 import teammates.common.util.GoogleCloudStorageHelper;
 import teammates.common.util.StringHelper;
 import teammates.common.util.Utils;
+import teammates.logic.automated.CascadeDeletionAction;
+import teammates.logic.core.CascadeDeletionLogic;
 import teammates.storage.api.AccountsDb;
 import teammates.storage.api.CommentsDb;
 import teammates.storage.api.CoursesDb;
@@ -59,6 +63,22 @@ public class BaseComponentTestCase extends BaseTestCase {
         
     }
     
+    /**
+     * Deletes the data of a course or session whose deletion was scheduled in the background,
+     * as the tasks of the cascade deletion queue are not run by the GAE simulation.
+     * @param feedbackSessionName {@code null} if the whole course was deleted
+     */
+    protected static void completeCascadeDeletion(String courseId, String feedbackSessionName) {
+        HashMap<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(Const.ParamsNames.COURSE_ID, courseId);
+        if (feedbackSessionName != null) {
+            paramMap.put(Const.ParamsNames.FEEDBACK_SESSION_NAME, feedbackSessionName);
+        }
+        paramMap.put(Const.ParamsNames.CASCADE_DELETION_STAGE,
+                     CascadeDeletionLogic.inst().getFirstStage(feedbackSessionName).name());
+        assertTrue(new CascadeDeletionAction(paramMap).execute());
+    }
+    
     protected static String writeFileToGcs(String googleId, String filename) throws IOException {
         byte[] image = FileHelper.readFileAsBytes(filename);
         return GoogleCloudStorageHelper.writeImageDataToGcs(googleId, image);
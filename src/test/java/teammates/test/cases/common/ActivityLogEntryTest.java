@@ -4,6 +4,7 @@ import org.testng.annotations.Test;
 
 import teammates.common.datatransfer.AccountAttributes;
 import teammates.common.util.ActivityLogEntry;
+import teammates.common.util.Utils;
 import teammates.test.cases.BaseTestCase;
 import teammates.test.driver.AssertHelper;
 
@@ -45,6 +46,25 @@ public class ActivityLogEntryTest extends BaseTestCase {
         assertEquals("Message", entry.getMessageInfo());
         assertEquals("UserId", entry.getPersonInfo());
         assertEquals("Instructor", entry.getRole());
+        
+        logMessage = "TEAMMATESLOG|||instructorHome|||Pageload|||true|||Instructor|||UserName|||UserId"
+                            + "|||UserEmail|||Message to highlight|||URL|||UserId20151019143729608";
+        appLog = new AppLogLine();
+        appLog.setLogMessage(logMessage);
+        appLog.setTimeUsec(0);
+        entry = new ActivityLogEntry(appLog);
+
+        ______TS("entries are not rendered when created or filtered");
+
+        entry.setKeyStringsToHighlight(new String[] {"highlight"});
+        entry.highlightKeyStringInMessageInfoHtml();
+        assertFalse(Utils.getTeammatesGson().toJson(entry).contains("logInfoAsHtml"));
+        AssertHelper.assertContains("Message to <mark>highlight</mark>", entry.getLogInfoForTableRowAsHtml());
+
+        ______TS("rendered entries are sent with their table row");
+
+        entry.renderLogInfoAsHtml();
+        assertTrue(Utils.getTeammatesGson().toJson(entry).contains("logInfoAsHtml"));
     }
     
     @Test
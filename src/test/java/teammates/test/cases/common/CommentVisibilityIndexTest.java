@@ -0,0 +1,169 @@
+package teammates.test.cases.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CommentAttributes;
+import teammates.common.datatransfer.CommentParticipantType;
+import teammates.common.datatransfer.CommentStatus;
+import teammates.common.datatransfer.CommentVisibilityIndex;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.test.cases.BaseTestCase;
+
+import com.google.appengine.api.datastore.Text;
+
+public class CommentVisibilityIndexTest extends BaseTestCase {
+
+    private static final String COURSE_ID = "CVIT.course";
+    private static final String ANONYMOUS = Const.DISPLAYED_NAME_FOR_ANONYMOUS_COMMENT_PARTICIPANT;
+
+    private static StudentAttributes student1;
+    private static StudentAttributes student2;
+    private static StudentAttributes student3;
+    private static StudentAttributes student4;
+    private static List<StudentAttributes> studentsInSection1;
+
+    private long nextCommentId = 1;
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+        student1 = new StudentAttributes("Section 1", "Team 1", "Student 1", "s1@cvit.tmt", "", COURSE_ID);
+        student2 = new StudentAttributes("Section 1", "Team 1", "Student 2", "s2@cvit.tmt", "", COURSE_ID);
+        student3 = new StudentAttributes("Section 1", "Team 2", "Student 3", "s3@cvit.tmt", "", COURSE_ID);
+        student4 = new StudentAttributes("Section 2", "Team 3", "Student 4", "s4@cvit.tmt", "", COURSE_ID);
+        studentsInSection1 = Arrays.asList(student1, student2, student3);
+    }
+
+    @Test
+    public void testGetCommentsForInstructor() {
+        CommentAttributes ownComment = createComment("i1@cvit.tmt", CommentParticipantType.PERSON, student1.email);
+        CommentAttributes ownDraft = createComment("i1@cvit.tmt", CommentParticipantType.PERSON, student1.email);
+        ownDraft.status = CommentStatus.DRAFT;
+        CommentAttributes commentForInstructors =
+                createComment("i2@cvit.tmt", CommentParticipantType.PERSON, student1.email,
+                              CommentParticipantType.INSTRUCTOR);
+        CommentAttributes privateComment = createComment("i2@cvit.tmt", CommentParticipantType.PERSON, student1.email);
+
+        CommentVisibilityIndex index = new CommentVisibilityIndex(
+                COURSE_ID, Arrays.asList(ownComment, ownDraft, commentForInstructors, privateComment));
+
+        ______TS("own final comments and comments shown to instructors, with hidden names removed");
+
+        List<CommentAttributes> comments = index.getCommentsForInstructor("i1@cvit.tmt");
+        assertEquals(2, comments.size());
+        assertEquals(ownComment.getCommentId(), comments.get(1).getCommentId());
+        assertEquals("i1@cvit.tmt", comments.get(1).giverEmail);
+        assertEquals(commentForInstructors.getCommentId(), comments.get(0).getCommentId());
+        assertEquals(ANONYMOUS, comments.get(0).giverEmail);
+        assertTrue(comments.get(0).recipients.contains(ANONYMOUS));
+
+        ______TS("looked up comments are copies");
+
+        comments.get(1).giverEmail = "changed@cvit.tmt";
+        assertEquals("i1@cvit.tmt", ownComment.giverEmail);
+        assertEquals("i1@cvit.tmt", index.getCommentsForInstructor("i1@cvit.tmt").get(1).giverEmail);
+    }
+
+    @Test
+    public void testGetCommentsForStudent() {
+        CommentAttributes commentToStudent =
+                createComment("i1@cvit.tmt", CommentParticipantType.PERSON, student1.email,
+                              CommentParticipantType.PERSON);
+        commentToStudent.showGiverNameTo.add(CommentParticipantType.PERSON);
+        CommentAttributes commentToTeammate =
+                createComment("i1@cvit.tmt", CommentParticipantType.PERSON, student2.email,
+                              CommentParticipantType.TEAM);
+        commentToTeammate.showRecipientNameTo.add(CommentParticipantType.TEAM);
+        CommentAttributes commentToTeam =
+                createComment("i1@cvit.tmt", CommentParticipantType.TEAM, student1.team, CommentParticipantType.TEAM);
+        CommentAttributes commentToOtherTeamForSection =
+                createComment("i1@cvit.tmt", CommentParticipantType.TEAM, student3.team,
+                              CommentParticipantType.SECTION);
+        CommentAttributes commentToCourse =
+                createComment("i1@cvit.tmt", CommentParticipantType.COURSE, COURSE_ID, CommentParticipantType.COURSE);
+        CommentAttributes commentToOtherStudent =
+                createComment("i1@cvit.tmt", CommentParticipantType.PERSON, student3.email,
+                              CommentParticipantType.PERSON);
+
+        // shown to the course but not to the section of the student it is given to, which is covered first
+        CommentAttributes commentHiddenFromStudent =
+                createComment("i1@cvit.tmt", CommentParticipantType.PERSON, student1.email,
+                              CommentParticipantType.COURSE);
+
+        CommentVisibilityIndex index = new CommentVisibilityIndex(
+                COURSE_ID, Arrays.asList(commentToStudent, commentToTeammate, commentToTeam,
+                                         commentToOtherTeamForSection, commentToCourse, commentToOtherStudent,
+                                         commentHiddenFromStudent));
+
+        ______TS("comments to the student, team, section and course");
+
+        List<CommentAttributes> comments = index.getCommentsForStudent(student1, studentsInSection1);
+        assertEquals(getCommentIds(commentToCourse, commentToOtherTeamForSection, commentToTeam,
+                                   commentToTeammate, commentToStudent),
+                     getCommentIds(comments));
+        assertEquals("i1@cvit.tmt", comments.get(4).giverEmail);
+        assertEquals(ANONYMOUS, comments.get(3).giverEmail);
+        assertTrue(comments.get(3).recipients.contains(student2.email));
+
+        ______TS("comments are decided by the first scope that covers the student");
+
+        comments = index.getCommentsForStudent(student3, studentsInSection1);
+        assertEquals(getCommentIds(commentToOtherStudent, commentToCourse), getCommentIds(comments));
+
+        ______TS("comments shown to the course are visible to the students of other sections");
+
+        comments = index.getCommentsForStudent(student4, Arrays.asList(student4));
+        assertEquals(getCommentIds(commentHiddenFromStudent, commentToCourse), getCommentIds(comments));
+        assertTrue(comments.get(0).recipients.contains(ANONYMOUS));
+
+        ______TS("no comments");
+
+        index = new CommentVisibilityIndex(COURSE_ID, new ArrayList<CommentAttributes>());
+        assertTrue(index.getCommentsForStudent(student1, studentsInSection1).isEmpty());
+        assertTrue(index.getCommentsForInstructor("i1@cvit.tmt").isEmpty());
+    }
+
+    /**
+     * Creates a comment which is newer than the comments created before it, and shown to the viewers
+     * without showing the giver or recipient names.
+     */
+    private CommentAttributes createComment(String giverEmail, CommentParticipantType recipientType,
+                                            String recipient, CommentParticipantType... viewers) {
+        long commentId = nextCommentId++;
+        CommentAttributes comment = new CommentAttributes(COURSE_ID, giverEmail, recipientType,
+                                                          new HashSet<String>(Arrays.asList(recipient)),
+                                                          new Date(commentId * 1000), new Text("comment"));
+        comment.setCommentId(commentId);
+        comment.showCommentTo = new ArrayList<CommentParticipantType>(Arrays.asList(viewers));
+        comment.showGiverNameTo = new ArrayList<CommentParticipantType>();
+        comment.showRecipientNameTo = new ArrayList<CommentParticipantType>();
+        return comment;
+    }
+
+    private List<Long> getCommentIds(CommentAttributes... comments) {
+        return getCommentIds(Arrays.asList(comments));
+    }
+
+    private List<Long> getCommentIds(List<CommentAttributes> comments) {
+        List<Long> commentIds = new ArrayList<Long>();
+        for (CommentAttributes comment : comments) {
+            commentIds.add(comment.getCommentId());
+        }
+        return commentIds;
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+}
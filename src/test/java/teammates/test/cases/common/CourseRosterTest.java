@@ -8,6 +8,7 @@ import org.testng.annotations.Test;
 import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
 import teammates.test.cases.BaseTestCase;
 
 public class CourseRosterTest extends BaseTestCase {
@@ -68,6 +69,17 @@ public class CourseRosterTest extends BaseTestCase {
         assertFalse(roster.isStudentsInSameTeam("s1@gmail.com", "s3@gmail.com"));
         assertTrue(roster.isStudentsInSameTeam("s2@gmail.com", "s1@gmail.com"));
         
+        assertEquals(2, roster.getStudentsForTeam("team 1").size());
+        assertEquals("s3@gmail.com", roster.getStudentsForTeam("team 2").get(0).email);
+        assertTrue(roster.getStudentsForTeam("non-existent team").isEmpty());
+        
+        List<String> teamNames = roster.getTeamNames();
+        assertEquals(2, teamNames.size());
+        assertTrue(teamNames.contains("team 1"));
+        assertTrue(teamNames.contains("team 2"));
+        assertEquals("section of team 2", roster.getSectionForTeam("team 2"));
+        assertEquals(Const.DEFAULT_SECTION, roster.getSectionForTeam("non-existent team"));
+        
         assertEquals(roster.getInstructorForEmail("ins1@email.com").email, "ins1@email.com");
         assertEquals(roster.getInstructorForEmail("ins1@email.com").name, "John");
         assertEquals(roster.getInstructorForEmail("ins2@email.com").email, "ins2@email.com");
@@ -81,6 +93,7 @@ public class CourseRosterTest extends BaseTestCase {
             StudentAttributes student = new StudentAttributes();
             student.team = studentData[i];
             student.email = studentData[i + 1];
+            student.section = "section of " + student.team;
             students.add(student);
         }
         return students;
@@ -0,0 +1,111 @@
+package teammates.test.cases.common;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.FeedbackContributionQuestionDetails;
+import teammates.common.datatransfer.FeedbackContributionResponseDetails;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionDetails;
+import teammates.common.datatransfer.FeedbackResponseAnswerHtmlCache;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseDetails;
+import teammates.common.datatransfer.FeedbackTextQuestionDetails;
+import teammates.common.datatransfer.FeedbackTextResponseDetails;
+import teammates.test.cases.BaseTestCase;
+
+public class FeedbackResponseAnswerHtmlCacheTest extends BaseTestCase {
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+
+    @BeforeMethod
+    public void clearCache() {
+        FeedbackResponseAnswerHtmlCache.clear();
+    }
+
+    @Test
+    public void testGetAndPut() {
+        FeedbackQuestionAttributes question = createQuestion(new FeedbackTextQuestionDetails("Question text"));
+        FeedbackResponseAttributes response = createResponse(question, new FeedbackTextResponseDetails("Answer"));
+
+        ______TS("not cached");
+
+        assertNull(FeedbackResponseAnswerHtmlCache.get(response, question));
+
+        ______TS("cached");
+
+        FeedbackResponseAnswerHtmlCache.put(response, question, "Answer HTML");
+        assertEquals("Answer HTML", FeedbackResponseAnswerHtmlCache.get(response, question));
+
+        ______TS("same content read again");
+
+        FeedbackQuestionAttributes sameQuestion = createQuestion(new FeedbackTextQuestionDetails("Question text"));
+        FeedbackResponseAttributes sameResponse = new FeedbackResponseAttributes(response);
+        assertEquals("Answer HTML", FeedbackResponseAnswerHtmlCache.get(sameResponse, sameQuestion));
+
+        ______TS("stale after the answer is changed");
+
+        FeedbackResponseAttributes changedResponse =
+                createResponse(question, new FeedbackTextResponseDetails("Changed answer"));
+        assertNull(FeedbackResponseAnswerHtmlCache.get(changedResponse, question));
+
+        ______TS("stale after the question details are changed");
+
+        FeedbackQuestionAttributes changedQuestion =
+                createQuestion(new FeedbackTextQuestionDetails("Changed question text"));
+        assertNull(FeedbackResponseAnswerHtmlCache.get(response, changedQuestion));
+
+        ______TS("invalidated");
+
+        FeedbackResponseAnswerHtmlCache.invalidate(response.getId());
+        assertNull(FeedbackResponseAnswerHtmlCache.get(response, question));
+    }
+
+    @Test
+    public void testNotCacheable() {
+        ______TS("contribution question, whose answers depend on the other responses of the team");
+
+        FeedbackQuestionAttributes contributionQuestion =
+                createQuestion(new FeedbackContributionQuestionDetails("Contribution question"));
+        FeedbackResponseAttributes contributionResponse =
+                createResponse(contributionQuestion, new FeedbackContributionResponseDetails(100));
+        FeedbackResponseAnswerHtmlCache.put(contributionResponse, contributionQuestion, "Equal share");
+        assertNull(FeedbackResponseAnswerHtmlCache.get(contributionResponse, contributionQuestion));
+
+        ______TS("response without an id");
+
+        FeedbackQuestionAttributes question = createQuestion(new FeedbackTextQuestionDetails("Question text"));
+        FeedbackResponseAttributes response = createResponse(question, new FeedbackTextResponseDetails("Answer"));
+        response.setId(null);
+        FeedbackResponseAnswerHtmlCache.put(response, question, "Answer HTML");
+        assertNull(FeedbackResponseAnswerHtmlCache.get(response, question));
+    }
+
+    private static FeedbackQuestionAttributes createQuestion(FeedbackQuestionDetails questionDetails) {
+        FeedbackQuestionAttributes question = new FeedbackQuestionAttributes();
+        question.setId("FRAHCT.question");
+        question.questionType = questionDetails.getQuestionType();
+        question.setQuestionDetails(questionDetails);
+        return question;
+    }
+
+    private static FeedbackResponseAttributes createResponse(FeedbackQuestionAttributes question,
+                                                             FeedbackResponseDetails responseDetails) {
+        FeedbackResponseAttributes response = new FeedbackResponseAttributes(
+                "FRAHCT session", "FRAHCT.course", question.getId(), question.questionType,
+                "giver@frahct.tmt", "None", "recipient@frahct.tmt", "None", null);
+        response.setResponseDetails(responseDetails);
+        response.setId(question.getId() + "%giver@frahct.tmt%recipient@frahct.tmt");
+        return response;
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+}
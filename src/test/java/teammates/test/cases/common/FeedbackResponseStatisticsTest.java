@@ -0,0 +1,105 @@
+package teammates.test.cases.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.FeedbackResponseStatistics;
+import teammates.test.cases.BaseTestCase;
+
+public class FeedbackResponseStatisticsTest extends BaseTestCase {
+
+    @Test
+    public void testAggregation() {
+
+        ______TS("no values");
+
+        FeedbackResponseStatistics statistics = new FeedbackResponseStatistics(true);
+        assertEquals(0, statistics.getNumKeys());
+        assertTrue(statistics.getKeys().isEmpty());
+        assertEquals(-1, statistics.getId("r1@gmail.tmt"));
+        assertFalse(statistics.hasAnyValueExcludingSelf());
+
+        ______TS("keys are interned to consecutive ids");
+
+        assertEquals(0, statistics.intern("r1@gmail.tmt"));
+        assertEquals(1, statistics.intern("r2@gmail.tmt"));
+        assertEquals(0, statistics.intern("r1@gmail.tmt"));
+        assertEquals(2, statistics.getNumKeys());
+        assertEquals("r2@gmail.tmt", statistics.getKey(1));
+        assertEquals(0, statistics.getCount(1));
+
+        ______TS("values including and excluding self responses");
+
+        statistics.add("r1@gmail.tmt", 3, false);
+        statistics.add("r1@gmail.tmt", 1.5, true);
+        statistics.add("r1@gmail.tmt", 4, false);
+        statistics.add("r2@gmail.tmt", 2, true);
+
+        int r1 = statistics.getId("r1@gmail.tmt");
+        assertEquals(3, statistics.getCount(r1));
+        assertEquals(2, statistics.getCountExcludingSelf(r1));
+        assertEquals(1.5, statistics.getMin(r1), 0);
+        assertEquals(4, statistics.getMax(r1), 0);
+        assertEquals(8.5, statistics.getTotal(r1), 0);
+        assertEquals(8.5 / 3, statistics.getAverage(r1), 0);
+        assertEquals(3.5, statistics.getAverageExcludingSelf(r1), 0);
+
+        int r2 = statistics.getId("r2@gmail.tmt");
+        assertEquals(1, statistics.getCount(r2));
+        assertEquals(2, statistics.getMin(r2), 0);
+        assertEquals(2, statistics.getMax(r2), 0);
+        assertNull(statistics.getAverageExcludingSelf(r2));
+        assertTrue(statistics.hasAnyValueExcludingSelf());
+
+        ______TS("sorted values and frequencies");
+
+        assertTrue(Arrays.equals(new double[] {1.5, 3, 4}, statistics.getSortedValues(r1)));
+        assertTrue(Arrays.equals(new int[] {0, 0, 1, 0}, statistics.getValueFrequencies(r2, 4)));
+        assertTrue(Arrays.equals(new int[] {0, 0, 0, 1, 1}, statistics.getValueFrequencies(r1, 5)));
+
+        statistics.add(r2, 0, false);
+        assertTrue(Arrays.equals(new double[] {0, 2}, statistics.getSortedValues(r2)));
+        assertEquals(0, statistics.getMin(r2), 0);
+    }
+
+    @Test
+    public void testAddManyTimes() {
+        FeedbackResponseStatistics statistics = new FeedbackResponseStatistics(true);
+        int id = statistics.intern("r1@gmail.tmt");
+        statistics.add(id, 2, false, 3);
+        statistics.add(id, 5, true, 1);
+        statistics.add(id, 7, false, 0);
+
+        assertEquals(4, statistics.getCount(id));
+        assertEquals(3, statistics.getCountExcludingSelf(id));
+        assertEquals(11, statistics.getTotal(id), 0);
+        assertEquals(2, statistics.getMin(id), 0);
+        assertEquals(5, statistics.getMax(id), 0);
+        assertTrue(Arrays.equals(new double[] {2, 2, 2, 5}, statistics.getSortedValues(id)));
+    }
+
+    @Test
+    public void testManyKeys() {
+        FeedbackResponseStatistics statistics = new FeedbackResponseStatistics(false);
+        Map<String, Integer> expectedOrder = new HashMap<String, Integer>();
+        for (int i = 0; i < 1000; i++) {
+            String recipient = "recipient" + (i * 7 % 100) + "@gmail.tmt";
+            statistics.add(recipient, i, i % 3 == 0);
+            expectedOrder.put(recipient, 0);
+        }
+
+        assertEquals(100, statistics.getNumKeys());
+        assertEquals(new ArrayList<String>(expectedOrder.keySet()), new ArrayList<String>(statistics.getKeys()));
+
+        int id = statistics.getId("recipient0@gmail.tmt");
+        assertEquals(10, statistics.getCount(id));
+        assertEquals(0, statistics.getMin(id), 0);
+        assertEquals(900, statistics.getMax(id), 0);
+        assertEquals(4500, statistics.getTotal(id), 0);
+    }
+
+}
@@ -0,0 +1,89 @@
+package teammates.test.cases.common;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.util.Const;
+import teammates.common.util.GoogleCloudStorageHelper;
+import teammates.common.util.GroupReceiverListReader;
+import teammates.test.cases.BaseComponentTestCase;
+import teammates.test.driver.AssertHelper;
+
+import com.google.appengine.api.blobstore.BlobKey;
+
+public class GroupReceiverListReaderTest extends BaseComponentTestCase {
+
+    private static final String RECEIVER_LIST = "alice@example.com,bob@example.com, carol@example.com,"
+                                                + Const.EOL + "dave@example.com,,eve@example.com," + Const.EOL;
+    private static final List<String> RECEIVERS = Arrays.asList("alice@example.com", "bob@example.com",
+            "carol@example.com", "dave@example.com", "eve@example.com");
+
+    private BlobKey blobKey;
+    private long fileSize;
+
+    @BeforeClass
+    public void classSetUp() throws Exception {
+        printTestClassHeader();
+        byte[] receiverList = RECEIVER_LIST.getBytes(Const.SystemParams.ENCODING);
+        blobKey = new BlobKey(GoogleCloudStorageHelper.writeImageDataToGcs("groupReceiverList", receiverList));
+        fileSize = receiverList.length;
+    }
+
+    @Test
+    public void testReadReceivers() throws IOException {
+
+        ______TS("the whole file");
+
+        assertEquals(RECEIVERS, readReceivers(new GroupReceiverListReader(blobKey)));
+
+        ______TS("each receiver is read by exactly one of two consecutive shards, wherever the file is split");
+
+        for (long splitOffset = 0; splitOffset <= fileSize; splitOffset++) {
+            List<String> receivers = readReceivers(new GroupReceiverListReader(blobKey, 0, splitOffset));
+            receivers.addAll(readReceivers(new GroupReceiverListReader(blobKey, splitOffset, fileSize)));
+            assertEquals("split at offset " + splitOffset, RECEIVERS.toString(), receivers.toString());
+        }
+
+        ______TS("reading can be resumed from the offset reached");
+
+        GroupReceiverListReader reader = new GroupReceiverListReader(blobKey, 0, fileSize);
+        List<String> receivers = new ArrayList<String>();
+        receivers.add(reader.readNextReceiver());
+        receivers.add(reader.readNextReceiver());
+        reader.close();
+        receivers.addAll(readReceivers(new GroupReceiverListReader(blobKey, reader.getOffset(), fileSize)));
+        assertEquals(RECEIVERS, receivers);
+
+        ______TS("missing file");
+
+        GroupReceiverListReader missingFileReader = new GroupReceiverListReader(new BlobKey("missingFileKey"));
+        try {
+            missingFileReader.readNextReceiver();
+            signalFailureToDetectException();
+        } catch (IOException e) {
+            AssertHelper.assertContains("Failed to read the group receiver list", e.getMessage());
+        } finally {
+            missingFileReader.close();
+        }
+    }
+
+    private static List<String> readReceivers(GroupReceiverListReader reader) throws IOException {
+        List<String> receivers = new ArrayList<String>();
+        try {
+            String receiver = reader.readNextReceiver();
+            while (receiver != null) {
+                receivers.add(receiver);
+                receiver = reader.readNextReceiver();
+            }
+        } finally {
+            reader.close();
+        }
+        return receivers;
+    }
+
+}
@@ -17,6 +17,7 @@ import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
+import teammates.common.util.ThreadHelper;
 import teammates.logic.core.CommentsLogic;
 import teammates.test.cases.BaseComponentTestCase;
 import teammates.test.driver.AssertHelper;
@@ -413,6 +414,39 @@ public class CommentsLogicTest extends BaseComponentTestCase {
         verifyAbsentInDatastore(c);
     }
     
+    @Test
+    public void testSendCommentNotification() {
+        String courseId = "CommentsLogicTest.notification-course";
+        
+        // avoid the requests below falling into different windows
+        long timeLeftInWindow = CommentsLogic.COMMENT_NOTIFICATION_WINDOW_MILLIS
+                                - System.currentTimeMillis() % CommentsLogic.COMMENT_NOTIFICATION_WINDOW_MILLIS;
+        if (timeLeftInWindow < 5000) {
+            ThreadHelper.waitFor((int) timeLeftInWindow);
+        }
+        
+        long requestCount = CommentsLogic.getCommentNotificationRequestCount();
+        long coalescedRequestCount = CommentsLogic.getCoalescedCommentNotificationRequestCount();
+        
+        ______TS("first request in the window adds a task");
+        
+        commentsLogic.sendCommentNotification(courseId);
+        assertEquals(requestCount + 1, CommentsLogic.getCommentNotificationRequestCount());
+        assertEquals(coalescedRequestCount, CommentsLogic.getCoalescedCommentNotificationRequestCount());
+        
+        ______TS("later requests in the window are coalesced");
+        
+        commentsLogic.sendCommentNotification(courseId);
+        commentsLogic.sendCommentNotification(courseId);
+        assertEquals(requestCount + 3, CommentsLogic.getCommentNotificationRequestCount());
+        assertEquals(coalescedRequestCount + 2, CommentsLogic.getCoalescedCommentNotificationRequestCount());
+        
+        ______TS("requests for another course are not coalesced with them");
+        
+        commentsLogic.sendCommentNotification(courseId + "2");
+        assertEquals(coalescedRequestCount + 2, CommentsLogic.getCoalescedCommentNotificationRequestCount());
+    }
+    
     // TODO: add tests for those one level down api call if test coverage is considered
     
     private void verifyCommentsGiverNameVisible(List<CommentAttributes> comments) {
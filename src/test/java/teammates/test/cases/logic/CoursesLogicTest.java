@@ -22,12 +22,19 @@ import teammates.common.datatransfer.StudentProfileAttributes;
 import teammates.common.datatransfer.TeamDetailsBundle;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
+import teammates.common.util.Const;
+import teammates.logic.automated.CascadeDeletionAction;
 import teammates.logic.core.AccountsLogic;
+import teammates.logic.core.CascadeDeletionLogic;
 import teammates.logic.core.CoursesLogic;
 import teammates.logic.core.InstructorsLogic;
 import teammates.logic.core.StudentsLogic;
 import teammates.storage.api.AccountsDb;
+import teammates.storage.api.CommentsDb;
 import teammates.storage.api.CoursesDb;
+import teammates.storage.api.FeedbackQuestionsDb;
+import teammates.storage.api.FeedbackResponseCommentsDb;
+import teammates.storage.api.FeedbackResponsesDb;
 import teammates.storage.api.InstructorsDb;
 import teammates.test.cases.BaseComponentTestCase;
 import teammates.test.driver.AssertHelper;
@@ -38,6 +45,10 @@ public class CoursesLogicTest extends BaseComponentTestCase {
     private static final CoursesDb coursesDb = new CoursesDb();
     private static final AccountsDb accountsDb = new AccountsDb();
     private static final InstructorsDb instructorsDb = new InstructorsDb();
+    private static final CommentsDb commentsDb = new CommentsDb();
+    private static final FeedbackQuestionsDb fqDb = new FeedbackQuestionsDb();
+    private static final FeedbackResponsesDb frDb = new FeedbackResponsesDb();
+    private static final FeedbackResponseCommentsDb frcDb = new FeedbackResponseCommentsDb();
     
     private static DataBundle dataBundle = getTypicalDataBundle();
 
@@ -1158,7 +1169,7 @@ public class CoursesLogicTest extends BaseComponentTestCase {
         assertTrue(map.get("idOfTypicalCourse1").contains("Section 2"));
     }
 
-    public void testDeleteCourse() {
+    public void testDeleteCourse() throws Exception {
     
         ______TS("typical case");
     
@@ -1206,5 +1217,53 @@ public class CoursesLogicTest extends BaseComponentTestCase {
         } catch (AssertionError e) {
             assertEquals("Supplied parameter was null\n", e.getMessage());
         }
+        
+        ______TS("deletion in the background");
+        
+        removeAndRestoreTypicalDataInDatastore();
+        String courseId = course1OfInstructor.getId();
+        
+        coursesLogic.deleteCourseCascadeInBackground(courseId);
+        
+        // the course is removed from view at once
+        verifyAbsentInDatastore(course1OfInstructor);
+        verifyAbsentInDatastore(dataBundle.instructors.get("instructor1OfCourse1"));
+        verifyAbsentInDatastore(dataBundle.feedbackSessions.get("session1InCourse1"));
+        
+        // and its students by the first batch of the deletion, before the rest of its data
+        CascadeDeletionLogic.Stage firstStage = CascadeDeletionLogic.inst().getFirstStage(null);
+        assertNull(CascadeDeletionLogic.inst().deleteBatch(courseId, null, firstStage, null));
+        verifyAbsentInDatastore(dataBundle.students.get("student1InCourse1"));
+        verifyAbsentInDatastore(dataBundle.students.get("student5InCourse1"));
+        assertFalse(commentsDb.getCommentsForCourse(courseId).isEmpty());
+        assertFalse(frDb.getFeedbackResponsesForCourse(courseId).isEmpty());
+        
+        // the course cannot be created again while its data is being deleted
+        try {
+            coursesLogic.createCourse(courseId, "New course", "UTC");
+            signalFailureToDetectException();
+        } catch (InvalidParametersException e) {
+            assertEquals(String.format(Const.StatusMessages.COURSE_DELETION_PENDING, courseId), e.getMessage());
+        }
+        
+        HashMap<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(Const.ParamsNames.COURSE_ID, courseId);
+        paramMap.put(Const.ParamsNames.CASCADE_DELETION_STAGE,
+                     CascadeDeletionLogic.inst().getNextStage(null, firstStage).name());
+        assertTrue(new CascadeDeletionAction(paramMap).execute());
+        
+        verifyAbsentInDatastore(dataBundle.comments.get("comment1FromI1C1toS1C1"));
+        assertTrue(commentsDb.getCommentsForCourse(courseId).isEmpty());
+        assertTrue(frcDb.getFeedbackResponseCommentsForCourse(courseId).isEmpty());
+        assertTrue(frDb.getFeedbackResponsesForCourse(courseId).isEmpty());
+        assertTrue(fqDb.getFeedbackQuestionsForCourse(courseId).isEmpty());
+        
+        ______TS("the course can be created again once its data has been deleted");
+        
+        coursesLogic.createCourse(courseId, "New course", "UTC");
+        assertTrue(coursesLogic.isCoursePresent(courseId));
+        assertTrue(StudentsLogic.inst().getStudentsForCourse(courseId).isEmpty());
+        
+        coursesLogic.deleteCourseCascade(courseId);
     }
 }
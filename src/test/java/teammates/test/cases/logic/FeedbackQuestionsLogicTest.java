@@ -9,11 +9,13 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackQuestionDetails;
 import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Const;
@@ -21,6 +23,8 @@ import teammates.common.util.FieldValidator;
 import teammates.logic.core.AccountsLogic;
 import teammates.logic.core.FeedbackQuestionsLogic;
 import teammates.logic.core.FeedbackResponsesLogic;
+import teammates.logic.core.InstructorsLogic;
+import teammates.logic.core.StudentsLogic;
 import teammates.test.cases.BaseComponentTestCase;
 
 import com.google.appengine.api.datastore.Text;
@@ -119,6 +123,24 @@ public class FeedbackQuestionsLogicTest extends BaseComponentTestCase {
         recipients = fqLogic.getRecipientsForQuestion(question, email);
         assertEquals(recipients.get(email), Const.USER_NAME_FOR_SELF);
         assertEquals(recipients.size(), 1);
+        
+        ______TS("recipients from a preloaded roster");
+        
+        String courseId = typicalBundle.courses.get("typicalCourse1").getId();
+        CourseRoster roster = new CourseRoster(StudentsLogic.inst().getStudentsForCourse(courseId),
+                                               InstructorsLogic.inst().getInstructorsForCourse(courseId));
+        StudentAttributes studentGiver = typicalBundle.students.get("student1InCourse1");
+        InstructorAttributes instructorGiver = typicalBundle.instructors.get("instructor1OfCourse1");
+        for (String questionKey : new String[] {"qn1InSession1InCourse1", "qn2InSession1InCourse1",
+                                                "qn3InSession1InCourse1", "team.feedback",
+                                                "team.members.feedback"}) {
+            question = getQuestionFromDatastore(questionKey);
+            assertEquals(fqLogic.getRecipientsForQuestion(question, studentGiver.email, null, studentGiver),
+                         fqLogic.getRecipientsForQuestion(question, studentGiver.email, null, studentGiver, roster));
+            assertEquals(fqLogic.getRecipientsForQuestion(question, instructorGiver.email, instructorGiver, null),
+                         fqLogic.getRecipientsForQuestion(question, instructorGiver.email, instructorGiver, null,
+                                                          roster));
+        }
 
     }
     
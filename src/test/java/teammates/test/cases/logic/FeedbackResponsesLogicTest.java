@@ -1,7 +1,10 @@
 package teammates.test.cases.logic;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -11,10 +14,14 @@ import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionDetails;
+import teammates.common.datatransfer.FeedbackQuestionStatisticsAttributes;
 import teammates.common.datatransfer.FeedbackQuestionType;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.FeedbackResponseStatistics;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.datatransfer.StudentEnrollDetails;
@@ -23,6 +30,9 @@ import teammates.common.datatransfer.UserType.Role;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
+import teammates.common.util.Const;
+import teammates.logic.automated.FeedbackQuestionStatisticsRebuildAction;
+import teammates.logic.core.FeedbackQuestionStatisticsLogic;
 import teammates.logic.core.FeedbackQuestionsLogic;
 import teammates.logic.core.FeedbackResponseCommentsLogic;
 import teammates.logic.core.FeedbackResponsesLogic;
@@ -37,10 +47,13 @@ import com.google.appengine.api.datastore.Text;
 
 public class FeedbackResponsesLogicTest extends BaseComponentTestCase {
     
+    private static final String STATISTICS_COURSE_ID = "FSQTT.idOfTypicalCourse1";
+    
     private static FeedbackSessionsLogic fsLogic = FeedbackSessionsLogic.inst();
     private static FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
     private static FeedbackResponsesLogic frLogic = FeedbackResponsesLogic.inst();
     private static FeedbackResponseCommentsLogic frcLogic = FeedbackResponseCommentsLogic.inst();
+    private static FeedbackQuestionStatisticsLogic fqsLogic = FeedbackQuestionStatisticsLogic.inst();
     private DataBundle typicalBundle = getTypicalDataBundle();
     private DataBundle questionTypeBundle = loadDataBundle("/FeedbackSessionQuestionTypeTest.json");
     
@@ -64,6 +77,7 @@ public class FeedbackResponsesLogicTest extends BaseComponentTestCase {
         testDeleteFeedbackResponsesForStudent();
         testSpecialCharactersInTeamName();
         testDeleteFeedbackResponsesForCourse();
+        testFeedbackQuestionStatistics();
     }
 
     public void testSpecialCharactersInTeamName() {
@@ -659,6 +673,233 @@ public class FeedbackResponsesLogicTest extends BaseComponentTestCase {
 
     }
 
+    public void testFeedbackQuestionStatistics() throws Exception {
+        removeAndRestoreDatastoreFromJson("/FeedbackSessionQuestionTypeTest.json");
+        
+        testRebuildFeedbackQuestionStatistics();
+        testUpdateStatisticsWithResponses();
+        testUpdateQuestionWithStatistics();
+        testResultsBundleUsesStoredStatistics();
+    }
+    
+    private void testRebuildFeedbackQuestionStatistics() {
+
+        ______TS("responses added from the data bundle have no statistics");
+
+        FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestion("NUMSCALE Session", STATISTICS_COURSE_ID, 1);
+        assertNull(fqsLogic.getFeedbackQuestionStatistics(question.getId()));
+
+        ______TS("rebuilt statistics match the statistics aggregated from the responses");
+
+        String[][] incrementalQuestions = {
+                {"MCQ Session", "1"}, {"MCQ Session", "2"}, {"MCQ Session", "3"},
+                {"MSQ Session", "1"}, {"MSQ Session", "2"}, {"MSQ Session", "3"},
+                {"NUMSCALE Session", "1"}, {"NUMSCALE Session", "2"},
+                {"CONSTSUM Session", "1"}, {"CONSTSUM Session", "2"}, {"CONSTSUM Session", "3"},
+                {"RUBRIC Session", "1"}
+        };
+        for (String[] sessionAndNumber : incrementalQuestions) {
+            question = fqLogic.getFeedbackQuestion(sessionAndNumber[0], STATISTICS_COURSE_ID,
+                                                   Integer.parseInt(sessionAndNumber[1]));
+            frLogic.rebuildFeedbackQuestionStatistics(question);
+            verifyStoredStatisticsMatchResponses(question);
+        }
+
+        ______TS("statistics of rank questions are not stored");
+
+        question = fqLogic.getFeedbackQuestion("RANK Session", STATISTICS_COURSE_ID, 1);
+        assertEquals(FeedbackQuestionType.RANK_RECIPIENTS, question.questionType);
+        frLogic.rebuildFeedbackQuestionStatistics(question);
+        assertNull(fqsLogic.getFeedbackQuestionStatistics(question.getId()));
+
+        ______TS("rebuild action restores deleted statistics");
+
+        question = fqLogic.getFeedbackQuestion("MSQ Session", STATISTICS_COURSE_ID, 1);
+        fqsLogic.deleteFeedbackQuestionStatistics(question.getId());
+        assertNull(fqsLogic.getFeedbackQuestionStatistics(question.getId()));
+
+        HashMap<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(Const.ParamsNames.FEEDBACK_QUESTION_ID, question.getId());
+        assertTrue(new FeedbackQuestionStatisticsRebuildAction(paramMap).execute());
+        verifyStoredStatisticsMatchResponses(question);
+
+        ______TS("rebuild action for a deleted question");
+
+        paramMap.put(Const.ParamsNames.FEEDBACK_QUESTION_ID, "non-existent-question-id");
+        assertTrue(new FeedbackQuestionStatisticsRebuildAction(paramMap).execute());
+        assertNull(fqsLogic.getFeedbackQuestionStatistics("non-existent-question-id"));
+    }
+
+    private void testUpdateStatisticsWithResponses() throws Exception {
+        FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestion("NUMSCALE Session", STATISTICS_COURSE_ID, 1);
+        fqsLogic.deleteFeedbackQuestionStatistics(question.getId());
+
+        ______TS("first response saved without stored statistics builds them from all responses");
+
+        FeedbackResponseAttributes response = new FeedbackResponseAttributes(
+                "NUMSCALE Session", STATISTICS_COURSE_ID, question.getId(), FeedbackQuestionType.NUMSCALE,
+                "student3InCourse1@gmail.tmt", Const.DEFAULT_SECTION,
+                "student3InCourse1@gmail.tmt", Const.DEFAULT_SECTION,
+                new Text("{\"answer\":4,\"questionType\":\"NUMSCALE\"}"));
+        frLogic.createFeedbackResponse(response);
+
+        FeedbackQuestionStatisticsAttributes statistics = fqsLogic.getFeedbackQuestionStatistics(question.getId());
+        assertEquals(3, statistics.getNumResponses());
+        assertEquals(1, statistics.getCount("student3InCourse1@gmail.tmt", 4));
+        verifyStoredStatisticsMatchResponses(question);
+
+        ______TS("created response is added to the stored statistics");
+
+        FeedbackResponseAttributes anotherResponse = new FeedbackResponseAttributes(
+                "NUMSCALE Session", STATISTICS_COURSE_ID, question.getId(), FeedbackQuestionType.NUMSCALE,
+                "student4InCourse1@gmail.tmt", Const.DEFAULT_SECTION,
+                "student4InCourse1@gmail.tmt", Const.DEFAULT_SECTION,
+                new Text("{\"answer\":1.5,\"questionType\":\"NUMSCALE\"}"));
+        frLogic.createFeedbackResponse(anotherResponse);
+
+        statistics = fqsLogic.getFeedbackQuestionStatistics(question.getId());
+        assertEquals(4, statistics.getNumResponses());
+        assertEquals(1, statistics.getCount("student4InCourse1@gmail.tmt", 1.5));
+        verifyStoredStatisticsMatchResponses(question);
+
+        ______TS("updated answer replaces the old answer in the stored statistics");
+
+        response = frLogic.getFeedbackResponse(question.getId(), "student3InCourse1@gmail.tmt",
+                                               "student3InCourse1@gmail.tmt");
+        response.responseMetaData = new Text("{\"answer\":5,\"questionType\":\"NUMSCALE\"}");
+        frLogic.updateFeedbackResponse(response);
+
+        statistics = fqsLogic.getFeedbackQuestionStatistics(question.getId());
+        assertEquals(4, statistics.getNumResponses());
+        assertEquals(0, statistics.getCount("student3InCourse1@gmail.tmt", 4));
+        assertEquals(1, statistics.getCount("student3InCourse1@gmail.tmt", 5));
+        verifyStoredStatisticsMatchResponses(question);
+
+        ______TS("deleted response is removed from the stored statistics");
+
+        frLogic.deleteFeedbackResponseAndCascade(response);
+
+        statistics = fqsLogic.getFeedbackQuestionStatistics(question.getId());
+        assertEquals(3, statistics.getNumResponses());
+        assertEquals(0, statistics.getCount("student3InCourse1@gmail.tmt", 5));
+        verifyStoredStatisticsMatchResponses(question);
+
+        ______TS("deleting all responses of the question deletes its statistics");
+
+        FeedbackQuestionAttributes mcqQuestion = fqLogic.getFeedbackQuestion("MCQ Session", STATISTICS_COURSE_ID, 1);
+        assertNotNull(fqsLogic.getFeedbackQuestionStatistics(mcqQuestion.getId()));
+        frLogic.deleteFeedbackResponsesForQuestionAndCascade(mcqQuestion.getId(), true);
+        assertNull(fqsLogic.getFeedbackQuestionStatistics(mcqQuestion.getId()));
+    }
+
+    private void testUpdateQuestionWithStatistics() throws Exception {
+
+        ______TS("changing the question details deletes the statistics, to be rebuilt later");
+
+        FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestion("CONSTSUM Session", STATISTICS_COURSE_ID, 1);
+        assertNotNull(fqsLogic.getFeedbackQuestionStatistics(question.getId()));
+
+        FeedbackQuestionDetails questionDetails = question.getQuestionDetails();
+        questionDetails.setQuestionText("New question text");
+        question.setQuestionDetails(questionDetails);
+        fqLogic.updateFeedbackQuestion(question);
+
+        assertNull(fqsLogic.getFeedbackQuestionStatistics(question.getId()));
+
+        ______TS("changing only the question description keeps the statistics");
+
+        question = fqLogic.getFeedbackQuestion("CONSTSUM Session", STATISTICS_COURSE_ID, 2);
+        assertNotNull(fqsLogic.getFeedbackQuestionStatistics(question.getId()));
+
+        question.setQuestionDescription(new Text("New question description"));
+        fqLogic.updateFeedbackQuestion(question);
+
+        assertNotNull(fqsLogic.getFeedbackQuestionStatistics(question.getId()));
+    }
+
+    private void testResultsBundleUsesStoredStatistics() throws Exception {
+        FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestion("NUMSCALE Session", STATISTICS_COURSE_ID, 1);
+        FeedbackQuestionStatisticsAttributes statistics = fqsLogic.getFeedbackQuestionStatistics(question.getId());
+        List<FeedbackResponseAttributes> responses = frLogic.getFeedbackResponsesForQuestion(question.getId());
+
+        ______TS("stored statistics covering all responses are used");
+
+        // changes a stored value without changing the number of responses, which only the stored statistics show
+        FeedbackResponseAttributes response = responses.get(0);
+        double answer = Double.parseDouble(response.getResponseDetails().getAnswerString());
+        statistics.addValue(response.recipient, answer, response.giver.equals(response.recipient), -1);
+        statistics.addValue(response.recipient, 1, response.giver.equals(response.recipient), 1);
+        fqsLogic.updateFeedbackQuestionStatistics(statistics);
+
+        FeedbackResponseStatistics bundleStatistics = getStatisticsFromResultsBundle(question);
+        assertEquals(1, bundleStatistics.getMin(bundleStatistics.getId(response.recipient)), 0);
+
+        ______TS("stored statistics not covering all responses are not used");
+
+        FeedbackResponseAttributes missingResponse = new FeedbackResponseAttributes(response);
+        missingResponse.giver = "student5InCourse1@gmail.tmt";
+        missingResponse.recipient = "student5InCourse1@gmail.tmt";
+        statistics.addResponse(missingResponse, question.getQuestionDetails());
+        fqsLogic.updateFeedbackQuestionStatistics(statistics);
+
+        bundleStatistics = getStatisticsFromResultsBundle(question);
+        assertEquals(answer, bundleStatistics.getMin(bundleStatistics.getId(response.recipient)), 0);
+        assertEquals(-1, bundleStatistics.getId("student5InCourse1@gmail.tmt"));
+
+        ______TS("stored statistics which missed an update of an answer are not used");
+
+        // as if the update of the statistics for an edited answer were lost: the number of responses is the same
+        statistics = fqsLogic.getFeedbackQuestionStatistics(question.getId());
+        statistics.removeResponse(missingResponse, question.getQuestionDetails());
+        FeedbackResponseAttributes editedResponse = new FeedbackResponseAttributes(response);
+        editedResponse.responseMetaData = new Text("{\"answer\":1,\"questionType\":\"NUMSCALE\"}");
+        statistics.removeResponse(response, question.getQuestionDetails());
+        statistics.addResponse(editedResponse, question.getQuestionDetails());
+        fqsLogic.updateFeedbackQuestionStatistics(statistics);
+        assertEquals(responses.size(), fqsLogic.getFeedbackQuestionStatistics(question.getId()).getNumResponses());
+
+        bundleStatistics = getStatisticsFromResultsBundle(question);
+        assertEquals(answer, bundleStatistics.getMin(bundleStatistics.getId(response.recipient)), 0);
+    }
+
+    private FeedbackResponseStatistics getStatisticsFromResultsBundle(FeedbackQuestionAttributes question)
+            throws Exception {
+        FeedbackSessionResultsBundle bundle = fsLogic.getFeedbackSessionResultsForInstructor(
+                question.feedbackSessionName, question.courseId, "instructor1@course1.tmt");
+        for (Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> responsesForQuestion
+                : bundle.getQuestionResponseMap().entrySet()) {
+            if (responsesForQuestion.getKey().getId().equals(question.getId())) {
+                return bundle.getResponseStatistics(question.getId(), responsesForQuestion.getValue(),
+                                                    question.getQuestionDetails());
+            }
+        }
+        return null;
+    }
+
+    private void verifyStoredStatisticsMatchResponses(FeedbackQuestionAttributes question) {
+        FeedbackQuestionDetails questionDetails = question.getQuestionDetails();
+        List<FeedbackResponseAttributes> responses = frLogic.getFeedbackResponsesForQuestion(question.getId());
+        FeedbackQuestionStatisticsAttributes stored = fqsLogic.getFeedbackQuestionStatistics(question.getId());
+
+        assertEquals(responses.size(), stored.getNumResponses());
+        assertEquals(summarize(questionDetails.aggregateResponseStatistics(responses)),
+                     summarize(questionDetails.toResponseStatistics(stored)));
+    }
+
+    /**
+     * Summarizes the statistics of each key, ignoring the order in which the keys were added.
+     */
+    private Map<String, String> summarize(FeedbackResponseStatistics statistics) {
+        Map<String, String> summary = new TreeMap<String, String>();
+        for (String key : statistics.getKeys()) {
+            int id = statistics.getId(key);
+            summary.put(key, statistics.getCount(id) + "/" + statistics.getCountExcludingSelf(id)
+                             + " total=" + statistics.getTotal(id)
+                             + " min=" + statistics.getMin(id) + " max=" + statistics.getMax(id));
+        }
+        return summary;
+    }
+
     private FeedbackQuestionAttributes getQuestionFromDatastore(DataBundle dataBundle, String jsonId) {
         FeedbackQuestionAttributes questionToGet = dataBundle.feedbackQuestions.get(jsonId);
         questionToGet = fqLogic.getFeedbackQuestion(questionToGet.feedbackSessionName,
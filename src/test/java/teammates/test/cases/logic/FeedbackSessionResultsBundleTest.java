@@ -0,0 +1,99 @@
+package teammates.test.cases.logic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.logic.core.FeedbackSessionsLogic;
+import teammates.test.cases.BaseComponentTestCase;
+
+public class FeedbackSessionResultsBundleTest extends BaseComponentTestCase {
+
+    private static final FeedbackSessionsLogic fsLogic = FeedbackSessionsLogic.inst();
+    private DataBundle dataBundle = getTypicalDataBundle();
+
+    @BeforeClass
+    public void classSetUp() throws Exception {
+        printTestClassHeader();
+        removeAndRestoreTypicalDataInDatastore();
+    }
+
+    @Test
+    public void testResponseOrders() throws Exception {
+        FeedbackSessionAttributes session = dataBundle.feedbackSessions.get("session1InCourse1");
+        InstructorAttributes instructor = dataBundle.instructors.get("instructor1OfCourse1");
+        FeedbackSessionResultsBundle bundle = fsLogic.getFeedbackSessionResultsForInstructor(
+                session.getFeedbackSessionName(), session.getCourseId(), instructor.email);
+
+        ______TS("responses are sorted regardless of their original order");
+
+        List<FeedbackResponseAttributes> expected = new ArrayList<FeedbackResponseAttributes>(bundle.responses);
+        Collections.sort(expected, bundle.compareByGiverRecipientQuestion);
+
+        Collections.reverse(bundle.responses);
+        bundle.getResponsesSortedByGiverRecipientQuestion(false);
+        assertEquals(expected, bundle.responses);
+
+        Collections.shuffle(bundle.responses);
+        bundle.getResponsesSortedByGiverRecipientQuestion(false);
+        assertEquals(expected, bundle.responses);
+
+        ______TS("the same view is returned every time");
+
+        String byRecipient = bundle.getResponsesSortedByRecipient().toString();
+        String byGiver = bundle.getResponsesSortedByGiver().toString();
+        String byQuestion = bundle.getQuestionResponseMap().toString();
+        assertEquals(byRecipient, bundle.getResponsesSortedByRecipient().toString());
+        assertEquals(byGiver, bundle.getResponsesSortedByGiver().toString());
+        assertEquals(byQuestion, bundle.getQuestionResponseMap().toString());
+
+        ______TS("responses removed from the bundle are not in its views");
+
+        FeedbackResponseAttributes removed = bundle.responses.remove(0);
+        int numOfResponses = 0;
+        for (Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry
+                : bundle.getQuestionResponseMap().entrySet()) {
+            assertFalse(entry.getValue().contains(removed));
+            numOfResponses += entry.getValue().size();
+        }
+        assertEquals(bundle.responses.size(), numOfResponses);
+
+        bundle.getResponsesSortedByGiverRecipientQuestion(false);
+        expected.remove(removed);
+        assertEquals(expected, bundle.responses);
+
+        ______TS("responses to a question missing from the bundle are ordered after the others");
+
+        bundle = fsLogic.getFeedbackSessionResultsForInstructor(
+                session.getFeedbackSessionName(), session.getCourseId(), instructor.email);
+        String missingQuestionId = bundle.responses.get(0).feedbackQuestionId;
+        bundle.questions.remove(missingQuestionId);
+        numOfResponses = bundle.responses.size();
+
+        bundle.getResponsesSortedByGiverRecipientQuestion(false);
+        assertEquals(numOfResponses, bundle.responses.size());
+        // the responses are grouped by giver section first, so they are ordered last within each section
+        String giverSection = null;
+        boolean isMissingQuestionReached = false;
+        for (FeedbackResponseAttributes response : bundle.responses) {
+            if (!String.valueOf(response.giverSection).equals(giverSection)) {
+                giverSection = String.valueOf(response.giverSection);
+                isMissingQuestionReached = false;
+            }
+            boolean isOfMissingQuestion = response.feedbackQuestionId.equals(missingQuestionId);
+            assertFalse(isMissingQuestionReached && !isOfMissingQuestion);
+            isMissingQuestionReached = isOfMissingQuestion;
+        }
+    }
+
+}
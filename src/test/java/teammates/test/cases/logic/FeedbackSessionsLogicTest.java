@@ -1,6 +1,7 @@
 package teammates.test.cases.logic;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -82,6 +83,7 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
         
         testCreateAndDeleteFeedbackSession();
         testCopyFeedbackSession();
+        testCopyFeedbackSessionToCourses();
         
         testUpdateFeedbackSession();
         testPublishUnpublishFeedbackSession();
@@ -369,6 +371,119 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
         fsLogic.deleteFeedbackSessionCascade(copiedSession.getFeedbackSessionName(), copiedSession.getCourseId());
     }
 
+    public void testCopyFeedbackSessionToCourses() throws Exception {
+        
+        ______TS("Test copy to courses, before the questions are copied");
+        
+        FeedbackSessionAttributes session1InCourse1 = dataBundle.feedbackSessions.get("session1InCourse1");
+        InstructorAttributes instructor2OfCourse1 = dataBundle.instructors.get("instructor2OfCourse1");
+        String sessionName = session1InCourse1.getFeedbackSessionName();
+        String courseId = session1InCourse1.getCourseId();
+        List<String> newCourseIds = Arrays.asList(dataBundle.courses.get("typicalCourse2").getId(),
+                                                  dataBundle.courses.get("courseNoEvals").getId());
+        
+        List<FeedbackSessionAttributes> copiedSessions = fsLogic.copyFeedbackSessionToCourses(
+                "Copied Session", newCourseIds, sessionName, courseId, instructor2OfCourse1.email);
+        
+        assertEquals(2, copiedSessions.size());
+        for (int i = 0; i < newCourseIds.size(); i++) {
+            FeedbackSessionAttributes copiedSession = copiedSessions.get(i);
+            verifyPresentInDatastore(copiedSession);
+            assertEquals("Copied Session", copiedSession.getFeedbackSessionName());
+            assertEquals(newCourseIds.get(i), copiedSession.getCourseId());
+            assertEquals(instructor2OfCourse1.email, copiedSession.getCreatorEmail());
+            assertEquals(0, copiedSession.getRespondingStudentList().size());
+            // the questions are copied by the task queue, which does not run tasks in tests
+            assertTrue(fqLogic.getFeedbackQuestionsForSession("Copied Session", newCourseIds.get(i)).isEmpty());
+            assertFalse(fsLogic.isFeedbackSessionCopyCompleted("Copied Session", newCourseIds.get(i),
+                                                               sessionName, courseId));
+        }
+        
+        ______TS("Test copying the questions to the copied sessions");
+        
+        List<FeedbackQuestionAttributes> questions = fqLogic.getFeedbackQuestionsForSession(sessionName, courseId);
+        for (String newCourseId : newCourseIds) {
+            fsLogic.copyFeedbackQuestionsToCopiedSession("Copied Session", newCourseId, sessionName, courseId,
+                                                         instructor2OfCourse1.email);
+            assertTrue(fsLogic.isFeedbackSessionCopyCompleted("Copied Session", newCourseId, sessionName, courseId));
+            
+            List<FeedbackQuestionAttributes> copiedQuestions =
+                    fqLogic.getFeedbackQuestionsForSession("Copied Session", newCourseId);
+            assertEquals(questions.size(), copiedQuestions.size());
+            for (int i = 0; i < questions.size(); i++) {
+                FeedbackQuestionAttributes copiedQuestion = copiedQuestions.get(i);
+                assertEquals(i + 1, copiedQuestion.questionNumber);
+                assertEquals(instructor2OfCourse1.email, copiedQuestion.creatorEmail);
+                assertEquals(questions.get(i).getQuestionDetails().getQuestionText(),
+                             copiedQuestion.getQuestionDetails().getQuestionText());
+                assertEquals(questions.get(i).giverType, copiedQuestion.giverType);
+                assertEquals(questions.get(i).recipientType, copiedQuestion.recipientType);
+            }
+        }
+        
+        ______TS("Test copying the questions again, e.g. on retry");
+        
+        fsLogic.copyFeedbackQuestionsToCopiedSession("Copied Session", newCourseIds.get(0), sessionName, courseId,
+                                                     instructor2OfCourse1.email);
+        assertEquals(questions.size(),
+                     fqLogic.getFeedbackQuestionsForSession("Copied Session", newCourseIds.get(0)).size());
+        
+        ______TS("Test copying the questions again after only some of them were copied");
+        
+        FeedbackQuestionAttributes lastCopiedQuestion =
+                fqLogic.getFeedbackQuestion("Copied Session", newCourseIds.get(0), questions.size());
+        fqLogic.deleteFeedbackQuestionCascade(lastCopiedQuestion.getId());
+        assertFalse(fsLogic.isFeedbackSessionCopyCompleted("Copied Session", newCourseIds.get(0),
+                                                           sessionName, courseId));
+        
+        fsLogic.copyFeedbackQuestionsToCopiedSession("Copied Session", newCourseIds.get(0), sessionName, courseId,
+                                                     instructor2OfCourse1.email);
+        assertTrue(fsLogic.isFeedbackSessionCopyCompleted("Copied Session", newCourseIds.get(0),
+                                                          sessionName, courseId));
+        List<FeedbackQuestionAttributes> copiedQuestions =
+                fqLogic.getFeedbackQuestionsForSession("Copied Session", newCourseIds.get(0));
+        assertEquals(questions.size(), copiedQuestions.size());
+        for (int i = 0; i < questions.size(); i++) {
+            assertEquals(i + 1, copiedQuestions.get(i).questionNumber);
+            assertEquals(questions.get(i).getQuestionDetails().getQuestionText(),
+                         copiedQuestions.get(i).getQuestionDetails().getQuestionText());
+        }
+        assertFalse(fsLogic.isFeedbackSessionCopyFailed("Copied Session", newCourseIds.get(0),
+                                                        sessionName, courseId));
+        
+        ______TS("Test copying the questions to a deleted copy");
+        
+        fsLogic.deleteFeedbackSessionCascade("Copied Session", newCourseIds.get(1));
+        fsLogic.copyFeedbackQuestionsToCopiedSession("Copied Session", newCourseIds.get(1), sessionName, courseId,
+                                                     instructor2OfCourse1.email);
+        assertNull(fsLogic.getFeedbackSession("Copied Session", newCourseIds.get(1)));
+        assertTrue(fsLogic.isFeedbackSessionCopyCompleted("Copied Session", newCourseIds.get(1),
+                                                          sessionName, courseId));
+        
+        ______TS("Failure case: duplicate session");
+        
+        try {
+            fsLogic.copyFeedbackSessionToCourses("Copied Session", newCourseIds, sessionName, courseId,
+                                                 instructor2OfCourse1.email);
+            signalFailureToDetectException();
+        } catch (EntityAlreadyExistsException e) {
+            ignoreExpectedException();
+        }
+        
+        ______TS("Failure case: non-existent session");
+        
+        try {
+            fsLogic.copyFeedbackSessionToCourses("Another Copied Session", newCourseIds, "Non-existent Session",
+                                                 courseId, instructor2OfCourse1.email);
+            signalFailureToDetectException();
+        } catch (EntityDoesNotExistException e) {
+            ignoreExpectedException();
+        }
+        
+        fsLogic.deleteFeedbackSessionCascade("Copied Session", newCourseIds.get(0));
+        fsLogic.deleteFeedbackSessionCascade("Copied Session", newCourseIds.get(1));
+    }
+
     public void testGetFeedbackSessionDetailsForInstructor() throws Exception {
         
         // This file contains a session with a private session + a standard
@@ -604,6 +719,24 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
         actualSessions = fsLogic.getFeedbackSessionsForUserInCourse("idOfArchivedCourse", "student1InCourse1@gmail.tmt");
         AssertHelper.assertContains(dataBundle.feedbackSessions.get("archiveCourse.session1").toString(),
                 actualSessions.toString());
+        
+        ______TS("Many courses at once: same sessions as for each course");
+        
+        Map<String, String> userEmailsForCourses = new HashMap<String, String>();
+        userEmailsForCourses.put("idOfTypicalCourse1", "student1InCourse1@gmail.tmt");
+        userEmailsForCourses.put("idOfTypicalCourse2", "instructor1@course2.tmt");
+        userEmailsForCourses.put("idOfArchivedCourse", "student1InCourse1@gmail.tmt");
+        
+        Map<String, List<FeedbackSessionAttributes>> sessionsForCourses =
+                fsLogic.getFeedbackSessionsForUserInCoursesSkipCheck(userEmailsForCourses);
+        
+        assertEquals(3, sessionsForCourses.size());
+        for (Map.Entry<String, String> userEmailForCourse : userEmailsForCourses.entrySet()) {
+            assertEquals(
+                    fsLogic.getFeedbackSessionsForUserInCourse(userEmailForCourse.getKey(), userEmailForCourse.getValue())
+                           .toString(),
+                    sessionsForCourses.get(userEmailForCourse.getKey()).toString());
+        }
     }
     
     public void testGetFeedbackSessionQuestionsForStudent() throws Exception {
@@ -2001,6 +2134,22 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
         fs = dataBundle.feedbackSessions.get("empty.session");
         
         assertTrue(fsLogic.isFeedbackSessionCompletedByStudent(fs, student.email));
+        
+        ______TS("success: many sessions at once");
+        
+        List<FeedbackSessionAttributes> sessions = new ArrayList<FeedbackSessionAttributes>();
+        sessions.add(dataBundle.feedbackSessions.get("session1InCourse1"));
+        sessions.add(dataBundle.feedbackSessions.get("empty.session"));
+        sessions.add(dataBundle.feedbackSessions.get("awaiting.session"));
+        
+        Map<FeedbackSessionAttributes, Boolean> completionStatus =
+                fsLogic.getFeedbackSessionsCompletionStatusForStudent(sessions, student.googleId);
+        
+        assertEquals(3, completionStatus.size());
+        for (FeedbackSessionAttributes session : sessions) {
+            assertEquals(fsLogic.isFeedbackSessionCompletedByStudent(session, student.email),
+                         completionStatus.get(session).booleanValue());
+        }
     }
     
     public void testIsFeedbackSessionFullyCompletedByStudent() throws Exception {
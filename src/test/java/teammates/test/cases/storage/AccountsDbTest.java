@@ -58,6 +58,41 @@ public class AccountsDbTest extends BaseComponentTestCase {
         }
     }
     
+    @Test
+    public void testGetAccounts() throws Exception {
+        int numOfAccounts = 2;
+        createInstructorAccounts(numOfAccounts);
+        
+        ______TS("typical success case, non-existent accounts are ignored");
+        List<String> googleIds = new ArrayList<String>();
+        googleIds.add("id.0");
+        googleIds.add("id.1");
+        googleIds.add("non.existent");
+        
+        List<AccountAttributes> retrieved = accountsDb.getAccounts(googleIds);
+        assertEquals(numOfAccounts, retrieved.size());
+        List<String> retrievedGoogleIds = new ArrayList<String>();
+        for (AccountAttributes a : retrieved) {
+            retrievedGoogleIds.add(a.googleId);
+            assertNull(a.studentProfile);
+        }
+        assertTrue(retrievedGoogleIds.contains("id.0"));
+        assertTrue(retrievedGoogleIds.contains("id.1"));
+        
+        ______TS("empty list of Google IDs");
+        assertTrue(accountsDb.getAccounts(new ArrayList<String>()).isEmpty());
+        
+        ______TS("failure: null parameter");
+        try {
+            accountsDb.getAccounts(null);
+            signalFailureToDetectException(" - AssertionError");
+        } catch (AssertionError ae) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, ae.getMessage());
+        }
+        
+        deleteInstructorAccounts(numOfAccounts);
+    }
+    
     @Test
     public void testGetInstructorAccounts() throws Exception {
         int numOfInstructors = 3;
@@ -0,0 +1,103 @@
+package teammates.test.cases.storage;
+
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.util.ThreadHelper;
+import teammates.storage.api.FeedbackQuestionsCache;
+import teammates.storage.api.FeedbackQuestionsDb;
+import teammates.test.cases.BaseComponentTestCase;
+
+public class FeedbackQuestionsCacheTest extends BaseComponentTestCase {
+    private static final FeedbackQuestionsDb fqDb = new FeedbackQuestionsDb();
+    private DataBundle dataBundle = getTypicalDataBundle();
+
+    @BeforeClass
+    public void classSetUp() throws Exception {
+        printTestClassHeader();
+        removeAndRestoreTypicalDataInDatastore();
+    }
+
+    @Test
+    public void testCachedQuestionsForSession() throws Exception {
+        FeedbackQuestionAttributes question = dataBundle.feedbackQuestions.get("qn1InSession1InCourse1");
+        String feedbackSessionName = question.feedbackSessionName;
+        String courseId = question.courseId;
+
+        ______TS("questions read right after a change are not cached");
+
+        List<FeedbackQuestionAttributes> uncached = fqDb.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
+        long hits = FeedbackQuestionsCache.getHitCount();
+        List<FeedbackQuestionAttributes> reread = fqDb.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
+        assertEquals(hits, FeedbackQuestionsCache.getHitCount());
+        assertEquals(uncached.toString(), reread.toString());
+
+        ______TS("questions are cached once the change is old enough");
+
+        ThreadHelper.waitFor((int) FeedbackQuestionsCache.CONSISTENCY_WINDOW_MILLIS + 500);
+        long misses = FeedbackQuestionsCache.getMissCount();
+        List<FeedbackQuestionAttributes> fromDatastore = fqDb.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
+        assertEquals(misses + 1, FeedbackQuestionsCache.getMissCount());
+
+        hits = FeedbackQuestionsCache.getHitCount();
+        List<FeedbackQuestionAttributes> fromCache = fqDb.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
+        assertEquals(hits + 1, FeedbackQuestionsCache.getHitCount());
+        assertEquals(fromDatastore.toString(), fromCache.toString());
+        assertEquals(fromDatastore.get(0).getCreatedAt(), fromCache.get(0).getCreatedAt());
+        assertEquals(fromDatastore.get(0).getUpdatedAt(), fromCache.get(0).getUpdatedAt());
+
+        ______TS("each hit returns a fresh copy");
+
+        int size = fromCache.size();
+        fromCache.get(0).questionNumber = 99;
+        fromCache.remove(1);
+        List<FeedbackQuestionAttributes> copy = fqDb.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
+        assertEquals(size, copy.size());
+        assertEquals(fromDatastore.toString(), copy.toString());
+
+        ______TS("questions for a giver type are served from the cached list");
+
+        hits = FeedbackQuestionsCache.getHitCount();
+        List<FeedbackQuestionAttributes> forGiverType =
+                fqDb.getFeedbackQuestionsForGiverType(feedbackSessionName, courseId, question.giverType);
+        assertEquals(hits + 1, FeedbackQuestionsCache.getHitCount());
+        for (FeedbackQuestionAttributes fqa : forGiverType) {
+            assertEquals(question.giverType, fqa.giverType);
+        }
+
+        ______TS("an update makes the cached questions stale");
+
+        FeedbackQuestionAttributes toUpdate = copy.get(0);
+        toUpdate.numberOfEntitiesToGiveFeedbackTo = 3;
+        fqDb.updateFeedbackQuestion(toUpdate);
+
+        hits = FeedbackQuestionsCache.getHitCount();
+        List<FeedbackQuestionAttributes> afterUpdate = fqDb.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
+        assertEquals(hits, FeedbackQuestionsCache.getHitCount());
+        assertEquals(3, afterUpdate.get(0).numberOfEntitiesToGiveFeedbackTo);
+
+        ______TS("a deletion makes the cached questions stale");
+
+        ThreadHelper.waitFor((int) FeedbackQuestionsCache.CONSISTENCY_WINDOW_MILLIS + 500);
+        fqDb.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
+        fqDb.deleteEntity(afterUpdate.get(0));
+
+        hits = FeedbackQuestionsCache.getHitCount();
+        List<FeedbackQuestionAttributes> afterDelete = fqDb.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
+        assertEquals(hits, FeedbackQuestionsCache.getHitCount());
+        assertEquals(afterUpdate.size() - 1, afterDelete.size());
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        // the other storage tests create their own entities, some of which are in the typical data
+        removeTypicalDataInDatastore();
+        printTestClassFooter();
+    }
+
+}
@@ -1,7 +1,10 @@
 package teammates.test.cases.storage;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -350,6 +353,60 @@ public class FeedbackQuestionsDbTest extends BaseComponentTestCase {
         fqDb.deleteEntity(modifiedQuestion);
     }
 
+    @Test
+    public void testUpdateFeedbackQuestionNumbers() throws Exception {
+
+        int numToCreate = 3;
+        List<FeedbackQuestionAttributes> created = createFeedbackQuestions(numToCreate);
+        String feedbackSessionName = created.get(0).feedbackSessionName;
+        String courseId = created.get(0).courseId;
+
+        ______TS("null params");
+
+        try {
+            fqDb.updateFeedbackQuestionNumbers(feedbackSessionName, courseId, null);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+
+        ______TS("standard success case: move the last question to the front");
+
+        // read before renumbering, so that the questions of the session are cached
+        List<FeedbackQuestionAttributes> questions = fqDb.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
+        Collections.sort(questions);
+        Map<String, Integer> newQuestionNumbers = new HashMap<String, Integer>();
+        newQuestionNumbers.put(questions.get(0).getId(), 2);
+        newQuestionNumbers.put(questions.get(1).getId(), 3);
+        newQuestionNumbers.put(questions.get(2).getId(), 1);
+
+        fqDb.updateFeedbackQuestionNumbers(feedbackSessionName, courseId, newQuestionNumbers);
+
+        List<FeedbackQuestionAttributes> renumberedQuestions =
+                fqDb.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
+        assertEquals(numToCreate, renumberedQuestions.size());
+        for (FeedbackQuestionAttributes question : renumberedQuestions) {
+            assertEquals(newQuestionNumbers.get(question.getId()).intValue(), question.questionNumber);
+            assertEquals(fqDb.getFeedbackQuestion(question.getId()).questionNumber, question.questionNumber);
+        }
+
+        ______TS("non-existent question: no question is renumbered");
+
+        newQuestionNumbers = new HashMap<String, Integer>();
+        newQuestionNumbers.put(questions.get(0).getId(), 1);
+        newQuestionNumbers.put("non-existent fq id", 2);
+
+        try {
+            fqDb.updateFeedbackQuestionNumbers(feedbackSessionName, courseId, newQuestionNumbers);
+            signalFailureToDetectException();
+        } catch (EntityDoesNotExistException e) {
+            AssertHelper.assertContains(FeedbackQuestionsDb.ERROR_UPDATE_NON_EXISTENT, e.getLocalizedMessage());
+        }
+        assertEquals(2, fqDb.getFeedbackQuestion(questions.get(0).getId()).questionNumber);
+
+        deleteFeedbackQuestions(numToCreate);
+    }
+
     private FeedbackQuestionAttributes getNewFeedbackQuestionAttributes() {
         FeedbackQuestionAttributes fqa = new FeedbackQuestionAttributes();
 
@@ -58,6 +58,8 @@ public class FeedbackResponseCommentsDbTest extends BaseComponentTestCase {
         
         testGetFeedbackResponseCommentFromId();
         
+        testGetFeedbackResponseCommentsFromIds();
+        
         testGetFeedbackResponseCommentFromCommentDetails();
         
         testGetFeedbackResponseCommentForGiver();
@@ -121,6 +123,38 @@ public class FeedbackResponseCommentsDbTest extends BaseComponentTestCase {
         assertNull(frcDb.getFeedbackResponseComment(-1L));
     }
 
+    public void testGetFeedbackResponseCommentsFromIds() {
+        
+        ______TS("null parameter");
+        
+        try {
+            frcDb.getFeedbackResponseComments(null);
+            signalFailureToDetectException();
+        } catch (AssertionError ae) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, ae.getMessage());
+        }
+        
+        ______TS("empty list of ids");
+        
+        assertTrue(frcDb.getFeedbackResponseComments(new ArrayList<Long>()).isEmpty());
+        
+        ______TS("typical success case, non-existent ids are ignored");
+        
+        List<Long> ids = new ArrayList<Long>();
+        ids.add(frcaData.getId());
+        ids.add(anotherFrcaData.getId());
+        ids.add(-1L);
+        
+        List<FeedbackResponseCommentAttributes> frcas = frcDb.getFeedbackResponseComments(ids);
+        assertEquals(2, frcas.size());
+        List<Long> actualIds = new ArrayList<Long>();
+        for (FeedbackResponseCommentAttributes frca : frcas) {
+            actualIds.add(frca.getId());
+        }
+        assertTrue(actualIds.contains(frcaData.getId()));
+        assertTrue(actualIds.contains(anotherFrcaData.getId()));
+    }
+    
     public void testGetFeedbackResponseCommentFromCommentDetails() {
 
         ______TS("null parameter");
@@ -1,5 +1,6 @@
 package teammates.test.cases.storage;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,6 +21,7 @@ import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Const;
 import teammates.common.util.FieldValidator;
 import teammates.storage.api.FeedbackResponsesDb;
+import teammates.storage.entity.FeedbackResponse;
 import teammates.test.cases.BaseComponentTestCase;
 import teammates.test.driver.AssertHelper;
 
@@ -483,6 +485,46 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
         assertTrue(frDb.getFeedbackResponsesFromGiverForQuestion(
                 questionId, "non-existentStudentInCourse1@gmail.tmt").isEmpty());
     }
+    
+    @Test
+    public void testHasAndCountFeedbackResponses() {
+        
+        ______TS("standard success case");
+        
+        FeedbackResponseAttributes response = fras.get("response1ForQ1S1C1");
+        
+        assertTrue(frDb.hasFeedbackResponseEntitiesForCourse(response.courseId));
+        assertTrue(frDb.hasFeedbackResponsesForQuestion(response.feedbackQuestionId));
+        assertTrue(frDb.hasFeedbackResponsesFromGiverForSession(
+                response.giver, response.feedbackSessionName, response.courseId));
+        assertEquals(frDb.getFeedbackResponsesFromGiverForQuestion(response.feedbackQuestionId, response.giver).size(),
+                     frDb.getFeedbackResponsesCountFromGiverForQuestion(response.feedbackQuestionId, response.giver));
+        
+        ______TS("no responses");
+        
+        assertFalse(frDb.hasFeedbackResponseEntitiesForCourse("non-existent course"));
+        assertFalse(frDb.hasFeedbackResponsesForQuestion("non-existent fq id"));
+        assertFalse(frDb.hasFeedbackResponsesFromGiverForSession(
+                "non-existentStudentInCourse1@gmail.tmt", response.feedbackSessionName, response.courseId));
+        assertEquals(0, frDb.getFeedbackResponsesCountFromGiverForQuestion(
+                response.feedbackQuestionId, "non-existentStudentInCourse1@gmail.tmt"));
+        
+        ______TS("null params");
+        
+        try {
+            frDb.hasFeedbackResponsesForQuestion(null);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+        
+        try {
+            frDb.getFeedbackResponsesCountFromGiverForQuestion(response.feedbackQuestionId, null);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+    }
 
     @Test
     public void testGetFeedbackResponsesFromGiverForQuestionInSection() {
@@ -821,6 +863,108 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
         
     }
     
+    @Test
+    public void testDeleteFeedbackResponsesBatch() throws Exception {
+        String courseId = "FRDbT.batchDeletionCourse";
+        for (int i = 0; i < 5; i++) {
+            createBatchDeletionResponse(courseId, "Session A", "giver" + i + "@email.tmt");
+        }
+        createBatchDeletionResponse(courseId, "Session B", "giver@email.tmt");
+        
+        ______TS("responses of a session are deleted batch by batch, resuming from the cursor");
+        
+        String cursor = frDb.deleteFeedbackResponsesBatchForSession("Session A", courseId, null, 2);
+        assertNotNull(cursor);
+        assertEquals(3, frDb.getFeedbackResponsesForSession("Session A", courseId).size());
+        
+        cursor = frDb.deleteFeedbackResponsesBatchForSession("Session A", courseId, cursor, 2);
+        assertNotNull(cursor);
+        assertEquals(1, frDb.getFeedbackResponsesForSession("Session A", courseId).size());
+        
+        cursor = frDb.deleteFeedbackResponsesBatchForSession("Session A", courseId, cursor, 2);
+        assertNull(cursor);
+        assertTrue(frDb.getFeedbackResponsesForSession("Session A", courseId).isEmpty());
+        assertEquals(1, frDb.getFeedbackResponsesForSession("Session B", courseId).size());
+        
+        ______TS("remaining responses of the course fit in one batch");
+        
+        assertNull(frDb.deleteFeedbackResponsesBatchForCourse(courseId, null, 2));
+        assertTrue(frDb.getFeedbackResponsesForCourse(courseId).isEmpty());
+        
+        ______TS("no responses");
+        
+        assertNull(frDb.deleteFeedbackResponsesBatchForCourse(courseId, null, 2));
+        
+        ______TS("null params");
+        
+        try {
+            frDb.deleteFeedbackResponsesBatchForCourse(null, null, 2);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+    }
+    
+    @Test
+    public void testRecreateFeedbackResponses() throws Exception {
+        String courseId = "FRDbT.recreationCourse";
+        List<FeedbackResponseAttributes> oldResponses = new ArrayList<FeedbackResponseAttributes>();
+        for (int i = 0; i < 3; i++) {
+            FeedbackResponseAttributes fra = getNewFeedbackResponseAttributes();
+            fra.courseId = courseId;
+            fra.feedbackQuestionId = "recreationQuestion" + i;
+            fra.giver = "old@email.tmt";
+            oldResponses.add(new FeedbackResponseAttributes((FeedbackResponse) frDb.createEntity(fra)));
+        }
+
+        assertTrue(frDb.hasFeedbackResponsesForEmailForCourse("old@email.tmt", courseId));
+        assertTrue(frDb.hasFeedbackResponsesForEmailForCourse("recipient@email.tmt", courseId));
+        assertFalse(frDb.hasFeedbackResponsesForEmailForCourse("new@email.tmt", courseId));
+
+        ______TS("responses are replaced by responses with new ids");
+
+        List<FeedbackResponseAttributes> newResponses = new ArrayList<FeedbackResponseAttributes>();
+        for (FeedbackResponseAttributes oldResponse : oldResponses) {
+            FeedbackResponseAttributes newResponse = new FeedbackResponseAttributes(oldResponse);
+            newResponse.giver = "new@email.tmt";
+            newResponses.add(newResponse);
+        }
+        frDb.recreateFeedbackResponses(oldResponses, newResponses);
+
+        for (int i = 0; i < oldResponses.size(); i++) {
+            assertNull(frDb.getFeedbackResponse(oldResponses.get(i).getId()));
+            assertEquals("recreationQuestion" + i + "%new@email.tmt%recipient@email.tmt", newResponses.get(i).getId());
+            assertEquals("new@email.tmt", frDb.getFeedbackResponse(newResponses.get(i).getId()).giver);
+        }
+        assertFalse(frDb.hasFeedbackResponsesForEmailForCourse("old@email.tmt", courseId));
+        assertTrue(frDb.hasFeedbackResponsesForEmailForCourse("new@email.tmt", courseId));
+
+        ______TS("invalid new response");
+
+        List<FeedbackResponseAttributes> invalidResponses = new ArrayList<FeedbackResponseAttributes>();
+        FeedbackResponseAttributes invalidResponse = new FeedbackResponseAttributes(newResponses.get(0));
+        invalidResponse.courseId = "invalid course id!";
+        invalidResponses.add(invalidResponse);
+        try {
+            frDb.recreateFeedbackResponses(newResponses.subList(0, 1), invalidResponses);
+            signalFailureToDetectException();
+        } catch (InvalidParametersException e) {
+            assertNotNull(frDb.getFeedbackResponse(newResponses.get(0).getId()));
+        }
+
+        frDb.deleteFeedbackResponsesForCourse(courseId);
+    }
+
+    private void createBatchDeletionResponse(String courseId, String feedbackSessionName, String giver)
+            throws Exception {
+        FeedbackResponseAttributes fra = getNewFeedbackResponseAttributes();
+        fra.courseId = courseId;
+        fra.feedbackSessionName = feedbackSessionName;
+        fra.feedbackQuestionId = feedbackSessionName + "-question";
+        fra.giver = giver;
+        frDb.createEntity(fra);
+    }
+    
     private FeedbackResponseAttributes getNewFeedbackResponseAttributes() {
         FeedbackResponseAttributes fra = new FeedbackResponseAttributes();
         
@@ -22,9 +22,15 @@ import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Const;
 import teammates.common.util.TimeHelper;
 import teammates.storage.api.FeedbackSessionsDb;
+import teammates.storage.datastore.Datastore;
+import teammates.storage.entity.FeedbackSession;
 import teammates.test.cases.BaseComponentTestCase;
 import teammates.test.driver.AssertHelper;
 
+import com.google.appengine.api.datastore.DatastoreService;
+import com.google.appengine.api.datastore.DatastoreServiceFactory;
+import com.google.appengine.api.datastore.Entity;
+import com.google.appengine.api.datastore.KeyFactory;
 import com.google.appengine.api.datastore.Text;
 
 public class FeedbackSessionsDbTest extends BaseComponentTestCase {
@@ -96,10 +102,11 @@ public class FeedbackSessionsDbTest extends BaseComponentTestCase {
     }
     
     @Test
-    public void testAllGetFeedbackSessions() {
+    public void testAllGetFeedbackSessions() throws Exception {
 
         testGetFeedbackSessions();
         testGetFeedbackSessionsForCourse();
+        testGetAllOpenFeedbackSessions();
         testGetFeedbackSessionsPossiblyNeedingOpenEmail();
         testGetFeedbackSessionsPossiblyNeedingClosingEmail();
         testGetFeedbackSessionsPossiblyNeedingClosedEmail();
@@ -178,59 +185,217 @@ public class FeedbackSessionsDbTest extends BaseComponentTestCase {
         assertTrue(fsDb.getFeedbackSessionsForCourse("idOfCourseNoEvals").isEmpty());
     }
     
-    private void testGetFeedbackSessionsPossiblyNeedingOpenEmail() {
+    private void testGetAllOpenFeedbackSessions() throws Exception {
+        
+        FeedbackSessionAttributes fsa = getNewScheduledFeedbackSession();
+        fsa.setStartTime(getLocalTimeOffsetToCurrentTime(-2, fsa));
+        fsa.setEndTime(getLocalTimeOffsetToCurrentTime(2, fsa));
+        fsDb.createEntity(fsa);
+        
+        ______TS("session starting within the range, in another time zone");
+        
+        Date rangeStart = TimeHelper.getMsOffsetToCurrentTimeInUserTimeZone(-3 * 60 * 60 * 1000, -5);
+        Date rangeEnd = TimeHelper.getMsOffsetToCurrentTimeInUserTimeZone(-1 * 60 * 60 * 1000, -5);
+        assertTrue(isSessionInList(fsa, fsDb.getAllOpenFeedbackSessions(rangeStart, rangeEnd, -5)));
+        
+        ______TS("session ending within the range");
+        
+        rangeStart = TimeHelper.getMsOffsetToCurrentTimeInUserTimeZone(1 * 60 * 60 * 1000, 0);
+        rangeEnd = TimeHelper.getMsOffsetToCurrentTimeInUserTimeZone(3 * 60 * 60 * 1000, 0);
+        List<FeedbackSessionAttributes> fsaList = fsDb.getAllOpenFeedbackSessions(rangeStart, rangeEnd, 0);
+        assertTrue(isSessionInList(fsa, fsaList));
+        
+        ______TS("session neither starting nor ending within the range");
+        
+        rangeStart = TimeHelper.getMsOffsetToCurrentTimeInUserTimeZone(-1 * 60 * 60 * 1000, 0);
+        rangeEnd = TimeHelper.getMsOffsetToCurrentTimeInUserTimeZone(1 * 60 * 60 * 1000, 0);
+        assertFalse(isSessionInList(fsa, fsDb.getAllOpenFeedbackSessions(rangeStart, rangeEnd, 0)));
+        
+        ______TS("session created before the hours in UTC were stored");
+        
+        removeUtcHours(fsa);
+        rangeStart = TimeHelper.getMsOffsetToCurrentTimeInUserTimeZone(-3 * 60 * 60 * 1000, -5);
+        rangeEnd = TimeHelper.getMsOffsetToCurrentTimeInUserTimeZone(-1 * 60 * 60 * 1000, -5);
+        assertTrue(isSessionInList(fsa, fsDb.getAllOpenFeedbackSessions(rangeStart, rangeEnd, -5)));
+        
+        rangeStart = TimeHelper.getMsOffsetToCurrentTimeInUserTimeZone(1 * 60 * 60 * 1000, 0);
+        rangeEnd = TimeHelper.getMsOffsetToCurrentTimeInUserTimeZone(3 * 60 * 60 * 1000, 0);
+        assertTrue(isSessionInList(fsa, fsDb.getAllOpenFeedbackSessions(rangeStart, rangeEnd, 0)));
+        
+        rangeStart = TimeHelper.getMsOffsetToCurrentTimeInUserTimeZone(-1 * 60 * 60 * 1000, 0);
+        rangeEnd = TimeHelper.getMsOffsetToCurrentTimeInUserTimeZone(1 * 60 * 60 * 1000, 0);
+        assertFalse(isSessionInList(fsa, fsDb.getAllOpenFeedbackSessions(rangeStart, rangeEnd, 0)));
+        
+        fsDb.deleteEntity(fsa);
+    }
+    
+    private void testGetFeedbackSessionsPossiblyNeedingOpenEmail() throws Exception {
         
         ______TS("standard success case");
         
+        FeedbackSessionAttributes fsa = getNewScheduledFeedbackSession();
+        fsa.setStartTime(getLocalTimeOffsetToCurrentTime(-1, fsa));
+        fsa.setEndTime(getLocalTimeOffsetToCurrentTime(48, fsa));
+        fsa.setSentOpenEmail(false);
+        fsDb.createEntity(fsa);
+        
         List<FeedbackSessionAttributes> fsaList = fsDb.getFeedbackSessionsPossiblyNeedingOpenEmail();
         
-        assertEquals(1, fsaList.size());
-        for (FeedbackSessionAttributes fsa : fsaList) {
-            assertFalse(fsa.isSentOpenEmail());
+        assertTrue(isSessionInList(fsa, fsaList));
+        for (FeedbackSessionAttributes session : fsaList) {
+            assertFalse(session.isSentOpenEmail());
         }
         
+        ______TS("session created before the hours in UTC were stored");
+        
+        removeUtcHours(fsa);
+        assertTrue(isSessionInList(fsa, fsDb.getFeedbackSessionsPossiblyNeedingOpenEmail()));
+        
+        ______TS("session not started yet");
+        
+        fsa.setStartTime(getLocalTimeOffsetToCurrentTime(1, fsa));
+        fsDb.updateFeedbackSession(fsa);
+        
+        assertFalse(isSessionInList(fsa, fsDb.getFeedbackSessionsPossiblyNeedingOpenEmail()));
+        
+        fsDb.deleteEntity(fsa);
     }
     
-    private void testGetFeedbackSessionsPossiblyNeedingClosingEmail() {
+    private void testGetFeedbackSessionsPossiblyNeedingClosingEmail() throws Exception {
         
         ______TS("standard success case");
         
+        FeedbackSessionAttributes fsa = getNewScheduledFeedbackSession();
+        fsa.setEndTime(getLocalTimeOffsetToCurrentTime(Const.SystemParams.NUMBER_OF_HOURS_BEFORE_CLOSING_ALERT - 1,
+                                                       fsa));
+        fsDb.createEntity(fsa);
+        
         List<FeedbackSessionAttributes> fsaList = fsDb.getFeedbackSessionsPossiblyNeedingClosingEmail();
         
-        assertEquals(6, fsaList.size());
-        for (FeedbackSessionAttributes fsa : fsaList) {
-            assertFalse(fsa.isSentClosingEmail());
-            assertTrue(fsa.isClosingEmailEnabled());
+        assertTrue(isSessionInList(fsa, fsaList));
+        for (FeedbackSessionAttributes session : fsaList) {
+            assertFalse(session.isSentClosingEmail());
+            assertTrue(session.isClosingEmailEnabled());
         }
         
+        ______TS("session closing after the closing alert is due");
+        
+        fsa.setEndTime(getLocalTimeOffsetToCurrentTime(Const.SystemParams.NUMBER_OF_HOURS_BEFORE_CLOSING_ALERT + 2,
+                                                       fsa));
+        fsDb.updateFeedbackSession(fsa);
+        
+        assertFalse(isSessionInList(fsa, fsDb.getFeedbackSessionsPossiblyNeedingClosingEmail()));
+        
+        fsDb.deleteEntity(fsa);
     }
     
-    private void testGetFeedbackSessionsPossiblyNeedingClosedEmail() {
+    private void testGetFeedbackSessionsPossiblyNeedingClosedEmail() throws Exception {
         
         ______TS("standard success case");
         
+        FeedbackSessionAttributes fsa = getNewScheduledFeedbackSession();
+        fsa.setEndTime(getLocalTimeOffsetToCurrentTime(-1, fsa));
+        fsDb.createEntity(fsa);
+        
         List<FeedbackSessionAttributes> fsaList = fsDb.getFeedbackSessionsPossiblyNeedingClosedEmail();
         
-        assertEquals(6, fsaList.size());
-        for (FeedbackSessionAttributes fsa : fsaList) {
-            assertFalse(fsa.isSentClosedEmail());
-            assertTrue(fsa.isClosingEmailEnabled());
+        assertTrue(isSessionInList(fsa, fsaList));
+        for (FeedbackSessionAttributes session : fsaList) {
+            assertFalse(session.isSentClosedEmail());
+            assertTrue(session.isClosingEmailEnabled());
         }
         
+        ______TS("session created before the hours in UTC were stored");
+        
+        removeUtcHours(fsa);
+        assertTrue(isSessionInList(fsa, fsDb.getFeedbackSessionsPossiblyNeedingClosedEmail()));
+        
+        ______TS("session not closed yet");
+        
+        fsa.setEndTime(getLocalTimeOffsetToCurrentTime(2, fsa));
+        fsDb.updateFeedbackSession(fsa);
+        
+        assertFalse(isSessionInList(fsa, fsDb.getFeedbackSessionsPossiblyNeedingClosedEmail()));
+        
+        fsDb.deleteEntity(fsa);
     }
     
-    private void testGetFeedbackSessionsPossiblyNeedingPublishedEmail() {
+    private void testGetFeedbackSessionsPossiblyNeedingPublishedEmail() throws Exception {
         
         ______TS("standard success case");
         
+        FeedbackSessionAttributes fsa = getNewScheduledFeedbackSession();
+        fsa.setEndTime(getLocalTimeOffsetToCurrentTime(-2, fsa));
+        fsa.setResultsVisibleFromTime(getLocalTimeOffsetToCurrentTime(-1, fsa));
+        fsa.setSentPublishedEmail(false);
+        fsDb.createEntity(fsa);
+        
         List<FeedbackSessionAttributes> fsaList = fsDb.getFeedbackSessionsPossiblyNeedingPublishedEmail();
         
-        assertEquals(8, fsaList.size());
-        for (FeedbackSessionAttributes fsa : fsaList) {
-            assertFalse(fsa.isSentPublishedEmail());
-            assertTrue(fsa.isPublishedEmailEnabled());
+        assertTrue(isSessionInList(fsa, fsaList));
+        for (FeedbackSessionAttributes session : fsaList) {
+            assertFalse(session.isSentPublishedEmail());
+            assertTrue(session.isPublishedEmailEnabled());
         }
         
+        ______TS("session created before the hours in UTC were stored");
+        
+        removeUtcHours(fsa);
+        assertTrue(isSessionInList(fsa, fsDb.getFeedbackSessionsPossiblyNeedingPublishedEmail()));
+        
+        ______TS("session published long ago whose email was missed");
+        
+        fsa.setSessionVisibleFromTime(getLocalTimeOffsetToCurrentTime(-7 * 24, fsa));
+        fsa.setStartTime(getLocalTimeOffsetToCurrentTime(-7 * 24, fsa));
+        fsa.setEndTime(getLocalTimeOffsetToCurrentTime(-6 * 24, fsa));
+        fsa.setResultsVisibleFromTime(getLocalTimeOffsetToCurrentTime(-5 * 24, fsa));
+        fsDb.updateFeedbackSession(fsa);
+        
+        assertTrue(isSessionInList(fsa, fsDb.getFeedbackSessionsPossiblyNeedingPublishedEmail()));
+        
+        ______TS("private session");
+        
+        fsa.setFeedbackSessionType(FeedbackSessionType.PRIVATE);
+        fsDb.updateFeedbackSession(fsa);
+        
+        assertFalse(isSessionInList(fsa, fsDb.getFeedbackSessionsPossiblyNeedingPublishedEmail()));
+        
+        ______TS("session not published yet");
+        
+        fsa.setFeedbackSessionType(FeedbackSessionType.STANDARD);
+        fsa.setResultsVisibleFromTime(getLocalTimeOffsetToCurrentTime(2, fsa));
+        fsDb.updateFeedbackSession(fsa);
+        
+        assertFalse(isSessionInList(fsa, fsDb.getFeedbackSessionsPossiblyNeedingPublishedEmail()));
+        
+        fsDb.deleteEntity(fsa);
+    }
+    
+    /**
+     * Removes the hours in UTC of the session from the datastore, as for the sessions created
+     * before the hours were stored.
+     */
+    private void removeUtcHours(FeedbackSessionAttributes fsa) throws Exception {
+        DatastoreService datastore = DatastoreServiceFactory.getDatastoreService();
+        Entity session = datastore.get(KeyFactory.createKey(FeedbackSession.class.getSimpleName(),
+                                                            fsa.getFeedbackSessionName() + "%" + fsa.getCourseId()));
+        session.removeProperty("startTimeUtcHour");
+        session.removeProperty("endTimeUtcHour");
+        session.removeProperty("resultsVisibleFromTimeUtcHour");
+        datastore.put(session);
+        
+        // so that the session is read again from the datastore
+        Datastore.getPersistenceManager().close();
+    }
+    
+    private boolean isSessionInList(FeedbackSessionAttributes fsa, List<FeedbackSessionAttributes> fsaList) {
+        for (FeedbackSessionAttributes session : fsaList) {
+            if (session.getFeedbackSessionName().equals(fsa.getFeedbackSessionName())
+                    && session.getCourseId().equals(fsa.getCourseId())) {
+                return true;
+            }
+        }
+        return false;
     }
     
     @Test
@@ -300,6 +465,29 @@ public class FeedbackSessionsDbTest extends BaseComponentTestCase {
         return fsa;
     }
     
+    /**
+     * Gets a session which opens a day ago and closes in a day, in a time zone other than UTC,
+     * with all emails enabled and none sent.
+     */
+    private FeedbackSessionAttributes getNewScheduledFeedbackSession() {
+        FeedbackSessionAttributes fsa = getNewFeedbackSession();
+        fsa.setFeedbackSessionName("fsScheduleTest");
+        fsa.setTimeZone(8);
+        fsa.setSessionVisibleFromTime(getLocalTimeOffsetToCurrentTime(-24, fsa));
+        fsa.setStartTime(getLocalTimeOffsetToCurrentTime(-24, fsa));
+        fsa.setEndTime(getLocalTimeOffsetToCurrentTime(24, fsa));
+        fsa.setResultsVisibleFromTime(getLocalTimeOffsetToCurrentTime(48, fsa));
+        fsa.setSentClosingEmail(false);
+        fsa.setSentClosedEmail(false);
+        fsa.setClosingEmailEnabled(true);
+        fsa.setPublishedEmailEnabled(true);
+        return fsa;
+    }
+    
+    private Date getLocalTimeOffsetToCurrentTime(int offsetHours, FeedbackSessionAttributes fsa) {
+        return TimeHelper.getMsOffsetToCurrentTimeInUserTimeZone(offsetHours * 60 * 60 * 1000, fsa.getTimeZone());
+    }
+    
     @AfterClass
     public static void classTearDown() {
         deleteSessionsFromDb();
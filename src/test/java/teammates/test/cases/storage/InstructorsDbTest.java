@@ -300,6 +300,33 @@ public class InstructorsDbTest extends BaseComponentTestCase {
         }
     }
     
+    @Test
+    public void testGetInstructorsForCourses() {
+        
+        ______TS("Success: more courses than a single query can take");
+        
+        List<String> courseIds = new ArrayList<String>();
+        for (int i = 0; i < 40; i++) {
+            courseIds.add("non-exist-course-" + i);
+        }
+        courseIds.add("idOfTypicalCourse1");
+        
+        List<InstructorAttributes> retrieved = instructorsDb.getInstructorsForCourses(courseIds);
+        assertEquals(instructorsDb.getInstructorsForCourse("idOfTypicalCourse1").size(), retrieved.size());
+        for (InstructorAttributes instructor : retrieved) {
+            assertEquals("idOfTypicalCourse1", instructor.courseId);
+        }
+        
+        ______TS("Failure: null parameters");
+        
+        try {
+            instructorsDb.getInstructorsForCourses(null);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getMessage());
+        }
+    }
+    
     @Test
     public void testUpdateInstructorByGoogleId() throws Exception {
         
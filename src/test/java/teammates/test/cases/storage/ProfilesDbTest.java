@@ -223,8 +223,13 @@ public class ProfilesDbTest extends BaseComponentTestCase {
 
     private void testUpdateProfilePictureSuccessSamePictureKey(
             AccountAttributes a) throws EntityDoesNotExistException {
-        ______TS("update picture key - same key; does nothing");
+        ______TS("update picture key - same key; only updates the modified date");
+        StudentProfileAttributes profileBeforeUpdate = profilesDb.getStudentProfile(a.googleId);
         profilesDb.updateStudentProfilePicture(a.googleId, a.studentProfile.pictureKey);
+        
+        StudentProfileAttributes updatedProfile = profilesDb.getStudentProfile(a.googleId);
+        assertEquals(a.studentProfile.pictureKey, updatedProfile.pictureKey);
+        assertFalse(updatedProfile.modifiedDate.before(profileBeforeUpdate.modifiedDate));
     }
     
     @Test
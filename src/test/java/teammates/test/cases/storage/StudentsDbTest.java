@@ -3,16 +3,21 @@ package teammates.test.cases.storage;
 import static teammates.common.util.FieldValidator.COURSE_ID_ERROR_MESSAGE;
 import static teammates.common.util.FieldValidator.REASON_INCORRECT_FORMAT;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentProfilePictureDetails;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Const;
 import teammates.common.util.FieldValidator;
 import teammates.common.util.StringHelper;
+import teammates.storage.api.StudentProfilePictureCache;
 import teammates.storage.api.StudentsDb;
 import teammates.test.cases.BaseComponentTestCase;
 import teammates.test.driver.AssertHelper;
@@ -180,6 +185,38 @@ public class StudentsDbTest extends BaseComponentTestCase {
         studentsDb.deleteStudent(s2.course, s2.email);
     }
     
+    @Test
+    public void testGetStudentsForCourses() throws InvalidParametersException {
+        
+        StudentAttributes s = createNewStudent();
+        StudentAttributes s2 = createNewStudent("one.new@gmail.com");
+        
+        ______TS("typical success case: more courses than a single query can take");
+        
+        List<String> courseIds = new ArrayList<String>();
+        for (int i = 0; i < 40; i++) {
+            courseIds.add("non-existent-course-" + i);
+        }
+        courseIds.add(s.course);
+        
+        List<StudentAttributes> retrieved = studentsDb.getStudentsForCourses(courseIds);
+        assertEquals(2, retrieved.size());
+        for (StudentAttributes student : retrieved) {
+            assertEquals(s.course, student.course);
+        }
+        
+        ______TS("null params case");
+        try {
+            studentsDb.getStudentsForCourses(null);
+            signalFailureToDetectException();
+        } catch (AssertionError ae) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, ae.getMessage());
+        }
+        
+        studentsDb.deleteStudent(s.course, s.email);
+        studentsDb.deleteStudent(s2.course, s2.email);
+    }
+    
     @Test
     public void testUpdateStudentWithoutDocument() throws InvalidParametersException, EntityDoesNotExistException {
         
@@ -266,8 +303,12 @@ public class StudentsDbTest extends BaseComponentTestCase {
         s = createNewStudent();
         createNewStudent("secondStudent@mail.com");
         assertEquals(2 + currentStudentNum, studentsDb.getAllStudents().size());
+        StudentProfilePictureCache.put(new StudentProfilePictureDetails(s, null, null), 0L);
+        assertNotNull(StudentProfilePictureCache.get(s.course, s.email));
         studentsDb.deleteStudentsForCourseWithoutDocument(s.course);
         assertEquals(currentStudentNum, studentsDb.getAllStudents().size());
+        // the cached details of the deleted students are not served any more
+        assertNull(StudentProfilePictureCache.get(s.course, s.email));
         // delete again - should fail silently
         studentsDb.deleteStudentWithoutDocument(s.course, s.email);
         
@@ -1,12 +1,23 @@
 package teammates.test.cases.ui;
 
+import java.io.StringWriter;
+import java.util.ArrayList;
+
 import org.testng.annotations.Test;
 
+import teammates.common.datatransfer.CourseSummaryBundle;
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.util.Const;
 import teammates.test.cases.BaseTestCase;
 import teammates.ui.controller.ActionResult;
+import teammates.ui.controller.AjaxResult;
 import teammates.ui.controller.FileDownloadResult;
+import teammates.ui.controller.InstructorHomeCourseAjaxPageData;
 import teammates.ui.controller.ShowPageResult;
+import teammates.ui.template.ElementTag;
+
+import com.google.gson.Gson;
 
 public class ActionResultTest extends BaseTestCase {
     
@@ -33,5 +44,30 @@ public class ActionResultTest extends BaseTestCase {
         assertEquals("attachment; filename=\" rates.csv\";filename*= UTF-8''%C2%A3+rates.csv",
                      download.getContentDispositionHeader());
     }
+    
+    @Test
+    public void testAjaxResultWriteData() {
+        DataBundle dataBundle = getTypicalDataBundle();
+        CourseSummaryBundle courseSummary = new CourseSummaryBundle(dataBundle.courses.get("typicalCourse1"));
+        for (FeedbackSessionAttributes session : dataBundle.feedbackSessions.values()) {
+            if (session.getCourseId().equals(courseSummary.course.getId())) {
+                courseSummary.feedbackSessions.add(session);
+            }
+        }
+        InstructorHomeCourseAjaxPageData data =
+                new InstructorHomeCourseAjaxPageData(dataBundle.accounts.get("instructor1OfCourse1"));
+        data.init(1, courseSummary, dataBundle.instructors.get("instructor1OfCourse1"), 0, new ArrayList<String>());
+        
+        ElementTag tagWithNestedElements = data.getCourseTable().getButtons().get(0);
+        tagWithNestedElements.setAttribute("data-null", null);
+        tagWithNestedElements.addNestedElement(new ElementTag("<b>nested</b>", "class", "dropdown-menu"));
+        tagWithNestedElements.addNestedElement(new ElementTag("disabled", "disabled"));
+        
+        AjaxResult result = new AjaxResult(null, null, data);
+        StringWriter writer = new StringWriter();
+        result.writeData(writer);
+        
+        assertEquals(new Gson().toJson(data), writer.toString());
+    }
 
 }
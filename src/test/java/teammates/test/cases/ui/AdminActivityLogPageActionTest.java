@@ -3,23 +3,78 @@ package teammates.test.cases.ui;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.util.Const;
+import teammates.logic.api.Logic;
+import teammates.ui.controller.AdminActivityLogPageAction;
+import teammates.ui.controller.AdminActivityLogPageData;
+import teammates.ui.controller.AjaxResult;
 
 public class AdminActivityLogPageActionTest extends BaseActionTest {
 
-    // private final DataBundle dataBundle = getTypicalDataBundle();
-
     @BeforeClass
-    public static void classSetUp() {
+    public static void classSetUp() throws Exception {
         printTestClassHeader();
         uri = Const.ActionURIs.ADMIN_ACTIVITY_LOG_PAGE;
-        // removeAndRestoreTypicalDataInDatastore();
+        removeAndRestoreTypicalDataInDatastore();
     }
-    
+
     @Test
-    public void testExecuteAndPostProcess() {
+    public void testExecuteAndPostProcess() throws Exception {
+        //TODO: test the log search, which needs the logs service
         
-        //TODO: implement this
+        testLoadLocalTime();
+    }
+
+    private void testLoadLocalTime() throws Exception {
+        gaeSimulation.loginAsAdmin("admin.user");
+
+        ______TS("admin logs are in the admin time zone");
+
+        assertEquals("01-01-1970 08:00:00", getLocalTime("admin.user", "Admin", "0"));
+
+        ______TS("user without courses");
+
+        assertEquals("Local Time Unavailable", getLocalTime("id-does-not-exist", "Student", "0"));
+
+        ______TS("time zone of a user is found once and reused by later requests");
+
+        String localTime = getLocalTime("idOfInstructor1OfCourse1", "Instructor", "0");
+        assertTrue(localTime.equals("01-01-1970 02:00:00") || localTime.equals("01-01-1970 00:00:00"));
+
+        Logic logic = new Logic();
+        for (FeedbackSessionAttributes session : logic.getFeedbackSessionsForCourse("idOfTypicalCourse1")) {
+            session.setTimeZone(5.5);
+            logic.updateFeedbackSession(session);
+        }
+
+        assertEquals(localTime, getLocalTime("idOfInstructor1OfCourse1", "Instructor", "0"));
+
+        ______TS("time zone of a course found for a user is reused for unregistered users");
+
+        assertEquals(localTime, getLocalTime("Unregistered", "Unregistered:idOfTypicalCourse1", "0"));
+
+        ______TS("time zone of a course not looked up before");
+
+        assertEquals("01-01-1970 08:00:00", getLocalTime("Unregistered", "Unregistered:idOfTypicalCourse2", "0"));
+        
+        // restores the time zones of the sessions
+        removeAndRestoreTypicalDataInDatastore();
+    }
+
+    private String getLocalTime(String logGoogleId, String logRole, String logTimeInAdminTimeZone) {
+        String[] submissionParams = new String[] {
+                "logGoogleId", logGoogleId,
+                "logRole", logRole,
+                "logTimeInAdminTimeZone", logTimeInAdminTimeZone
+        };
+        AdminActivityLogPageAction action = getAction(submissionParams);
+        AjaxResult result = getAjaxResult(action);
+        return ((AdminActivityLogPageData) result.data).getLogLocalTime();
+    }
+
+    private AdminActivityLogPageAction getAction(String... params) {
+        return (AdminActivityLogPageAction) gaeSimulation.getActionObject(uri, params);
     }
 
 }
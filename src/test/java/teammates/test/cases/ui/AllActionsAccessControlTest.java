@@ -207,6 +207,7 @@ public class AllActionsAccessControlTest extends BaseActionTest {
         verifyAccessibleForInstructorsOfTheSameCourse(submissionParams);
 
         /* Test access for admin in masquerade mode */
+        completeCascadeDeletion("icdat.owncourse", null);
         CoursesLogic.inst().createCourseAndInstructor(
                 dataBundle.instructors.get("instructor1OfCourse1").googleId,
                 "icdat.owncourse", "New course", "UTC");
@@ -459,6 +460,7 @@ public class AllActionsAccessControlTest extends BaseActionTest {
         verifyAccessibleForInstructorsOfTheSameCourse(submissionParams);
         
         //recreate the entity
+        completeCascadeDeletion(fs.getCourseId(), fs.getFeedbackSessionName());
         FeedbackSessionsLogic.inst().createFeedbackSession(fs);
         verifyAccessibleForAdminToMasqueradeAsInstructor(submissionParams);
     }
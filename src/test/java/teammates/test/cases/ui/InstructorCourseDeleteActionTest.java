@@ -9,6 +9,7 @@ import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.util.Const;
+import teammates.logic.core.CascadeDeletionLogic;
 import teammates.logic.core.CoursesLogic;
 import teammates.test.driver.AssertHelper;
 import teammates.ui.controller.InstructorCourseDeleteAction;
@@ -51,6 +52,11 @@ public class InstructorCourseDeleteActionTest extends BaseActionTest {
         assertFalse(redirectResult.isError);
         assertEquals("The course idOfTypicalCourse1 has been deleted.", redirectResult.getStatusMessage());
         
+        // the data of the course is deleted in the background, so that it is gone for the later tests
+        assertTrue(CascadeDeletionLogic.inst().isDataDeletionPending(instructor1OfCourse1.courseId, null));
+        completeCascadeDeletion(instructor1OfCourse1.courseId, null);
+        assertFalse(CascadeDeletionLogic.inst().isDataDeletionPending(instructor1OfCourse1.courseId, null));
+        
         List<CourseAttributes> courseList = CoursesLogic.inst().getCoursesForInstructor(instructorId);
         assertEquals(1, courseList.size());
         assertEquals("icdct.tpa.id1", courseList.get(0).getId());
@@ -75,6 +81,7 @@ public class InstructorCourseDeleteActionTest extends BaseActionTest {
                      redirectResult.getDestinationWithParams());
         assertFalse(redirectResult.isError);
         assertEquals("The course icdct.tpa.id1 has been deleted.", redirectResult.getStatusMessage());
+        completeCascadeDeletion("icdct.tpa.id1", null);
         
         courseList = CoursesLogic.inst().getCoursesForInstructor(instructorId);
         assertEquals(0, courseList.size());
@@ -96,6 +103,7 @@ public class InstructorCourseDeleteActionTest extends BaseActionTest {
                      redirectResult.getDestinationWithParams());
         assertFalse(redirectResult.isError);
         assertEquals("The course icdct.tpa.id2 has been deleted.", redirectResult.getStatusMessage());
+        completeCascadeDeletion("icdct.tpa.id2", null);
         
         courseList = CoursesLogic.inst().getCoursesForInstructor(instructorId);
         assertEquals(0, courseList.size());
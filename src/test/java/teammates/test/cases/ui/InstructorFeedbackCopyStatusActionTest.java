@@ -0,0 +1,141 @@
+package teammates.test.cases.ui;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.exception.UnauthorizedAccessException;
+import teammates.common.util.Const;
+import teammates.logic.core.FeedbackSessionsLogic;
+import teammates.ui.controller.AjaxResult;
+import teammates.ui.controller.InstructorFeedbackCopyStatusAction;
+import teammates.ui.controller.InstructorFeedbackCopyStatusData;
+
+public class InstructorFeedbackCopyStatusActionTest extends BaseActionTest {
+    private static DataBundle dataBundle;
+    
+    @BeforeClass
+    public static void classSetUp() throws Exception {
+        printTestClassHeader();
+        dataBundle = loadDataBundle("/InstructorFeedbackEditCopyTest.json");
+        removeAndRestoreDatastoreFromJson("/InstructorFeedbackEditCopyTest.json");
+        
+        uri = Const.ActionURIs.INSTRUCTOR_FEEDBACK_COPY_STATUS;
+    }
+    
+    @Test
+    public void testExecuteAndPostProcess() throws Exception {
+        InstructorAttributes instructor = dataBundle.instructors.get("teammates.test.instructor2");
+        FeedbackSessionAttributes fs = dataBundle.feedbackSessions.get("openSession");
+        CourseAttributes course6 = dataBundle.courses.get("course6");
+        CourseAttributes course7 = dataBundle.courses.get("course7");
+        String copiedFeedbackSessionName = "Copied Session";
+        
+        gaeSimulation.loginAsInstructor(instructor.googleId);
+        
+        ______TS("Failure case: No parameters");
+        verifyAssumptionFailure();
+        
+        ______TS("Typical case: questions not copied yet");
+        
+        // the copy action leaves the copying of the questions to the task queue, which does not run tasks in tests
+        FeedbackSessionsLogic.inst().copyFeedbackSessionToCourses(copiedFeedbackSessionName,
+                                                                  Arrays.asList(course6.getId(), course7.getId()),
+                                                                  fs.getFeedbackSessionName(), fs.getCourseId(),
+                                                                  instructor.email);
+        String[] params = new String[] {
+                Const.ParamsNames.FEEDBACK_SESSION_NAME, fs.getFeedbackSessionName(),
+                Const.ParamsNames.COURSE_ID, fs.getCourseId(),
+                Const.ParamsNames.COPIED_FEEDBACK_SESSION_NAME, copiedFeedbackSessionName,
+                Const.ParamsNames.COPIED_COURSES_ID, course6.getId(),
+                Const.ParamsNames.COPIED_COURSES_ID, course7.getId()
+        };
+        
+        InstructorFeedbackCopyStatusData data = getData(params);
+        assertEquals(2, data.numberOfCopies);
+        assertEquals(0, data.numberOfCompletedCopies);
+        assertEquals(0, data.numberOfFailedCopies);
+        assertFalse(data.isCompleted);
+        assertFalse(data.isFinished);
+        
+        ______TS("Typical case: questions copied to some of the courses");
+        
+        FeedbackSessionsLogic.inst().copyFeedbackQuestionsToCopiedSession(copiedFeedbackSessionName, course6.getId(),
+                                                                          fs.getFeedbackSessionName(),
+                                                                          fs.getCourseId(), instructor.email);
+        data = getData(params);
+        assertEquals(2, data.numberOfCopies);
+        assertEquals(1, data.numberOfCompletedCopies);
+        assertFalse(data.isCompleted);
+        
+        ______TS("Typical case: questions copied to all the courses");
+        
+        FeedbackSessionsLogic.inst().copyFeedbackQuestionsToCopiedSession(copiedFeedbackSessionName, course7.getId(),
+                                                                          fs.getFeedbackSessionName(),
+                                                                          fs.getCourseId(), instructor.email);
+        data = getData(params);
+        assertEquals(2, data.numberOfCopies);
+        assertEquals(2, data.numberOfCompletedCopies);
+        assertTrue(data.isCompleted);
+        assertTrue(data.isFinished);
+        assertEquals("", getAction(params).executeAndPostProcess().getStatusMessage());
+        
+        ______TS("Typical case: copy still without questions long after it was made");
+        
+        // as if its copying task had given up
+        FeedbackSessionAttributes failedCopy = fs.getCopy();
+        failedCopy.setFeedbackSessionName("Failed Copied Session");
+        failedCopy.setCourseId(course6.getId());
+        long timeBeforeFailedInMillis = 2 * Const.SystemParams.FEEDBACK_SESSION_COPY_TIMEOUT_MILLIS;
+        failedCopy.setCreatedTime(new Date(new Date().getTime() - timeBeforeFailedInMillis));
+        FeedbackSessionsLogic.inst().createFeedbackSession(failedCopy);
+        
+        params = new String[] {
+                Const.ParamsNames.FEEDBACK_SESSION_NAME, fs.getFeedbackSessionName(),
+                Const.ParamsNames.COURSE_ID, fs.getCourseId(),
+                Const.ParamsNames.COPIED_FEEDBACK_SESSION_NAME, "Failed Copied Session",
+                Const.ParamsNames.COPIED_COURSES_ID, course6.getId()
+        };
+        
+        AjaxResult ajaxResult = (AjaxResult) getAction(params).executeAndPostProcess();
+        data = (InstructorFeedbackCopyStatusData) ajaxResult.data;
+        assertEquals(1, data.numberOfCopies);
+        assertEquals(0, data.numberOfCompletedCopies);
+        assertEquals(1, data.numberOfFailedCopies);
+        assertFalse(data.isCompleted);
+        assertTrue(data.isFinished);
+        assertEquals(String.format(Const.StatusMessages.FEEDBACK_SESSION_COPY_FAILED, course6.getId()),
+                     ajaxResult.getStatusMessage());
+        
+        ______TS("Failure case: course of another instructor");
+        
+        params = new String[] {
+                Const.ParamsNames.FEEDBACK_SESSION_NAME, fs.getFeedbackSessionName(),
+                Const.ParamsNames.COURSE_ID, fs.getCourseId(),
+                Const.ParamsNames.COPIED_FEEDBACK_SESSION_NAME, copiedFeedbackSessionName,
+                Const.ParamsNames.COPIED_COURSES_ID, dataBundle.courses.get("course3").getId()
+        };
+        
+        try {
+            getAction(params).executeAndPostProcess();
+            signalFailureToDetectException();
+        } catch (UnauthorizedAccessException e) {
+            ignoreExpectedException();
+        }
+    }
+    
+    private InstructorFeedbackCopyStatusData getData(String... params) {
+        AjaxResult ajaxResult = (AjaxResult) getAction(params).executeAndPostProcess();
+        return (InstructorFeedbackCopyStatusData) ajaxResult.data;
+    }
+    
+    private InstructorFeedbackCopyStatusAction getAction(String... params) {
+        return (InstructorFeedbackCopyStatusAction) gaeSimulation.getActionObject(uri, params);
+    }
+}
@@ -7,6 +7,8 @@ import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.util.Const;
+import teammates.logic.core.CascadeDeletionLogic;
+import teammates.storage.api.FeedbackQuestionsDb;
 import teammates.storage.api.FeedbackSessionsDb;
 import teammates.ui.controller.Action;
 import teammates.ui.controller.RedirectResult;
@@ -46,5 +48,12 @@ public class InstructorFeedbackDeleteActionTest extends BaseActionTest {
                      r.getDestinationWithParams());
         assertEquals(Const.StatusMessages.FEEDBACK_SESSION_DELETED, r.getStatusMessage());
         assertFalse(r.isError);
+        
+        // the data of the session is deleted in the background, so that it is gone for the later tests
+        assertTrue(CascadeDeletionLogic.inst().isDataDeletionPending(fs.getCourseId(), fs.getFeedbackSessionName()));
+        completeCascadeDeletion(fs.getCourseId(), fs.getFeedbackSessionName());
+        assertFalse(CascadeDeletionLogic.inst().isDataDeletionPending(fs.getCourseId(), fs.getFeedbackSessionName()));
+        assertTrue(new FeedbackQuestionsDb().getFeedbackQuestionsForSession(fs.getFeedbackSessionName(),
+                                                                            fs.getCourseId()).isEmpty());
     }
 }
@@ -395,6 +395,9 @@ public class InstructorFeedbackEditCopyActionTest extends
                          + "?error=false&user=" + instructor.googleId;
         assertEquals(expectedString, editCopyData.redirectUrl);
         
+        expectedString = Const.ActionURIs.INSTRUCTOR_FEEDBACK_COPY_STATUS + "?user=" + instructor.googleId;
+        assertEquals(expectedString, editCopyData.copyStatusUrl);
+        
         expectedString = "TEAMMATESLOG|||instructorFeedbackEditCopy|||instructorFeedbackEditCopy|||"
                          + "true|||Instructor|||Instructor 2|||FeedbackEditCopyinstructor2|||"
                          + "tmms.instr@gmail.tmt|||Copying to multiple feedback sessions.<br>"
@@ -7,6 +7,7 @@ import teammates.common.datatransfer.AccountAttributes;
 import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentProfileAttributes;
 import teammates.common.exception.EntityNotFoundException;
 import teammates.common.exception.UnauthorizedAccessException;
 import teammates.common.util.Const;
@@ -65,6 +66,7 @@ public class StudentProfilePictureActionTest extends BaseActionTest {
      */
     public void testActionWithBlobKey() {
         testActionWithBlobKeySuccess();
+        testActionWithBlobKeyAndVersion();
         testActionWithBlobKeySuccessMasquerade();
     }
 
@@ -81,9 +83,39 @@ public class StudentProfilePictureActionTest extends BaseActionTest {
         assertFalse(result.isError);
         assertEquals("", result.getStatusMessage());
         assertEquals(account.studentProfile.pictureKey, result.blobKey);
+        assertNotNull(result.eTag);
+        assertFalse(result.isVersioned);
         verifyLogMessageForActionWithBlobKey(false);
     }
 
+    protected void testActionWithBlobKeyAndVersion() {
+        ______TS("Typical case: using blobkey and the current version of the picture");
+        gaeSimulation.loginAsStudent(account.googleId);
+
+        StudentProfileAttributes profile = AccountsLogic.inst().getStudentProfile(account.googleId);
+        String[] submissionParams = new String[] {
+                Const.ParamsNames.BLOB_KEY, account.studentProfile.pictureKey,
+                Const.ParamsNames.PROFILE_PICTURE_VERSION, String.valueOf(profile.modifiedDate.getTime())
+        };
+        action = getAction(submissionParams);
+        result = (ImageResult) action.executeAndPostProcess();
+
+        assertEquals(account.studentProfile.pictureKey, result.blobKey);
+        assertEquals(profile.modifiedDate, result.lastModified);
+        assertTrue(result.isVersioned);
+
+        ______TS("Typical case: using blobkey and an old version of the picture");
+
+        submissionParams = new String[] {
+                Const.ParamsNames.BLOB_KEY, account.studentProfile.pictureKey,
+                Const.ParamsNames.PROFILE_PICTURE_VERSION, String.valueOf(profile.modifiedDate.getTime() - 1)
+        };
+        action = getAction(submissionParams);
+        result = (ImageResult) action.executeAndPostProcess();
+
+        assertFalse(result.isVersioned);
+    }
+
     protected void testActionWithBlobKeySuccessMasquerade() {
         ______TS("Typical case: masquerade mode");
         gaeSimulation.loginAsAdmin("admin.user");
@@ -131,6 +163,8 @@ public class StudentProfilePictureActionTest extends BaseActionTest {
         assertFalse(result.isError);
         assertEquals("", result.getStatusMessage());
         assertEquals("asdf34&hfn3!@", result.blobKey);
+        assertEquals("image/png", result.contentType);
+        assertTrue(result.eTag.startsWith("\"asdf34&hfn3!@-"));
         verifyLogMessageForActionWithEmailAndCourse(instructor, false);
     }
 
@@ -187,6 +221,7 @@ public class StudentProfilePictureActionTest extends BaseActionTest {
         result = (ImageResult) action.executeAndPostProcess();
 
         assertEquals("", result.blobKey);
+        assertNull(result.eTag);
     }
 
     protected void testActionWithEmailAndCourseUnauthorisedInstructor() {
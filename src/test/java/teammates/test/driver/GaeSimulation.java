@@ -19,6 +19,7 @@ import teammates.ui.controller.ActionFactory;
 import com.google.appengine.api.taskqueue.dev.LocalTaskQueueCallback;
 import com.google.appengine.tools.development.testing.LocalDatastoreServiceTestConfig;
 import com.google.appengine.tools.development.testing.LocalMailServiceTestConfig;
+import com.google.appengine.tools.development.testing.LocalMemcacheServiceTestConfig;
 import com.google.appengine.tools.development.testing.LocalSearchServiceTestConfig;
 import com.google.appengine.tools.development.testing.LocalServiceTestHelper;
 import com.google.appengine.tools.development.testing.LocalTaskQueueTestConfig;
@@ -59,7 +60,9 @@ public class GaeSimulation {
         LocalMailServiceTestConfig localMail = new LocalMailServiceTestConfig();
         LocalSearchServiceTestConfig localSearch = new LocalSearchServiceTestConfig();
         localSearch.setPersistent(false);
-        helper = new LocalServiceTestHelper(localDatastore, localMail, localUserServices, localTasks, localSearch);
+        LocalMemcacheServiceTestConfig localMemcache = new LocalMemcacheServiceTestConfig();
+        helper = new LocalServiceTestHelper(localDatastore, localMail, localUserServices, localTasks, localSearch,
+                                            localMemcache);
         helper.setUp();
         
         Datastore.initialize();
@@ -81,7 +84,9 @@ public class GaeSimulation {
         LocalMailServiceTestConfig localMail = new LocalMailServiceTestConfig();
         LocalSearchServiceTestConfig localSearch = new LocalSearchServiceTestConfig();
         localSearch.setPersistent(false);
-        helper = new LocalServiceTestHelper(localDatastore, localMail, localUserServices, localTasks, localSearch);
+        LocalMemcacheServiceTestConfig localMemcache = new LocalMemcacheServiceTestConfig();
+        helper = new LocalServiceTestHelper(localDatastore, localMail, localUserServices, localTasks, localSearch,
+                                            localMemcache);
         helper.setUp();
         
         Datastore.initialize();
@@ -395,6 +395,9 @@ public final class HtmlHelper {
                                   + "\\?" + Const.ParamsNames.BLOB_KEY + "=" + REGEX_BLOB_KEY,
                                   Const.ActionURIs.STUDENT_PROFILE_PICTURE
                                   + "\\?" + Const.ParamsNames.BLOB_KEY + "=\\${blobkey}")
+                      // version of the picture in student profile page
+                      .replaceAll("(\\&|\\&amp;)" + Const.ParamsNames.PROFILE_PICTURE_VERSION + "=[0-9]+",
+                                  "$1" + Const.ParamsNames.PROFILE_PICTURE_VERSION + "=\\${picture\\.version}")
                       .replaceAll("( type=\"hidden\"|"
                                   + " name=\"" + Const.ParamsNames.BLOB_KEY + "\"|"
                                   + " id=\"blobKey\"|"